@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks;
+
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures marshalling and unmarshalling of a single {@code xs:base64Binary} element
+ * of the given number of bytes.
+ *
+ * <ul>
+ *     <li>{@link #marshalBytes()} - a {@code byte[]} into {@code UTF8XmlOutput}</li>
+ *     <li>{@link #marshalDataHandler()} - a {@link DataHandler} into {@code UTF8XmlOutput}</li>
+ *     <li>{@link #unmarshalBytes()} - into a {@code byte[]} via {@code SAXConnector}</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Base64Benchmark {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Blob {
+        public byte[] data;
+        public DataHandler handler;
+    }
+
+    @Param({"256", "65536", "4194304"})
+    public int length;
+
+    private Blob bytes;
+    private Blob handler;
+    private byte[] xml;
+    private Marshaller marshaller;
+    private Unmarshaller unmarshaller;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        byte[] data = new byte[length];
+        new Random(0).nextBytes(data);
+        bytes = new Blob();
+        bytes.data = data;
+        handler = new Blob();
+        handler.handler = new DataHandler(new DataSource() {
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(data);
+            }
+
+            @Override
+            public OutputStream getOutputStream() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String getContentType() {
+                return "application/octet-stream";
+            }
+
+            @Override
+            public String getName() {
+                return null;
+            }
+        });
+
+        JAXBContext context = JAXBContext.newInstance(Blob.class);
+        marshaller = context.createMarshaller();
+        unmarshaller = context.createUnmarshaller();
+        // pre-size the sink so that its growth does not show up in the allocation profile
+        out = new ByteArrayOutputStream(length * 2 + 1024);
+        marshaller.marshal(bytes, out);
+        xml = out.toByteArray();
+    }
+
+    @Benchmark
+    public int marshalBytes() throws JAXBException {
+        out.reset();
+        marshaller.marshal(bytes, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int marshalDataHandler() throws JAXBException {
+        out.reset();
+        marshaller.marshal(handler, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public Object unmarshalBytes() throws JAXBException {
+        return unmarshaller.unmarshal(new ByteArrayInputStream(xml));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks;
+
+import org.glassfish.jaxb.runtime.DateTimeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lexical parsing and printing of {@link XMLGregorianCalendar} and {@link Duration}
+ * done by {@link DatatypeFactory} with {@link DateTimeConverter}.
+ *
+ * <p>
+ * Each parse looks the factory up the way the runtime does, so running with
+ * several threads ({@code -t}) also shows the contention on that lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DateTimeBenchmark {
+
+    @Param({"2023-02-28T13:20:00.250+01:00", "2023-02-28", "13:20:00Z", "--02-28"})
+    public String calendar;
+
+    @Param({"P1Y2M3DT4H5M6.7S"})
+    public String duration;
+
+    private XMLGregorianCalendar calendarValue;
+    private Duration durationValue;
+
+    @Setup
+    public void setUp() {
+        calendarValue = factory().newXMLGregorianCalendar(calendar);
+        durationValue = factory().newDuration(duration);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static DatatypeFactory factory() {
+        return org.glassfish.jaxb.runtime.DatatypeConverterImpl.getDatatypeFactory();
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar parseCalendarJaxp() {
+        return factory().newXMLGregorianCalendar(calendar);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar parseCalendar() {
+        return DateTimeConverter.parseXMLGregorianCalendar(calendar, factory());
+    }
+
+    @Benchmark
+    public String printCalendarJaxp() {
+        return calendarValue.toXMLFormat();
+    }
+
+    @Benchmark
+    public String printCalendar() {
+        return DateTimeConverter.printXMLGregorianCalendar(calendarValue);
+    }
+
+    @Benchmark
+    public Duration parseDurationJaxp() {
+        return factory().newDuration(duration);
+    }
+
+    @Benchmark
+    public Duration parseDuration() {
+        return DateTimeConverter.parseXMLDuration(duration, factory());
+    }
+
+    @Benchmark
+    public String printDurationJaxp() {
+        return durationValue.toString();
+    }
+
+    @Benchmark
+    public String printDuration() {
+        return DateTimeConverter.printXMLDuration(durationValue);
+    }
+}
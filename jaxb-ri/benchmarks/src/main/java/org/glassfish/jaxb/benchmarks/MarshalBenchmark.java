@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks;
+
+import org.glassfish.jaxb.benchmarks.model.Feed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code MarshallerImpl.marshal} into the different {@code XmlOutput} implementations.
+ *
+ * <ul>
+ *     <li>{@link #utf8()} - {@code UTF8XmlOutput}, the default for an {@code OutputStream}</li>
+ *     <li>{@link #indentingUtf8()} - {@code IndentingUTF8XmlOutput}, used with {@link Marshaller#JAXB_FORMATTED_OUTPUT}</li>
+ *     <li>{@link #xmlStreamWriter()} - {@code XMLStreamWriterOutput}</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MarshalBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public PayloadSize size;
+
+    private Feed feed;
+    private Marshaller marshaller;
+    private Marshaller indentingMarshaller;
+    private XMLOutputFactory outputFactory;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        JAXBContext context = JAXBContext.newInstance(Feed.class);
+        feed = Payloads.create(size);
+        marshaller = context.createMarshaller();
+        indentingMarshaller = context.createMarshaller();
+        indentingMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        outputFactory = XMLOutputFactory.newInstance();
+        // pre-size the sink so that its growth does not show up in the allocation profile
+        out = new ByteArrayOutputStream(Payloads.toXml(context, size).length * 2);
+    }
+
+    @Benchmark
+    public int utf8() throws JAXBException {
+        out.reset();
+        marshaller.marshal(feed, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int indentingUtf8() throws JAXBException {
+        out.reset();
+        indentingMarshaller.marshal(feed, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int xmlStreamWriter() throws JAXBException, XMLStreamException {
+        out.reset();
+        XMLStreamWriter w = outputFactory.createXMLStreamWriter(out, "UTF-8");
+        marshaller.marshal(feed, w);
+        w.close();
+        return out.size();
+    }
+}
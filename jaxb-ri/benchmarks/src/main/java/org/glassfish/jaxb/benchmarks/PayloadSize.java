@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks;
+
+/**
+ * Shapes of the generated benchmark documents.
+ *
+ * <p>
+ * Each size scales the wide list, the nesting depth and the binary content
+ * independently, so a regression in one of those paths shows up in every size.
+ */
+public enum PayloadSize {
+
+    /** A few KB; dominated by per-call setup costs. */
+    SMALL(10, 8, 1, 256),
+
+    /** A few hundred KB. */
+    MEDIUM(1_000, 64, 4, 16 * 1024),
+
+    /** Several MB; dominated by per-byte costs. */
+    HUGE(50_000, 256, 8, 1024 * 1024);
+
+    /** Number of {@code <entry>} elements. */
+    final int entries;
+
+    /** Nesting depth of the {@code <section>} chain. */
+    final int depth;
+
+    /** Number of {@code <attachment>} elements. */
+    final int attachments;
+
+    /** Size in bytes of every attachment before base64 encoding. */
+    final int attachmentSize;
+
+    PayloadSize(int entries, int depth, int attachments, int attachmentSize) {
+        this.entries = entries;
+        this.depth = depth;
+        this.attachments = attachments;
+        this.attachmentSize = attachmentSize;
+    }
+}
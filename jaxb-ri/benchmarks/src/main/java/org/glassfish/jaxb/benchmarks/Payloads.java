@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks;
+
+import org.glassfish.jaxb.benchmarks.model.Attachment;
+import org.glassfish.jaxb.benchmarks.model.Entry;
+import org.glassfish.jaxb.benchmarks.model.Feed;
+import org.glassfish.jaxb.benchmarks.model.Section;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+/**
+ * Generates deterministic benchmark documents.
+ */
+public final class Payloads {
+
+    private static final String[] CATEGORIES = {"books", "music", "video", "garden", "tools", "toys"};
+    private static final String[] CURRENCIES = {"EUR", "USD", "CHF", "JPY"};
+    private static final String[] WORDS = {
+        "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit",
+        "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore",
+        "magna", "aliqua", "<escaped>", "&amp;", "\"quoted\"", "\u00e9t\u00e9", "\u65e5\u672c"
+    };
+
+    private Payloads() {}
+
+    /**
+     * Creates the object graph for the given size.
+     * The same size always produces the same document.
+     */
+    public static Feed create(PayloadSize size) {
+        Random r = new Random(size.ordinal() * 31L + 7);
+
+        Feed feed = new Feed();
+        feed.id = "feed-" + size.name().toLowerCase();
+        feed.generated = 1_600_000_000_000L;
+
+        for (int i = 0; i < size.entries; i++) {
+            Entry e = new Entry();
+            e.id = "e" + i;
+            e.sku = Long.toHexString(r.nextLong());
+            e.name = sentence(r, 3);
+            e.category = CATEGORIES[r.nextInt(CATEGORIES.length)];
+            e.currency = CURRENCIES[r.nextInt(CURRENCIES.length)];
+            e.price = Math.round(r.nextDouble() * 100_000) / 100.0;
+            e.quantity = r.nextInt(10_000);
+            e.weight = r.nextFloat() * 50;
+            e.active = r.nextBoolean();
+            e.created = feed.generated - r.nextInt(Integer.MAX_VALUE);
+            e.description = sentence(r, 12);
+            feed.entries.add(e);
+        }
+
+        Section parent = null;
+        for (int d = 0; d < size.depth; d++) {
+            Section s = new Section();
+            s.depth = d;
+            s.title = sentence(r, 4);
+            s.paragraphs.add(sentence(r, 20));
+            s.paragraphs.add(sentence(r, 20));
+            if (parent == null) {
+                feed.section = s;
+            } else {
+                parent.section = s;
+            }
+            parent = s;
+        }
+
+        for (int i = 0; i < size.attachments; i++) {
+            Attachment a = new Attachment();
+            a.name = "attachment-" + i + ".bin";
+            a.contentType = "application/octet-stream";
+            a.data = new byte[size.attachmentSize];
+            r.nextBytes(a.data);
+            feed.attachments.add(a);
+        }
+        return feed;
+    }
+
+    /**
+     * Marshals the document of the given size into UTF-8 bytes.
+     */
+    public static byte[] toXml(JAXBContext context, PayloadSize size) throws JAXBException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Marshaller m = context.createMarshaller();
+        m.marshal(create(size), out);
+        return out.toByteArray();
+    }
+
+    private static String sentence(Random r, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[r.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks;
+
+import org.glassfish.jaxb.benchmarks.model.Feed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Unmarshaller;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code UnmarshallerImpl.unmarshal} through the different connectors.
+ *
+ * <ul>
+ *     <li>{@link #sax()} - {@code SAXConnector} driven by an {@code XMLReader}</li>
+ *     <li>{@link #stax()} - {@code StAXStreamConnector}</li>
+ *     <li>{@link #dom()} - {@code DOMScanner} over an already parsed document</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UnmarshalBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public PayloadSize size;
+
+    private byte[] xml;
+    private Document document;
+    private Unmarshaller unmarshaller;
+    private XMLInputFactory inputFactory;
+
+    @Setup
+    public void setUp() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Feed.class);
+        xml = Payloads.toXml(context, size);
+        unmarshaller = context.createUnmarshaller();
+        inputFactory = XMLInputFactory.newInstance();
+
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        document = dbf.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    @Benchmark
+    public Object sax() throws Exception {
+        return unmarshaller.unmarshal(new InputSource(new ByteArrayInputStream(xml)));
+    }
+
+    @Benchmark
+    public Object stax() throws Exception {
+        XMLStreamReader r = inputFactory.createXMLStreamReader(new ByteArrayInputStream(xml));
+        try {
+            return unmarshaller.unmarshal(r);
+        } finally {
+            r.close();
+        }
+    }
+
+    @Benchmark
+    public Object dom() throws Exception {
+        return unmarshaller.unmarshal(document);
+    }
+}
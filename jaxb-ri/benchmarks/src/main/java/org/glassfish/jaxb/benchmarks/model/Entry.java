@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks.model;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+
+/**
+ * Attribute-heavy list item.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class Entry {
+
+    @XmlAttribute
+    public String id;
+
+    @XmlAttribute
+    public String sku;
+
+    @XmlAttribute
+    public String name;
+
+    @XmlAttribute
+    public String category;
+
+    @XmlAttribute
+    public String currency;
+
+    @XmlAttribute
+    public double price;
+
+    @XmlAttribute
+    public int quantity;
+
+    @XmlAttribute
+    public float weight;
+
+    @XmlAttribute
+    public boolean active;
+
+    @XmlAttribute
+    public long created;
+
+    @XmlElement
+    public String description;
+}
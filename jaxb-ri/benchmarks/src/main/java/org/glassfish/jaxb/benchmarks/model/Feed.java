@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks.model;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Root of the benchmark document.
+ *
+ * <p>
+ * Combines the shapes the benchmarks care about: a wide list of
+ * attribute-heavy {@link Entry entries}, a deeply nested chain of
+ * {@link Section sections} and base64 encoded {@link Attachment attachments}.
+ */
+@XmlRootElement(name = "feed")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class Feed {
+
+    @XmlAttribute
+    public String id;
+
+    @XmlAttribute
+    public long generated;
+
+    @XmlElement(name = "entry")
+    public List<Entry> entries = new ArrayList<>();
+
+    @XmlElement
+    public Section section;
+
+    @XmlElement(name = "attachment")
+    public List<Attachment> attachments = new ArrayList<>();
+}
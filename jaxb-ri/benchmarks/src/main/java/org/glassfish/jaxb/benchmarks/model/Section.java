@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.benchmarks.model;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive element used to produce deeply nested documents.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class Section {
+
+    @XmlAttribute
+    public int depth;
+
+    @XmlElement
+    public String title;
+
+    @XmlElement(name = "para")
+    public List<String> paragraphs = new ArrayList<>();
+
+    @XmlElement
+    public Section section;
+}
@@ -153,6 +153,7 @@ module com.sun.xml.bind.osgi {
         com.sun.tools.xjc.addon.code_injector.PluginImpl,
         com.sun.tools.xjc.addon.episode.PluginImpl,
         com.sun.tools.xjc.addon.locator.SourceLocationAddOn,
+        com.sun.tools.xjc.addon.streaming.PluginImpl,
         com.sun.tools.xjc.addon.sync.SynchronizedMethodAddOn;
 
     provides com.sun.tools.rngdatatype.DatatypeLibraryFactory with
@@ -81,6 +81,7 @@ module com.sun.tools.xjc {
             com.sun.tools.xjc.addon.code_injector.PluginImpl,
             com.sun.tools.xjc.addon.episode.PluginImpl,
             com.sun.tools.xjc.addon.locator.SourceLocationAddOn,
+            com.sun.tools.xjc.addon.streaming.PluginImpl,
             com.sun.tools.xjc.addon.sync.SynchronizedMethodAddOn;
 
     provides com.sun.tools.rngdatatype.DatatypeLibraryFactory with
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,15 +10,15 @@
 
 package org.glassfish.jaxb.core.v2;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.ref.WeakReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,67 +41,90 @@ public final class ClassFactory {
     private static final Logger logger = Utils.getClassLogger();
 
     /**
-     * Cache from a class to its default constructor.
+     * Cache from a class to the {@code ()Object} {@link MethodHandle}
+     * of its default constructor, or to the {@link Constructor} itself
+     * when it can't be invoked through a method handle.
      *
-     * To avoid synchronization among threads, we use {@link ThreadLocal}.
+     * <p>
+     * This is shared by all threads, and reads don't need any locking.
+     * {@link ClassValue} keeps the value with the class itself, and this
+     * includes classes of other class loaders, such as {@code ArrayList}.
+     * So the values must only be of JDK types, otherwise they would keep
+     * the class loader of JAXB from being garbage collected.
      */
-    private static final ThreadLocal<Map<Class, WeakReference<Constructor>>> tls = new ThreadLocal<>() {
+    private static final ClassValue<Object> factories = new ClassValue<>() {
         @Override
-        public Map<Class, WeakReference<Constructor>> initialValue() {
-            return new WeakHashMap<>();
+        protected Object computeValue(Class<?> clazz) {
+            return createFactory(clazz);
         }
     };
 
     private ClassFactory() {}
 
+    /**
+     * This used to clear the per-thread constructor cache.
+     * The cache is now shared and needs no cleaning, so this does nothing.
+     *
+     * @deprecated no longer necessary.
+     */
+    @Deprecated
     public static void cleanCache() {
-        if (tls != null) {
-            try {
-                tls.remove();
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Unable to clean Thread Local cache of classes used in Unmarshaller: {0}", e.getLocalizedMessage());
-            }
-        }
     }
 
     /**
      * Creates a new instance of the class but throw exceptions without catching it.
      */
     public static <T> T create0( final Class<T> clazz ) throws IllegalAccessException, InvocationTargetException, InstantiationException {
-        Map<Class,WeakReference<Constructor>> m = tls.get();
-        Constructor<T> cons = null;
-        WeakReference<Constructor> consRef = m.get(clazz);
-        if(consRef!=null)
-            cons = consRef.get();
-        if(cons==null) {
-            if (System.getSecurityManager() == null) {
-                cons = tryGetDeclaredConstructor(clazz);
-            } else {
-                cons = AccessController.doPrivileged(new PrivilegedAction<>() {
-                    @Override
-                    public Constructor<T> run() {
-                        return tryGetDeclaredConstructor(clazz);
-                    }
-                });
+        Object factory = factories.get(clazz);
+        if (factory instanceof MethodHandle) {
+            try {
+                return clazz.cast(((MethodHandle) factory).invokeExact());
+            } catch (Throwable t) {
+                // report it the same way Constructor.newInstance does
+                throw new InvocationTargetException(t);
             }
+        }
+        return clazz.cast(((Constructor<?>) factory).newInstance(emptyObject));
+    }
 
-            int classMod = clazz.getModifiers();
-
-            if(!Modifier.isPublic(classMod) || !Modifier.isPublic(cons.getModifiers())) {
-                // attempt to make it work even if the constructor is not accessible
-                try {
-                    cons.setAccessible(true);
-                } catch(SecurityException e) {
-                    // but if we don't have a permission to do so, work gracefully.
-                    logger.log(Level.FINE,"Unable to make the constructor of "+clazz+" accessible",e);
-                    throw e;
+    private static <T> Object createFactory( final Class<T> clazz ) {
+        Constructor<T> cons;
+        if (System.getSecurityManager() == null) {
+            cons = tryGetDeclaredConstructor(clazz);
+        } else {
+            cons = AccessController.doPrivileged(new PrivilegedAction<>() {
+                @Override
+                public Constructor<T> run() {
+                    return tryGetDeclaredConstructor(clazz);
                 }
-            }
+            });
+        }
 
-            m.put(clazz,new WeakReference<>(cons));
+        int classMod = clazz.getModifiers();
+
+        if(!Modifier.isPublic(classMod) || !Modifier.isPublic(cons.getModifiers())) {
+            // attempt to make it work even if the constructor is not accessible
+            try {
+                cons.setAccessible(true);
+            } catch(SecurityException e) {
+                // but if we don't have a permission to do so, work gracefully.
+                logger.log(Level.FINE,"Unable to make the constructor of "+clazz+" accessible",e);
+                throw e;
+            }
         }
 
-        return cons.newInstance(emptyObject);
+        if(Modifier.isAbstract(classMod))
+            // let Constructor report the InstantiationException
+            return cons;
+
+        try {
+            return MethodHandles.lookup().unreflectConstructor(cons)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (IllegalAccessException e) {
+            // the constructor is accessible to reflection, but not to this module's lookup
+            logger.log(Level.FINE,"Unable to create a method handle for the constructor of "+clazz,e);
+            return cons;
+        }
     }
 
     private static <T> Constructor<T> tryGetDeclaredConstructor(Class<T> clazz) {
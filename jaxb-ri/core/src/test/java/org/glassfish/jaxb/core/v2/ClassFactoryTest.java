@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.core.v2;
+
+import junit.framework.TestCase;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ClassFactoryTest extends TestCase {
+
+    public static class Bean {
+        static final AtomicInteger count = new AtomicInteger();
+
+        public Bean() {
+            count.incrementAndGet();
+        }
+    }
+
+    static class Hidden {
+        private Hidden() {
+        }
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new UnsupportedOperationException("failing");
+        }
+    }
+
+    public static abstract class Abstract {
+    }
+
+    public void testCreate() throws Exception {
+        assertNotNull(ClassFactory.create(Bean.class));
+        assertNotNull(ClassFactory.create0(Hidden.class));
+        assertEquals(ArrayList.class, ClassFactory.create(ArrayList.class).getClass());
+    }
+
+    public void testSharedAcrossThreads() throws Exception {
+        int before = Bean.count.get();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread t = new Thread(() -> {
+                for (int j = 0; j < 100; j++)
+                    ClassFactory.create(Bean.class);
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads)
+            t.join();
+        assertEquals(before + 800, Bean.count.get());
+    }
+
+    public void testErrors() throws Exception {
+        try {
+            ClassFactory.create(Failing.class);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertEquals("failing", e.getMessage());
+        }
+        try {
+            ClassFactory.create0(Failing.class);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getTargetException() instanceof UnsupportedOperationException);
+        }
+        try {
+            ClassFactory.create0(Abstract.class);
+            fail();
+        } catch (InstantiationException e) {
+            // expected
+        }
+    }
+
+    public void testClassLoaderCollected() throws Exception {
+        WeakReference<ClassLoader> ref = createInIsolatedLoader();
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("the class loader of ClassFactory is still reachable", ref.get());
+    }
+
+    /**
+     * Creates an {@code ArrayList} with a copy of {@link ClassFactory}
+     * in a class loader of its own, like one of a web application.
+     */
+    private static WeakReference<ClassLoader> createInIsolatedLoader() throws Exception {
+        URL classes = ClassFactory.class.getProtectionDomain().getCodeSource().getLocation();
+        // only the bootstrap loader as parent, which doesn't delegate to the module of ClassFactory
+        URLClassLoader loader = new URLClassLoader(new URL[] {classes}, null);
+        Class<?> factory = loader.loadClass(ClassFactory.class.getName());
+        assertNotSame(ClassFactory.class, factory);
+        Object list = factory.getMethod("create", Class.class).invoke(null, ArrayList.class);
+        assertEquals(ArrayList.class, list.getClass());
+        loader.close();
+        return new WeakReference<>(loader);
+    }
+}
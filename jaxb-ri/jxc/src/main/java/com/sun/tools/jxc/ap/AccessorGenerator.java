@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.jxc.ap;
+
+import com.sun.tools.jxc.model.nav.ApNavigator;
+import org.glassfish.jaxb.core.v2.model.core.ClassInfo;
+import org.glassfish.jaxb.core.v2.model.core.TypeInfoSet;
+import org.glassfish.jaxb.runtime.GeneratedAccessorFactory;
+import org.glassfish.jaxb.runtime.v2.model.impl.ModelBuilder;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Processor} that generates the accessors and factories of the classes
+ * with {@link XmlRootElement} and of the classes that they refer to,
+ * so that the runtime can marshal and unmarshal them without reflection.
+ *
+ * <p>
+ * The classes are found by the same model that the schema generator builds.
+ * For each of them, a {@code Foo_JAXBAccessors} class is generated next to it,
+ * and each package gets a {@link GeneratedAccessorFactory} named
+ * {@value GeneratedAccessorFactory#CLASS_NAME}, which the runtime looks for
+ * when the {@code org.glassfish.jaxb.generatedAccessors} property is set.
+ * Only the classes that are compiled along with the processor are covered,
+ * and only the fields, methods and constructors that the generated code can access.
+ *
+ * <p>
+ * Run it with {@code javac -processor com.sun.tools.jxc.ap.AccessorGenerator}.
+ *
+ * @see GeneratedAccessorFactory
+ */
+@SupportedAnnotationTypes("jakarta.xml.bind.annotation.XmlRootElement")
+public class AccessorGenerator extends AbstractProcessor {
+
+    private static final String ACCESSOR = "org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor";
+
+    private static final String ACCESSOR_EXCEPTION = "org.glassfish.jaxb.runtime.api.AccessorException";
+
+    private static final String SUFFIX = "_JAXBAccessors";
+
+    /**
+     * Packages that already got their {@value GeneratedAccessorFactory#CLASS_NAME},
+     * in case another round finds more classes.
+     */
+    private final Set<String> packages = new HashSet<>();
+
+    private Elements elements;
+    private Types types;
+
+    public AccessorGenerator() {
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty() || roundEnv.processingOver())
+            return false;
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        ModelBuilder<TypeMirror, TypeElement, VariableElement, ExecutableElement> builder =
+                new ModelBuilder<>(
+                        InlineAnnotationReaderImpl.theInstance,
+                        new ApNavigator(processingEnv),
+                        Collections.emptyMap(),
+                        null);
+        builder.setErrorHandler(e -> processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, e.toString()));
+
+        for (TypeElement root : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(XmlRootElement.class)))
+            builder.getTypeInfo(types.erasure(root.asType()), null);
+
+        TypeInfoSet<TypeMirror, TypeElement, VariableElement, ExecutableElement> model = builder.link();
+        if (model == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, Messages.ACCESSORS_NOT_GENERATED.format());
+            return false;
+        }
+
+        // only the classes of this compilation can have code next to them
+        Set<Element> sources = new HashSet<>(roundEnv.getRootElements());
+        Map<PackageElement, List<TypeElement>> classes = new LinkedHashMap<>();
+        for (ClassInfo<TypeMirror, TypeElement> ci : model.beans().values()) {
+            TypeElement c = ci.getClazz();
+            PackageElement pkg = elements.getPackageOf(c);
+            if (sources.contains(getOutermost(c)) && isAccessible(c, pkg) && !packages.contains(pkg.getQualifiedName().toString()))
+                classes.computeIfAbsent(pkg, p -> new ArrayList<>()).add(c);
+        }
+
+        try {
+            for (Map.Entry<PackageElement, List<TypeElement>> e : classes.entrySet()) {
+                packages.add(e.getKey().getQualifiedName().toString());
+                List<TypeElement> withFactory = new ArrayList<>();
+                for (TypeElement c : e.getValue()) {
+                    if (writeAccessors(e.getKey(), c))
+                        withFactory.add(c);
+                }
+                writeFactory(e.getKey(), e.getValue(), withFactory);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.toString());
+        }
+        return false;
+    }
+
+    /**
+     * Writes the {@code Foo_JAXBAccessors} class of a class.
+     *
+     * @return true if the class got a factory.
+     */
+    private boolean writeAccessors(PackageElement pkg, TypeElement c) throws IOException {
+        String bean = c.getQualifiedName().toString();
+        boolean factory = hasFactory(c, pkg);
+
+        try (PrintWriter w = createSourceFile(pkg, getAccessorsName(c), c)) {
+            w.println("/**");
+            w.println(" * Accessors of {@link " + bean + "}.");
+            w.println(" */");
+            w.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            w.println("final class " + getAccessorsName(c) + " {");
+            w.println();
+            w.println("    private " + getAccessorsName(c) + "() {");
+            w.println("    }");
+
+            if (factory) {
+                w.println();
+                w.println("    static Object newInstance() {");
+                w.println("        return new " + bean + "();");
+                w.println("    }");
+            }
+
+            w.println();
+            w.println("    static " + ACCESSOR + " getFieldAccessor(String field) {");
+            w.println("        switch (field) {");
+            for (VariableElement f : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+                Set<Modifier> mods = f.getModifiers();
+                if (mods.contains(Modifier.STATIC) || mods.contains(Modifier.FINAL)
+                        || f.getAnnotation(XmlTransient.class) != null
+                        || !isAccessible(f, pkg) || !isAccessible(f.asType(), pkg))
+                    continue;
+                String name = f.getSimpleName().toString();
+                w.println("        case \"" + name + "\":");
+                writeAccessor(w, bean, f.asType(), "(("+bean+") bean)." + name,
+                        "((" + bean + ") bean)." + name + " = %s;");
+            }
+            w.println("        default:");
+            w.println("            return null;");
+            w.println("        }");
+            w.println("    }");
+
+            w.println();
+            w.println("    static " + ACCESSOR + " getPropertyAccessor(String getter, String setter) {");
+            w.println("        switch (getter + \",\" + setter) {");
+            writePropertyAccessors(w, pkg, c);
+            w.println("        default:");
+            w.println("            return null;");
+            w.println("        }");
+            w.println("    }");
+            w.println("}");
+        }
+        return factory;
+    }
+
+    /**
+     * Writes the accessors of the getters and setters, alone and in pairs,
+     * as {@code AccessorFactory} gets them.
+     */
+    private void writePropertyAccessors(PrintWriter w, PackageElement pkg, TypeElement c) {
+        String bean = c.getQualifiedName().toString();
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        Map<String, List<ExecutableElement>> setters = new LinkedHashMap<>();
+        for (ExecutableElement m : ElementFilter.methodsIn(elements.getAllMembers(c))) {
+            String name = m.getSimpleName().toString();
+            if (m.getModifiers().contains(Modifier.STATIC) || !m.getTypeParameters().isEmpty()
+                    || !m.getThrownTypes().isEmpty()
+                    || ((TypeElement) m.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")
+                    || !isAccessible(m, pkg))
+                continue;
+            if (m.getParameters().isEmpty() && m.getReturnType().getKind() != TypeKind.VOID
+                    && (name.startsWith("get") && name.length() > 3 || name.startsWith("is") && name.length() > 2)
+                    && isAccessible(m.getReturnType(), pkg))
+                getters.put(name, m);
+            if (m.getParameters().size() == 1 && name.startsWith("set") && name.length() > 3
+                    && isAccessible(m.getParameters().get(0).asType(), pkg))
+                setters.computeIfAbsent(name, n -> new ArrayList<>()).add(m);
+        }
+
+        for (ExecutableElement getter : getters.values()) {
+            String name = getter.getSimpleName().toString();
+            TypeMirror type = getter.getReturnType();
+            String get = "((" + bean + ") bean)." + name + "()";
+            w.println("        case \"" + name + ",null\":");
+            writeAccessor(w, bean, type, get,
+                    "throw " + GeneratedAccessorFactory.class.getName() + ".noSetter(\"" + bean + "." + name + "()\");");
+
+            String setter = "set" + name.substring(name.startsWith("is") ? 2 : 3);
+            for (ExecutableElement s : setters.getOrDefault(setter, Collections.emptyList())) {
+                if (types.isSameType(types.erasure(s.getParameters().get(0).asType()), types.erasure(type))) {
+                    w.println("        case \"" + name + "," + setter + "\":");
+                    writeAccessor(w, bean, type, get, "((" + bean + ") bean)." + setter + "(%s);");
+                }
+            }
+        }
+        for (List<ExecutableElement> overloads : setters.values()) {
+            // the name alone doesn't tell which one to call
+            if (overloads.size() != 1)
+                continue;
+            ExecutableElement setter = overloads.get(0);
+            String name = setter.getSimpleName().toString();
+            TypeMirror type = setter.getParameters().get(0).asType();
+            w.println("        case \"null," + name + "\":");
+            writeAccessor(w, bean, type,
+                    "throw " + GeneratedAccessorFactory.class.getName() + ".noGetter(\"" + bean + "." + name + "(" + types.erasure(type) + ")\")",
+                    "((" + bean + ") bean)." + name + "(%s);");
+        }
+    }
+
+    /**
+     * Writes an anonymous {@code Accessor} of a value of the given type.
+     *
+     * @param get the expression that gets the value, or a throw statement.
+     * @param set the statement that sets the value given as {@code %s}.
+     */
+    private void writeAccessor(PrintWriter w, String bean, TypeMirror type, String get, String set) {
+        TypeMirror erasure = types.erasure(type);
+        String value;
+        if (erasure.getKind().isPrimitive()) {
+            String boxed = types.boxedClass(types.getPrimitiveType(erasure.getKind())).getQualifiedName().toString();
+            value = "value == null ? " + getDefaultValue(erasure.getKind()) + " : (" + boxed + ") value";
+        } else {
+            value = "(" + erasure + ") value";
+        }
+
+        w.println("            return new " + ACCESSOR + "(" + erasure + ".class) {");
+        w.println("                @Override");
+        w.println("                public Object get(Object bean) throws " + ACCESSOR_EXCEPTION + " {");
+        w.println("                    " + (get.startsWith("throw ") ? get : "return " + get) + ";");
+        w.println("                }");
+        w.println();
+        w.println("                @Override");
+        w.println("                public void set(Object bean, Object value) throws " + ACCESSOR_EXCEPTION + " {");
+        w.println("                    " + set.replace("%s", value));
+        w.println("                }");
+        w.println("            };");
+    }
+
+    /**
+     * Writes the {@value GeneratedAccessorFactory#CLASS_NAME} of a package.
+     */
+    private void writeFactory(PackageElement pkg, List<TypeElement> classes, List<TypeElement> withFactory) throws IOException {
+        String name = GeneratedAccessorFactory.CLASS_NAME;
+        try (PrintWriter w = createSourceFile(pkg, name, classes.toArray(new Element[0]))) {
+            w.println("/**");
+            w.println(" * Accessors and factories of the classes of this package.");
+            w.println(" */");
+            w.println("public final class " + name + " extends " + GeneratedAccessorFactory.class.getName() + " {");
+            w.println();
+            w.println("    public " + name + "() {");
+            w.println("    }");
+
+            w.println();
+            w.println("    @Override");
+            w.println("    protected " + ACCESSOR + " getFieldAccessor(Class<?> bean, String field) {");
+            for (TypeElement c : classes) {
+                w.println("        if (bean == " + c.getQualifiedName() + ".class)");
+                w.println("            return " + getAccessorsName(c) + ".getFieldAccessor(field);");
+            }
+            w.println("        return null;");
+            w.println("    }");
+
+            w.println();
+            w.println("    @Override");
+            w.println("    protected " + ACCESSOR + " getPropertyAccessor(Class<?> bean, String getter, String setter) {");
+            for (TypeElement c : classes) {
+                w.println("        if (bean == " + c.getQualifiedName() + ".class)");
+                w.println("            return " + getAccessorsName(c) + ".getPropertyAccessor(getter, setter);");
+            }
+            w.println("        return null;");
+            w.println("    }");
+
+            w.println();
+            w.println("    @Override");
+            w.println("    public java.util.function.Supplier<?> getFactory(Class<?> bean) {");
+            for (TypeElement c : withFactory) {
+                w.println("        if (bean == " + c.getQualifiedName() + ".class)");
+                w.println("            return " + getAccessorsName(c) + "::newInstance;");
+            }
+            w.println("        return null;");
+            w.println("    }");
+            w.println("}");
+        }
+    }
+
+    private PrintWriter createSourceFile(PackageElement pkg, String name, Element... originatingElements) throws IOException {
+        String qname = pkg.isUnnamed() ? name : pkg.getQualifiedName() + "." + name;
+        PrintWriter w = new PrintWriter(processingEnv.getFiler().createSourceFile(qname, originatingElements).openWriter());
+        w.println("// Generated by " + AccessorGenerator.class.getName() + ". Do not edit.");
+        if (!pkg.isUnnamed()) {
+            w.println();
+            w.println("package " + pkg.getQualifiedName() + ";");
+        }
+        w.println();
+        return w;
+    }
+
+    /**
+     * True if the generated code can create the class with its no-arg constructor.
+     */
+    private boolean hasFactory(TypeElement c, PackageElement pkg) {
+        if (c.getKind() != ElementKind.CLASS || c.getModifiers().contains(Modifier.ABSTRACT))
+            return false;
+        for (ExecutableElement con : ElementFilter.constructorsIn(c.getEnclosedElements())) {
+            if (con.getParameters().isEmpty())
+                return con.getThrownTypes().isEmpty() && isAccessible(con, pkg);
+        }
+        return false;
+    }
+
+    /**
+     * Gets the name of the class with the accessors of the given class,
+     * like {@code Outer_Inner_JAXBAccessors} for {@code Outer.Inner}.
+     */
+    private String getAccessorsName(TypeElement c) {
+        String name = elements.getBinaryName(c).toString();
+        name = name.substring(name.lastIndexOf('.') + 1);
+        return name.replace('$', '_') + SUFFIX;
+    }
+
+    private static Element getOutermost(Element e) {
+        while (e.getEnclosingElement().getKind() != ElementKind.PACKAGE)
+            e = e.getEnclosingElement();
+        return e;
+    }
+
+    /**
+     * True if code in the given package can use the given type.
+     */
+    private boolean isAccessible(TypeMirror t, PackageElement pkg) {
+        switch (t.getKind()) {
+        case ARRAY:
+            return isAccessible(((ArrayType) t).getComponentType(), pkg);
+        case DECLARED:
+            return isAccessible(((DeclaredType) t).asElement(), pkg);
+        case TYPEVAR:
+            return isAccessible(types.erasure(t), pkg);
+        default:
+            return t.getKind().isPrimitive();
+        }
+    }
+
+    /**
+     * True if code in the given package can use the given class or member.
+     * Nested classes have to be static, as the generated code has no outer instance.
+     */
+    private boolean isAccessible(Element e, PackageElement pkg) {
+        for (; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            Set<Modifier> mods = e.getModifiers();
+            if (mods.contains(Modifier.PRIVATE))
+                return false;
+            if (!mods.contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(pkg))
+                return false;
+            if (e instanceof TypeElement && ((TypeElement) e).getNestingKind() != NestingKind.TOP_LEVEL
+                    && (((TypeElement) e).getNestingKind() != NestingKind.MEMBER
+                        || !mods.contains(Modifier.STATIC) && e.getEnclosingElement().getKind().isClass()))
+                return false;
+        }
+        return true;
+    }
+
+    private static String getDefaultValue(TypeKind kind) {
+        switch (kind) {
+        case BOOLEAN:
+            return "false";
+        case CHAR:
+            return "(char) 0";
+        case BYTE:
+            return "(byte) 0";
+        case SHORT:
+            return "(short) 0";
+        case LONG:
+            return "0L";
+        case FLOAT:
+            return "0F";
+        case DOUBLE:
+            return "0D";
+        default:
+            return "0";
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
@@ -23,6 +23,7 @@ enum Messages {
     NON_EXISTENT_FILE, // 1 arg
     UNRECOGNIZED_PARAMETER, //1 arg
     OPERAND_MISSING, // 1 arg
+    ACCESSORS_NOT_GENERATED, // 0 args
     ;
 
     private static final ResourceBundle rb = ResourceBundle.getBundle(Messages.class.getPackage().getName() +".MessageBundle");
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.jxc.ap;
+
+import jakarta.activation.DataHandler;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import junit.framework.TestCase;
+import org.glassfish.jaxb.core.v2.ClassFactory;
+import org.glassfish.jaxb.runtime.GeneratedAccessorFactory;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@link AccessorGenerator} over a few classes with {@link JavaCompiler},
+ * then loads what it generated.
+ */
+public class AccessorGeneratorTest extends TestCase {
+
+    private static final String ORDER = "package ap.test;\n"
+            + "import jakarta.xml.bind.annotation.*;\n"
+            + "import java.util.*;\n"
+            + "@XmlRootElement\n"
+            + "@XmlAccessorType(XmlAccessType.FIELD)\n"
+            + "public class Order {\n"
+            + "    @XmlAttribute public String id;\n"
+            + "    int quantity;\n"
+            + "    public List<String> tags = new ArrayList<>();\n"
+            + "    public Customer customer;\n"
+            + "    @XmlTransient public final String createdBy = getCaller();\n"
+            + "    private static String getCaller() {\n"
+            + "        // skip this method and the constructor\n"
+            + "        return new Throwable().getStackTrace()[2].getClassName();\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String CUSTOMER = "package ap.test;\n"
+            + "import jakarta.xml.bind.annotation.*;\n"
+            + "@XmlAccessorType(XmlAccessType.PROPERTY)\n"
+            + "public class Customer {\n"
+            + "    private String name;\n"
+            + "    private boolean active;\n"
+            + "    public String getName() { return name; }\n"
+            + "    public void setName(String name) { this.name = name; }\n"
+            + "    public boolean isActive() { return active; }\n"
+            + "    public void setActive(boolean active) { this.active = active; }\n"
+            + "}\n";
+
+    private Path dir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = Files.createTempDirectory("jxc-ap");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(p);
+        }
+        super.tearDown();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testGenerate() throws Exception {
+        Path classes = compile();
+        for (String name : new String[] {"JAXBAccessorFactory", "Order_JAXBAccessors", "Customer_JAXBAccessors"})
+            assertTrue(name, Files.exists(classes.resolve("ap/test/" + name + ".class")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> order = loader.loadClass("ap.test.Order");
+            Class<?> customer = loader.loadClass("ap.test.Customer");
+            GeneratedAccessorFactory factory = (GeneratedAccessorFactory)
+                    loader.loadClass("ap.test." + GeneratedAccessorFactory.CLASS_NAME).getConstructor().newInstance();
+
+            Object o = factory.getFactory(order).get();
+            assertEquals("ap.test.Order_JAXBAccessors", order.getField("createdBy").get(o));
+
+            // a package-private field
+            Accessor quantity = factory.createFieldAccessor(order, order.getDeclaredField("quantity"), false);
+            assertTrue(quantity.getClass().getName(), quantity.getClass().getName().startsWith("ap.test.Order_JAXBAccessors$"));
+            quantity.set(o, 3);
+            assertEquals(3, quantity.get(o));
+
+            Accessor active = factory.createPropertyAccessor(customer,
+                    customer.getMethod("isActive"), customer.getMethod("setActive", boolean.class));
+            assertTrue(active.getClass().getName(), active.getClass().getName().startsWith("ap.test.Customer_JAXBAccessors$"));
+            Object c = factory.getFactory(customer).get();
+            active.set(c, true);
+            assertEquals(Boolean.TRUE, customer.getMethod("isActive").invoke(c));
+
+            // and the runtime picks them up
+            order.getField("id").set(o, "o1");
+            customer.getMethod("setName", String.class).invoke(c, "ACME");
+            order.getField("customer").set(o, c);
+            JAXBContext context = JAXBContext.newInstance(new Class<?>[] {order},
+                    Map.of(JAXBRIContext.GENERATED_ACCESSORS, true));
+            StringWriter w = new StringWriter();
+            context.createMarshaller().marshal(o, w);
+            String xml = w.toString();
+            assertTrue(xml, xml.contains("<order id=\"o1\">"));
+            assertTrue(xml, xml.contains("<quantity>3</quantity>"));
+            assertTrue(xml, xml.contains("<active>true</active>"));
+
+            Object back = context.createUnmarshaller().unmarshal(new StringReader(xml));
+            assertEquals("ap.test.Order_JAXBAccessors", order.getField("createdBy").get(back));
+            assertEquals(3, quantity.get(back));
+            assertEquals("ACME", customer.getMethod("getName").invoke(order.getField("customer").get(back)));
+        }
+    }
+
+    /**
+     * Compiles the classes of the test with {@link AccessorGenerator}.
+     *
+     * @return the directory of the class files.
+     */
+    private Path compile() throws IOException, URISyntaxException {
+        Path src = Files.createDirectories(dir.resolve("src/ap/test"));
+        Files.writeString(src.resolve("Order.java"), ORDER);
+        Files.writeString(src.resolve("Customer.java"), CUSTOMER);
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        Path generated = Files.createDirectories(dir.resolve("generated"));
+
+        List<String> options = new ArrayList<>();
+        options.add("-d");
+        options.add(classes.toString());
+        options.add("-s");
+        options.add(generated.toString());
+        options.add("-classpath");
+        options.add(getClassPath(XmlRootElement.class, DataHandler.class, ClassFactory.class, GeneratedAccessorFactory.class));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fm = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fm, diagnostics, options, null,
+                    fm.getJavaFileObjects(src.resolve("Order.java").toFile(), src.resolve("Customer.java").toFile()));
+            task.setProcessors(List.of(new AccessorGenerator()));
+            boolean success = task.call();
+            for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+                if (d.getKind() == Diagnostic.Kind.ERROR || d.getKind() == Diagnostic.Kind.WARNING)
+                    fail(d.toString());
+            }
+            assertTrue(success);
+        }
+        return classes;
+    }
+
+    /**
+     * The jars or directories that the given classes were loaded from.
+     */
+    private static String getClassPath(Class<?>... classes) throws URISyntaxException {
+        List<String> path = new ArrayList<>();
+        for (Class<?> c : classes)
+            path.add(Paths.get(c.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+        return String.join(File.pathSeparator, path);
+    }
+}
@@ -20,6 +20,7 @@ import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.security.AccessController;
@@ -96,7 +97,7 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
     }
 
     public static long _parseLong(CharSequence s) {
-        return Long.parseLong(removeOptionalPlus(WhiteSpaceProcessor.trim(s)).toString());
+        return NumberConverter.parseLong(s);
     }
 
     public static short _parseShort(CharSequence s) {
@@ -108,13 +109,7 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
     }
 
     public static BigDecimal _parseDecimal(CharSequence content) {
-        content = WhiteSpaceProcessor.trim(content);
-
-        if (content.length() <= 0) {
-            return null;
-        }
-
-        return new BigDecimal(content.toString());
+        return NumberConverter.parseDecimal(content);
 
         // from purely XML Schema perspective,
         // this implementation has a problem, since 
@@ -130,7 +125,6 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
     }
 
     public static float _parseFloat(CharSequence _val) {
-        String s = WhiteSpaceProcessor.trim(_val).toString();
         /* Incompatibilities of XML Schema's float "xfloat" and Java's float "jfloat"
         
          * jfloat.valueOf ignores leading and trailing whitespaces,
@@ -145,62 +139,15 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
         this case in xfloat. Although probably this is allowed.
          *
          */
-
-        if (s.equals("NaN")) {
-            return Float.NaN;
-        }
-        if (s.equals("INF")) {
-            return Float.POSITIVE_INFINITY;
-        }
-        if (s.equals("-INF")) {
-            return Float.NEGATIVE_INFINITY;
-        }
-
-        if (s.length() == 0
-                || !isDigitOrPeriodOrSign(s.charAt(0))
-                || !isDigitOrPeriodOrSign(s.charAt(s.length() - 1))) {
-            throw new NumberFormatException();
-        }
-
-        // these screening process is necessary due to the wobble of Float.valueOf method
-        return Float.parseFloat(s);
+        return NumberConverter.parseFloat(_val);
     }
 
     public static String _printFloat(float v) {
-        if (Float.isNaN(v)) {
-            return "NaN";
-        }
-        if (v == Float.POSITIVE_INFINITY) {
-            return "INF";
-        }
-        if (v == Float.NEGATIVE_INFINITY) {
-            return "-INF";
-        }
-        return String.valueOf(v);
+        return NumberConverter.printFloat(v);
     }
 
     public static double _parseDouble(CharSequence _val) {
-        String val = WhiteSpaceProcessor.trim(_val).toString();
-
-        if (val.equals("NaN")) {
-            return Double.NaN;
-        }
-        if (val.equals("INF")) {
-            return Double.POSITIVE_INFINITY;
-        }
-        if (val.equals("-INF")) {
-            return Double.NEGATIVE_INFINITY;
-        }
-
-        if (val.length() == 0
-                || !isDigitOrPeriodOrSign(val.charAt(0))
-                || !isDigitOrPeriodOrSign(val.charAt(val.length() - 1))) {
-            throw new NumberFormatException(val);
-        }
-
-
-        // these screening process is necessary due to the wobble of Float.valueOf method
-        return Double.parseDouble(val);
+        return NumberConverter.parseDouble(_val);
     }
 
     public static Boolean _parseBoolean(CharSequence literal) {
@@ -341,8 +288,7 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
     }
 
     public static GregorianCalendar _parseDateTime(CharSequence s) {
-        String val = WhiteSpaceProcessor.trim(s).toString();
-        return getDatatypeFactory().newXMLGregorianCalendar(val).toGregorianCalendar();
+        return DateTimeConverter.parseXMLGregorianCalendar(s, getDatatypeFactory()).toGregorianCalendar();
     }
 
     public static String _printDateTime(Calendar val) {
@@ -366,16 +312,7 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
     }
 
     public static String _printDouble(double v) {
-        if (Double.isNaN(v)) {
-            return "NaN";
-        }
-        if (v == Double.POSITIVE_INFINITY) {
-            return "INF";
-        }
-        if (v == Double.NEGATIVE_INFINITY) {
-            return "-INF";
-        }
-        return String.valueOf(v);
+        return NumberConverter.printDouble(v);
     }
 
     public static String _printQName(QName val, NamespaceContext nsc) {
@@ -699,14 +636,30 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
         throw new NumberFormatException();
     }
 
-    private static boolean isDigitOrPeriodOrSign(char ch) {
-        if ('0' <= ch && ch <= '9') {
-            return true;
+    private static final Map<ClassLoader, DatatypeFactory> DF_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The factory last returned by {@link #getDatatypeFactory()}, so that
+     * the usual case of a single context class loader doesn't take the lock of {@link #DF_CACHE}.
+     */
+    private static volatile LastDatatypeFactory lastDF;
+
+    private static final class LastDatatypeFactory {
+        /**
+         * Null for the null class loader.
+         */
+        private final WeakReference<ClassLoader> classLoader;
+        private final DatatypeFactory factory;
+
+        LastDatatypeFactory(ClassLoader classLoader, DatatypeFactory factory) {
+            this.classLoader = classLoader == null ? null : new WeakReference<>(classLoader);
+            this.factory = factory;
         }
-        return ch == '+' || ch == '-' || ch == '.';
-    }
 
-    private static final Map<ClassLoader, DatatypeFactory> DF_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+        boolean isFor(ClassLoader cl) {
+            return classLoader == null ? cl == null : cl != null && classLoader.get() == cl;
+        }
+    }
 
     public static DatatypeFactory getDatatypeFactory() {
         ClassLoader tccl = AccessController.doPrivileged(new PrivilegedAction<>() {
@@ -715,6 +668,10 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
                 return Thread.currentThread().getContextClassLoader();
             }
         });
+        LastDatatypeFactory last = lastDF;
+        if (last != null && last.isFor(tccl)) {
+            return last.factory;
+        }
         DatatypeFactory df = DF_CACHE.get(tccl);
         if (df == null) {
             synchronized (DatatypeConverterImpl.class) {
@@ -729,6 +686,7 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
                 }
             }
         }
+        lastDF = new LastDatatypeFactory(tccl, df);
         return df;
     }
 
@@ -1070,7 +1028,7 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
     @Deprecated
     @Override
     public Calendar parseTime(String lexicalXSDTime) {
-        return getDatatypeFactory().newXMLGregorianCalendar(lexicalXSDTime).toGregorianCalendar();
+        return DateTimeConverter.parseXMLGregorianCalendar(lexicalXSDTime, getDatatypeFactory()).toGregorianCalendar();
     }
 
     @Deprecated
@@ -1082,7 +1040,7 @@ public final class DatatypeConverterImpl implements DatatypeConverterInterface {
     @Deprecated
     @Override
     public Calendar parseDate(String lexicalXSDDate) {
-        return getDatatypeFactory().newXMLGregorianCalendar(lexicalXSDDate).toGregorianCalendar();
+        return DateTimeConverter.parseXMLGregorianCalendar(lexicalXSDDate, getDatatypeFactory()).toGregorianCalendar();
     }
 
     @Deprecated
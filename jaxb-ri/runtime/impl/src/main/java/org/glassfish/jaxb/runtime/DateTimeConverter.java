@@ -0,0 +1,839 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import org.glassfish.jaxb.core.WhiteSpaceProcessor;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+
+/**
+ * Parses and prints the lexical forms of the XML Schema date, time and duration
+ * types as {@code java.time} values, as well as {@link XMLGregorianCalendar}
+ * and {@link javax.xml.datatype.Duration}.
+ *
+ * <p>
+ * Parsers work on any {@link CharSequence} and ignore leading and trailing whitespace.
+ * Printers write the canonical form as ASCII into a byte array, so that it can be
+ * copied straight into an UTF-8 output. Neither go through {@link DatatypeFactory}
+ * for the {@code java.time} types. The {@code javax.xml.datatype} values still need
+ * a factory to be created, but only through its field based methods: the lexical
+ * parsing of {@link DatatypeFactory#newXMLGregorianCalendar(String)} and
+ * {@link DatatypeFactory#newDuration(String)} is considerably slower.
+ *
+ * <p>
+ * The local types ({@link LocalDate}, {@link LocalTime}, {@link LocalDateTime}) ignore
+ * the timezone of the lexical value, if any. The others read a value without timezone as UTC.
+ * {@link Duration} can't represent years and months, so only durations without them are accepted.
+ *
+ * @since 4.0.4
+ */
+public final class DateTimeConverter {
+
+    /**
+     * Big enough for any value printed by this class.
+     */
+    public static final int MAX_LENGTH = 48;
+
+    private DateTimeConverter() {}
+
+    public static LocalDate parseLocalDate(CharSequence text) {
+        Lexer l = new Lexer(text);
+        LocalDate d = l.date();
+        l.offset();
+        l.end();
+        return d;
+    }
+
+    public static LocalTime parseLocalTime(CharSequence text) {
+        Lexer l = new Lexer(text);
+        LocalTime t = l.time();
+        l.offset();
+        l.end();
+        return t;
+    }
+
+    public static LocalDateTime parseLocalDateTime(CharSequence text) {
+        Lexer l = new Lexer(text);
+        LocalDateTime dt = l.dateTime();
+        l.offset();
+        l.end();
+        return dt;
+    }
+
+    public static OffsetDateTime parseOffsetDateTime(CharSequence text) {
+        Lexer l = new Lexer(text);
+        LocalDateTime dt = l.dateTime();
+        ZoneOffset offset = l.offset();
+        l.end();
+        return OffsetDateTime.of(dt, offset==null ? ZoneOffset.UTC : offset);
+    }
+
+    public static OffsetTime parseOffsetTime(CharSequence text) {
+        Lexer l = new Lexer(text);
+        LocalTime t = l.time();
+        ZoneOffset offset = l.offset();
+        l.end();
+        return OffsetTime.of(t, offset==null ? ZoneOffset.UTC : offset);
+    }
+
+    public static Instant parseInstant(CharSequence text) {
+        return parseOffsetDateTime(text).toInstant();
+    }
+
+    public static Duration parseDuration(CharSequence text) {
+        Lexer l = new Lexer(text);
+        Duration d = l.duration();
+        l.end();
+        return d;
+    }
+
+    /**
+     * Parses any of the XML Schema date and time types, as
+     * {@link DatatypeFactory#newXMLGregorianCalendar(String)} does.
+     * The type is told apart by the lexical form.
+     *
+     * @throws IllegalArgumentException
+     *      if the text isn't a valid lexical value, or the value isn't valid
+     *      according to the factory.
+     */
+    public static XMLGregorianCalendar parseXMLGregorianCalendar(CharSequence text, DatatypeFactory factory) {
+        Lexer l = new Lexer(text);
+        XMLGregorianCalendar c = l.calendar(factory);
+        l.end();
+        return c;
+    }
+
+    /**
+     * Parses {@code xs:duration}, as {@link DatatypeFactory#newDuration(String)} does.
+     * Only the fields present in the text are set.
+     */
+    public static javax.xml.datatype.Duration parseXMLDuration(CharSequence text, DatatypeFactory factory) {
+        Lexer l = new Lexer(text);
+        javax.xml.datatype.Duration d = l.xmlDuration(factory);
+        l.end();
+        return d;
+    }
+
+    /**
+     * Prints {@code xs:date}.
+     *
+     * @return
+     *      the index in {@code buf} after the printed value.
+     */
+    public static int printLocalDate(LocalDate v, byte[] buf, int ptr) {
+        int year = v.getYear();
+        if(year<0) {
+            buf[ptr++] = '-';
+            year = -year;
+        }
+        ptr = printNumber(year,4,buf,ptr);
+        buf[ptr++] = '-';
+        ptr = print2(v.getMonthValue(),buf,ptr);
+        buf[ptr++] = '-';
+        return print2(v.getDayOfMonth(),buf,ptr);
+    }
+
+    /**
+     * Prints {@code xs:time}.
+     */
+    public static int printLocalTime(LocalTime v, byte[] buf, int ptr) {
+        ptr = print2(v.getHour(),buf,ptr);
+        buf[ptr++] = ':';
+        ptr = print2(v.getMinute(),buf,ptr);
+        buf[ptr++] = ':';
+        ptr = print2(v.getSecond(),buf,ptr);
+        int nano = v.getNano();
+        if(nano!=0) {
+            buf[ptr++] = '.';
+            int digits = 9;
+            while(nano%10==0) {
+                nano /= 10;
+                digits--;
+            }
+            ptr = printNumber(nano,digits,buf,ptr);
+        }
+        return ptr;
+    }
+
+    /**
+     * Prints {@code xs:dateTime} without timezone.
+     */
+    public static int printLocalDateTime(LocalDateTime v, byte[] buf, int ptr) {
+        ptr = printLocalDate(v.toLocalDate(),buf,ptr);
+        buf[ptr++] = 'T';
+        return printLocalTime(v.toLocalTime(),buf,ptr);
+    }
+
+    public static int printOffsetDateTime(OffsetDateTime v, byte[] buf, int ptr) {
+        ptr = printLocalDateTime(v.toLocalDateTime(),buf,ptr);
+        return printOffset(v.getOffset(),buf,ptr);
+    }
+
+    public static int printOffsetTime(OffsetTime v, byte[] buf, int ptr) {
+        ptr = printLocalTime(v.toLocalTime(),buf,ptr);
+        return printOffset(v.getOffset(),buf,ptr);
+    }
+
+    /**
+     * Prints {@code xs:dateTime} in UTC.
+     */
+    public static int printInstant(Instant v, byte[] buf, int ptr) {
+        ptr = printLocalDateTime(LocalDateTime.ofEpochSecond(v.getEpochSecond(),v.getNano(),ZoneOffset.UTC),buf,ptr);
+        buf[ptr++] = 'Z';
+        return ptr;
+    }
+
+    /**
+     * Prints {@code xs:duration} in days, hours, minutes and seconds.
+     */
+    public static int printDuration(Duration v, byte[] buf, int ptr) {
+        if(v.isNegative()) {
+            buf[ptr++] = '-';
+            v = v.negated();
+        }
+        buf[ptr++] = 'P';
+        long seconds = v.getSeconds();
+        int nano = v.getNano();
+        long days = seconds/86400;
+        int hours = (int)(seconds%86400/3600);
+        int minutes = (int)(seconds%3600/60);
+        int secs = (int)(seconds%60);
+        if(days!=0) {
+            ptr = printNumber(days,1,buf,ptr);
+            buf[ptr++] = 'D';
+        }
+        if(hours!=0 || minutes!=0 || secs!=0 || nano!=0 || days==0) {
+            buf[ptr++] = 'T';
+            if(hours!=0) {
+                ptr = printNumber(hours,1,buf,ptr);
+                buf[ptr++] = 'H';
+            }
+            if(minutes!=0) {
+                ptr = printNumber(minutes,1,buf,ptr);
+                buf[ptr++] = 'M';
+            }
+            if(secs!=0 || nano!=0 || (hours==0 && minutes==0)) {
+                ptr = printNumber(secs,1,buf,ptr);
+                if(nano!=0) {
+                    buf[ptr++] = '.';
+                    int digits = 9;
+                    while(nano%10==0) {
+                        nano /= 10;
+                        digits--;
+                    }
+                    ptr = printNumber(nano,digits,buf,ptr);
+                }
+                buf[ptr++] = 'S';
+            }
+        }
+        return ptr;
+    }
+
+    public static String printLocalDate(LocalDate v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf,printLocalDate(v,buf,0));
+    }
+
+    public static String printLocalTime(LocalTime v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf,printLocalTime(v,buf,0));
+    }
+
+    public static String printLocalDateTime(LocalDateTime v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf,printLocalDateTime(v,buf,0));
+    }
+
+    public static String printOffsetDateTime(OffsetDateTime v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf,printOffsetDateTime(v,buf,0));
+    }
+
+    public static String printOffsetTime(OffsetTime v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf,printOffsetTime(v,buf,0));
+    }
+
+    public static String printInstant(Instant v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf,printInstant(v,buf,0));
+    }
+
+    public static String printDuration(Duration v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf,printDuration(v,buf,0));
+    }
+
+    /**
+     * Prints the value as {@link XMLGregorianCalendar#toXMLFormat()} does.
+     *
+     * @throws IllegalStateException
+     *      if the defined fields don't match any of the XML Schema types.
+     */
+    public static String printXMLGregorianCalendar(XMLGregorianCalendar v) {
+        // only to report invalid combinations of fields the same way
+        v.getXMLSchemaType();
+
+        StringBuilder buf = new StringBuilder(MAX_LENGTH);
+        boolean hasYear = v.getYear()!=DatatypeConstants.FIELD_UNDEFINED;
+        boolean hasMonth = v.getMonth()!=DatatypeConstants.FIELD_UNDEFINED;
+        if(hasYear) {
+            if(v.getEon()==null) {
+                int year = v.getYear();
+                if(year<0) {
+                    buf.append('-');
+                    year = -year;
+                }
+                appendNumber(buf,year,4);
+            } else {
+                BigInteger year = v.getEonAndYear();
+                if(year.signum()<0)
+                    buf.append('-');
+                String digits = year.abs().toString();
+                for( int i=digits.length(); i<4; i++ )
+                    buf.append('0');
+                buf.append(digits);
+            }
+        }
+        if(hasMonth) {
+            buf.append(hasYear ? "-" : "--");
+            appendNumber(buf,v.getMonth(),2);
+        }
+        if(v.getDay()!=DatatypeConstants.FIELD_UNDEFINED) {
+            buf.append(hasMonth ? "-" : "---");
+            appendNumber(buf,v.getDay(),2);
+        }
+        if(v.getHour()!=DatatypeConstants.FIELD_UNDEFINED) {
+            if(hasYear)
+                buf.append('T');
+            appendNumber(buf,v.getHour(),2);
+            buf.append(':');
+            appendNumber(buf,v.getMinute(),2);
+            buf.append(':');
+            appendNumber(buf,v.getSecond(),2);
+            BigDecimal fraction = v.getFractionalSecond();
+            if(fraction!=null) {
+                // skip the leading zero
+                String digits = fraction.toPlainString();
+                buf.append(digits,1,digits.length());
+            }
+        }
+        int offset = v.getTimezone();
+        if(offset==0) {
+            buf.append('Z');
+        } else if(offset!=DatatypeConstants.FIELD_UNDEFINED) {
+            if(offset<0) {
+                buf.append('-');
+                offset = -offset;
+            } else {
+                buf.append('+');
+            }
+            appendNumber(buf,offset/60,2);
+            buf.append(':');
+            appendNumber(buf,offset%60,2);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Prints the fields that are set, as {@link javax.xml.datatype.Duration#toString()} does.
+     */
+    public static String printXMLDuration(javax.xml.datatype.Duration v) {
+        StringBuilder buf = new StringBuilder(MAX_LENGTH);
+        if(v.getSign()<0)
+            buf.append('-');
+        buf.append('P');
+        appendField(buf,v,DatatypeConstants.YEARS,'Y');
+        appendField(buf,v,DatatypeConstants.MONTHS,'M');
+        appendField(buf,v,DatatypeConstants.DAYS,'D');
+        if(v.isSet(DatatypeConstants.HOURS) || v.isSet(DatatypeConstants.MINUTES) || v.isSet(DatatypeConstants.SECONDS)) {
+            buf.append('T');
+            appendField(buf,v,DatatypeConstants.HOURS,'H');
+            appendField(buf,v,DatatypeConstants.MINUTES,'M');
+            appendField(buf,v,DatatypeConstants.SECONDS,'S');
+        }
+        return buf.toString();
+    }
+
+    private static void appendField(StringBuilder buf, javax.xml.datatype.Duration v, DatatypeConstants.Field field, char unit) {
+        if(v.isSet(field)) {
+            Number n = v.getField(field);
+            buf.append(n instanceof BigDecimal ? ((BigDecimal)n).toPlainString() : n.toString());
+            buf.append(unit);
+        }
+    }
+
+    private static void appendNumber(StringBuilder buf, int n, int minDigits) {
+        for( int x=n<10 ? 1 : n<100 ? 2 : n<1000 ? 3 : 4; x<minDigits; x++ )
+            buf.append('0');
+        buf.append(n);
+    }
+
+    private static String toString(byte[] buf, int len) {
+        return new String(buf,0,len,StandardCharsets.ISO_8859_1);
+    }
+
+    private static int printOffset(ZoneOffset offset, byte[] buf, int ptr) {
+        int seconds = offset.getTotalSeconds();
+        if(seconds==0) {
+            buf[ptr++] = 'Z';
+            return ptr;
+        }
+        if(seconds<0) {
+            buf[ptr++] = '-';
+            seconds = -seconds;
+        } else {
+            buf[ptr++] = '+';
+        }
+        // xs:dateTime has no seconds in the timezone
+        ptr = print2(seconds/3600,buf,ptr);
+        buf[ptr++] = ':';
+        return print2(seconds/60%60,buf,ptr);
+    }
+
+    private static int print2(int n, byte[] buf, int ptr) {
+        buf[ptr++] = (byte)('0'+n/10);
+        buf[ptr++] = (byte)('0'+n%10);
+        return ptr;
+    }
+
+    /**
+     * Prints a non-negative number with at least the given number of digits.
+     */
+    private static int printNumber(long n, int minDigits, byte[] buf, int ptr) {
+        int digits = 1;
+        for( long x=n; x>=10; x/=10 )
+            digits++;
+        digits = Math.max(digits,minDigits);
+        for( int i=ptr+digits-1; i>=ptr; i-- ) {
+            buf[i] = (byte)('0'+n%10);
+            n /= 10;
+        }
+        return ptr+digits;
+    }
+
+    /**
+     * Reads the lexical forms from a {@link CharSequence}.
+     */
+    private static final class Lexer {
+        private static final String DURATION_UNITS = "YMDTHMS";
+        private static final int DURATION_TIME = 3;
+        private static final int DURATION_SECONDS = 6;
+        /**
+         * More digits than this may not fit in a long.
+         */
+        private static final int MAX_LONG_DIGITS = 18;
+        /**
+         * Years with more digits than this are set as a {@link BigInteger}.
+         */
+        private static final int MAX_INT_YEAR_DIGITS = 9;
+
+        private final CharSequence text;
+        private int pos;
+        private final int end;
+
+        Lexer(CharSequence text) {
+            this.text = text;
+            int s = 0;
+            int e = text.length();
+            while(s<e && WhiteSpaceProcessor.isWhiteSpace(text.charAt(s)))
+                s++;
+            while(e>s && WhiteSpaceProcessor.isWhiteSpace(text.charAt(e-1)))
+                e--;
+            this.pos = s;
+            this.end = e;
+        }
+
+        /**
+         * True if the hour of the last {@link #time()} was 24.
+         */
+        private boolean endOfDay;
+
+        LocalDateTime dateTime() {
+            LocalDate d = date();
+            expect('T');
+            LocalTime t = time();
+            LocalDateTime dt = LocalDateTime.of(d,t);
+            return endOfDay ? dt.plusDays(1) : dt;
+        }
+
+        LocalDate date() {
+            boolean negative = skip('-');
+            int start = pos;
+            long year = number(4,9);
+            if(pos-start>4 && text.charAt(start)=='0')
+                throw error();
+            expect('-');
+            int month = (int)number(2,2);
+            expect('-');
+            int day = (int)number(2,2);
+            return LocalDate.of((int)(negative ? -year : year),month,day);
+        }
+
+        LocalTime time() {
+            int hour = (int)number(2,2);
+            expect(':');
+            int minute = (int)number(2,2);
+            expect(':');
+            int second = (int)number(2,2);
+            int nano = 0;
+            if(skip('.'))
+                nano = fraction();
+            endOfDay = hour==24;
+            if(endOfDay) {
+                // 24:00:00 is the first instant of the next day
+                if(minute!=0 || second!=0 || nano!=0)
+                    throw error();
+                return LocalTime.MIDNIGHT;
+            }
+            return LocalTime.of(hour,minute,second,nano);
+        }
+
+        /**
+         * @return
+         *      null if there's no timezone.
+         */
+        ZoneOffset offset() {
+            if(pos==end)
+                return null;
+            if(skip('Z'))
+                return ZoneOffset.UTC;
+            int sign;
+            if(skip('+'))
+                sign = 1;
+            else if(skip('-'))
+                sign = -1;
+            else
+                throw error();
+            int hours = (int)number(2,2);
+            expect(':');
+            int minutes = (int)number(2,2);
+            if(hours>14 || minutes>59 || (hours==14 && minutes!=0))
+                throw error();
+            return ZoneOffset.ofHoursMinutes(sign*hours,sign*minutes);
+        }
+
+        XMLGregorianCalendar calendar(DatatypeFactory factory) {
+            final int undefined = DatatypeConstants.FIELD_UNDEFINED;
+            // years that don't fit in an int are kept in bigYear
+            int year = undefined;
+            BigInteger bigYear = null;
+            int month = undefined, day = undefined;
+            int hour = undefined, minute = undefined, second = undefined;
+            BigDecimal fraction = null;
+
+            if(pos+2<end && text.charAt(pos+2)==':') {
+                // time
+                hour = (int)number(2,2);
+                expect(':');
+                minute = (int)number(2,2);
+                expect(':');
+                second = (int)number(2,2);
+                fraction = decimalFraction();
+            } else if(pos+1<end && text.charAt(pos)=='-' && text.charAt(pos+1)=='-') {
+                pos += 2;
+                if(skip('-')) {
+                    // gDay
+                    day = (int)number(2,2);
+                } else {
+                    // gMonth or gMonthDay
+                    month = (int)number(2,2);
+                    if(pos+1<end && text.charAt(pos)=='-' && text.charAt(pos+1)=='-' && (pos+2==end || !isDigit(text.charAt(pos+2))))
+                        pos += 2;   // --MM-- as in the first edition of XML Schema
+                    else if(!atTimezone() && skip('-'))
+                        day = (int)number(2,2);
+                }
+            } else {
+                // starts with a year, maybe negative
+                boolean negative = skip('-');
+                int start = pos;
+                skipDigits();
+                if(pos-start<4 || (pos-start>4 && text.charAt(start)=='0'))
+                    throw error();
+                if(pos-start<=MAX_INT_YEAR_DIGITS) {
+                    year = (int)longValue(start,pos);
+                    if(negative)
+                        year = -year;
+                } else {
+                    bigYear = integer(start,pos);
+                    if(negative)
+                        bigYear = bigYear.negate();
+                }
+                if(!atTimezone() && skip('-')) {
+                    month = (int)number(2,2);
+                    if(!atTimezone() && skip('-')) {
+                        day = (int)number(2,2);
+                        if(skip('T')) {
+                            hour = (int)number(2,2);
+                            expect(':');
+                            minute = (int)number(2,2);
+                            expect(':');
+                            second = (int)number(2,2);
+                            fraction = decimalFraction();
+                        }
+                    }
+                }
+            }
+
+            ZoneOffset offset = offset();
+
+            // the setters are much cheaper than the factory methods that take all the fields,
+            // which go through BigInteger arithmetic for the year
+            XMLGregorianCalendar c = factory.newXMLGregorianCalendar();
+            if(bigYear!=null)
+                c.setYear(bigYear);
+            else if(year!=undefined)
+                c.setYear(year);
+            if(month!=undefined)
+                c.setMonth(month);
+            if(day!=undefined)
+                c.setDay(day);
+            if(hour!=undefined)
+                c.setTime(hour,minute,second,fraction);
+            if(offset!=null)
+                c.setTimezone(offset.getTotalSeconds()/60);
+            if(!c.isValid())
+                throw new IllegalArgumentException("invalid value: "+text);
+            return c;
+        }
+
+        /**
+         * True if a numeric timezone starts at the current position,
+         * rather than a '-' that separates the fields of a date.
+         */
+        private boolean atTimezone() {
+            return pos+3<end && text.charAt(pos+3)==':';
+        }
+
+        /**
+         * Reads the optional fractional seconds, keeping all the digits.
+         */
+        private BigDecimal decimalFraction() {
+            if(!skip('.'))
+                return null;
+            int start = pos;
+            skipDigits();
+            if(pos==start)
+                throw error();
+            return decimal(start,start,start,pos);
+        }
+
+        javax.xml.datatype.Duration xmlDuration(DatatypeFactory factory) {
+            boolean negative = skip('-');
+            expect('P');
+            BigInteger[] fields = new BigInteger[DURATION_SECONDS];
+            BigDecimal seconds = null;
+            int last = -1;
+            while(pos<end) {
+                last = component(last);
+                if(last==DURATION_SECONDS)
+                    seconds = decimal(integerStart,integerEnd,fractionStart,fractionEnd);
+                else
+                    fields[last] = integer(integerStart,integerEnd);
+            }
+            if(last<0)
+                throw error();
+            return factory.newDuration(!negative,fields[0],fields[1],fields[2],fields[4],fields[5],seconds);
+        }
+
+        Duration duration() {
+            boolean negative = skip('-');
+            expect('P');
+            Duration d = Duration.ZERO;
+            int last = -1;
+            while(pos<end) {
+                last = component(last);
+                long n = longValue(integerStart,integerEnd);
+                switch(last) {
+                case 0: // Y
+                case 1: // M
+                    if(n!=0)
+                        throw new IllegalArgumentException("years and months can't be represented as java.time.Duration: "+text);
+                    break;
+                case 2:
+                    d = d.plusDays(n);
+                    break;
+                case 4:
+                    d = d.plusHours(n);
+                    break;
+                case 5:
+                    d = d.plusMinutes(n);
+                    break;
+                case DURATION_SECONDS:
+                    d = d.plusSeconds(n).plusNanos(nanos(fractionStart,fractionEnd));
+                    break;
+                default:
+                    throw new AssertionError();
+                }
+            }
+            if(last<0)
+                throw error();
+            return negative ? d.negated() : d;
+        }
+
+        /**
+         * The digits of the last duration component read by {@link #component(int)}.
+         * {@link #fractionStart}=={@link #fractionEnd} if there's no fraction.
+         */
+        private int integerStart, integerEnd, fractionStart, fractionEnd;
+
+        /**
+         * Reads a duration component, including the 'T' that may precede it.
+         * Components must appear in the order of {@link #DURATION_UNITS}, each at most once,
+         * and only the seconds may have a fraction.
+         *
+         * @param last
+         *      the unit of the previous component, -1 if none.
+         * @return
+         *      the unit of this component, as an index in {@link #DURATION_UNITS}.
+         */
+        private int component(int last) {
+            if(last<DURATION_TIME && skip('T')) {
+                last = DURATION_TIME;
+                if(pos==end)
+                    throw error();  // 'T' must be followed by a component
+            }
+            integerStart = pos;
+            skipDigits();
+            integerEnd = pos;
+            if(integerStart==integerEnd)
+                throw error();
+            if(skip('.')) {
+                fractionStart = pos;
+                skipDigits();
+                if(pos==fractionStart)
+                    throw error();
+            } else {
+                fractionStart = pos;
+            }
+            fractionEnd = pos;
+            int unit = DURATION_UNITS.indexOf(next(), last<DURATION_TIME ? 0 : DURATION_TIME+1);
+            if(unit<=last || (unit<DURATION_TIME)!=(last<DURATION_TIME) || (fractionStart!=fractionEnd && unit!=DURATION_SECONDS))
+                throw error();
+            return unit;
+        }
+
+        /**
+         * Reads the digits after the decimal point as nanoseconds.
+         */
+        private int fraction() {
+            int start = pos;
+            skipDigits();
+            if(pos==start)
+                throw error();
+            return nanos(start,pos);
+        }
+
+        /**
+         * Converts the digits after a decimal point to nanoseconds.
+         * Digits beyond nanoseconds are ignored.
+         */
+        private int nanos(int start, int end) {
+            int nano = 0;
+            for( int i=0; i<9; i++ )
+                nano = nano*10 + (start+i<end ? text.charAt(start+i)-'0' : 0);
+            return nano;
+        }
+
+        private long longValue(int start, int end) {
+            long n = 0;
+            for( int i=start; i<end; i++ ) {
+                if(n>Long.MAX_VALUE/10)
+                    throw error();
+                n = n*10 + (text.charAt(i)-'0');
+            }
+            return n;
+        }
+
+        private BigInteger integer(int start, int end) {
+            if(end-start<=MAX_LONG_DIGITS)
+                return BigInteger.valueOf(longValue(start,end));
+            return new BigInteger(text.subSequence(start,end).toString());
+        }
+
+        /**
+         * Converts the integer digits {@code [start,end)} and the fraction digits
+         * {@code [fractionStart,fractionEnd)} to the number they form together.
+         */
+        private BigDecimal decimal(int start, int end, int fractionStart, int fractionEnd) {
+            if(end-start+fractionEnd-fractionStart<=MAX_LONG_DIGITS) {
+                long unscaled = longValue(start,end);
+                for( int i=fractionStart; i<fractionEnd; i++ )
+                    unscaled = unscaled*10 + (text.charAt(i)-'0');
+                return BigDecimal.valueOf(unscaled,fractionEnd-fractionStart);
+            }
+            return new BigDecimal(text.subSequence(start,end)+"."+text.subSequence(fractionStart,fractionEnd));
+        }
+
+        private void skipDigits() {
+            while(pos<end && isDigit(text.charAt(pos)))
+                pos++;
+        }
+
+        private long number(int minDigits, int maxDigits) {
+            int start = pos;
+            long n = 0;
+            while(pos<end && isDigit(text.charAt(pos))) {
+                if(pos-start==maxDigits || n>Long.MAX_VALUE/10)
+                    throw error();
+                n = n*10 + (text.charAt(pos++)-'0');
+            }
+            if(pos-start<minDigits)
+                throw error();
+            return n;
+        }
+
+        private boolean skip(char ch) {
+            if(pos<end && text.charAt(pos)==ch) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char ch) {
+            if(!skip(ch))
+                throw error();
+        }
+
+        private char next() {
+            if(pos==end)
+                throw error();
+            return text.charAt(pos++);
+        }
+
+        void end() {
+            if(pos!=end)
+                throw error();
+        }
+
+        private IllegalArgumentException error() {
+            return new IllegalArgumentException("invalid lexical value at position "+pos+": "+text);
+        }
+
+        private static boolean isDigit(char ch) {
+            return '0'<=ch && ch<='9';
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Accessors and factories of the classes of a package that were generated at build time,
+ * so that they can be used without reflection.
+ *
+ * <p>
+ * The {@code com.sun.tools.jxc.ap.AccessorGenerator} annotation processor generates
+ * a subclass named {@value #CLASS_NAME} in each package that has classes with
+ * {@code XmlRootElement}. If {@link org.glassfish.jaxb.runtime.api.JAXBRIContext#GENERATED_ACCESSORS}
+ * is set, the {@code JAXBContext} looks for it in the package of each class of the model
+ * and prefers it over reflection, unless the class specifies its own {@link XmlAccessorFactory}.
+ *
+ * <p>
+ * Only the fields and methods that the generated code can access get generated accessors.
+ * The others, as well as those whose type no longer matches, are accessed by reflection.
+ *
+ * @since 4.0.4
+ */
+public abstract class GeneratedAccessorFactory implements InternalAccessorFactory {
+
+    /**
+     * The simple name of the generated subclass in each package.
+     */
+    public static final String CLASS_NAME = "JAXBAccessorFactory";
+
+    protected GeneratedAccessorFactory() {
+    }
+
+    /**
+     * Gets the generated accessor of a field that the class declares.
+     *
+     * @param bean the class that declares the field.
+     * @param field the name of the field.
+     * @return null if no accessor was generated for the field.
+     */
+    protected abstract Accessor getFieldAccessor(Class<?> bean, String field);
+
+    /**
+     * Gets the generated accessor of a property of the class.
+     *
+     * @param bean the class to be processed.
+     * @param getter the name of the getter method, or null if there's none.
+     * @param setter the name of the setter method, or null if there's none.
+     * @return null if no accessor was generated for the property.
+     */
+    protected abstract Accessor getPropertyAccessor(Class<?> bean, String getter, String setter);
+
+    /**
+     * Gets the generated factory of the class.
+     *
+     * @return null if the class can't be created by a generated factory.
+     */
+    public abstract Supplier<?> getFactory(Class<?> bean);
+
+    @Override
+    public final Accessor createFieldAccessor(Class bean, Field f, boolean readOnly) {
+        return createFieldAccessor(bean, f, readOnly, false);
+    }
+
+    @Override
+    public final Accessor createFieldAccessor(Class bean, Field f, boolean readOnly, boolean supressWarnings) {
+        if (!readOnly && f.getDeclaringClass() == bean) {
+            Accessor acc = getFieldAccessor(bean, f.getName());
+            if (acc != null && acc.valueType == f.getType())
+                return acc;
+        }
+        return AccessorFactoryImpl.getInstance().createFieldAccessor(bean, f, readOnly, supressWarnings);
+    }
+
+    @Override
+    public final Accessor createPropertyAccessor(Class bean, Method getter, Method setter) {
+        Accessor acc = getPropertyAccessor(bean,
+                getter != null ? getter.getName() : null,
+                setter != null ? setter.getName() : null);
+        Class<?> type = getter != null ? getter.getReturnType() : setter.getParameterTypes()[0];
+        if (acc != null && acc.valueType == type)
+            return acc;
+        return AccessorFactoryImpl.getInstance().createPropertyAccessor(bean, getter, setter);
+    }
+
+    /**
+     * Reports an attempt to set a property that only has a getter,
+     * for the generated accessors.
+     *
+     * @param getter the getter, for the error message.
+     */
+    public static AccessorException noSetter(String getter) {
+        return new AccessorException(Messages.NO_SETTER.format(getter));
+    }
+
+    /**
+     * Reports an attempt to get a property that only has a setter,
+     * for the generated accessors.
+     *
+     * @param setter the setter, for the error message.
+     */
+    public static AccessorException noGetter(String setter) {
+        return new AccessorException(Messages.NO_GETTER.format(setter));
+    }
+}
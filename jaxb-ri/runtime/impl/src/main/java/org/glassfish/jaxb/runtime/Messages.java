@@ -18,6 +18,9 @@ import java.util.ResourceBundle;
  */
 enum Messages {
     FAILED_TO_INITIALE_DATATYPE_FACTORY, // 0 args
+    NO_SETTER, // 1 arg
+    NO_GETTER, // 1 arg
+    UNEXPECTED_ELEMENT, // 3 args
     ;
 
     private static final ResourceBundle rb = ResourceBundle.getBundle(Messages.class.getName());
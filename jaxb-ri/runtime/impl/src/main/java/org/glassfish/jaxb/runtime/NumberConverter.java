@@ -0,0 +1,731 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import org.glassfish.jaxb.core.WhiteSpaceProcessor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses and prints {@code xs:long}, {@code xs:decimal}, {@code xs:float} and {@code xs:double}.
+ *
+ * <p>
+ * Parsers work on any {@link CharSequence} and ignore leading and trailing whitespace.
+ * The common cases are converted without creating a {@link String} first;
+ * only unusual lexical forms fall back to the parsing methods of the JDK.
+ *
+ * <p>
+ * Printers write ASCII into a byte array, so that the value can go straight into an UTF-8 output.
+ * {@code float} and {@code double} are printed in the format of {@link Double#toString(double)},
+ * but always with the shortest decimal that rounds to the value. This is computed with
+ * the Schubfach algorithm by Raffaello Giulietti, which is also what {@link Double#toString(double)}
+ * does from Java 19 on; older releases sometimes print more digits than necessary.
+ *
+ * @since 4.0.4
+ */
+public final class NumberConverter {
+
+    /**
+     * Big enough for any value printed by this class.
+     */
+    public static final int MAX_LENGTH = 24;
+
+    private NumberConverter() {}
+
+    /**
+     * Parses {@code xs:long}, allowing a leading '+'.
+     *
+     * @throws NumberFormatException
+     *      if the text isn't a number, or if it's out of the range of {@code long}.
+     */
+    public static long parseLong(CharSequence text) {
+        int start = trimStart(text);
+        int end = trimEnd(text, start);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("Not a number: " + text);
+        }
+        // accumulate negatively, so that Long.MIN_VALUE fits
+        long r = 0;
+        for (; i < end; i++) {
+            int d = text.charAt(i) - '0';
+            if (d < 0 || d > 9 || r < Long.MIN_VALUE / 10 || (r = r * 10) < Long.MIN_VALUE + d) {
+                throw new NumberFormatException("Not a number: " + text);
+            }
+            r -= d;
+        }
+        if (negative) {
+            return r;
+        }
+        if (r == Long.MIN_VALUE) {
+            throw new NumberFormatException("Not a number: " + text);
+        }
+        return -r;
+    }
+
+    /**
+     * Parses {@code xs:decimal}, keeping the scale of the text as {@link BigDecimal#BigDecimal(String)} does.
+     *
+     * @return
+     *      null if the text is empty or all whitespace.
+     * @throws NumberFormatException
+     *      if the text isn't a number.
+     */
+    public static BigDecimal parseDecimal(CharSequence text) {
+        int start = trimStart(text);
+        int end = trimEnd(text, start);
+        if (start == end) {
+            return null;
+        }
+        int i = start;
+        boolean negative = false;
+        if (text.charAt(i) == '-' || text.charAt(i) == '+') {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char ch = text.charAt(i);
+            if ('0' <= ch && ch <= '9') {
+                unscaled = unscaled * 10 + (ch - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (ch == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                break;
+            }
+        }
+        if (i < end || digits == 0 || digits > MAX_LONG_DIGITS) {
+            // exponents, and too many digits for a long
+            return new BigDecimal(text.subSequence(start, end).toString());
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /**
+     * Parses {@code xs:double}.
+     *
+     * @throws NumberFormatException
+     *      if the text isn't a number.
+     */
+    public static double parseDouble(CharSequence text) {
+        int start = trimStart(text);
+        int end = trimEnd(text, start);
+        double special = parseSpecial(text, start, end);
+        if (special == special) {   // not NaN
+            return special;
+        }
+        if (matches(text, start, end, "NaN")) {
+            return Double.NaN;
+        }
+        Decimal d = new Decimal();
+        if (d.parse(text, start, end)) {
+            if (d.mantissa == 0) {
+                return d.negative ? -0.0 : 0.0;
+            }
+            // Clinger's fast path: both operands are exact, so the single operation rounds correctly
+            if (d.mantissa <= MAX_EXACT_DOUBLE && -DOUBLE_POW10.length < d.exponent && d.exponent < DOUBLE_POW10.length) {
+                double v = d.mantissa;
+                v = d.exponent < 0 ? v / DOUBLE_POW10[-d.exponent] : v * DOUBLE_POW10[d.exponent];
+                return d.negative ? -v : v;
+            }
+        }
+        return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Parses {@code xs:float}.
+     *
+     * @throws NumberFormatException
+     *      if the text isn't a number.
+     */
+    public static float parseFloat(CharSequence text) {
+        int start = trimStart(text);
+        int end = trimEnd(text, start);
+        double special = parseSpecial(text, start, end);
+        if (special == special) {   // not NaN
+            return (float) special;
+        }
+        if (matches(text, start, end, "NaN")) {
+            return Float.NaN;
+        }
+        Decimal d = new Decimal();
+        if (d.parse(text, start, end)) {
+            if (d.mantissa == 0) {
+                return d.negative ? -0.0f : 0.0f;
+            }
+            if (d.mantissa <= MAX_EXACT_FLOAT && -FLOAT_POW10.length < d.exponent && d.exponent < FLOAT_POW10.length) {
+                float v = d.mantissa;
+                v = d.exponent < 0 ? v / FLOAT_POW10[-d.exponent] : v * FLOAT_POW10[d.exponent];
+                return d.negative ? -v : v;
+            }
+        }
+        return Float.parseFloat(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Prints {@code xs:long}.
+     *
+     * @return
+     *      the index in {@code buf} after the printed value.
+     */
+    public static int printLong(long v, byte[] buf, int ptr) {
+        if (v < 0) {
+            buf[ptr++] = '-';
+            if (v == Long.MIN_VALUE) {
+                // can't be negated
+                buf[ptr++] = '9';
+                v = -(v + 9 * POW10[18]);
+            } else {
+                v = -v;
+            }
+        }
+        int len = digits(v);
+        for (int i = ptr + len - 1; i >= ptr; i--) {
+            buf[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return ptr + len;
+    }
+
+    /**
+     * Prints {@code xs:double}: {@code NaN}, {@code INF} and {@code -INF}, or
+     * the shortest decimal that rounds to the value, in the format of {@link Double#toString(double)}.
+     */
+    public static int printDouble(double v, byte[] buf, int ptr) {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & DOUBLE_T_MASK;
+        int bq = (int) (bits >>> (DOUBLE_P - 1)) & DOUBLE_BQ_MASK;
+        if (bq == DOUBLE_BQ_MASK) {
+            return printSpecial(t != 0, bits < 0, buf, ptr);
+        }
+        if (bits < 0) {
+            buf[ptr++] = '-';
+        }
+        if (bq != 0) {
+            // normal value, v = c 2^q
+            int mq = -DOUBLE_Q_MIN + 1 - bq;
+            long c = DOUBLE_C_MIN | t;
+            if (0 < mq && mq < DOUBLE_P) {
+                // an integer below 2^53
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return printDecimal(f, 0, buf, ptr);
+                }
+            }
+            return DoubleToDecimal.toDecimal(-mq, c, 0, buf, ptr);
+        }
+        if (t != 0) {
+            // subnormal value
+            return t < DOUBLE_C_TINY
+                    ? DoubleToDecimal.toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buf, ptr)
+                    : DoubleToDecimal.toDecimal(DOUBLE_Q_MIN, t, 0, buf, ptr);
+        }
+        return printZero(buf, ptr);
+    }
+
+    /**
+     * Prints {@code xs:float}, like {@link #printDouble(double, byte[], int)}
+     * but with the shortest decimal that rounds to the {@code float}.
+     */
+    public static int printFloat(float v, byte[] buf, int ptr) {
+        int bits = Float.floatToRawIntBits(v);
+        int t = bits & FLOAT_T_MASK;
+        int bq = (bits >>> (FLOAT_P - 1)) & FLOAT_BQ_MASK;
+        if (bq == FLOAT_BQ_MASK) {
+            return printSpecial(t != 0, bits < 0, buf, ptr);
+        }
+        if (bits < 0) {
+            buf[ptr++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -FLOAT_Q_MIN + 1 - bq;
+            int c = FLOAT_C_MIN | t;
+            if (0 < mq && mq < FLOAT_P) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    return printDecimal(f, 0, buf, ptr);
+                }
+            }
+            return FloatToDecimal.toDecimal(-mq, c, 0, buf, ptr);
+        }
+        if (t != 0) {
+            return t < FLOAT_C_TINY
+                    ? FloatToDecimal.toDecimal(FLOAT_Q_MIN, 10 * t, -1, buf, ptr)
+                    : FloatToDecimal.toDecimal(FLOAT_Q_MIN, t, 0, buf, ptr);
+        }
+        return printZero(buf, ptr);
+    }
+
+    public static String printDouble(double v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf, printDouble(v, buf, 0));
+    }
+
+    public static String printFloat(float v) {
+        byte[] buf = new byte[MAX_LENGTH];
+        return toString(buf, printFloat(v, buf, 0));
+    }
+
+    private static String toString(byte[] buf, int len) {
+        return new String(buf, 0, len, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int printSpecial(boolean nan, boolean negative, byte[] buf, int ptr) {
+        if (nan) {
+            buf[ptr++] = 'N';
+            buf[ptr++] = 'a';
+            buf[ptr++] = 'N';
+            return ptr;
+        }
+        if (negative) {
+            buf[ptr++] = '-';
+        }
+        buf[ptr++] = 'I';
+        buf[ptr++] = 'N';
+        buf[ptr++] = 'F';
+        return ptr;
+    }
+
+    private static int printZero(byte[] buf, int ptr) {
+        buf[ptr++] = '0';
+        buf[ptr++] = '.';
+        buf[ptr++] = '0';
+        return ptr;
+    }
+
+    /**
+     * Prints {@code f 10^e}, where {@code f > 0}, in the format of {@link Double#toString(double)}:
+     * plain between 10<sup>-3</sup> and 10<sup>7</sup> and in computerized scientific notation otherwise,
+     * with at least one digit after the decimal point.
+     */
+    private static int printDecimal(long f, int e, byte[] buf, int ptr) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int len = digits(f);
+        // the value is 0.ddd 10^point
+        int point = len + e;
+        if (0 < point && point <= 7) {
+            if (len <= point) {
+                ptr = printLong(f, buf, ptr);
+                for (int i = len; i < point; i++) {
+                    buf[ptr++] = '0';
+                }
+                buf[ptr++] = '.';
+                buf[ptr++] = '0';
+                return ptr;
+            }
+            int end = printLong(f, buf, ptr + 1);
+            // move the integer digits one to the left, to make room for the point
+            System.arraycopy(buf, ptr + 1, buf, ptr, point);
+            buf[ptr + point] = '.';
+            return end;
+        }
+        if (-3 < point && point <= 0) {
+            buf[ptr++] = '0';
+            buf[ptr++] = '.';
+            for (int i = point; i < 0; i++) {
+                buf[ptr++] = '0';
+            }
+            return printLong(f, buf, ptr);
+        }
+        int end = printLong(f, buf, ptr + 1);
+        buf[ptr] = buf[ptr + 1];
+        buf[ptr + 1] = '.';
+        if (len == 1) {
+            buf[end++] = '0';
+        }
+        buf[end++] = 'E';
+        return printLong(point - 1, buf, end);
+    }
+
+    /**
+     * Number of decimal digits of a non-negative number.
+     */
+    private static int digits(long v) {
+        int len = 1;
+        while (len < POW10.length && v >= POW10[len]) {
+            len++;
+        }
+        return len;
+    }
+
+    private static int trimStart(CharSequence text) {
+        int start = 0;
+        while (start < text.length() && WhiteSpaceProcessor.isWhiteSpace(text.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(CharSequence text, int start) {
+        int end = text.length();
+        while (end > start && WhiteSpaceProcessor.isWhiteSpace(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Checks the text the way {@code DatatypeConverterImpl} always has.
+     *
+     * @return
+     *      the infinities, or NaN if the text is something else.
+     */
+    private static double parseSpecial(CharSequence text, int start, int end) {
+        if (matches(text, start, end, "INF")) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (matches(text, start, end, "-INF")) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        // Double.parseDouble also takes "Infinity", type suffixes and surrounding whitespace,
+        // none of which are allowed by XML Schema
+        if (start == end || !isDigitOrPeriodOrSign(text.charAt(start)) || !isDigitOrPeriodOrSign(text.charAt(end - 1))) {
+            if (!matches(text, start, end, "NaN")) {
+                throw new NumberFormatException("Not a number: " + text);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static boolean matches(CharSequence text, int start, int end, String s) {
+        if (end - start != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (text.charAt(start + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigitOrPeriodOrSign(char ch) {
+        return ('0' <= ch && ch <= '9') || ch == '+' || ch == '-' || ch == '.';
+    }
+
+    /**
+     * More digits than this may not fit in a long.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+
+    /**
+     * Powers of ten that are exact in a double.
+     */
+    private static final double[] DOUBLE_POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Powers of ten that are exact in a float.
+     */
+    private static final float[] FLOAT_POW10 = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private static final long[] POW10 = new long[19];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    /**
+     * A decimal number {@code mantissa 10^exponent} read from the text.
+     */
+    private static final class Decimal {
+        boolean negative;
+        long mantissa;
+        int exponent;
+
+        /**
+         * Reads {@code [sign] digits [. digits] [(e|E) [sign] digits]}.
+         *
+         * @return
+         *      false if the text has a different form, or has more significant digits
+         *      or a larger exponent than this class handles.
+         */
+        boolean parse(CharSequence text, int start, int end) {
+            int i = start;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negative = text.charAt(i) == '-';
+                i++;
+            }
+            int digits = 0;
+            int significant = 0;
+            boolean point = false;
+            for (; i < end; i++) {
+                char ch = text.charAt(i);
+                if ('0' <= ch && ch <= '9') {
+                    digits++;
+                    if (significant > 0 || ch != '0') {
+                        if (++significant > MAX_LONG_DIGITS) {
+                            return false;
+                        }
+                        mantissa = mantissa * 10 + (ch - '0');
+                    }
+                    if (point) {
+                        exponent--;
+                    }
+                } else if (ch == '.' && !point) {
+                    point = true;
+                } else {
+                    break;
+                }
+            }
+            if (digits == 0) {
+                return false;
+            }
+            if (i < end) {
+                char ch = text.charAt(i++);
+                if (ch != 'e' && ch != 'E') {
+                    return false;
+                }
+                boolean negativeExponent = false;
+                if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                    negativeExponent = text.charAt(i) == '-';
+                    i++;
+                }
+                if (i == end) {
+                    return false;
+                }
+                int e = 0;
+                for (; i < end; i++) {
+                    ch = text.charAt(i);
+                    if (ch < '0' || ch > '9' || e > 1000) {
+                        return false;
+                    }
+                    e = e * 10 + (ch - '0');
+                }
+                exponent += negativeExponent ? -e : e;
+            }
+            return true;
+        }
+    }
+
+    private static final int DOUBLE_P = 53;
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final long DOUBLE_C_MIN = 1L << (DOUBLE_P - 1);
+    private static final int DOUBLE_C_TINY = 3;
+    private static final long DOUBLE_T_MASK = (1L << (DOUBLE_P - 1)) - 1;
+    private static final int DOUBLE_BQ_MASK = (1 << 11) - 1;
+
+    private static final int FLOAT_P = 24;
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+    private static final int FLOAT_C_TINY = 8;
+    private static final int FLOAT_T_MASK = (1 << (FLOAT_P - 1)) - 1;
+    private static final int FLOAT_BQ_MASK = (1 << 8) - 1;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+
+    /**
+     * floor(log<sub>10</sub>(2<sup>e</sup>)), for |e| &le; 5456721.
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * floor(log<sub>10</sub>(3/4 2<sup>e</sup>)), for |e| &le; 1700021.
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * floor(log<sub>2</sub>(10<sup>e</sup>)), for |e| &le; 1838394.
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * The Schubfach algorithm for doubles, as described in
+     * R. Giulietti, "The Schubfach way to render doubles".
+     */
+    private static final class DoubleToDecimal {
+        static int toDecimal(int q, long c, int dk, byte[] buf, int ptr) {
+            int out = (int) c & 0x1;
+            long cb = c << 2;
+            long cbr = cb + 2;
+            long cbl;
+            int k;
+            // the interval of the decimals that round to the value is asymmetric at powers of two
+            if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+                cbl = cb - 2;
+                k = flog10pow2(q);
+            } else {
+                cbl = cb - 1;
+                k = flog10threeQuartersPow2(q);
+            }
+            int h = q + flog2pow10(-k) + 2;
+
+            long g1 = Pow10.g1(k);
+            long g0 = Pow10.g0(k);
+
+            long vb = rop(g1, g0, cb << h);
+            long vbl = rop(g1, g0, cbl << h);
+            long vbr = rop(g1, g0, cbr << h);
+
+            long s = vb >> 2;
+            if (s >= 100) {
+                // try one digit less first: sp10 = 10 floor(s / 10)
+                long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+                long tp10 = sp10 + 10;
+                boolean upin = vbl + out <= sp10 << 2;
+                boolean wpin = (tp10 << 2) + out <= vbr;
+                if (upin != wpin) {
+                    return printDecimal(upin ? sp10 : tp10, k, buf, ptr);
+                }
+            }
+
+            long t = s + 1;
+            boolean uin = vbl + out <= s << 2;
+            boolean win = (t << 2) + out <= vbr;
+            if (uin != win) {
+                return printDecimal(uin ? s : t, k + dk, buf, ptr);
+            }
+            // both candidates round to the value, take the closest one, or the even one on a tie
+            long cmp = vb - (s + t << 1);
+            return printDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, ptr);
+        }
+
+        /**
+         * Rounds {@code g cp 2^-127} to odd, where {@code g = g1 2^63 + g0}.
+         */
+        private static long rop(long g1, long g0, long cp) {
+            long x1 = Math.multiplyHigh(g0, cp);
+            long y0 = g1 * cp;
+            long y1 = Math.multiplyHigh(g1, cp);
+            long z = (y0 >>> 1) + x1;
+            long vbp = y1 + (z >>> 63);
+            return vbp | (z & MASK_63) + MASK_63 >>> 63;
+        }
+    }
+
+    /**
+     * The Schubfach algorithm for floats.
+     */
+    private static final class FloatToDecimal {
+        static int toDecimal(int q, int c, int dk, byte[] buf, int ptr) {
+            int out = c & 0x1;
+            long cb = (long) c << 2;
+            long cbr = cb + 2;
+            long cbl;
+            int k;
+            if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+                cbl = cb - 2;
+                k = flog10pow2(q);
+            } else {
+                cbl = cb - 1;
+                k = flog10threeQuartersPow2(q);
+            }
+            int h = q + flog2pow10(-k) + 33;
+
+            long g = Pow10.g1(k) + 1;
+
+            int vb = rop(g, cb << h);
+            int vbl = rop(g, cbl << h);
+            int vbr = rop(g, cbr << h);
+
+            int s = vb >> 2;
+            if (s >= 100) {
+                int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+                int tp10 = sp10 + 10;
+                boolean upin = vbl + out <= sp10 << 2;
+                boolean wpin = (tp10 << 2) + out <= vbr;
+                if (upin != wpin) {
+                    return printDecimal(upin ? sp10 : tp10, k, buf, ptr);
+                }
+            }
+
+            int t = s + 1;
+            boolean uin = vbl + out <= s << 2;
+            boolean win = (t << 2) + out <= vbr;
+            if (uin != win) {
+                return printDecimal(uin ? s : t, k + dk, buf, ptr);
+            }
+            int cmp = vb - (s + t << 1);
+            return printDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, ptr);
+        }
+
+        private static int rop(long g, long cp) {
+            long x1 = Math.multiplyHigh(g, cp);
+            long vbp = x1 >>> 31;
+            return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+        }
+    }
+
+    /**
+     * The 126 bit approximations of the powers of ten used by the Schubfach algorithm.
+     * They are computed when the first non integral value is printed.
+     */
+    private static final class Pow10 {
+        private static final int K_MIN = -324;
+        private static final int K_MAX = 292;
+
+        /**
+         * For each k, {@code g = floor(10^-k 2^(125 - flog2pow10(-k))) + 1},
+         * which is between 2<sup>125</sup> and 2<sup>126</sup>,
+         * split into the upper and the lower 63 bits.
+         */
+        private static final long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+
+        static {
+            BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+            for (int k = K_MIN; k <= K_MAX; k++) {
+                int r = 125 - flog2pow10(-k);
+                BigInteger g;
+                if (k <= 0) {
+                    g = BigInteger.TEN.pow(-k);
+                    g = r >= 0 ? g.shiftLeft(r) : g.shiftRight(-r);
+                } else {
+                    g = BigInteger.ONE.shiftLeft(r).divide(BigInteger.TEN.pow(k));
+                }
+                g = g.add(BigInteger.ONE);
+                int i = (k - K_MIN) << 1;
+                G[i] = g.shiftRight(63).longValue();
+                G[i + 1] = g.and(mask63).longValue();
+            }
+        }
+
+        static long g1(int k) {
+            return G[(k - K_MIN) << 1];
+        }
+
+        static long g0(int k) {
+            return G[(k - K_MIN) << 1 | 1];
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import org.glassfish.jaxb.runtime.v2.runtime.Name;
+import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Loader;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
+import org.xml.sax.SAXException;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+
+/**
+ * Implemented by JAXB-bound classes that marshal and unmarshal their own properties,
+ * with code that the {@code -Xstreaming} plugin of XJC generated for them.
+ *
+ * <p>
+ * The JAXB RI calls these methods instead of going through the properties of the class
+ * when the class itself (not one of its super classes) implements this interface,
+ * when the {@code JAXBContext} knows all of its names, and when it maps the class
+ * the way the generated code expects, that is, without a default namespace remapping,
+ * a custom annotation reader, subclass replacements, or the options that change
+ * how properties are marshalled.
+ * The content is only read by {@link #readFrom(XMLStreamReader)} when unmarshalling
+ * from an {@link XMLStreamReader} without a schema to validate against.
+ *
+ * <p>
+ * The object itself is still created, and the {@code Unmarshaller.Listener}
+ * and {@code Marshaller.Listener} still called, by the JAXB RI.
+ *
+ * <p>
+ * This is an internal API for the generated code, like {@link DatatypeConverterImpl},
+ * not one for applications to implement. It refers to {@link XMLSerializer} and {@link Name},
+ * which change freely from versions to versions, so the generated classes only work
+ * with the JAXB RI of the same version as the XJC that generated them, and have
+ * to be generated again when the JAXB RI is upgraded.
+ *
+ * @since 4.0.4
+ */
+public interface StreamingBean {
+
+    /**
+     * Gets the names of the attributes that {@link #writeAttributes(XMLSerializer, Name[])} writes.
+     */
+    QName[] attributeNames();
+
+    /**
+     * Gets the names of the elements that {@link #writeTo(XMLSerializer, Name[])} writes.
+     */
+    QName[] elementNames();
+
+    /**
+     * Writes the attributes of this object, after the namespace declarations
+     * of its element and before {@link XMLSerializer#endAttributes()}.
+     *
+     * @param names
+     *      the {@link Name}s of {@link #attributeNames()}, in the same order.
+     */
+    void writeAttributes(XMLSerializer out, Name[] names) throws SAXException, IOException, XMLStreamException;
+
+    /**
+     * Writes the content of this object, after its attributes
+     * and before the end tag of its element.
+     *
+     * @param names
+     *      the {@link Name}s of {@link #elementNames()}, in the same order.
+     */
+    void writeTo(XMLSerializer out, Name[] names) throws SAXException, IOException, XMLStreamException;
+
+    /**
+     * Reads the attributes and the content of this object.
+     *
+     * @param in
+     *      positioned at the start tag of the element of this object,
+     *      which this method leaves at the matching end tag.
+     */
+    void readFrom(XMLStreamReader in) throws SAXException, XMLStreamException;
+
+    /**
+     * Reports an error in the value of a property, which the unmarshaller
+     * may recover from by leaving the property unset.
+     */
+    static void handleError(Exception e) throws SAXException {
+        UnmarshallingContext.getInstance().handleError(e);
+    }
+
+    /**
+     * Reports an element that the class doesn't expect, the way the unmarshaller does,
+     * and skips it.
+     *
+     * @param in
+     *      positioned at the start tag of the element, which this method leaves at its end tag.
+     * @param expected
+     *      the names of the expected elements, for the error message.
+     */
+    static void skipElement(XMLStreamReader in, QName[] expected) throws SAXException, XMLStreamException {
+        StringBuilder names = new StringBuilder();
+        for (QName n : expected) {
+            if (names.length() != 0)
+                names.append(',');
+            names.append("<{").append(n.getNamespaceURI()).append('}').append(n.getLocalPart()).append('>');
+        }
+        Loader.reportError(Messages.UNEXPECTED_ELEMENT.format(in.getNamespaceURI() == null ? "" : in.getNamespaceURI(),
+                in.getLocalName(), names.length() == 0 ? "(none)" : names), null, true);
+        for (int depth = 1; depth > 0; ) {
+            switch (in.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+            }
+        }
+    }
+}
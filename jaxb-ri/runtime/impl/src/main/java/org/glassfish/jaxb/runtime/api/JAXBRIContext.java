@@ -508,4 +508,72 @@ public abstract class JAXBRIContext extends JAXBContext {
      */
     public static final String MAX_ERRORS = "org.glassfish.jaxb.maxErrorsCount";
 
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * and {@link Marshaller#setProperty(String, Object)}
+     * to set the size in bytes of the buffer used when marshalling to UTF-8.
+     * A larger buffer means fewer writes to the underlying stream.
+     * The default value is 8192; smaller values are raised to 64.
+     *
+     * Integer
+     * @since 4.0.4
+     */
+    public static final String OCTET_BUFFER_SIZE = "org.glassfish.jaxb.octetBufferSize";
+
+    /**
+     * If true, the {@link JAXBContext} still builds and checks the whole model
+     * up front, but defers the properties, accessors and loaders of each class
+     * until that class is first marshalled or unmarshalled.
+     * This speeds up the creation of contexts with many classes
+     * of which only a few are used.
+     * The default value is false, or the value of the system property of the same name.
+     *
+     * Boolean
+     * @since 4.0.4
+     */
+    public static final String LAZY_INIT = "org.glassfish.jaxb.lazyInit";
+
+    /**
+     * The directory in which the {@link JAXBContext} keeps a snapshot of its model,
+     * so that a context of the same classes in a later run of the JVM boots faster.
+     * If the snapshot is missing or any of its classes changed since, the context
+     * is built and checked as usual and then writes a new snapshot. Otherwise, it
+     * only adds the types that the snapshot lists to the model, and reads and checks
+     * the properties of each class when that class is first used, which implies
+     * {@link #LAZY_INIT}. Contexts with {@link TypeReference}s, subclass replacements
+     * or a custom {@link #ANNOTATION_READER} don't use snapshots.
+     * The default value is none, or the value of the system property of the same name.
+     *
+     * String
+     * @since 4.0.4
+     */
+    public static final String BOOT_SNAPSHOT_DIR = "org.glassfish.jaxb.bootSnapshotDir";
+
+    /**
+     * If true, the {@link JAXBContext} reads the fields, methods and annotations
+     * of the classes that it binds, and of the classes that they refer to,
+     * concurrently on the common {@link java.util.concurrent.ForkJoinPool}
+     * before it builds its model from them, and sorts out the getters and setters
+     * of each class there. The model is the same as without it: it's still built
+     * on the calling thread, one class after another, so how much time
+     * this saves depends on the classes and on the machine.
+     * The default value is false, or the value of the system property of the same name.
+     *
+     * Boolean
+     * @since 4.0.4
+     */
+    public static final String PARALLEL_MODEL_BUILDING = "org.glassfish.jaxb.parallelModelBuilding";
+
+    /**
+     * If true, the {@link JAXBContext} looks in the package of each class that it binds
+     * for the {@link org.glassfish.jaxb.runtime.GeneratedAccessorFactory} that
+     * {@code com.sun.tools.jxc.ap.AccessorGenerator} generated at build time,
+     * and uses its accessors and factories instead of reflection.
+     * The default value is false, or the value of the system property of the same name.
+     *
+     * Boolean
+     * @since 4.0.4
+     */
+    public static final String GENERATED_ACCESSORS = "org.glassfish.jaxb.generatedAccessors";
+
 }
@@ -17,6 +17,7 @@ import org.glassfish.jaxb.runtime.api.TypeReference;
 import org.glassfish.jaxb.runtime.v2.model.annotation.RuntimeAnnotationReader;
 import org.glassfish.jaxb.core.v2.Messages;
 import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.output.UTF8XmlOutput;
 import org.glassfish.jaxb.runtime.v2.util.TypeCast;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
@@ -26,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.logging.Level;
 
@@ -122,6 +124,31 @@ public class ContextFactory {
             maxErrorsCount = Integer.MAX_VALUE;
         }
 
+        Integer octetBufferSize = getPropertyValue(properties, JAXBRIContext.OCTET_BUFFER_SIZE, Integer.class);
+        if (octetBufferSize == null) {
+            octetBufferSize = UTF8XmlOutput.DEFAULT_OCTET_BUFFER_SIZE;
+        }
+
+        Boolean lazyInit = getPropertyValue(properties, JAXBRIContext.LAZY_INIT, Boolean.class);
+        if (lazyInit == null) {
+            lazyInit = Boolean.valueOf(Utils.getSystemProperty(JAXBRIContext.LAZY_INIT));
+        }
+
+        Boolean parallelModelBuilding = getPropertyValue(properties, JAXBRIContext.PARALLEL_MODEL_BUILDING, Boolean.class);
+        if (parallelModelBuilding == null) {
+            parallelModelBuilding = Boolean.valueOf(Utils.getSystemProperty(JAXBRIContext.PARALLEL_MODEL_BUILDING));
+        }
+
+        Boolean generatedAccessors = getPropertyValue(properties, JAXBRIContext.GENERATED_ACCESSORS, Boolean.class);
+        if (generatedAccessors == null) {
+            generatedAccessors = Boolean.valueOf(Utils.getSystemProperty(JAXBRIContext.GENERATED_ACCESSORS));
+        }
+
+        String bootSnapshotDir = getPropertyValue(properties, JAXBRIContext.BOOT_SNAPSHOT_DIR, String.class);
+        if (bootSnapshotDir == null) {
+            bootSnapshotDir = Utils.getSystemProperty(JAXBRIContext.BOOT_SNAPSHOT_DIR);
+        }
+
         if(!properties.isEmpty()) {
             throw new JAXBException(Messages.UNSUPPORTED_PROPERTY.format(properties.keySet().iterator().next()));
         }
@@ -141,6 +168,13 @@ public class ContextFactory {
         builder.setDisableSecurityProcessing(disablesecurityProcessing);
         builder.setBackupWithParentNamespace(backupWithParentNamespace);
         builder.setMaxErrorsCount(maxErrorsCount);
+        builder.setOctetBufferSize(octetBufferSize);
+        builder.setLazyInit(lazyInit);
+        builder.setParallelModelBuilding(parallelModelBuilding);
+        builder.setGeneratedAccessors(generatedAccessors);
+        if (bootSnapshotDir != null) {
+            builder.setBootSnapshotDir(Paths.get(bootSnapshotDir));
+        }
         return builder.build();
     }
 
@@ -60,7 +60,6 @@ import javax.xml.namespace.QName;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -363,7 +362,7 @@ public class ClassInfoImpl<T,C,F,M> extends TypeInfoImpl<T,C,F,M>
             findFieldProperties(sc,at);
         }
 
-        for( F f : nav().getDeclaredFields(c) ) {
+        for( F f : getDeclaredFields(c) ) {
             Annotation[] annotations = reader().getAllFieldAnnotations(f,this);
             boolean isDummy = reader().hasFieldAnnotation(OverrideAnnotationOf.class, f);
 
@@ -1033,40 +1032,11 @@ public class ClassInfoImpl<T,C,F,M> extends TypeInfoImpl<T,C,F,M>
         if(shouldRecurseSuperClass(sc))
             collectGetterSetters(sc,getters,setters);
 
-        Collection<? extends M> methods = nav().getDeclaredMethods(c);
-        Map<String,List<M>> allSetters = new LinkedHashMap<>();
-        for( M method : methods ) {
-            boolean used = false;   // if this method is added to getters or setters
-
-            if(nav().isBridgeMethod(method))
-                continue;   // ignore
-
-            String name = nav().getMethodName(method);
-            int arity = nav().getMethodParameters(method).length;
-
-            if(nav().isStaticMethod(method)) {
-                ensureNoAnnotation(method);
-                continue;
-            }
-
-            // is this a get method?
-            String propName = getPropertyNameFromGetMethod(name);
-            if(propName!=null && arity==0) {
-                    getters.put(propName,method);
-                used = true;
-            }
-
-            // is this a set method?
-            propName = getPropertyNameFromSetMethod(name);
-            if(propName!=null && arity==1) {
-                List<M> propSetters = allSetters.computeIfAbsent(propName, k -> new ArrayList<>());
-                propSetters.add(method);
-                used = true; // used check performed later
-            }
-
-            if(!used)
-                ensureNoAnnotation(method);
-        }
+        DeclaredAccessors<T,C,F,M> declared = getDeclaredAccessors(c);
+        for( M method : declared.others )
+            ensureNoAnnotation(method);
+        getters.putAll(declared.getters);
+        Map<String,List<M>> allSetters = new LinkedHashMap<>(declared.setters);
 
         // Match getter with setters by comparing getter return type to setter param
         for (Map.Entry<String,M> entry : getters.entrySet()) {
@@ -1160,29 +1130,23 @@ public class ClassInfoImpl<T,C,F,M> extends TypeInfoImpl<T,C,F,M>
 
 
     /**
-     * Returns "Foo" from "getFoo" or "isFoo".
+     * Gets the fields that the given class declares, which {@link FieldPropertySeed}s are made of.
      *
-     * @return null
-     *      if the method name doesn't look like a getter.
+     * <p>
+     * Derived class can override this method to get them from elsewhere than the navigator.
      */
-    private static String getPropertyNameFromGetMethod(String name) {
-        if(name.startsWith("get") && name.length()>3)
-            return name.substring(3);
-        if(name.startsWith("is") && name.length()>2)
-            return name.substring(2);
-        return null;
+    protected Collection<? extends F> getDeclaredFields(C c) {
+        return nav().getDeclaredFields(c);
     }
 
     /**
-     * Returns "Foo" from "setFoo".
+     * Gets the getters and setters that the given class declares, which {@link GetterSetterPropertySeed}s are made of.
      *
-     * @return null
-     *      if the method name doesn't look like a setter.
+     * <p>
+     * Derived class can override this method to get them from elsewhere than the navigator.
      */
-    private static String getPropertyNameFromSetMethod(String name) {
-        if(name.startsWith("set") && name.length()>3)
-            return name.substring(3);
-        return null;
+    /*package*/ DeclaredAccessors<T,C,F,M> getDeclaredAccessors(C c) {
+        return DeclaredAccessors.of(nav(), nav().getDeclaredMethods(c));
     }
 
     /**
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.model.impl;
+
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import org.glassfish.jaxb.core.v2.model.nav.Navigator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * What a class has to make properties of, computed ahead of the model
+ * by {@link RuntimeModelBuilder#scan(Collection)}.
+ *
+ * <p>
+ * That's the declared fields of the class, and its getters and setters
+ * already sorted by property name. {@link ClassInfoImpl} merges those of
+ * a class and of its super classes in the same order as it would have
+ * computed them, so the properties come out the same.
+ *
+ * <p>
+ * Reading the members also parses their annotations and generic signatures
+ * and loads the classes these refer to. The JDK keeps all of that with
+ * the {@link Field} and {@link Method} objects, so {@link ClassInfoImpl},
+ * which gets these same objects, finds that work done too.
+ */
+final class ClassScan {
+    /**
+     * The fields of the class, in the order of {@link Navigator#getDeclaredFields(Object)}.
+     */
+    final Collection<? extends Field> fields;
+
+    /**
+     * The getters and setters of the class, from {@link Navigator#getDeclaredMethods(Object)}.
+     */
+    final DeclaredAccessors<Type,Class,Field,Method> accessors;
+
+    private ClassScan(Collection<? extends Field> fields, DeclaredAccessors<Type,Class,Field,Method> accessors) {
+        this.fields = fields;
+        this.accessors = accessors;
+    }
+
+    /**
+     * Scans the given classes and the classes they refer to on the common {@link ForkJoinPool}.
+     *
+     * <p>
+     * The scan of each class only depends on the class, so the result is
+     * the same whichever order the threads get to them.
+     *
+     * @return
+     *      the scan of each class that could be read. Those that failed are left
+     *      for the model builder to read again, so that it reports the error as usual.
+     */
+    static Map<Class,ClassScan> scan(Navigator<Type,Class,Field,Method> nav, Collection<Class> classes) {
+        Map<Class,ClassScan> scans = new ConcurrentHashMap<>();
+        Map<Class,Boolean> seen = new ConcurrentHashMap<>();
+        List<Task> tasks = new ArrayList<>();
+        for (Class c : classes) {
+            if (isScanned(c) && seen.putIfAbsent(c, Boolean.TRUE) == null)
+                tasks.add(new Task(nav, c, scans, seen));
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return scans;
+    }
+
+    /**
+     * Classes loaded by the bootstrap loader are never bound by their properties.
+     */
+    private static boolean isScanned(Class c) {
+        return !c.isPrimitive() && !c.isArray() && c.getClassLoader() != null;
+    }
+
+    /**
+     * Scans one class, then the classes it refers to that nobody has looked at yet.
+     *
+     * <p>
+     * Only the fields and methods that {@link ClassInfoImpl} could make properties of
+     * are looked into: the fields that are neither static nor transient, and the getters
+     * and setters that {@link DeclaredAccessors} finds. Following the types of the others would load classes that
+     * the model never gets to.
+     */
+    private static final class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Navigator<Type,Class,Field,Method> nav;
+        private final Class clazz;
+        private final transient Map<Class,ClassScan> scans;
+        private final transient Map<Class,Boolean> seen;
+        private final transient List<Task> next = new ArrayList<>();
+
+        Task(Navigator<Type,Class,Field,Method> nav, Class clazz, Map<Class,ClassScan> scans, Map<Class,Boolean> seen) {
+            this.nav = nav;
+            this.clazz = clazz;
+            this.scans = scans;
+            this.seen = seen;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                Collection<? extends Field> fields = nav.getDeclaredFields(clazz);
+                DeclaredAccessors<Type,Class,Field,Method> accessors = DeclaredAccessors.of(nav, nav.getDeclaredMethods(clazz));
+
+                visit(clazz.getGenericSuperclass());
+                XmlSeeAlso sa = (XmlSeeAlso) clazz.getAnnotation(XmlSeeAlso.class);
+                if (sa != null) {
+                    for (Class c : sa.value())
+                        visit(c);
+                }
+                for (Field f : fields) {
+                    if (nav.isStaticField(f) || nav.isTransient(f))
+                        continue;
+                    f.getAnnotations();
+                    visit(f.getGenericType());
+                }
+                for (Method m : accessors.getters.values()) {
+                    m.getAnnotations();
+                    visit(m.getGenericReturnType());
+                }
+                for (List<Method> setters : accessors.setters.values()) {
+                    for (Method m : setters) {
+                        m.getAnnotations();
+                        visit(m.getGenericParameterTypes()[0]);
+                    }
+                }
+
+                scans.put(clazz, new ClassScan(fields, accessors));
+            } catch (RuntimeException | LinkageError e) {
+                // leave it to the model builder
+            }
+            invokeAll(next);
+        }
+
+        private void visit(Type t) {
+            if (t instanceof Class) {
+                Class c = (Class) t;
+                while (c.isArray())
+                    c = c.getComponentType();
+                if (isScanned(c) && seen.putIfAbsent(c, Boolean.TRUE) == null)
+                    next.add(new Task(nav, c, scans, seen));
+            } else
+            if (t instanceof ParameterizedType) {
+                ParameterizedType p = (ParameterizedType) t;
+                visit(p.getRawType());
+                for (Type a : p.getActualTypeArguments())
+                    visit(a);
+            } else
+            if (t instanceof GenericArrayType) {
+                visit(((GenericArrayType) t).getGenericComponentType());
+            } else
+            if (t instanceof WildcardType) {
+                for (Type b : ((WildcardType) t).getUpperBounds())
+                    visit(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.model.impl;
+
+import org.glassfish.jaxb.core.v2.model.nav.Navigator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The getters and setters that one class declares, by property name,
+ * which {@link GetterSetterPropertySeed}s are made of.
+ *
+ * <p>
+ * This only depends on the methods of the class, so it can be computed
+ * ahead of the model and on another thread. {@link ClassInfoImpl} merges
+ * those of a class and of its super classes, super classes first.
+ */
+final class DeclaredAccessors<T,C,F,M> {
+    /**
+     * The getters, in the order of the methods.
+     * A later getter of the same property replaces an earlier one.
+     */
+    final Map<String,M> getters;
+
+    /**
+     * All the setters of each property, in the order of the methods.
+     */
+    final Map<String,List<M>> setters;
+
+    /**
+     * The methods that are neither getters nor setters, and the static methods.
+     * They aren't allowed to have JAXB annotations.
+     */
+    final List<M> others;
+
+    private DeclaredAccessors(Map<String,M> getters, Map<String,List<M>> setters, List<M> others) {
+        this.getters = Collections.unmodifiableMap(getters);
+        this.setters = Collections.unmodifiableMap(setters);
+        this.others = Collections.unmodifiableList(others);
+    }
+
+    /**
+     * Sorts the given methods of a class.
+     */
+    static <T,C,F,M> DeclaredAccessors<T,C,F,M> of(Navigator<T,C,F,M> nav, Collection<? extends M> methods) {
+        Map<String,M> getters = new LinkedHashMap<>();
+        Map<String,List<M>> setters = new LinkedHashMap<>();
+        List<M> others = new ArrayList<>();
+        for( M method : methods ) {
+            boolean used = false;   // if this method is added to getters or setters
+
+            if(nav.isBridgeMethod(method))
+                continue;   // ignore
+
+            if(nav.isStaticMethod(method)) {
+                others.add(method);
+                continue;
+            }
+
+            String name = nav.getMethodName(method);
+            int arity = nav.getMethodParameters(method).length;
+
+            // is this a get method?
+            String propName = getPropertyNameFromGetMethod(name);
+            if(propName!=null && arity==0) {
+                getters.put(propName,method);
+                used = true;
+            }
+
+            // is this a set method?
+            propName = getPropertyNameFromSetMethod(name);
+            if(propName!=null && arity==1) {
+                setters.computeIfAbsent(propName, k -> new ArrayList<>()).add(method);
+                used = true;
+            }
+
+            if(!used)
+                others.add(method);
+        }
+        return new DeclaredAccessors<>(getters, setters, others);
+    }
+
+    /**
+     * Returns "Foo" from "getFoo" or "isFoo".
+     *
+     * @return null
+     *      if the method name doesn't look like a getter.
+     */
+    private static String getPropertyNameFromGetMethod(String name) {
+        if(name.startsWith("get") && name.length()>3)
+            return name.substring(3);
+        if(name.startsWith("is") && name.length()>2)
+            return name.substring(2);
+        return null;
+    }
+
+    /**
+     * Returns "Foo" from "setFoo".
+     *
+     * @return null
+     *      if the method name doesn't look like a setter.
+     */
+    private static String getPropertyNameFromSetMethod(String name) {
+        if(name.startsWith("set") && name.length()>3)
+            return name.substring(3);
+        return null;
+    }
+}
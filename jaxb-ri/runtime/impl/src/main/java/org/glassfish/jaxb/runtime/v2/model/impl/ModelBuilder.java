@@ -39,7 +39,9 @@ import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimePropertyInfo;
 import javax.xml.namespace.QName;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -103,6 +105,11 @@ public class ModelBuilder<T,C,F,M> implements ModelBuilderI<T,C,F,M> {
     private ErrorHandler errorHandler;
     private boolean hadError;
 
+    /**
+     * @see #setClosureKnown(boolean)
+     */
+    private boolean closureKnown;
+
     /**
      * Set to true if the model includes {@link XmlAttachmentRef}. JAX-WS
      * needs to know this information.
@@ -186,6 +193,12 @@ public class ModelBuilder<T,C,F,M> implements ModelBuilderI<T,C,F,M> {
                 ClassInfoImpl<T,C,F,M> ci = (ClassInfoImpl<T, C, F, M>) createClassInfo(clazz,upstream);
                 typeInfoSet.add(ci);
 
+                if(closureKnown) {
+                    r = ci;
+                    addTypeName(r);
+                    return r;
+                }
+
                 // compute the closure by eagerly expanding references
                 for( PropertyInfo<T,C> p : ci.getProperties() ) {
                     if(p.kind()== PropertyKind.REFERENCE) {
@@ -357,6 +370,19 @@ public class ModelBuilder<T,C,F,M> implements ModelBuilderI<T,C,F,M> {
         return registries.get(packageName);
     }
 
+    /**
+     * Tells the builder that the caller adds every type of the model itself,
+     * as recorded from an earlier build of the same classes.
+     *
+     * <p>
+     * The builder then adds the classes without computing their properties
+     * and following the types they refer to, and {@link #link()} leaves the classes
+     * unchecked, so that each of them can be linked when it is first used.
+     */
+    public void setClosureKnown(boolean closureKnown) {
+        this.closureKnown = closureKnown;
+    }
+
     private boolean linked;
 
     /**
@@ -378,8 +404,12 @@ public class ModelBuilder<T,C,F,M> implements ModelBuilderI<T,C,F,M> {
         for( ElementInfoImpl ei : typeInfoSet.getAllElements() )
             ei.link();
 
-        for( ClassInfoImpl ci : typeInfoSet.beans().values() )
-            ci.link();
+        for( ClassInfoImpl ci : typeInfoSet.beans().values() ) {
+            if(closureKnown)
+                ci.getBaseClass(); // let the base classes know that they have subclasses
+            else
+                ci.link();
+        }
 
         for( EnumLeafInfoImpl li : typeInfoSet.enums().values() )
             li.link();
@@ -390,6 +420,28 @@ public class ModelBuilder<T,C,F,M> implements ModelBuilderI<T,C,F,M> {
             return typeInfoSet;
     }
 
+    /**
+     * Links a class that {@link #link()} left alone, because the closure was known.
+     *
+     * @see #setClosureKnown(boolean)
+     */
+    public void link(ClassInfo<T,C> ci) {
+        // resolve the references like getClassInfo() would have,
+        // since the properties can't do so once linked
+        for( PropertyInfo<T,C> p : ci.getProperties() )
+            resolve(p.ref());
+        ((ClassInfoImpl<T,C,F,M>)ci).link();
+    }
+
+    /**
+     * Gets each of the types, since some properties only look them up as they are iterated.
+     */
+    private static void resolve(Collection<? extends TypeInfo<?,?>> types) {
+        Iterator<? extends TypeInfo<?,?>> itr = types.iterator();
+        while(itr.hasNext())
+            itr.next();
+    }
+
 //
 //
 // error handling
@@ -14,13 +14,16 @@ import com.sun.istack.ByteArrayDataSource;
 import org.glassfish.jaxb.core.Utils;
 import org.glassfish.jaxb.core.WhiteSpaceProcessor;
 import org.glassfish.jaxb.runtime.DatatypeConverterImpl;
+import org.glassfish.jaxb.runtime.DateTimeConverter;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.core.v2.TODO;
 import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeBuiltinLeafInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeNonElement;
 import org.glassfish.jaxb.runtime.v2.runtime.Name;
 import org.glassfish.jaxb.runtime.v2.runtime.Transducer;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
 import org.glassfish.jaxb.runtime.v2.runtime.output.Pcdata;
+import org.glassfish.jaxb.runtime.v2.runtime.output.UTF8XmlOutput;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Base64Data;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
 import org.glassfish.jaxb.runtime.v2.util.ByteArrayOutputStreamEx;
@@ -57,8 +60,15 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
 import java.util.List;
 import java.util.*;
 import java.util.logging.Level;
@@ -153,11 +163,86 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
 
     }
 
+    /**
+     * {@code java.time} types, printed by {@link DateTimeConverter}
+     * without going through {@link String}.
+     */
+    private static abstract class TemporalImpl<T> extends PcdataImpl<T> {
+        protected TemporalImpl(Class<T> type, QName... typeNames) {
+            super(type,typeNames);
+        }
+
+        @Override
+        public final Pcdata print(T v) {
+            TemporalData data = new TemporalData();
+            data.length = print(v,data.buf);
+            return data;
+        }
+
+        /**
+         * Prints the value into the given buffer of {@link DateTimeConverter#MAX_LENGTH} bytes.
+         *
+         * @return the length of the value.
+         */
+        protected abstract int print(T v, byte[] buf);
+    }
+
+    /**
+     * ASCII text printed by {@link TemporalImpl}.
+     */
+    private static final class TemporalData extends Pcdata {
+        private final byte[] buf = new byte[DateTimeConverter.MAX_LENGTH];
+        private int length;
+
+        @Override
+        public void writeTo(UTF8XmlOutput output) throws IOException {
+            // no need to escape any of those characters
+            for( int i=0; i<length; i++ )
+                output.write(buf[i]);
+        }
+
+        @Override
+        public void writeTo(char[] b, int start) {
+            for( int i=0; i<length; i++ )
+                b[start+i] = (char)buf[i];
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if(index>=length)
+                throw new IndexOutOfBoundsException();
+            return (char)buf[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start,end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buf,0,length,StandardCharsets.ISO_8859_1);
+        }
+    }
+
     /**
      * All instances of {@link RuntimeBuiltinLeafInfoImpl}s keyed by their type.
      */
     public static final Map<Type,RuntimeBuiltinLeafInfoImpl<?>> LEAVES = new HashMap<>();
 
+    /**
+     * Returns true if the given type is one of the built-in {@code xs:base64Binary} leaves,
+     * which parse a {@link Base64Data} without encoding it back to text.
+     */
+    public static boolean isBase64Binary(RuntimeNonElement type) {
+        return type instanceof RuntimeBuiltinLeafInfoImpl && type.getTypeName().equals(createXS("base64Binary"));
+    }
+
     private static QName createXS(String typeName) {
         return new QName(XMLConstants.W3C_XML_SCHEMA_NS_URI,typeName);
     }
@@ -378,7 +463,7 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                         if(text instanceof Base64Data)
                             is = ((Base64Data)text).getInputStream();
                         else
-                            is = new ByteArrayInputStream(decodeBase64(text)); // TODO: buffering is inefficient
+                            is = new ByteArrayInputStream(decodeBase64(text));
 
                         // technically we should check the MIME type here, but
                         // normally images can be content-sniffed.
@@ -551,6 +636,87 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                     return bd;
                 }
             });
+        /*
+            java.time types. They are defined before XMLGregorianCalendar,
+            so that XMLGregorianCalendar remains the binding of those XML types.
+        */
+        secondaryList.add(
+            new TemporalImpl<LocalDate>(LocalDate.class, DatatypeConstants.DATE) {
+                @Override
+                public LocalDate parse(CharSequence text) {
+                    return DateTimeConverter.parseLocalDate(text);
+                }
+                @Override
+                protected int print(LocalDate v, byte[] buf) {
+                    return DateTimeConverter.printLocalDate(v,buf,0);
+                }
+            });
+        secondaryList.add(
+            new TemporalImpl<LocalTime>(LocalTime.class, DatatypeConstants.TIME) {
+                @Override
+                public LocalTime parse(CharSequence text) {
+                    return DateTimeConverter.parseLocalTime(text);
+                }
+                @Override
+                protected int print(LocalTime v, byte[] buf) {
+                    return DateTimeConverter.printLocalTime(v,buf,0);
+                }
+            });
+        secondaryList.add(
+            new TemporalImpl<LocalDateTime>(LocalDateTime.class, DatatypeConstants.DATETIME) {
+                @Override
+                public LocalDateTime parse(CharSequence text) {
+                    return DateTimeConverter.parseLocalDateTime(text);
+                }
+                @Override
+                protected int print(LocalDateTime v, byte[] buf) {
+                    return DateTimeConverter.printLocalDateTime(v,buf,0);
+                }
+            });
+        secondaryList.add(
+            new TemporalImpl<OffsetDateTime>(OffsetDateTime.class, DatatypeConstants.DATETIME) {
+                @Override
+                public OffsetDateTime parse(CharSequence text) {
+                    return DateTimeConverter.parseOffsetDateTime(text);
+                }
+                @Override
+                protected int print(OffsetDateTime v, byte[] buf) {
+                    return DateTimeConverter.printOffsetDateTime(v,buf,0);
+                }
+            });
+        secondaryList.add(
+            new TemporalImpl<OffsetTime>(OffsetTime.class, DatatypeConstants.TIME) {
+                @Override
+                public OffsetTime parse(CharSequence text) {
+                    return DateTimeConverter.parseOffsetTime(text);
+                }
+                @Override
+                protected int print(OffsetTime v, byte[] buf) {
+                    return DateTimeConverter.printOffsetTime(v,buf,0);
+                }
+            });
+        secondaryList.add(
+            new TemporalImpl<Instant>(Instant.class, DatatypeConstants.DATETIME) {
+                @Override
+                public Instant parse(CharSequence text) {
+                    return DateTimeConverter.parseInstant(text);
+                }
+                @Override
+                protected int print(Instant v, byte[] buf) {
+                    return DateTimeConverter.printInstant(v,buf,0);
+                }
+            });
+        secondaryList.add(
+            new TemporalImpl<java.time.Duration>(java.time.Duration.class, createXS("duration")) {
+                @Override
+                public java.time.Duration parse(CharSequence text) {
+                    return DateTimeConverter.parseDuration(text);
+                }
+                @Override
+                protected int print(java.time.Duration v, byte[] buf) {
+                    return DateTimeConverter.printDuration(v,buf,0);
+                }
+            });
         secondaryList.add(
             new StringImpl<XMLGregorianCalendar>(XMLGregorianCalendar.class,
                     createXS("anySimpleType"),
@@ -582,15 +748,15 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                             return "";
                         }
                     }
-                    return cal.toXMLFormat();
+                    return DateTimeConverter.printXMLGregorianCalendar(cal);
                 }
 
                 @Override
                 @SuppressWarnings({"deprecation"})
                 public XMLGregorianCalendar parse(CharSequence lexical) throws SAXException {
                     try {
-                        return DatatypeConverterImpl.getDatatypeFactory()
-                                .newXMLGregorianCalendar(lexical.toString().trim()); // (.trim() - issue 396)
+                        return DateTimeConverter.parseXMLGregorianCalendar(lexical, // (trims - issue 396)
+                                DatatypeConverterImpl.getDatatypeFactory());
                     } catch (Exception e) {
                         UnmarshallingContext.getInstance().handleError(e);
                         return null;
@@ -758,6 +924,11 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Integer v) {
                     return DatatypeConverterImpl._printInt(v);
                 }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Integer v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.intValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<Long>(Long.class,
@@ -775,6 +946,11 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Long v) {
                     return DatatypeConverterImpl._printLong(v);
                 }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Long v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.longValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<Float>(Float.class,
@@ -783,7 +959,7 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 @Override
                 @SuppressWarnings({"deprecation"})
                 public Float parse(CharSequence text) {
-                    return DatatypeConverterImpl._parseFloat(text.toString());
+                    return DatatypeConverterImpl._parseFloat(text);
                 }
 
                 @Override
@@ -791,6 +967,11 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Float v) {
                     return DatatypeConverterImpl._printFloat(v);
                 }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Float v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.floatValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<Double>(Double.class,
@@ -807,6 +988,11 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Double v) {
                     return DatatypeConverterImpl._printDouble(v);
                 }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Double v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.doubleValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<BigInteger>(BigInteger.class,
@@ -836,7 +1022,7 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                     @Override
                     @SuppressWarnings({"deprecation"})
                     public BigDecimal parse(CharSequence text) {
-                        return DatatypeConverterImpl._parseDecimal(text.toString());
+                        return DatatypeConverterImpl._parseDecimal(text);
                     }
 
                     @Override
@@ -900,14 +1086,14 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 new StringImpl<Duration>(Duration.class, createXS("duration")) {
                     @Override
                     public String print(Duration duration) {
-                        return duration.toString();
+                        return DateTimeConverter.printXMLDuration(duration);
                     }
 
                     @Override
                     @SuppressWarnings({"deprecation"})
                     public Duration parse(CharSequence lexical) {
                         TODO.checkSpec("JSR222 Issue #42");
-                        return DatatypeConverterImpl.getDatatypeFactory().newDuration(lexical.toString());
+                        return DateTimeConverter.parseXMLDuration(lexical, DatatypeConverterImpl.getDatatypeFactory());
                     }
                 }
         );
@@ -47,6 +47,7 @@ import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -100,6 +101,11 @@ class RuntimeClassInfoImpl extends ClassInfoImpl<Type,Class,Field,Method>
         }
 
 
+        // then to the accessors generated at build time, if any
+        if (accFactory == null && context != null) {
+            accFactory = context.getGeneratedAccessorFactory(clazz);
+        }
+
         // Fall back to local AccessorFactory when no
         // user not providing one or as error recovery.
         if (accFactory == null){
@@ -127,6 +133,18 @@ class RuntimeClassInfoImpl extends ClassInfoImpl<Type,Class,Field,Method>
         return (RuntimeClassInfoImpl)super.getBaseClass();
     }
 
+    @Override
+    protected Collection<? extends Field> getDeclaredFields(Class c) {
+        ClassScan scan = ((RuntimeModelBuilder) builder).getScan(c);
+        return scan!=null ? scan.fields : super.getDeclaredFields(c);
+    }
+
+    @Override
+    /*package*/ DeclaredAccessors<Type,Class,Field,Method> getDeclaredAccessors(Class c) {
+        ClassScan scan = ((RuntimeModelBuilder) builder).getScan(c);
+        return scan!=null ? scan.accessors : super.getDeclaredAccessors(c);
+    }
+
     @Override
     protected ReferencePropertyInfo<Type,Class> createReferenceProperty(PropertySeed<Type,Class,Field,Method> seed) {
         return new RuntimeReferencePropertyInfoImpl(this,seed);
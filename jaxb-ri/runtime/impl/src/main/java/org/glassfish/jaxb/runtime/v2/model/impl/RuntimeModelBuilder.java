@@ -19,6 +19,7 @@ import org.glassfish.jaxb.core.v2.model.core.EnumLeafInfo;
 import org.glassfish.jaxb.core.v2.model.core.RegistryInfo;
 import org.glassfish.jaxb.core.v2.model.core.TypeInfoSet;
 import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
 import org.glassfish.jaxb.core.v2.model.annotation.Locatable;
 import org.glassfish.jaxb.runtime.v2.model.annotation.RuntimeAnnotationReader;
 import org.glassfish.jaxb.core.v2.model.core.ID;
@@ -37,6 +38,8 @@ import javax.xml.namespace.QName;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -57,11 +60,39 @@ public class RuntimeModelBuilder extends ModelBuilder<Type,Class,Field,Method> {
     public final @Nullable
     JAXBContextImpl context;
 
+    /**
+     * The classes that {@link #scan(Collection)} read ahead,
+     * until the model is linked.
+     */
+    private Map<Class,ClassScan> scans = Collections.emptyMap();
+
     public RuntimeModelBuilder(JAXBContextImpl context, RuntimeAnnotationReader annotationReader, Map<Class, Class> subclassReplacements, String defaultNamespaceRemap) {
         super(annotationReader, Utils.REFLECTION_NAVIGATOR, subclassReplacements, defaultNamespaceRemap);
         this.context = context;
     }
 
+    /**
+     * Reads the fields and methods of the given classes, and of those that they refer to,
+     * concurrently, and sorts out the getters and setters of each class, so that building
+     * the model from them later on this thread mostly finds that work done.
+     *
+     * <p>
+     * The model is still built one class after another, in the same order,
+     * from the same {@link Field}s and {@link Method}s, so it's the same as without this.
+     *
+     * @see JAXBRIContext#PARALLEL_MODEL_BUILDING
+     */
+    public void scan(Collection<Class> classes) {
+        scans = ClassScan.scan(nav, classes);
+    }
+
+    /**
+     * Gets what {@link #scan(Collection)} read of the given class, if anything.
+     */
+    /*package*/ ClassScan getScan(Class clazz) {
+        return scans.get(clazz);
+    }
+
     @Override
     public RuntimeNonElement getClassInfo(Class clazz, Locatable upstream ) {
         return (RuntimeNonElement)super.getClassInfo(clazz,upstream);
@@ -99,6 +130,8 @@ public class RuntimeModelBuilder extends ModelBuilder<Type,Class,Field,Method> {
 
     @Override
     public RuntimeTypeInfoSet link() {
+        // classes whose properties are computed later don't need them kept around
+        scans = Collections.emptyMap();
         return (RuntimeTypeInfoSet)super.link();
     }
 
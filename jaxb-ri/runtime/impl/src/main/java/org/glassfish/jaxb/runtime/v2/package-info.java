@@ -104,6 +104,9 @@
  * None of the class in this package or below should be directly
  * referenced by the generated code. Hence they can be changed freely
  * from versions to versions.
+ * The exception is the code that the {@code -Xstreaming} plugin of XJC generates,
+ * which only works with the JAXB RI of the same version. See
+ * {@link org.glassfish.jaxb.runtime.StreamingBean}.
  *
  *
  *
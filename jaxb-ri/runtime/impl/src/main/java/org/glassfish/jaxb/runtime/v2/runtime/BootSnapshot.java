@@ -0,0 +1,732 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import org.glassfish.jaxb.core.v2.model.annotation.Locatable;
+import org.glassfish.jaxb.core.v2.model.core.RegistryInfo;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.model.impl.RuntimeModelBuilder;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeAttributePropertyInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeClassInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeElementInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeElementPropertyInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeMapPropertyInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimePropertyInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeReferencePropertyInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeTypeInfoSet;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeTypeRef;
+
+import javax.xml.namespace.QName;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipFile;
+
+/**
+ * What a {@link JAXBContextImpl} needs to know about its model to boot
+ * without scanning the properties of every class, kept in a file from one
+ * run of the JVM to the next.
+ *
+ * <p>
+ * A snapshot is written once a context has built and checked its whole model.
+ * It lists every type of the model and the ObjectFactory classes that declare
+ * its elements, together with the CRC-32 of their class files and package-info
+ * classes, and, for each class, the names its properties use and whether
+ * its content is element-only. The CRC-32s also cover every other class that the
+ * properties are read from: the super classes, including {@code XmlTransient} ones,
+ * the adapters, the {@code XmlSeeAlso} targets and the types of the properties.
+ * A later context of the same classes reads it back, and if none of these class
+ * files changed, adds the listed types to the model without following the properties
+ * from one class to the next, and leaves the properties of each class to
+ * {@link ClassBeanInfoImpl#ensureLinked()}.
+ *
+ * @see JAXBRIContext#BOOT_SNAPSHOT_DIR
+ */
+final class BootSnapshot {
+    /**
+     * Changes whenever the format of the file does.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Class files that the snapshot depends on, with their CRC-32,
+     * or -1 for a package-info class that doesn't exist.
+     */
+    private final Map<String,Long> resources = new LinkedHashMap<>();
+
+    /**
+     * Classes, enums and arrays of the model, in the order of the model.
+     */
+    private final List<String> types = new ArrayList<>();
+
+    /**
+     * Classes with {@code XmlRegistry} that declare the elements of the model.
+     */
+    private final List<String> registries = new ArrayList<>();
+
+    /**
+     * {@link ClassData} of each class of the model by class name.
+     */
+    private final Map<String,ClassData> classes = new HashMap<>();
+
+    private boolean hasSwaRef;
+
+    private BootSnapshot() {
+    }
+
+    /**
+     * Returns the file that keeps the snapshot of a context with the given configuration,
+     * or null if the snapshot couldn't tell apart models that this configuration can.
+     */
+    static Path getFile(Path dir, Class[] roots, String defaultNsUri, boolean supported) {
+        if(dir==null || !supported || roots.length==0)
+            return null;
+        CRC32 crc = new CRC32();
+        crc.update(getKey(roots,defaultNsUri).getBytes(StandardCharsets.UTF_8));
+        return dir.resolve("jaxb-"+Long.toHexString(crc.getValue())+".boot");
+    }
+
+    private static String getKey(Class[] roots, String defaultNsUri) {
+        StringBuilder key = new StringBuilder();
+        for (Class root : roots)
+            key.append(root.getName()).append(',');
+        return key.append(defaultNsUri).toString();
+    }
+
+    /**
+     * Reads the snapshot of a context of the given classes.
+     *
+     * @return
+     *      null if there's no such snapshot, or if it was written by another version
+     *      of this runtime or for other classes.
+     * @see #isCurrent(List, List)
+     */
+    static BootSnapshot read(Path file, String buildId, Class[] roots, String defaultNsUri) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if(in.readInt()!=VERSION || !in.readUTF().equals(buildId)
+                    || !in.readUTF().equals(getKey(roots,defaultNsUri)))
+                return null;
+
+            BootSnapshot snapshot = new BootSnapshot();
+            snapshot.hasSwaRef = in.readBoolean();
+            for( int i=in.readInt(); i>0; i-- )
+                snapshot.resources.put(in.readUTF(),in.readLong());
+            readNames(in,snapshot.types);
+            readNames(in,snapshot.registries);
+            for( int i=in.readInt(); i>0; i-- )
+                snapshot.classes.put(in.readUTF(),new ClassData(in));
+            return snapshot;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.log(Level.FINE,"Unable to read "+file,e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot of a context whose model is complete, replacing any previous one.
+     * Failures are only logged, since the snapshot is just a shortcut.
+     */
+    static void write(Path file, String buildId, Class[] roots, String defaultNsUri,
+                      RuntimeTypeInfoSet typeSet, boolean hasSwaRef) {
+        BootSnapshot snapshot = new BootSnapshot();
+        snapshot.hasSwaRef = hasSwaRef;
+        try {
+            List<Class> registries = new ArrayList<>();
+            for( RuntimeElementInfo ei : typeSet.getAllElements() ) {
+                Locatable upstream = ei.getUpstream();
+                if(upstream instanceof RegistryInfo && !registries.contains(((RegistryInfo)upstream).getClazz()))
+                    registries.add((Class)((RegistryInfo)upstream).getClazz());
+            }
+            List<Class> types = new ArrayList<>(typeSet.beans().keySet());
+            types.addAll(typeSet.enums().keySet());
+            for (Type t : typeSet.arrays().keySet())
+                types.add((Class) t);
+
+            snapshot.resources.putAll(hash(types,registries));
+            for (Class c : types)
+                snapshot.types.add(c.getName());
+            for (Class c : registries)
+                snapshot.registries.add(c.getName());
+
+            for (RuntimeClassInfo ci : typeSet.beans().values())
+                snapshot.classes.put(ci.getClazz().getName(),new ClassData(ci));
+            // the lazy bean infos can't look at the subclasses
+            // to find out which of their properties are overridden
+            for (RuntimeClassInfo ci : typeSet.beans().values()) {
+                for (RuntimePropertyInfo p : ci.getProperties()) {
+                    for( RuntimeClassInfo a=ci.getBaseClass(); a!=null; a=a.getBaseClass() ) {
+                        if(a.getProperty(p.getName())!=null)
+                            snapshot.classes.get(a.getClazz().getName()).overriddenProperties.add(p.getName());
+                    }
+                }
+            }
+
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(),file.getFileName().toString(),".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    snapshot.write(out,buildId,getKey(roots,defaultNsUri));
+                }
+                try {
+                    Files.move(tmp,file,StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp,file,StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            logger.log(Level.FINE,"Unable to write "+file,e);
+        }
+    }
+
+    /**
+     * Computes the CRC-32 of the class files that the model of the given classes depends on.
+     */
+    private static Map<String,Long> hash(List<Class> types, List<Class> registries) throws IOException {
+        Map<String,Long> r = new LinkedHashMap<>();
+        try (ClassFiles files = new ClassFiles()) {
+            for (Class c : types)
+                files.add(c,r);
+            for (Class c : registries)
+                files.add(c,r);
+            for (Class c : new Dependencies(types).classes) {
+                if(!r.containsKey(getResourceName(c)))
+                    files.add(c,r);
+            }
+        }
+        return r;
+    }
+
+    private static String getResourceName(Class c) {
+        return c.getName().replace('.','/')+".class";
+    }
+
+    /**
+     * True for the classes whose class files a snapshot depends on.
+     * Those of the JDK can only change along with {@link JAXBContextImpl#getBuildId()}.
+     */
+    private static boolean isHashed(Class c) {
+        return !c.isPrimitive() && c.getClassLoader()!=null;
+    }
+
+    /**
+     * The classes other than the types of the model that the properties of these types are read from.
+     */
+    private static final class Dependencies {
+        /**
+         * In the order they were found, which only depends on the class files.
+         */
+        final Set<Class> classes = new LinkedHashSet<>();
+
+        /**
+         * Classes whose members have been looked at.
+         */
+        private final Set<Class> scanned = new HashSet<>();
+
+        Dependencies(List<Class> types) throws IOException {
+            try {
+                for (Class c : types)
+                    scan(c);
+            } catch (RuntimeException | LinkageError e) {
+                // a class is missing, so the snapshot is no good
+                throw new IOException(e);
+            }
+        }
+
+        /**
+         * Adds what the properties of a class of the model are read from:
+         * the class and its super classes, which may be {@code XmlTransient},
+         * with the annotations and the types of their fields and methods.
+         */
+        private void scan(Class c) {
+            while(c.isArray())
+                c = c.getComponentType();
+            for( ; c!=null && isHashed(c) && scanned.add(c); c=c.getSuperclass() ) {
+                classes.add(c);
+                visit(c.getGenericSuperclass());
+                visit(c.getDeclaredAnnotations());
+                if(c.getPackage()!=null)
+                    visit(c.getPackage().getDeclaredAnnotations());
+                for (Field f : c.getDeclaredFields()) {
+                    if(Modifier.isStatic(f.getModifiers()))
+                        continue;
+                    visit(f.getGenericType());
+                    visit(f.getDeclaredAnnotations());
+                }
+                for (Method m : c.getDeclaredMethods()) {
+                    if(Modifier.isStatic(m.getModifiers()) || m.isBridge() || m.isSynthetic())
+                        continue;
+                    visit(m.getGenericReturnType());
+                    for (Type t : m.getGenericParameterTypes())
+                        visit(t);
+                    visit(m.getDeclaredAnnotations());
+                    for (Annotation[] a : m.getParameterAnnotations())
+                        visit(a);
+                }
+            }
+        }
+
+        /**
+         * Adds a class that a type or an annotation refers to, with its super classes
+         * and, for an adapter or a class with {@code XmlJavaTypeAdapter}, what its annotations
+         * and type arguments refer to.
+         */
+        private void visit(Type t) {
+            if(t instanceof Class) {
+                Class c = (Class) t;
+                while(c.isArray())
+                    c = c.getComponentType();
+                for( ; c!=null && isHashed(c) && classes.add(c); c=c.getSuperclass() ) {
+                    visit(c.getGenericSuperclass());
+                    visit(c.getDeclaredAnnotations());
+                }
+            } else
+            if(t instanceof ParameterizedType) {
+                ParameterizedType p = (ParameterizedType) t;
+                visit(p.getRawType());
+                for (Type a : p.getActualTypeArguments())
+                    visit(a);
+            } else
+            if(t instanceof GenericArrayType) {
+                visit(((GenericArrayType) t).getGenericComponentType());
+            } else
+            if(t instanceof WildcardType) {
+                for (Type b : ((WildcardType) t).getUpperBounds())
+                    visit(b);
+            } else
+            if(t instanceof TypeVariable) {
+                for (Type b : ((TypeVariable<?>) t).getBounds())
+                    visit(b);
+            }
+        }
+
+        /**
+         * Follows the classes that the binding annotations name, such as
+         * {@code XmlJavaTypeAdapter}, {@code XmlSeeAlso} or {@code XmlElement.type}.
+         */
+        private void visit(Annotation[] annotations) {
+            for (Annotation a : annotations) {
+                Class<? extends Annotation> type = a.annotationType();
+                if(!type.getName().startsWith("jakarta.xml.bind.annotation."))
+                    continue;
+                for (Method m : type.getDeclaredMethods()) {
+                    Object value;
+                    try {
+                        value = m.invoke(a);
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if(value instanceof Class)
+                        visit((Class) value);
+                    else if(value instanceof Class[])
+                        for (Class c : (Class[]) value)
+                            visit(c);
+                    else if(value instanceof Annotation)
+                        visit(new Annotation[] {(Annotation) value});
+                    else if(value instanceof Annotation[])
+                        visit((Annotation[]) value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the classes that {@link #getTypes(Class[])} and {@link #getRegistries(Class[])}
+     * loaded are the ones that the snapshot was written for.
+     */
+    boolean isCurrent(List<Class> types, List<Class> registries) {
+        try {
+            return resources.equals(hash(types,registries));
+        } catch (IOException e) {
+            logger.log(Level.FINE,"Unable to check the class files",e);
+            return false;
+        }
+    }
+
+    private void write(DataOutputStream out, String buildId, String key) throws IOException {
+        out.writeInt(VERSION);
+        out.writeUTF(buildId);
+        out.writeUTF(key);
+        out.writeBoolean(hasSwaRef);
+        out.writeInt(resources.size());
+        for (Map.Entry<String,Long> e : resources.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeLong(e.getValue());
+        }
+        writeNames(out,types);
+        writeNames(out,registries);
+        out.writeInt(classes.size());
+        for (Map.Entry<String,ClassData> e : classes.entrySet()) {
+            out.writeUTF(e.getKey());
+            e.getValue().write(out);
+        }
+    }
+
+    /**
+     * Loads the types of the model, in the order of the model.
+     */
+    List<Class> getTypes(Class[] roots) throws ClassNotFoundException {
+        return load(roots,types);
+    }
+
+    /**
+     * Loads the classes that declare the elements of the model.
+     */
+    List<Class> getRegistries(Class[] roots) throws ClassNotFoundException {
+        return load(roots,registries);
+    }
+
+    private static List<Class> load(Class[] roots, List<String> names) throws ClassNotFoundException {
+        ClassLoader loader = getClassLoader(roots);
+        List<Class> r = new ArrayList<>(names.size());
+        for (String name : names)
+            r.add(Class.forName(name,false,loader));
+        return r;
+    }
+
+    /**
+     * Gets the {@link ClassData} of a class of the model.
+     */
+    ClassData getClassData(Class c) {
+        return classes.get(c.getName());
+    }
+
+    /**
+     * True if the model includes {@code XmlAttachmentRef}.
+     */
+    boolean hasSwaRef() {
+        return hasSwaRef;
+    }
+
+    private static ClassLoader getClassLoader(Class[] roots) {
+        ClassLoader loader = roots[0].getClassLoader();
+        return loader!=null ? loader : ClassLoader.getSystemClassLoader();
+    }
+
+    /**
+     * Computes the CRC-32 of class files, looking them up in the directory or jar file
+     * that their classes were loaded from, since asking the class loader for each
+     * of them takes about as long as building the model from the snapshot.
+     */
+    private static final class ClassFiles implements Closeable {
+        /**
+         * The directory or {@link JarFile} of each code source so far,
+         * or null if the class loader has to look up its class files.
+         */
+        private final Map<URL,Object> locations = new HashMap<>();
+
+        private final byte[] buf = new byte[8192];
+
+        /**
+         * Adds the CRC-32 of the class file of the given class (or its component type),
+         * and of the package-info class of its package, or -1 if there's no such class.
+         */
+        void add(Class c, Map<String,Long> hashes) throws IOException {
+            while(c.isArray())
+                c = c.getComponentType();
+            if(c.isPrimitive())
+                return;
+            String resource = getResourceName(c);
+            long hash = hash(c,resource);
+            if(hash==-1)
+                throw new IOException(c.getName()+" isn't visible as "+resource);
+            hashes.put(resource,hash);
+            String packageInfo = resource.substring(0,resource.lastIndexOf('/')+1)+"package-info.class";
+            if(!hashes.containsKey(packageInfo))
+                hashes.put(packageInfo,hash(c,packageInfo));
+        }
+
+        private long hash(Class c, String resource) throws IOException {
+            Object location = getLocation(c);
+            if(location instanceof Path) {
+                try (InputStream in = Files.newInputStream(((Path)location).resolve(resource))) {
+                    return hash(in);
+                } catch (NoSuchFileException e) {
+                    return -1;
+                }
+            }
+            if(location instanceof JarFile) {
+                JarFile jar = (JarFile)location;
+                JarEntry entry = jar.getJarEntry(resource);
+                if(entry==null)
+                    return -1;
+                // the jar file already knows
+                if(entry.getCrc()!=-1)
+                    return entry.getCrc();
+                try (InputStream in = jar.getInputStream(entry)) {
+                    return hash(in);
+                }
+            }
+
+            ClassLoader loader = c.getClassLoader();
+            URL url = (loader!=null ? loader : ClassLoader.getSystemClassLoader()).getResource(resource);
+            if(url==null)
+                return -1;
+            URLConnection con = url.openConnection();
+            if(con instanceof JarURLConnection) {
+                JarEntry entry = ((JarURLConnection)con).getJarEntry();
+                if(entry!=null && entry.getCrc()!=-1)
+                    return entry.getCrc();
+            }
+            try (InputStream in = con.getInputStream()) {
+                return hash(in);
+            }
+        }
+
+        private long hash(InputStream in) throws IOException {
+            CRC32 crc = new CRC32();
+            int len;
+            while((len=in.read(buf))>=0)
+                crc.update(buf,0,len);
+            return crc.getValue();
+        }
+
+        private Object getLocation(Class c) throws IOException {
+            URL url;
+            try {
+                CodeSource cs = c.getProtectionDomain().getCodeSource();
+                url = cs!=null ? cs.getLocation() : null;
+            } catch (SecurityException e) {
+                url = null;
+            }
+            if(url==null || !"file".equals(url.getProtocol()))
+                return null;
+            if(locations.containsKey(url))
+                return locations.get(url);
+
+            Object location = null;
+            try {
+                Path path = Paths.get(url.toURI());
+                if(Files.isDirectory(path))
+                    location = path;
+                else if(Files.isRegularFile(path))
+                    location = new JarFile(path.toFile(),true,ZipFile.OPEN_READ,JarFile.runtimeVersion());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // let the class loader find the class files
+            }
+            locations.put(url,location);
+            return location;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Object location : locations.values()) {
+                if(location instanceof JarFile)
+                    ((JarFile)location).close();
+            }
+        }
+    }
+
+    /**
+     * Links the classes of a model built from a snapshot as they are first used.
+     *
+     * <p>
+     * A model that was checked when the snapshot was written can only fail to link
+     * if the snapshot missed a change. By then the context is in use and can't start
+     * over, so the snapshot is deleted for the next context to build the model from
+     * scratch, and this context fails to link any further class.
+     */
+    static final class Linker {
+        private final RuntimeModelBuilder builder;
+        private final Path file;
+        private IllegalStateException failure;
+
+        Linker(RuntimeModelBuilder builder, Path file) {
+            this.builder = builder;
+            this.file = file;
+        }
+
+        /**
+         * Links a class of the model. Only called with {@link JAXBContextImpl#lazyInitLock} held.
+         *
+         * @throws IllegalStateException
+         *      if this or an earlier class reported errors.
+         */
+        void link(RuntimeClassInfo ci) {
+            if(failure!=null)
+                throw failure;
+            IllegalAnnotationsException.Builder errorHandler = new IllegalAnnotationsException.Builder();
+            builder.setErrorHandler(errorHandler);
+            builder.link(ci);
+            try {
+                errorHandler.check();
+            } catch (IllegalAnnotationsException e) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException x) {
+                    logger.log(Level.FINE,"Unable to delete "+file,x);
+                }
+                failure = new IllegalStateException(e);
+                throw failure;
+            }
+        }
+    }
+
+    private static void readNames(DataInputStream in, Collection<String> names) throws IOException {
+        for( int i=in.readInt(); i>0; i-- )
+            names.add(in.readUTF());
+    }
+
+    private static void writeNames(DataOutputStream out, Collection<String> names) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names)
+            out.writeUTF(name);
+    }
+
+    /**
+     * What a lazy {@link ClassBeanInfoImpl} needs to know about
+     * the properties of its class before it creates them.
+     */
+    static final class ClassData {
+        /**
+         * Element names that the properties use.
+         */
+        final List<QName> elementNames = new ArrayList<>();
+
+        /**
+         * Attribute names that the properties use.
+         */
+        final List<QName> attributeNames = new ArrayList<>();
+
+        /**
+         * True if all the properties have element-only content.
+         */
+        final boolean elementOnly;
+
+        /**
+         * True if the bean info needs the properties of the class and its ancestors
+         * right away, because the class binds to text, takes attribute wildcards or
+         * has a {@code XmlLocation} field.
+         */
+        final boolean eager;
+
+        /**
+         * Names of the properties that some subclass in the model overrides.
+         */
+        final Set<String> overriddenProperties = new HashSet<>();
+
+        ClassData(RuntimeClassInfo ci) {
+            boolean elementOnly = true;
+            for( RuntimePropertyInfo info : ci.getProperties() ) {
+                addNames(info);
+                elementOnly &= info.elementOnlyContent();
+            }
+            this.elementOnly = elementOnly;
+            this.eager = ci.getTransducer()!=null || ci.hasAttributeWildcard() || ci.getLocatorField()!=null;
+        }
+
+        private ClassData(DataInputStream in) throws IOException {
+            elementOnly = in.readBoolean();
+            eager = in.readBoolean();
+            readQNames(in,elementNames);
+            readQNames(in,attributeNames);
+            readNames(in,overriddenProperties);
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeBoolean(elementOnly);
+            out.writeBoolean(eager);
+            writeQNames(out,elementNames);
+            writeQNames(out,attributeNames);
+            writeNames(out,overriddenProperties);
+        }
+
+        /**
+         * Adds the names that {@link org.glassfish.jaxb.runtime.v2.runtime.property.PropertyFactory#create}
+         * will ask for, as they can't be added once the {@link JAXBContextImpl} is created.
+         */
+        private void addNames(RuntimePropertyInfo info) {
+            switch(info.kind()) {
+            case ATTRIBUTE:
+                attributeNames.add(((RuntimeAttributePropertyInfo)info).getXmlName());
+                break;
+            case ELEMENT:
+                RuntimeElementPropertyInfo ep = (RuntimeElementPropertyInfo)info;
+                if(ep.getXmlName()!=null)
+                    elementNames.add(ep.getXmlName());
+                for( RuntimeTypeRef t : ep.getTypes() )
+                    elementNames.add(t.getTagName());
+                break;
+            case REFERENCE:
+                QName wrapper = ((RuntimeReferencePropertyInfo)info).getXmlName();
+                if(wrapper!=null)
+                    elementNames.add(wrapper);
+                break;
+            case MAP:
+                elementNames.add(((RuntimeMapPropertyInfo)info).getXmlName());
+                elementNames.add(new QName("","entry"));
+                elementNames.add(new QName("","key"));
+                elementNames.add(new QName("","value"));
+                break;
+            case VALUE:
+                break;
+            }
+        }
+
+        private static void readQNames(DataInputStream in, List<QName> names) throws IOException {
+            for( int i=in.readInt(); i>0; i-- )
+                names.add(new QName(in.readUTF().intern(),in.readUTF().intern()));
+        }
+
+        private static void writeQNames(DataOutputStream out, List<QName> names) throws IOException {
+            out.writeInt(names.size());
+            for (QName name : names) {
+                out.writeUTF(name.getNamespaceURI());
+                out.writeUTF(name.getLocalPart());
+            }
+        }
+    }
+
+    private static final Logger logger = org.glassfish.jaxb.core.Utils.getClassLogger();
+}
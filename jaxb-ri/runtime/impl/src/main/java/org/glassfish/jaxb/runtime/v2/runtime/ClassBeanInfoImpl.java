@@ -11,6 +11,8 @@
 package org.glassfish.jaxb.runtime.v2.runtime;
 
 import com.sun.istack.FinalArrayList;
+import org.glassfish.jaxb.runtime.GeneratedAccessorFactory;
+import org.glassfish.jaxb.runtime.StreamingBean;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.core.v2.ClassFactory;
 import org.glassfish.jaxb.core.v2.model.core.ID;
@@ -38,10 +40,14 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,8 +60,12 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
 
     /**
      * Properties of this bean class but not its ancestor classes.
+     *
+     * <p>
+     * Set by the constructor, or by {@link #ensureLinked()} if
+     * {@link JAXBContextImpl#lazyInit} is true, but considered final.
      */
-    public final Property<BeanT>[] properties;
+    public /*final*/ Property<BeanT>[] properties;
 
     /**
      * Non-null if this bean has an ID property.
@@ -76,6 +86,24 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
      */
     private RuntimeClassInfo ci;
 
+    /**
+     * The {@link JAXBContextImpl} that still has to create the properties
+     * of this bean info in {@link #ensureLinked()}, or null once it has.
+     */
+    private volatile JAXBContextImpl pendingGrammar;
+
+    /**
+     * Names of the properties of this class that some subclass overrides,
+     * recorded for {@link #ensureLinked()}. Null if none.
+     */
+    private Set<String> overriddenProperties;
+
+    /**
+     * Non-null if {@link #ci} comes from a model that was built from a {@link BootSnapshot},
+     * which {@link #ensureLinked()} has to link first.
+     */
+    private BootSnapshot.Linker modelLinker;
+
     private final Accessor<? super BeanT,Map<QName,String>> inheritedAttWildcard;
     private final Transducer<BeanT> xducer;
 
@@ -102,15 +130,40 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
     private /*final*/ Property<BeanT>[] uriProperties;
 
     private final Method factoryMethod;
+
+    /**
+     * Creates the instances of the class without reflection, if such a factory
+     * was generated at build time and {@link #factoryMethod} is null.
+     */
+    private final Supplier<?> factory;
+
+    /**
+     * True if the class marshals and unmarshals its own properties
+     * as a {@link StreamingBean}.
+     */
+    private final boolean streaming;
+
+    /**
+     * The {@link Name}s of {@link StreamingBean#attributeNames()} and {@link StreamingBean#elementNames()},
+     * resolved when the class is first used, or {@link #NOT_STREAMING} if this context doesn't know them all.
+     */
+    private volatile Name[][] streamingNames;
+
+    private static final Name[][] NOT_STREAMING = new Name[0][];
     
     /*package*/ ClassBeanInfoImpl(JAXBContextImpl owner, RuntimeClassInfo ci) {
         super(owner,ci,ci.getClazz(),ci.getTypeName(),ci.isElement(),false,true);
 
         this.ci = ci;
+        BootSnapshot.ClassData data = owner.bootSnapshot!=null ? owner.bootSnapshot.getClassData(ci.getClazz()) : null;
         this.inheritedAttWildcard = ci.getAttributeWildcard();
-        this.xducer = ci.getTransducer();
+        // unless the snapshot says otherwise, this would compute the properties
+        this.xducer = data==null || data.eager ? ci.getTransducer() : null;
         this.factoryMethod = ci.getFactoryMethod();
+        GeneratedAccessorFactory generated = factoryMethod==null ? owner.getGeneratedAccessorFactory(jaxbType) : null;
+        this.factory = generated!=null ? generated.getFactory(jaxbType) : null;
         this.retainPropertyInfo = owner.retainPropertyInfo;
+        this.streaming = owner.streamingBeans && Arrays.asList(jaxbType.getInterfaces()).contains(StreamingBean.class);
         
         // make the factory accessible
         if(factoryMethod!=null) {
@@ -139,9 +192,50 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         else
             xmlLocatorField = ci.getLocatorField();
 
+        if(owner.lazyInit) {
+            // the properties are created on the first use,
+            // so do now what they would do to the rest of the context
+            pendingGrammar = owner;
+            modelLinker = owner.bootLinker;
+            if(data!=null) {
+                overriddenProperties = data.overriddenProperties;
+            } else {
+                data = new BootSnapshot.ClassData(ci);
+                for( RuntimePropertyInfo info : ci.getProperties() )
+                    recordOverride(info);
+            }
+            // the names can't be added once the JAXBContextImpl is created
+            for( QName name : data.elementNames )
+                owner.nameBuilder.createElementName(name);
+            for( QName name : data.attributeNames )
+                owner.nameBuilder.createAttributeName(name);
+            hasElementOnlyContentModel( data.elementOnly
+                    && (superClazz==null || superClazz.hasElementOnlyContentModel()) );
+
+            // the loaders only refer to each other until they are initialized by ensureLinked()
+            loader = new StructureLoader(this);
+            if(ci.hasSubClasses())
+                loaderWithTypeSubst = new XsiTypeLoader(this);
+            else
+                loaderWithTypeSubst = loader;
+        } else {
+            createProperties(owner);
+            // super class' idProperty might not be computed at this point,
+            // so check that later
+        }
+
+        if(ci.isElement())
+            tagName = owner.nameBuilder.createElementName(ci.getElementName());
+        else
+            tagName = null;
+
+        setLifecycleFlags();
+    }
+
+    private void createProperties(JAXBContextImpl owner) {
         // create property objects
         Collection<? extends RuntimePropertyInfo> ps = ci.getProperties();
-        this.properties = new Property[ps.size()];
+        Property<BeanT>[] properties = new Property[ps.size()];
         int idx=0;
         boolean elementOnly = true;
         for( RuntimePropertyInfo info : ps ) {
@@ -150,20 +244,30 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
                 idProperty = p;
             properties[idx++] = p;
             elementOnly &= info.elementOnlyContent();
-            checkOverrideProperties(p);
+            if(overriddenProperties!=null && overriddenProperties.contains(p.getFieldName()))
+                p.setHiddenByOverride(true);
+            else if(pendingGrammar==null)
+                checkOverrideProperties(p);
         }
-        // super class' idProperty might not be computed at this point,
-        // so check that later
+        this.properties = properties;
 
-        hasElementOnlyContentModel( elementOnly );
+        if(pendingGrammar==null)
+            hasElementOnlyContentModel( elementOnly );
         // again update this value later when we know that of the super class
+    }
 
-        if(ci.isElement())
-            tagName = owner.nameBuilder.createElementName(ci.getElementName());
-        else
-            tagName = null;
-
-        setLifecycleFlags();
+    /**
+     * Lazy version of {@link #checkOverrideProperties(Property)}, which tells
+     * the ancestors that declare a property of the same name to hide it once they create it.
+     */
+    private void recordOverride(RuntimePropertyInfo info) {
+        for( ClassBeanInfoImpl<?> bi = superClazz; bi!=null; bi = bi.superClazz ) {
+            if(bi.ci.getProperty(info.getName())!=null) {
+                if(bi.overriddenProperties==null)
+                    bi.overriddenProperties = new HashSet<>();
+                bi.overriddenProperties.add(info.getName());
+            }
+        }
     }
 
     private void checkOverrideProperties(Property p) {
@@ -182,10 +286,51 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         }
     }
     
+    /**
+     * Creates the properties and the loader of this bean info and links it,
+     * if {@link JAXBContextImpl#lazyInit} deferred that until now.
+     *
+     * <p>
+     * Needs to be called before anything that uses the {@link #properties},
+     * and can be called by many threads at once.
+     */
+    public void ensureLinked() {
+        if(pendingGrammar!=null)
+            initialize();
+    }
+
+    private void initialize() {
+        JAXBContextImpl grammar = pendingGrammar;
+        if(grammar==null)
+            return;
+        // bean infos share parts of the model that are computed as they go
+        synchronized(grammar.lazyInitLock) {
+            if(pendingGrammar==null)
+                return; // another thread got here first
+
+            // the loader of this class also handles the properties of the super class
+            if(superClazz!=null)
+                superClazz.ensureLinked();
+
+            if(modelLinker!=null)
+                modelLinker.link(ci);
+            createProperties(grammar);
+            link(grammar);
+            ((StructureLoader)loader).init(grammar,this,ci.getAttributeWildcard());
+            ((StructureLoader)loader).wrapUp();
+            // unlike wrapUp(), keep the properties as they are,
+            // since subclasses may still build their loaders from them
+            ci = null;
+            overriddenProperties = null;
+            modelLinker = null;
+            pendingGrammar = null;
+        }
+    }
+
     @Override
     protected void link(JAXBContextImpl grammar) {
-        if(uriProperties!=null)
-            return; // avoid linking twice
+        if(uriProperties!=null || properties==null)
+            return; // avoid linking twice, or before ensureLinked()
 
         super.link(grammar);
 
@@ -231,8 +376,12 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
 
     @Override
     public void wrapUp() {
+        if(pendingGrammar!=null)
+            return; // up to ensureLinked()
         for (Property p : properties)
             p.wrapUp();
+        if(loader instanceof StructureLoader)
+            ((StructureLoader)loader).wrapUp();
         ci = null;
         super.wrapUp();
     }
@@ -252,7 +401,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         
         BeanT bean = null;        
         if (factoryMethod == null){
-           bean = ClassFactory.create0(jaxbType);
+           bean = factory!=null ? (BeanT)factory.get() : ClassFactory.create0(jaxbType);
         }else {
             Object o = ClassFactory.create(factoryMethod);
             if( jaxbType.isInstance(o) ){
@@ -274,6 +423,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
 
     @Override
     public boolean reset(BeanT bean, UnmarshallingContext context) throws SAXException {
+        ensureLinked();
         try {
             if(superClazz!=null)
                 superClazz.reset(bean,context);
@@ -288,6 +438,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
 
     @Override
     public String getId(BeanT bean, XMLSerializer target) throws SAXException {
+        ensureLinked();
         if(idProperty!=null) {
             try {
                 return idProperty.getIdValue(bean);
@@ -321,6 +472,12 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
 
     @Override
     public void serializeBody(BeanT bean, XMLSerializer target) throws SAXException, IOException, XMLStreamException {
+        Name[][] names = getStreamingNames(bean, target.grammar);
+        if (names!=null) {
+            ((StreamingBean) bean).writeTo(target, names[1]);
+            return;
+        }
+        ensureLinked();
         if (superClazz != null) {
             superClazz.serializeBody(bean, target);
         }
@@ -347,6 +504,12 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
 
     @Override
     public void serializeAttributes(BeanT bean, XMLSerializer target) throws SAXException, IOException, XMLStreamException {
+        Name[][] names = getStreamingNames(bean, target.grammar);
+        if (names!=null) {
+            ((StreamingBean) bean).writeAttributes(target, names[0]);
+            return;
+        }
+        ensureLinked();
         for( AttributeProperty<BeanT> p : attributeProperties )
             try {
                 if (retainPropertyInfo) {
@@ -374,8 +537,41 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         }
     }
 
+    /**
+     * Gets the {@link Name}s that the bean marshals itself with as a {@link StreamingBean},
+     * attributes first, or null if it has to go through the properties of this class.
+     */
+    public Name[][] getStreamingNames(BeanT bean, JAXBContextImpl grammar) {
+        // the subclasses inherit the interface but not the properties it writes
+        if (!streaming || bean.getClass()!=jaxbType)
+            return null;
+        Name[][] names = streamingNames;
+        if (names==null) {
+            StreamingBean sb = (StreamingBean) bean;
+            names = new Name[][] {getNames(grammar, sb.attributeNames(), true), getNames(grammar, sb.elementNames(), false)};
+            if (names[0]==null || names[1]==null)
+                names = NOT_STREAMING;
+            streamingNames = names;
+        }
+        return names==NOT_STREAMING ? null : names;
+    }
+
+    private static Name[] getNames(JAXBContextImpl grammar, QName[] qnames, boolean attributes) {
+        NameList nameList = grammar.nameList;
+        Name[] names = new Name[qnames.length];
+        for (int i = 0; i < qnames.length; i++) {
+            names[i] = nameList.getName(qnames[i].getNamespaceURI(), qnames[i].getLocalPart(), attributes);
+            if (names[i]==null)
+                return null;
+        }
+        return names;
+    }
+
     @Override
     public void serializeURIs(BeanT bean, XMLSerializer target) throws SAXException {
+        if (getStreamingNames(bean, target.grammar)!=null)
+            return;     // it only has names that the context knows
+        ensureLinked();
         try {
             if (retainPropertyInfo) {
             final Property parentProperty = target.getCurrentProperty();
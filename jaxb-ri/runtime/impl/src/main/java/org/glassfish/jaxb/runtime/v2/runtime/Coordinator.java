@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,6 +10,7 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime;
 
+import org.glassfish.jaxb.core.Utils;
 import org.glassfish.jaxb.core.v2.ClassFactory;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
 import jakarta.xml.bind.ValidationEvent;
@@ -22,6 +23,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Object that coordinates the marshalling/unmarshalling.
@@ -32,7 +34,9 @@ import java.util.HashMap;
  * during the unmarshalling/marshalling.
  *
  * <p>
- * This is done by using a {@link ThreadLocal}. Therefore one unmarshalling/marshalling
+ * This is done by using a {@link ThreadLocal}, or a map keyed by {@link Thread} when the
+ * {@code org.glassfish.jaxb.runtime.v2.runtime.Coordinator.noThreadLocal} system property
+ * is set. Therefore one unmarshalling/marshalling
  * episode has to be done from the beginning till end by the same thread.
  * (Note that the same {@link Coordinator} can be then used by a different thread
  * for an entirely different episode.)
@@ -81,34 +85,134 @@ public abstract class Coordinator implements ErrorHandler, ValidationEventHandle
         return adapters.containsKey(type);
     }
 
+    /**
+     * Set to true to keep track of the active {@link Coordinator}s in a map shared
+     * by all threads, instead of a {@link ThreadLocal}.
+     *
+     * <p>
+     * A {@link ThreadLocal} allocates a map in every thread that sets it, which is
+     * wasted on short-lived threads such as virtual threads, each doing a single
+     * marshalling or unmarshalling. The shared map only holds an entry while
+     * an episode is in progress.
+     */
+    private static final boolean noThreadLocal =
+            Boolean.parseBoolean(Utils.getSystemProperty(Coordinator.class.getName()+".noThreadLocal"));
+
     // this much is necessary to avoid calling get and set twice when we push.
-    private static final ThreadLocal<Coordinator> activeTable = new ThreadLocal<>();
+    private static final ThreadLocal<Coordinator> activeTable = noThreadLocal ? null : new ThreadLocal<>();
+
+    /**
+     * Used instead of {@link #activeTable} when {@link #noThreadLocal} is set.
+     */
+    private static final ConcurrentHashMap<Thread,Coordinator> activeMap = noThreadLocal ? new ConcurrentHashMap<>() : null;
 
     /**
      * The {@link Coordinator} in charge before this {@link Coordinator}.
      */
     private Coordinator old;
 
+    /**
+     * The thread this {@link Coordinator} is in charge of in {@link #activeMap},
+     * and how many times it was pushed for it without being popped.
+     *
+     * <p>
+     * Only the outermost push and pop update the shared map, so that
+     * an episode that pushes once for the whole document
+     * doesn't touch the map again for each event within it.
+     */
+    private Thread activeThread;
+    private int depth;
+
     /**
      * Called whenever an execution flow enters the realm of this .
      */
     protected final void pushCoordinator() {
-        old = activeTable.get();
-        activeTable.set(this);
+        if (activeMap != null) {
+            Thread t = Thread.currentThread();
+            if (activeThread == t) {
+                depth++;
+                return;
+            }
+            if (activeThread != null)
+                releaseCoordinator();   // left by an episode that was aborted
+            old = activeMap.put(t, this);
+            activeThread = t;
+            depth = 1;
+        } else {
+            old = activeTable.get();
+            activeTable.set(this);
+        }
     }
 
     /**
      * Called whenever an execution flow exits the realm of this .
      */
     protected final void popCoordinator() {
+        if (activeMap != null) {
+            if (activeThread != Thread.currentThread())
+                return; // already released
+            if (--depth > 0)
+                return;
+            releaseCoordinator();
+        } else {
+            if (old != null)
+                activeTable.set(old);
+            else
+                activeTable.remove();
+            old = null; // avoid memory leak
+        }
+    }
+
+    /**
+     * Takes this {@link Coordinator} out of {@link #activeMap} however many times it was pushed.
+     */
+    private void releaseCoordinator() {
         if (old != null)
-            activeTable.set(old);
+            activeMap.replace(activeThread, this, old);
         else
-            activeTable.remove();
+            activeMap.remove(activeThread, this);
+        activeThread = null;
+        depth = 0;
         old = null; // avoid memory leak
     }
 
+    /**
+     * Called when an episode that is made of several calls into the realm of this,
+     * such as the events of a document, starts.
+     *
+     * <p>
+     * When the active {@link Coordinator}s are kept in the map shared by all threads,
+     * this pushes it once for the whole episode, so that the {@link #pushCoordinator()}
+     * of each call only counts. With a {@link ThreadLocal}, each call keeps pushing
+     * and popping it by itself, and this does nothing.
+     */
+    protected final void startEpisode() {
+        if (activeMap != null) {
+            if (activeThread != null)
+                releaseCoordinator();
+            pushCoordinator();
+        }
+    }
+
+    /**
+     * Called when an episode started by {@link #startEpisode()} ends, normally or not.
+     * It's fine to call this more than once, or without {@link #startEpisode()}.
+     */
+    protected final void endEpisode() {
+        if (activeMap != null && activeThread != null)
+            releaseCoordinator();
+    }
+
+    /**
+     * Gets the {@link Coordinator} in charge of the current thread.
+     *
+     * <p>
+     * Code that has access to the {@link XMLSerializer} or {@link UnmarshallingContext}
+     * should use it directly instead.
+     */
     public static Coordinator _getInstance() {
+        if (activeMap != null)
+            return activeMap.get(Thread.currentThread());
         return activeTable.get();
     }
 
@@ -13,6 +13,8 @@ package org.glassfish.jaxb.runtime.v2.runtime;
 import com.sun.istack.NotNull;
 import com.sun.istack.Pool;
 import org.glassfish.jaxb.core.api.ErrorListener;
+import org.glassfish.jaxb.runtime.GeneratedAccessorFactory;
+import org.glassfish.jaxb.runtime.StreamingBean;
 import org.glassfish.jaxb.runtime.api.*;
 import org.glassfish.jaxb.core.unmarshaller.DOMScanner;
 import org.glassfish.jaxb.core.util.Which;
@@ -27,6 +29,7 @@ import org.glassfish.jaxb.runtime.v2.model.impl.RuntimeModelBuilder;
 import org.glassfish.jaxb.core.v2.model.nav.Navigator;
 import org.glassfish.jaxb.core.v2.runtime.RuntimeUtil;
 import org.glassfish.jaxb.runtime.v2.runtime.output.Encoded;
+import org.glassfish.jaxb.runtime.v2.runtime.output.UTF8XmlOutput;
 import org.glassfish.jaxb.runtime.v2.runtime.property.AttributeProperty;
 import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
 import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
@@ -67,8 +70,11 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * This class provides the implementation of JAXBContext.
@@ -95,6 +101,21 @@ public final class JAXBContextImpl extends JAXBRIContext {
      */
     private final Map<Class,JaxBeanInfo> beanInfoMap = new LinkedHashMap<>();
 
+    /**
+     * Memoizes {@link #getBeanInfo(Object)} per concrete runtime class,
+     * including classes that aren't bound to this context.
+     *
+     * <p>
+     * Values are held weakly so that a cached entry on a long-lived class
+     * (such as {@link String}) doesn't keep this context reachable;
+     * the {@link JaxBeanInfo}s themselves are kept alive by {@link #beanInfoMap}.
+     * Only set once the context is fully built, since {@link #beanInfoMap}
+     * still changes before that.
+     */
+    private ClassValue<WeakReference<JaxBeanInfo>> beanInfoCache;
+
+    private static final WeakReference<JaxBeanInfo> NO_BEAN_INFO = new WeakReference<>(null);
+
     /**
      * All created {@link JaxBeanInfo}s.
      * Updated from each {@link JaxBeanInfo}s constructors to avoid infinite recursion
@@ -217,6 +238,77 @@ public final class JAXBContextImpl extends JAXBRIContext {
      */
     public final int maxErrorsCount;
 
+    /**
+     * Size of the buffer {@link MarshallerImpl} uses for UTF-8 output.
+     *
+     * @see JAXBRIContext#OCTET_BUFFER_SIZE
+     */
+    public final int octetBufferSize;
+
+    /**
+     * If true, {@link ClassBeanInfoImpl}s only get their properties and loaders
+     * when their class is first marshalled or unmarshalled.
+     *
+     * @see JAXBRIContext#LAZY_INIT
+     * @see ClassBeanInfoImpl#ensureLinked()
+     */
+    public final boolean lazyInit;
+
+    /**
+     * If true, {@link #getTypeInfoSet()} scans the classes concurrently before it builds the model.
+     *
+     * @see JAXBRIContext#PARALLEL_MODEL_BUILDING
+     * @see RuntimeModelBuilder#scan(Collection)
+     */
+    private final boolean parallelModelBuilding;
+
+    /**
+     * If true, {@link #getGeneratedAccessorFactory(Class)} looks for
+     * the accessors generated at build time.
+     *
+     * @see JAXBRIContext#GENERATED_ACCESSORS
+     */
+    private final boolean generatedAccessors;
+
+    /**
+     * True if the classes that implement {@link StreamingBean} may marshal and unmarshal
+     * themselves, because nothing changes how this context maps them.
+     */
+    public final boolean streamingBeans;
+
+    /**
+     * The snapshot that the model was built from, if any.
+     * Only set until the {@link JAXBContextImpl} is built.
+     *
+     * @see JAXBRIContext#BOOT_SNAPSHOT_DIR
+     */
+    /*package*/ BootSnapshot bootSnapshot;
+
+    /**
+     * Links the classes of the model that was built from {@link #bootSnapshot}.
+     * Only set until the {@link JAXBContextImpl} is built.
+     */
+    /*package*/ BootSnapshot.Linker bootLinker;
+
+    /**
+     * Held by {@link ClassBeanInfoImpl#ensureLinked()} while it initializes a bean info.
+     *
+     * <p>
+     * That isn't local to the bean info: it links the bean info of the super class first,
+     * hides the properties of the super classes that it overrides, and computes
+     * parts of the model that other bean infos share. A lock per bean info
+     * doesn't cover any of that, and each bean info only takes this one once.
+     */
+    /*package*/ final Object lazyInitLock = new Object();
+
+    /**
+     * The {@link GeneratedAccessorFactory} of each package looked at so far,
+     * or null if it has none.
+     *
+     * @see #getGeneratedAccessorFactory(Class)
+     */
+    private final Map<Package,GeneratedAccessorFactory> generatedAccessorFactories = new HashMap<>();
+
     /**
      * Returns declared XmlNs annotations (from package-level annotation XmlSchema
      *
@@ -241,6 +333,14 @@ public final class JAXBContextImpl extends JAXBRIContext {
         this.disableSecurityProcessing = builder.disableSecurityProcessing;
         this.backupWithParentNamespace = builder.backupWithParentNamespace;
         this.maxErrorsCount = builder.maxErrorsCount;
+        this.octetBufferSize = builder.octetBufferSize;
+        // a model built from a snapshot is only complete once every class is in use
+        this.lazyInit = builder.lazyInit || builder.bootSnapshotDir!=null;
+        this.parallelModelBuilding = builder.parallelModelBuilding;
+        this.generatedAccessors = builder.generatedAccessors;
+        this.streamingBeans = !retainPropertyInfo && !allNillable && !c14nSupport && defaultNsUri.isEmpty()
+                && subclassReplacements.isEmpty() && !Boolean.TRUE.equals(backupWithParentNamespace)
+                && annotationReader.getClass()==RuntimeInlineAnnotationReader.class;
 
         Collection<TypeReference> typeRefs = builder.typeRefs;
 
@@ -252,7 +352,20 @@ public final class JAXBContextImpl extends JAXBRIContext {
         }
         this.fastBoot = fastB;
 
-        RuntimeTypeInfoSet typeSet = getTypeInfoSet();
+        Path snapshotFile = BootSnapshot.getFile(builder.bootSnapshotDir, classes, defaultNsUri,
+                annotationReader.getClass()==RuntimeInlineAnnotationReader.class
+                        && typeRefs.isEmpty() && subclassReplacements.isEmpty());
+        RuntimeTypeInfoSet typeSet = null;
+        if(snapshotFile!=null) {
+            bootSnapshot = BootSnapshot.read(snapshotFile, String.valueOf(getBuildId()), classes, defaultNsUri);
+            if(bootSnapshot!=null)
+                typeSet = getTypeInfoSet(bootSnapshot,snapshotFile);
+        }
+        if(typeSet==null) {
+            bootSnapshot = null;
+            bootLinker = null;
+            typeSet = getTypeInfoSet();
+        }
 
         // at least prepare the empty table so that we don't have to check for null later
         elements.put(null,new LinkedHashMap<>());
@@ -367,9 +480,25 @@ public final class JAXBContextImpl extends JAXBRIContext {
         for (JaxBeanInfo bi : beanInfos.values())
             bi.wrapUp();
 
-        // no use for them now
-        nameBuilder = null;
-        beanInfos = null;
+        // no use for them now, unless the bean infos are yet to create their properties
+        if(!lazyInit) {
+            nameBuilder = null;
+            beanInfos = null;
+        }
+
+        if(snapshotFile!=null && bootSnapshot==null)
+            BootSnapshot.write(snapshotFile, String.valueOf(getBuildId()), classes, defaultNsUri, typeSet, hasSwaRef);
+        bootSnapshot = null;
+        // the bean infos that still need it hold on to it until they are linked
+        bootLinker = null;
+
+        beanInfoCache = new ClassValue<>() {
+            @Override
+            protected WeakReference<JaxBeanInfo> computeValue(Class<?> type) {
+                JaxBeanInfo bi = findBeanInfo(type);
+                return bi!=null ? new WeakReference<>(bi) : NO_BEAN_INFO;
+            }
+        };
     }
 
     /**
@@ -407,6 +536,9 @@ public final class JAXBContextImpl extends JAXBRIContext {
         IllegalAnnotationsException.Builder errorHandler = new IllegalAnnotationsException.Builder();
         builder.setErrorHandler(errorHandler);
 
+        if(parallelModelBuilding)
+            builder.scan(Arrays.asList(classes));
+
         for( Class c : classes ) {
             if(c==CompositeStructure.class)
                 // CompositeStructure doesn't have TypeInfo, so skip it.
@@ -426,6 +558,99 @@ public final class JAXBContextImpl extends JAXBRIContext {
         return r;
     }
 
+    /**
+     * Creates a {@link RuntimeTypeInfoSet} of the types that the snapshot lists,
+     * leaving out the properties of the classes. {@link ClassBeanInfoImpl#ensureLinked()}
+     * computes and links them when each class is first used, so unlike the one of
+     * {@link #getTypeInfoSet()}, this model isn't cached for others.
+     *
+     * @return
+     *      null if the snapshot lists classes that can't be loaded, that changed
+     *      since it was written, or that don't make up a model without errors,
+     *      so that the model is built from scratch instead.
+     */
+    private RuntimeTypeInfoSet getTypeInfoSet(BootSnapshot snapshot, Path file) {
+        final RuntimeModelBuilder builder = new RuntimeModelBuilder(this,annotationReader,subclassReplacements,defaultNsUri);
+
+        IllegalAnnotationsException.Builder errorHandler = new IllegalAnnotationsException.Builder();
+        builder.setErrorHandler(errorHandler);
+        builder.setClosureKnown(true);
+
+        List<Class> types, registries;
+        try {
+            types = snapshot.getTypes(classes);
+            registries = snapshot.getRegistries(classes);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if(!snapshot.isCurrent(types,registries))
+            return null;
+
+        for( Class c : types )
+            builder.getTypeInfo(c,null);
+        for( Class c : registries )
+            builder.addRegistry(c,null);
+
+        RuntimeTypeInfoSet r = builder.link();
+
+        if(r!=null) {
+            // the bean infos of these need the properties right away
+            for( RuntimeClassInfo ci : r.beans().values() ) {
+                BootSnapshot.ClassData data = snapshot.getClassData(ci.getClazz());
+                if(data==null || data.eager) {
+                    for( RuntimeClassInfo c=ci; c!=null; c=c.getBaseClass() )
+                        c.getProperties();
+                }
+            }
+        }
+
+        try {
+            errorHandler.check();
+        } catch (IllegalAnnotationsException e) {
+            // the full build reports these, if they aren't just due to the snapshot
+            logger.log(Level.FINE,"Unable to boot from "+file,e);
+            return null;
+        }
+        assert r!=null : "if no error was reported, the link must be a success";
+
+        this.hasSwaRef |= snapshot.hasSwaRef();
+        bootLinker = new BootSnapshot.Linker(builder,file);
+        return r;
+    }
+
+
+    /**
+     * Gets the accessors and factories that were generated at build time
+     * for the classes of the package of the given class.
+     *
+     * @return
+     *      null if none were generated, if they can't be used,
+     *      or if {@link JAXBRIContext#GENERATED_ACCESSORS} isn't set.
+     */
+    public synchronized GeneratedAccessorFactory getGeneratedAccessorFactory(Class c) {
+        if(!generatedAccessors)
+            return null;
+        Package pkg = c.getPackage();
+        if(pkg==null)
+            return null;
+        if(generatedAccessorFactories.containsKey(pkg))
+            return generatedAccessorFactories.get(pkg);
+
+        GeneratedAccessorFactory r = null;
+        String name = pkg.getName().isEmpty() ? GeneratedAccessorFactory.CLASS_NAME
+                : pkg.getName()+'.'+GeneratedAccessorFactory.CLASS_NAME;
+        try {
+            Class<?> f = Class.forName(name,true,c.getClassLoader());
+            if(GeneratedAccessorFactory.class.isAssignableFrom(f))
+                r = (GeneratedAccessorFactory)f.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // nothing was generated for this package
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            logger.log(Level.FINE,"Unable to use "+name,e);
+        }
+        generatedAccessorFactories.put(pkg,r);
+        return r;
+    }
 
     public ElementBeanInfoImpl getElement(Class scope, QName name) {
         Map<QName,ElementBeanInfoImpl> m = elements.get(scope);
@@ -512,14 +737,25 @@ public final class JAXBContextImpl extends JAXBRIContext {
      *      if {@code c} isn't a JAXB-bound class and {@code fatal==false}.
      */
     public JaxBeanInfo getBeanInfo(Object o) {
+        ClassValue<WeakReference<JaxBeanInfo>> cache = beanInfoCache;
+        if(cache==null)
+            return findBeanInfo(o.getClass());
+        return cache.get(o.getClass()).get();
+    }
+
+    /**
+     * Finds the {@link JaxBeanInfo} for instances of the given class
+     * by traversing its base classes and then its interfaces.
+     */
+    private JaxBeanInfo findBeanInfo(Class<?> type) {
         // don't allow xs:anyType beanInfo to handle all the unbound objects
-        for( Class c=o.getClass(); c!=Object.class; c=c.getSuperclass()) {
+        for( Class c=type; c!=Object.class; c=c.getSuperclass()) {
             JaxBeanInfo bi = beanInfoMap.get(c);
             if(bi!=null)    return bi;
         }
-        if(o instanceof Element)
+        if(Element.class.isAssignableFrom(type))
             return beanInfoMap.get(Object.class);   // return the BeanInfo for xs:anyType
-        for( Class c : o.getClass().getInterfaces()) {
+        for( Class c : type.getInterfaces()) {
             JaxBeanInfo bi = beanInfoMap.get(c);
             if(bi!=null)    return bi;
         }
@@ -888,6 +1124,7 @@ public final class JAXBContextImpl extends JAXBRIContext {
         if(!(bi instanceof ClassBeanInfoImpl))
             throw new JAXBException(wrapperBean+" is not a bean");
 
+        ((ClassBeanInfoImpl) bi).ensureLinked();
         for( ClassBeanInfoImpl cb = (ClassBeanInfoImpl) bi; cb!=null; cb=cb.superClazz) {
             for (Property p : cb.properties) {
                 final Accessor acc = p.getElementPropertyAccessor(nsUri,localName);
@@ -988,6 +1225,8 @@ public final class JAXBContextImpl extends JAXBRIContext {
         }
     };
 
+    private static final Logger logger = org.glassfish.jaxb.core.Utils.getClassLogger();
+
     public static class JAXBContextBuilder {
 
         private boolean retainPropertyInfo = false;
@@ -1004,6 +1243,11 @@ public final class JAXBContextImpl extends JAXBRIContext {
         private boolean disableSecurityProcessing = true;
         private Boolean backupWithParentNamespace = null; // null for System property to be used
         private int maxErrorsCount;
+        private int octetBufferSize = UTF8XmlOutput.DEFAULT_OCTET_BUFFER_SIZE;
+        private boolean lazyInit;
+        private boolean parallelModelBuilding;
+        private boolean generatedAccessors;
+        private Path bootSnapshotDir;
 
         public JAXBContextBuilder() {}
 
@@ -1021,6 +1265,10 @@ public final class JAXBContextImpl extends JAXBRIContext {
             this.disableSecurityProcessing = baseImpl.disableSecurityProcessing;
             this.backupWithParentNamespace = baseImpl.backupWithParentNamespace;
             this.maxErrorsCount = baseImpl.maxErrorsCount;
+            this.octetBufferSize = baseImpl.octetBufferSize;
+            this.lazyInit = baseImpl.lazyInit;
+            this.parallelModelBuilding = baseImpl.parallelModelBuilding;
+            this.generatedAccessors = baseImpl.generatedAccessors;
         }
 
         public JAXBContextBuilder setRetainPropertyInfo(boolean val) {
@@ -1093,6 +1341,31 @@ public final class JAXBContextImpl extends JAXBRIContext {
             return this;
         }
 
+        public JAXBContextBuilder setOctetBufferSize(int octetBufferSize) {
+            this.octetBufferSize = octetBufferSize;
+            return this;
+        }
+
+        public JAXBContextBuilder setLazyInit(boolean lazyInit) {
+            this.lazyInit = lazyInit;
+            return this;
+        }
+
+        public JAXBContextBuilder setParallelModelBuilding(boolean parallelModelBuilding) {
+            this.parallelModelBuilding = parallelModelBuilding;
+            return this;
+        }
+
+        public JAXBContextBuilder setGeneratedAccessors(boolean generatedAccessors) {
+            this.generatedAccessors = generatedAccessors;
+            return this;
+        }
+
+        public JAXBContextBuilder setBootSnapshotDir(Path bootSnapshotDir) {
+            this.bootSnapshotDir = bootSnapshotDir;
+            return this;
+        }
+
         public JAXBContextImpl build() throws JAXBException {
 
             // fool-proof
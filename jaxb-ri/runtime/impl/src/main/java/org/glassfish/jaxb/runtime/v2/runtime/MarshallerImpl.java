@@ -37,6 +37,9 @@ import javax.xml.validation.Schema;
 import javax.xml.validation.ValidatorHandler;
 import java.io.*;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.net.URISyntaxException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -83,6 +86,22 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     /** Configured for c14n? */
     private boolean c14nSupport;
 
+    /** Size of {@link #octetBuffer}. */
+    private int octetBufferSize;
+
+    /**
+     * Buffer handed to {@link UTF8XmlOutput}, kept across marshal calls
+     * so that a marshaller reused through {@link JAXBContextImpl#marshallerPool}
+     * doesn't allocate a new one per document. Lazily created.
+     */
+    private byte[] octetBuffer;
+
+    /**
+     * Kept across marshal calls for the same reason as {@link #octetBuffer}.
+     * Lazily created.
+     */
+    private ByteChannelOutputStream channelOutput;
+
     // while createing XmlOutput those values may be set.
     // if these are non-null they need to be cleaned up
     private Flushable toBeFlushed;
@@ -96,6 +115,7 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         context = c;
         serializer = new XMLSerializer(this);
         c14nSupport = context.c14nSupport;
+        octetBufferSize = context.octetBufferSize;
 
         try {
             setEventHandler(this);
@@ -118,6 +138,33 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         write(obj, createWriter(out), new StAXPostInitAction(inscopeNamespace,serializer));
     }
 
+    /**
+     * Marshals to {@link WritableByteChannel}.
+     *
+     * <p>
+     * The output is collected into direct {@link ByteBuffer}s and written
+     * to the channel with gathering writes, instead of one write per
+     * buffer flush as with {@link Channels#newOutputStream(WritableByteChannel)}.
+     * The channel must be in blocking mode, and isn't closed.
+     */
+    public void marshal(Object obj, WritableByteChannel channel) throws JAXBException {
+        int size = Math.max(octetBufferSize, UTF8XmlOutput.MIN_OCTET_BUFFER_SIZE);
+        if(channelOutput==null || channelOutput.bufferSize()!=size)
+            channelOutput = new ByteChannelOutputStream(channel, size, true);
+        else
+            channelOutput.reset(channel);
+
+        try {
+            write(obj, createWriter(channelOutput), null);
+            channelOutput.flush();
+        } catch (IOException e) {
+            throw new MarshalException(e);
+        } finally {
+            // don't hold on to the channel
+            channelOutput.reset(null);
+        }
+    }
+
     @Override
     public void marshal(Object obj, XMLStreamWriter writer) throws JAXBException {
         write(obj, XMLStreamWriterOutput.create(writer,context, escapeHandler), new StAXPostInitAction(writer,serializer));
@@ -385,6 +432,17 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         return createWriter(os, getEncoding());
     }
 
+    /**
+     * Gets the buffer for {@link UTF8XmlOutput}, reusing the one
+     * from the previous marshal call if the size hasn't changed.
+     */
+    private byte[] getOctetBuffer() {
+        int size = Math.max(octetBufferSize, UTF8XmlOutput.MIN_OCTET_BUFFER_SIZE);
+        if(octetBuffer==null || octetBuffer.length!=size)
+            octetBuffer = new byte[size];
+        return octetBuffer;
+    }
+
     public XmlOutput createWriter( OutputStream os, String encoding ) throws JAXBException {
         // UTF8XmlOutput does buffering on its own, and
         // otherwise createWriter(Writer) inserts a buffering,
@@ -394,13 +452,14 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             Encoded[] table = context.getUTF8NameTable();
             final UTF8XmlOutput out;
             CharacterEscapeHandler ceh = createEscapeHandler(encoding);
+            byte[] buf = getOctetBuffer();
             if(isFormattedOutput())
-                out = new IndentingUTF8XmlOutput(os, indent, table, ceh);
+                out = new IndentingUTF8XmlOutput(os, indent, table, ceh, buf);
             else {
                 if(c14nSupport)
-                    out = new C14nXmlOutput(os, table, context.c14nSupport, ceh);
+                    out = new C14nXmlOutput(os, table, context.c14nSupport, ceh, buf);
                 else
-                    out = new UTF8XmlOutput(os, table, ceh);
+                    out = new UTF8XmlOutput(os, table, ceh, buf);
             }
             if(header!=null)
                 out.setHeader(header);
@@ -435,6 +494,8 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             return c14nSupport;
         if ( OBJECT_IDENTITY_CYCLE_DETECTION.equals(name)) 
         	return serializer.getObjectIdentityCycleDetection();
+        if( OCTET_BUFFER_SIZE.equals(name) )
+            return octetBufferSize;
 
         return super.getProperty(name);
     }
@@ -488,6 +549,16 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             serializer.setObjectIdentityCycleDetection((Boolean)value);
             return;
         }
+        if( OCTET_BUFFER_SIZE.equals(name) ) {
+            if(!(value instanceof Integer))
+                throw new PropertyException(
+                    Messages.MUST_BE_X.format(
+                            name,
+                            Integer.class.getName(),
+                            value.getClass().getName() ) );
+            octetBufferSize = (Integer)value;
+            return;
+        }
 
         super.setProperty(name, value);
     }
@@ -582,4 +653,5 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     protected static final String XML_HEADERS = "org.glassfish.jaxb.xmlHeaders";
     protected static final String C14N = JAXBRIContext.CANONICALIZATION_SUPPORT;
     protected static final String OBJECT_IDENTITY_CYCLE_DETECTION = "org.glassfish.jaxb.objectIdentitityCycleDetection";
+    protected static final String OCTET_BUFFER_SIZE = JAXBRIContext.OCTET_BUFFER_SIZE;
 }
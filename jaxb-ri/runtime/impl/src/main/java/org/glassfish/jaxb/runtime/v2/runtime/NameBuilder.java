@@ -26,6 +26,10 @@ import java.util.Set;
  * are statically known to be un-bindable as the default namespace.
  * Those are the namespace URIs that are used by attribute names.
  *
+ * <p>
+ * Once {@link #conclude() concluded}, the create methods only return
+ * names that have been created before, with the same index numbers.
+ *
  * @author Kohsuke Kawaguchi
  */
 @SuppressWarnings({"StringEquality"})
@@ -35,6 +39,7 @@ public final class NameBuilder {
     private Map<String,Integer> localNameIndexMap = new HashMap<>();
     private QNameMap<Integer> elementQNameIndexMap = new QNameMap<>();
     private QNameMap<Integer> attributeQNameIndexMap = new QNameMap<>();
+    private boolean concluded;
 
     /**
      * Default constructor.
@@ -66,7 +71,8 @@ public final class NameBuilder {
                     localName,
                     true);
         else {
-            nonDefaultableNsUris.add(nsUri);
+            if(!concluded)
+                nonDefaultableNsUris.add(nsUri);
             return createName(nsUri,localName, true, attributeQNameIndexMap);
         }
     }
@@ -87,6 +93,7 @@ public final class NameBuilder {
     private int allocIndex(Map<String,Integer> map, String str) {
         Integer i = map.get(str);
         if(i==null) {
+            checkNotConcluded(str);
             i = map.size();
             map.put(str,i);
         }
@@ -96,12 +103,18 @@ public final class NameBuilder {
     private int allocIndex(QNameMap<Integer> map, String nsUri, String localName) {
         Integer i = map.get(nsUri,localName);
         if(i==null) {
+            checkNotConcluded(new QName(nsUri,localName));
             i = map.size();
             map.put(nsUri,localName,i);
         }
         return i;
     }
     
+    private void checkNotConcluded(Object name) {
+        if(concluded)
+            throw new IllegalStateException("the names have already been concluded, so "+name+" can't be added");
+    }
+
     /**
      * Wraps up everything and creates {@link NameList}.
      */
@@ -116,10 +129,12 @@ public final class NameBuilder {
                 nsUriCannotBeDefaulted,
                 list(localNameIndexMap), 
                 elementQNameIndexMap.size(),
-                attributeQNameIndexMap.size() );
-        // delete them so that the create method can never be called again
-        uriIndexMap = null;
-        localNameIndexMap = null;
+                attributeQNameIndexMap.size(),
+                elementQNameIndexMap,
+                attributeQNameIndexMap );
+        // from now on the create methods can only look up existing names
+        concluded = true;
+        nonDefaultableNsUris = null;
         return r;
     }
 
@@ -10,6 +10,10 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime;
 
+import org.glassfish.jaxb.runtime.v2.util.QNameMap;
+
+import java.util.Arrays;
+
 /**
  * Namespace URIs and local names sorted by their indices.
  * Number of Names used for EIIs and AIIs
@@ -47,12 +51,78 @@ public final class NameList {
      * Number of Names for attributes
      */
     public final int numberOfAttributeNames;
+
+    /**
+     * {@link Name#qNameIndex} of element and attribute names.
+     * Null if this list was created without them.
+     */
+    private final QNameMap<Integer> elementIndices;
+    private final QNameMap<Integer> attributeIndices;
     
     public NameList(String[] namespaceURIs, boolean[] nsUriCannotBeDefaulted, String[] localNames, int numberElementNames, int numberAttributeNames) {
+        this(namespaceURIs, nsUriCannotBeDefaulted, localNames, numberElementNames, numberAttributeNames, null, null);
+    }
+
+    public NameList(String[] namespaceURIs, boolean[] nsUriCannotBeDefaulted, String[] localNames, int numberElementNames, int numberAttributeNames,
+                    QNameMap<Integer> elementIndices, QNameMap<Integer> attributeIndices) {
         this.namespaceURIs = namespaceURIs;
         this.nsUriCannotBeDefaulted = nsUriCannotBeDefaulted;
         this.localNames = localNames;
         this.numberOfElementNames = numberElementNames;
         this.numberOfAttributeNames = numberAttributeNames;
+        this.elementIndices = elementIndices;
+        this.attributeIndices = attributeIndices;
+    }
+
+    /**
+     * Gets the {@link Name#qNameIndex} of an element name.
+     *
+     * @param nsUri
+     *      interned namespace URI.
+     * @param localName
+     *      interned local name.
+     * @return
+     *      -1 if the name is not known to this context.
+     */
+    public int getElementNameIndex(String nsUri, String localName) {
+        return indexOf(elementIndices, nsUri, localName);
+    }
+
+    /**
+     * Gets the {@link Name#qNameIndex} of an attribute name.
+     *
+     * @return
+     *      -1 if the name is not known to this context.
+     * @see #getElementNameIndex(String, String)
+     */
+    public int getAttributeNameIndex(String nsUri, String localName) {
+        return indexOf(attributeIndices, nsUri, localName);
+    }
+
+    /**
+     * Gets the {@link Name} of an element or an attribute, the same as the one
+     * that the properties of this context have.
+     *
+     * @return
+     *      null if the name is not known to this context.
+     */
+    public Name getName(String nsUri, String localName, boolean isAttribute) {
+        int qNameIndex = isAttribute ? getAttributeNameIndex(nsUri, localName) : getElementNameIndex(nsUri, localName);
+        int localNameIndex = Arrays.asList(localNames).indexOf(localName);
+        if(qNameIndex<0 || localNameIndex<0)
+            return null;
+        if(isAttribute && nsUri.length()==0)
+            return new Name(qNameIndex, -1, "", localNameIndex, localNames[localNameIndex], true);
+        int nsUriIndex = Arrays.asList(namespaceURIs).indexOf(nsUri);
+        if(nsUriIndex<0)
+            return null;
+        return new Name(qNameIndex, nsUriIndex, namespaceURIs[nsUriIndex], localNameIndex, localNames[localNameIndex], isAttribute);
+    }
+
+    private static int indexOf(QNameMap<Integer> indices, String nsUri, String localName) {
+        if(indices==null)
+            return -1;
+        Integer i = indices.get(nsUri, localName);
+        return i==null ? -1 : i;
     }
 }
@@ -23,6 +23,7 @@ import org.glassfish.jaxb.runtime.v2.runtime.output.XmlOutput;
 import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Base64Data;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.IntData;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.NumberData;
 import org.glassfish.jaxb.runtime.v2.util.CollisionCheckStack;
 import jakarta.activation.MimeType;
 import jakarta.xml.bind.*;
@@ -159,6 +160,11 @@ public final class XMLSerializer extends Coordinator {
      */
     private final IntData intData = new IntData();
 
+    /**
+     * Cached instance of {@link NumberData}.
+     */
+    private final NumberData numberData = new NumberData();
+
     public AttachmentMarshaller attachmentMarshaller;
 
     /*package*/ XMLSerializer( MarshallerImpl _owner ) {
@@ -336,6 +342,21 @@ public final class XMLSerializer extends Coordinator {
         leafElement(tagName,intData,fieldName);
     }
 
+    public void leafElement( Name tagName, long data, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        numberData.reset(data);
+        leafElement(tagName,numberData,fieldName);
+    }
+
+    public void leafElement( Name tagName, float data, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        numberData.reset(data);
+        leafElement(tagName,numberData,fieldName);
+    }
+
+    public void leafElement( Name tagName, double data, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        numberData.reset(data);
+        leafElement(tagName,numberData,fieldName);
+    }
+
     /**
      * Marshalls text.
      *
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link OutputStream} that collects bytes into a fixed set of {@link ByteBuffer}s
+ * and writes them to a {@link WritableByteChannel} once they are all full,
+ * with a single gathering write if the channel supports it.
+ *
+ * <p>
+ * This sits under {@link UTF8XmlOutput} (or any other {@link XmlOutput} writing
+ * to an {@link OutputStream}) when marshalling to a channel, so that a document
+ * reaches the channel in a few large writes instead of one write per
+ * {@link UTF8XmlOutput#octetBuffer} flush.
+ *
+ * <p>
+ * The buffers are allocated lazily and kept, so an instance can be
+ * {@link #reset(WritableByteChannel) reset} and reused for the next document.
+ * The channel must be in blocking mode.
+ * {@link #close()} flushes, but doesn't close the channel.
+ */
+public final class ByteChannelOutputStream extends OutputStream {
+
+    /**
+     * Number of buffers filled before they are written out.
+     */
+    private static final int BUFFER_COUNT = 8;
+
+    private WritableByteChannel channel;
+
+    private final ByteBuffer[] buffers = new ByteBuffer[BUFFER_COUNT];
+
+    private final int bufferSize;
+
+    private final boolean direct;
+
+    /**
+     * Index of the buffer currently written to.
+     * All the buffers before it are full.
+     */
+    private int current;
+
+    /**
+     * @param bufferSize
+     *      size of each buffer in bytes.
+     * @param direct
+     *      true to use direct buffers, which channels backed by
+     *      native I/O can write without another copy.
+     */
+    public ByteChannelOutputStream(WritableByteChannel channel, int bufferSize, boolean direct) {
+        if(bufferSize<=0)
+            throw new IllegalArgumentException();
+        checkBlocking(channel);
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+    }
+
+    /**
+     * Size of each buffer in bytes.
+     */
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Starts writing to another channel, dropping anything not yet flushed.
+     */
+    public void reset(WritableByteChannel channel) {
+        checkBlocking(channel);
+        this.channel = channel;
+        for( int i=0; i<=current; i++ )
+            if(buffers[i]!=null)
+                buffers[i].clear();
+        current = 0;
+    }
+
+    /**
+     * A channel in non-blocking mode may write nothing, which {@link #drain()}
+     * would keep retrying forever.
+     */
+    private static void checkBlocking(WritableByteChannel channel) {
+        if(channel instanceof SelectableChannel && !((SelectableChannel)channel).isBlocking())
+            throw new IllegalArgumentException("channel must be in blocking mode");
+    }
+
+    private ByteBuffer buffer() throws IOException {
+        ByteBuffer bb = buffers[current];
+        if(bb==null) {
+            bb = direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+            buffers[current] = bb;
+        } else if(!bb.hasRemaining()) {
+            if(++current==BUFFER_COUNT)
+                drain();
+            return buffer();
+        }
+        return bb;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        buffer().put((byte)b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while(len>0) {
+            ByteBuffer bb = buffer();
+            int n = Math.min(len, bb.remaining());
+            bb.put(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes all the buffers up to and including {@link #current}
+     * to the channel, and makes them available again,
+     * even if the channel fails.
+     */
+    private void drain() throws IOException {
+        int count = Math.min(current+1, BUFFER_COUNT);
+        if(buffers[count-1]==null)
+            count--;
+        long size = 0;
+        for( int i=0; i<count; i++ ) {
+            buffers[i].flip();
+            size += buffers[i].remaining();
+        }
+
+        try {
+            if(channel instanceof GatheringByteChannel) {
+                GatheringByteChannel g = (GatheringByteChannel)channel;
+                while(size>0)
+                    size -= g.write(buffers, 0, count);
+            } else {
+                for( int i=0; i<count; i++ )
+                    while(buffers[i].hasRemaining())
+                        channel.write(buffers[i]);
+            }
+        } finally {
+            for( int i=0; i<count; i++ )
+                buffers[i].clear();
+            current = 0;
+        }
+    }
+
+    /**
+     * Writes everything buffered so far to the channel.
+     */
+    @Override
+    public void flush() throws IOException {
+        if(current>0 || (buffers[0]!=null && buffers[0].position()>0))
+            drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
@@ -27,7 +27,11 @@ import java.util.Collections;
  */
 public class C14nXmlOutput extends UTF8XmlOutput {
     public C14nXmlOutput(OutputStream out, Encoded[] localNames, boolean namedAttributesAreOrdered, CharacterEscapeHandler escapeHandler) {
-        super(out, localNames, escapeHandler);
+        this(out, localNames, namedAttributesAreOrdered, escapeHandler, new byte[DEFAULT_OCTET_BUFFER_SIZE]);
+    }
+
+    public C14nXmlOutput(OutputStream out, Encoded[] localNames, boolean namedAttributesAreOrdered, CharacterEscapeHandler escapeHandler, byte[] octetBuffer) {
+        super(out, localNames, escapeHandler, octetBuffer);
         this.namedAttributesAreOrdered = namedAttributesAreOrdered;
 
         for( int i=0; i<staticAttributes.length; i++ )
@@ -161,8 +161,8 @@ public final class Encoded {
      *
      * In attributes we need to encode more characters.
      */
-    private static final byte[][] entities = new byte[0x80][];
-    private static final byte[][] attributeEntities = new byte[0x80][];
+    static final byte[][] entities = new byte[0x80][];
+    static final byte[][] attributeEntities = new byte[0x80][];
 
     static {
         add('&',"&amp;",false);
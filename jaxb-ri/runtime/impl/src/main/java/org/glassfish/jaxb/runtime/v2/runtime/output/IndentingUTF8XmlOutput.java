@@ -53,7 +53,19 @@ public final class IndentingUTF8XmlOutput extends UTF8XmlOutput {
      *      otherwise the string is used for indentation.
      */
     public IndentingUTF8XmlOutput(OutputStream out, String indentStr, Encoded[] localNames, CharacterEscapeHandler escapeHandler) {
-        super(out, localNames, escapeHandler);
+        this(out, indentStr, localNames, escapeHandler, new byte[DEFAULT_OCTET_BUFFER_SIZE]);
+    }
+
+    /**
+     *
+     * @param indentStr
+     *      set to null for no indentation and optimal performance.
+     *      otherwise the string is used for indentation.
+     * @param octetBuffer
+     *      see {@link UTF8XmlOutput#UTF8XmlOutput(OutputStream, Encoded[], CharacterEscapeHandler, byte[])}.
+     */
+    public IndentingUTF8XmlOutput(OutputStream out, String indentStr, Encoded[] localNames, CharacterEscapeHandler escapeHandler, byte[] octetBuffer) {
+        super(out, localNames, escapeHandler, octetBuffer);
 
         if(indentStr!=null) {
             Encoded e = new Encoded(indentStr);
@@ -12,6 +12,7 @@ package org.glassfish.jaxb.runtime.v2.runtime.output;
 
 import org.glassfish.jaxb.core.marshaller.CharacterEscapeHandler;
 import org.glassfish.jaxb.runtime.DatatypeConverterImpl;
+import org.glassfish.jaxb.runtime.NumberConverter;
 import org.glassfish.jaxb.runtime.v2.runtime.MarshallerImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.Name;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
@@ -19,8 +20,10 @@ import org.xml.sax.SAXException;
 
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.util.Base64;
 
 /**
  * {@link XmlOutput} implementation specialized for UTF-8.
@@ -44,18 +47,30 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
     /** local names encoded in UTF-8. All entries are pre-filled. */
     private final Encoded[] localNames;
 
-    /** Temporary buffer used to encode text. */
-    /* 
-     * TODO
-     * The textBuffer could write directly to the _octetBuffer
-     * when encoding a string if Encoder is modified.
-     * This will avoid an additional memory copy.
+    /**
+     * Temporary buffer used to encode names and numbers.
+     * Text content is encoded directly into {@link #octetBuffer}.
      */
     private final Encoded textBuffer = new Encoded();
 
+    /**
+     * Default size of {@link #octetBuffer}.
+     */
+    public static final int DEFAULT_OCTET_BUFFER_SIZE = 8192;
+
+    /**
+     * Smallest usable size of {@link #octetBuffer}.
+     */
+    public static final int MIN_OCTET_BUFFER_SIZE = 64;
+
+    /**
+     * Binary data of this many bytes or more is encoded with {@link Base64.Encoder}.
+     * Smaller data isn't worth setting up its stream for.
+     */
+    private static final int BULK_BASE64_THRESHOLD = 1024;
+
     /** Buffer of octets for writing. */
-    // TODO: Obtain buffer size from property on the JAXB context
-    protected final byte[] octetBuffer = new byte[1024];
+    protected final byte[] octetBuffer;
     
     /** Index in buffer to write to. */
     protected int octetBufferIndex;
@@ -80,8 +95,24 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
      *      local names encoded in UTF-8.
      */
     public UTF8XmlOutput(OutputStream out, Encoded[] localNames, CharacterEscapeHandler escapeHandler) {
+        this(out, localNames, escapeHandler, new byte[DEFAULT_OCTET_BUFFER_SIZE]);
+    }
+
+    /**
+     *
+     * @param localNames
+     *      local names encoded in UTF-8.
+     * @param octetBuffer
+     *      buffer used to batch writes to {@code out}, at least
+     *      {@link #MIN_OCTET_BUFFER_SIZE} long. It can be reused once
+     *      the document is written.
+     */
+    public UTF8XmlOutput(OutputStream out, Encoded[] localNames, CharacterEscapeHandler escapeHandler, byte[] octetBuffer) {
+        if(octetBuffer.length<MIN_OCTET_BUFFER_SIZE)
+            throw new IllegalArgumentException();
         this.out = out;
         this.localNames = localNames;
+        this.octetBuffer = octetBuffer;
         for( int i=0; i<prefixes.length; i++ )
             prefixes[i] = new Encoded();
         this.escapeHandler = escapeHandler;
@@ -290,36 +321,121 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         if (escapeHandler != null) {
             StringWriter sw = new StringWriter();
             escapeHandler.escape(value.toCharArray(), 0, value.length(), isAttribute, sw);
-            textBuffer.set(sw.toString());
+            encode(sw.toString(), NO_ENTITIES);
         } else {
-            textBuffer.setEscape(value, isAttribute);
+            encode(value, isAttribute ? Encoded.attributeEntities : Encoded.entities);
+        }
+    }
+
+    /**
+     * Encodes the given text in UTF-8 straight into {@link #octetBuffer},
+     * replacing characters that have an entry in {@code entities}.
+     *
+     * <p>
+     * This is the same encoding as {@link Encoded#setEscape(String, boolean)},
+     * but without the intermediate copy. Runs of ASCII characters that need
+     * no escaping are copied with {@link String#getBytes(int, int, byte[], int)},
+     * which is a plain array copy for Latin-1 strings.
+     */
+    @SuppressWarnings({"deprecation"})
+    private void encode(String value, byte[][] entities) throws IOException {
+        final int length = value.length();
+        int i = 0;
+
+        while(i<length) {
+            // in the worst case a char needs 6 bytes (like &quot;), so only
+            // take as many chars as are guaranteed to fit into the buffer.
+            // a surrogate pair may run one char past the end, but it only needs 4 bytes.
+            int room = (octetBuffer.length-octetBufferIndex)/6;
+            if(room==0) {
+                flushBuffer();
+                room = octetBuffer.length/6;
+            }
+            final int end = Math.min(length, i+room);
+            final byte[] buf = octetBuffer;
+            int ptr = octetBufferIndex;
+
+            while(i<end) {
+                int start = i;
+                char chr;
+                while(i<end && (chr=value.charAt(i))<0x80 && entities[chr]==null)
+                    i++;
+                if(i>start) {
+                    value.getBytes(start,i,buf,ptr);
+                    ptr += i-start;
+                    if(i==end)
+                        break;
+                }
+
+                chr = value.charAt(i++);
+                if(chr<0x80) {
+                    byte[] ent = entities[chr];
+                    System.arraycopy(ent,0,buf,ptr,ent.length);
+                    ptr += ent.length;
+                } else if(chr<0x800) {
+                    buf[ptr++] = (byte)(0xC0 + (chr >> 6));
+                    buf[ptr++] = (byte)(0x80 + (chr & 0x3F));
+                } else if(Character.MIN_HIGH_SURROGATE<=chr && chr<=Character.MAX_LOW_SURROGATE) {
+                    int uc = (((chr & 0x3ff) << 10) | (value.charAt(i++) & 0x3ff)) + 0x10000;
+                    buf[ptr++] = (byte)(0xF0 | ((uc >> 18)));
+                    buf[ptr++] = (byte)(0x80 | ((uc >> 12) & 0x3F));
+                    buf[ptr++] = (byte)(0x80 | ((uc >> 6) & 0x3F));
+                    buf[ptr++] = (byte)(0x80 + (uc & 0x3F));
+                } else {
+                    buf[ptr++] = (byte)(0xE0 + (chr >> 12));
+                    buf[ptr++] = (byte)(0x80 + ((chr >> 6) & 0x3F));
+                    buf[ptr++] = (byte)(0x80 + (chr & 0x3F));
+                }
+            }
+            octetBufferIndex = ptr;
         }
-        textBuffer.write(this);
     }
 
     public final void text(int value) throws IOException {
-        closeStartTag();
-        /*
-         * TODO
-         * Change to use the octet buffer directly
-         */
+        text((long)value);
+    }
 
-        // max is -2147483648 and 11 digits
-        boolean minus = (value<0);
-        textBuffer.ensureSize(11);
-        byte[] buf = textBuffer.buf;
-        int idx = 11;
+    /**
+     * Writes a {@code long} straight into the buffer.
+     *
+     * @since 4.0.4
+     */
+    public final void text(long value) throws IOException {
+        closeStartTag();
+        reserve(NumberConverter.MAX_LENGTH);
+        octetBufferIndex = NumberConverter.printLong(value, octetBuffer, octetBufferIndex);
+    }
 
-        do {
-            int r = value%10;
-            if(r<0) r = -r;
-            buf[--idx] = (byte)('0'|r);    // really measn 0x30+r but 0<=r<10, so bit-OR would do.
-            value /= 10;
-        } while(value!=0);
+    /**
+     * Writes a {@code double} straight into the buffer,
+     * as {@link NumberConverter#printDouble(double, byte[], int)}.
+     *
+     * @since 4.0.4
+     */
+    public final void text(double value) throws IOException {
+        closeStartTag();
+        reserve(NumberConverter.MAX_LENGTH);
+        octetBufferIndex = NumberConverter.printDouble(value, octetBuffer, octetBufferIndex);
+    }
 
-        if(minus)   buf[--idx] = (byte)'-';
+    /**
+     * Writes a {@code float} straight into the buffer,
+     * as {@link NumberConverter#printFloat(float, byte[], int)}.
+     *
+     * @since 4.0.4
+     */
+    public final void text(float value) throws IOException {
+        closeStartTag();
+        reserve(NumberConverter.MAX_LENGTH);
+        octetBufferIndex = NumberConverter.printFloat(value, octetBuffer, octetBufferIndex);
+    }
 
-        write(buf,idx,11-idx);
+    /**
+     * Makes sure that the given number of bytes can be written into {@link #octetBuffer}.
+     */
+    private void reserve(int length) throws IOException {
+        if(octetBufferIndex+length>octetBuffer.length)
+            flushBuffer();
     }
 
     /**
@@ -333,6 +449,13 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
     public void text(byte[] data, int dataLen) throws IOException {
         closeStartTag();
 
+        if(dataLen>=BULK_BASE64_THRESHOLD) {
+            try(OutputStream os = base64()) {
+                os.write(data,0,dataLen);
+            }
+            return;
+        }
+
         int start = 0;
 
         while(dataLen>0) {
@@ -351,6 +474,48 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         }
     }
 
+    /**
+     * Writes the contents of the given stream as base64 encoded binary to the output,
+     * without reading all of it into memory first.
+     *
+     * @param data
+     *      read until the end, but not closed.
+     */
+    public void text(InputStream data) throws IOException {
+        closeStartTag();
+        try(OutputStream os = base64()) {
+            data.transferTo(os);
+        }
+    }
+
+    /**
+     * Returns a stream that base64 encodes whatever is written into it to the output.
+     * Closing it writes the padding, but doesn't close {@link #out}.
+     *
+     * <p>
+     * {@link Base64.Encoder} encodes whole blocks at a time, with an intrinsic on
+     * most platforms, which is a lot faster than {@link DatatypeConverterImpl}
+     * going through its table one sextet at a time.
+     */
+    private OutputStream base64() {
+        return Base64.getEncoder().wrap(octetStream);
+    }
+
+    /**
+     * Writes into {@link #octetBuffer}.
+     */
+    private final OutputStream octetStream = new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+            UTF8XmlOutput.this.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            UTF8XmlOutput.this.write(b,off,len);
+        }
+    };
+
 //
 //
 // series of the write method that places bytes to the output
@@ -420,4 +585,7 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
 
     // no need to copy
     private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+
+    /** Escapes nothing; used when a {@link CharacterEscapeHandler} already did. */
+    private static final byte[][] NO_ENTITIES = new byte[0x80][];
 }
@@ -10,16 +10,27 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime.property;
 
+import org.glassfish.jaxb.core.v2.model.core.Adapter;
+import org.glassfish.jaxb.runtime.DatatypeConverterImpl;
 import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.v2.model.impl.RuntimeBuiltinLeafInfoImpl;
 import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeElementPropertyInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeTypeRef;
 import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.JaxBeanInfo;
+import org.glassfish.jaxb.runtime.v2.runtime.Name;
 import org.glassfish.jaxb.runtime.v2.runtime.Transducer;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Lister;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Loader;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
 import org.xml.sax.SAXException;
 
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 
 /**
  * {@link ArrayProperty} that contains only one leaf type.
@@ -34,6 +45,18 @@ final class ArrayElementLeafProperty<BeanT,ListT,ItemT> extends ArrayElementProp
 
     private final Transducer<ItemT> xducer;
 
+    /**
+     * {@code int}, {@code long} or {@code double} if this property is an array of that type
+     * converted by the built-in {@link Transducer}, or null. The items of such arrays
+     * are marshalled and unmarshalled without boxing them.
+     */
+    private final Class<?> primitiveType;
+
+    /**
+     * The tag name of the items, if {@link #primitiveType} is set.
+     */
+    private final Name primitiveTagName;
+
     public ArrayElementLeafProperty(JAXBContextImpl p, RuntimeElementPropertyInfo prop) {
         super(p, prop);
 
@@ -43,6 +66,45 @@ final class ArrayElementLeafProperty<BeanT,ListT,ItemT> extends ArrayElementProp
 
         xducer = prop.getTypes().get(0).getTransducer();
         assert xducer!=null;
+
+        Adapter adapter = prop.getAdapter();
+        Class rawType = acc.getValueType();
+        if(adapter==null && rawType==int[].class && xducer==RuntimeBuiltinLeafInfoImpl.LEAVES.get(Integer.class))
+            primitiveType = Integer.TYPE;
+        else
+        if(adapter==null && rawType==long[].class && xducer==RuntimeBuiltinLeafInfoImpl.LEAVES.get(Long.class))
+            primitiveType = Long.TYPE;
+        else
+        if(adapter==null && rawType==double[].class && xducer==RuntimeBuiltinLeafInfoImpl.LEAVES.get(Double.class))
+            primitiveType = Double.TYPE;
+        else
+            primitiveType = null;
+
+        primitiveTagName = primitiveType==null ? null : p.nameBuilder.createElementName(prop.getTypes().get(0).getTagName());
+    }
+
+    @Override
+    protected void serializeListBody(BeanT o, XMLSerializer w, ListT list) throws IOException, XMLStreamException, SAXException, AccessorException {
+        if(primitiveType==Integer.TYPE) {
+            for (int v : (int[])list)
+                w.leafElement(primitiveTagName,v,fieldName);
+        } else
+        if(primitiveType==Long.TYPE) {
+            for (long v : (long[])list)
+                w.leafElement(primitiveTagName,v,fieldName);
+        } else
+        if(primitiveType==Double.TYPE) {
+            for (double v : (double[])list)
+                w.leafElement(primitiveTagName,v,fieldName);
+        } else
+            super.serializeListBody(o,w,list);
+    }
+
+    @Override
+    protected Loader createItemUnmarshaller(UnmarshallerChain chain, RuntimeTypeRef typeRef, int offset) {
+        if(primitiveType!=null)
+            return new PrimitiveItemLoader(offset);
+        return super.createItemUnmarshaller(chain,typeRef,offset);
     }
 
     @Override
@@ -54,4 +116,36 @@ final class ArrayElementLeafProperty<BeanT,ListT,ItemT> extends ArrayElementProp
         // if there's, we'll be using ArrayElementNodeProperty
         xducer.writeText(w,item,fieldName);
     }
+
+    /**
+     * Parses an item of a primitive array straight into the pack of the {@link Lister}.
+     */
+    private final class PrimitiveItemLoader extends Loader {
+        private final int offset;
+
+        PrimitiveItemLoader(int offset) {
+            super(true);
+            this.offset = offset;
+        }
+
+        @Override
+        @SuppressWarnings({"deprecation"})
+        public void text(UnmarshallingContext.State state, CharSequence text) throws SAXException {
+            try {
+                Object pack = state.getContext().getScope(offset).getPack(state.getPrev().getTarget(),acc,lister);
+                if(pack==null)
+                    return; // the error is already reported
+
+                if(primitiveType==Integer.TYPE)
+                    ((IntConsumer)pack).accept(DatatypeConverterImpl._parseInt(text));
+                else
+                if(primitiveType==Long.TYPE)
+                    ((LongConsumer)pack).accept(DatatypeConverterImpl._parseLong(text));
+                else
+                    ((DoubleConsumer)pack).accept(DatatypeConverterImpl._parseDouble(text));
+            } catch (RuntimeException e) {
+                handleParseConversionException(state,e);
+            }
+        }
+    }
 }
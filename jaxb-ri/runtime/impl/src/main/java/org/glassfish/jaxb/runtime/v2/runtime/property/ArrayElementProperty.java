@@ -164,7 +164,7 @@ abstract class ArrayElementProperty<BeanT,ListT,ItemT> extends ArrayERProperty<B
         for (RuntimeTypeRef typeRef : prop.getTypes()) {
 
             Name tagName = chain.context.nameBuilder.createElementName(typeRef.getTagName());
-            Loader item = createItemUnmarshaller(chain,typeRef);
+            Loader item = createItemUnmarshaller(chain,typeRef,offset);
 
             if(typeRef.isNillable() || chain.context.allNillable)
                 item = new XsiNilLoader.Array(item);
@@ -190,8 +190,10 @@ abstract class ArrayElementProperty<BeanT,ListT,ItemT> extends ArrayERProperty<B
      * When unmarshalling the body of item, the Pack of {@link Lister} is available
      * as the handler state.
      *
+     * @param offset
+     *      the {@link Scope} the items are packed into.
      */
-    private Loader createItemUnmarshaller(UnmarshallerChain chain, RuntimeTypeRef typeRef) {
+    protected Loader createItemUnmarshaller(UnmarshallerChain chain, RuntimeTypeRef typeRef, int offset) {
         if(PropertyFactory.isLeaf(typeRef.getSource())) {
             final Transducer xducer = typeRef.getTransducer();
             return new TextLoader(xducer);
@@ -13,11 +13,13 @@ package org.glassfish.jaxb.runtime.v2.runtime.property;
 import org.glassfish.jaxb.core.v2.model.core.ClassInfo;
 import org.glassfish.jaxb.core.v2.model.core.ID;
 import org.glassfish.jaxb.core.v2.model.core.PropertyKind;
+import org.glassfish.jaxb.core.v2.runtime.RuntimeUtil;
 import org.glassfish.jaxb.runtime.v2.model.runtime.*;
 import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
 import java.util.Collection;
 
 /**
@@ -131,6 +133,12 @@ public abstract class PropertyFactory {
             // in which case it will still produce PCDATA in this reference.
             return false;
 
-        return info.getIndividualType().equals(rti.getType());
+        Type individualType = info.getIndividualType();
+        if(individualType instanceof Class && ((Class<?>)individualType).isPrimitive())
+            // a primitive (or an item of a primitive array) binds to the built-in leaf
+            // of its box type, so it can be handled without going through the boxed value
+            individualType = RuntimeUtil.primitiveToBox.get(individualType);
+
+        return individualType.equals(rti.getType());
     }
 }
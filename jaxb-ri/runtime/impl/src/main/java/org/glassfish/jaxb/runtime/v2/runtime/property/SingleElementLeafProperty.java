@@ -13,6 +13,7 @@ package org.glassfish.jaxb.runtime.v2.runtime.property;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.core.v2.model.core.ID;
 import org.glassfish.jaxb.core.v2.model.core.PropertyKind;
+import org.glassfish.jaxb.runtime.v2.model.impl.RuntimeBuiltinLeafInfoImpl;
 import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeElementPropertyInfo;
 import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeTypeRef;
 import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
@@ -43,6 +44,10 @@ final class SingleElementLeafProperty<BeanT> extends PropertyImpl<BeanT> {
     private final TransducedAccessor<BeanT> xacc;
     private final boolean improvedXsiTypeHandling;
     private final boolean idRef;
+    /**
+     * True if the text is base64 that the connectors can decode as it comes in.
+     */
+    private final boolean binary;
 
     public SingleElementLeafProperty(JAXBContextImpl context, RuntimeElementPropertyInfo prop) {
         super(context, prop);
@@ -58,6 +63,7 @@ final class SingleElementLeafProperty<BeanT> extends PropertyImpl<BeanT> {
 
         improvedXsiTypeHandling = context.improvedXsiTypeHandling;
         idRef = ref.getSource().id() == ID.IDREF;
+        binary = !prop.isCollection() && RuntimeBuiltinLeafInfoImpl.isBase64Binary(ref.getTarget());
     }
 
     @Override
@@ -75,15 +81,17 @@ final class SingleElementLeafProperty<BeanT> extends PropertyImpl<BeanT> {
         boolean hasValue = xacc.hasValue(o);
 
         Object obj = null;
+        Class valueType = acc.getValueType();
 
-        try {
-            obj = acc.getUnadapted(o);
-        } catch (AccessorException ae) {
-            // noop
+        // primitives never need xsi:type, so don't box the value just to check
+        if (!valueType.isPrimitive()) {
+            try {
+                obj = acc.getUnadapted(o);
+            } catch (AccessorException ae) {
+                // noop
+            }
         }
 
-        Class valueType = acc.getValueType();
-
         // check for different type than expected. If found, add xsi:type declaration
         if (xsiTypeNeeded(o, w, obj, valueType)) {
             w.startElement(tagName, outerPeer);
@@ -143,7 +151,7 @@ final class SingleElementLeafProperty<BeanT> extends PropertyImpl<BeanT> {
 
     @Override
     public void buildChildElementUnmarshallers(UnmarshallerChain chain, QNameMap<ChildLoader> handlers) {
-        Loader l = new LeafPropertyLoader(xacc);
+        Loader l = new LeafPropertyLoader(xacc, binary);
         if (defaultValue != null)
             l = new DefaultValueLoaderDecorator(l, defaultValue);
         if (nillable || chain.context.allNillable)
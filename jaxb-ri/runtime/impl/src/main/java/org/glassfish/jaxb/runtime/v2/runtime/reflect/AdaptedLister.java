@@ -85,7 +85,7 @@ final class AdaptedLister<BeanT,PropT,InMemItemT,OnWireItemT,PackT> extends List
         public OnWireItemT next() throws SAXException, JAXBException {
             InMemItemT next = core.next();
             try {
-                return getAdapter().marshal(next);
+                return serializer.getAdapter(adapter).marshal(next);
             } catch (Exception e) {
                 serializer.reportError(null,e);
                 return null; // recover this error by returning null
@@ -11,12 +11,18 @@
 package org.glassfish.jaxb.runtime.v2.runtime.reflect;
 
 import org.glassfish.jaxb.core.WhiteSpaceProcessor;
+import org.glassfish.jaxb.runtime.DatatypeConverterImpl;
 import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.v2.model.impl.RuntimeBuiltinLeafInfoImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.Transducer;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
 import jakarta.xml.bind.JAXBException;
 import org.xml.sax.SAXException;
 
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
 /**
  * {@link TransducedAccessor} for a list simple type.
  *
@@ -35,11 +41,28 @@ public final class ListTransducedAccessorImpl<BeanT,ListT,ItemT,PackT> extends D
      * {@link Accessor} to get/set the list. 
      */
     private final Accessor<BeanT,ListT> acc;
+    /**
+     * {@code int}, {@code long} or {@code double} if the list is an array of that type
+     * converted by the built-in {@link Transducer}, or null. The items of such arrays
+     * are printed and parsed without boxing them.
+     */
+    private final Class<?> primitiveType;
 
     public ListTransducedAccessorImpl(Transducer<ItemT> xducer, Accessor<BeanT,ListT> acc, Lister<BeanT,ListT,ItemT,PackT> lister) {
         this.xducer = xducer;
         this.lister = lister;
         this.acc = acc;
+
+        if(lister instanceof PrimitiveArrayListerInteger && xducer==RuntimeBuiltinLeafInfoImpl.LEAVES.get(Integer.class))
+            primitiveType = Integer.TYPE;
+        else
+        if(lister instanceof PrimitiveArrayListerLong && xducer==RuntimeBuiltinLeafInfoImpl.LEAVES.get(Long.class))
+            primitiveType = Long.TYPE;
+        else
+        if(lister instanceof PrimitiveArrayListerDouble && xducer==RuntimeBuiltinLeafInfoImpl.LEAVES.get(Double.class))
+            primitiveType = Double.TYPE;
+        else
+            primitiveType = null;
     }
 
     @Override
@@ -77,6 +100,9 @@ public final class ListTransducedAccessorImpl<BeanT,ListT,ItemT,PackT> extends D
         if(list==null)
             return null;
 
+        if(primitiveType!=null)
+            return printPrimitives(list);
+
         StringBuilder buf = new StringBuilder();
         XMLSerializer w = XMLSerializer.getInstance();
         ListIterator<ItemT> itr = lister.iterator(list, w);
@@ -95,6 +121,29 @@ public final class ListTransducedAccessorImpl<BeanT,ListT,ItemT,PackT> extends D
         return buf.toString();
     }
 
+    @SuppressWarnings({"deprecation"})
+    private String printPrimitives(ListT list) {
+        StringBuilder buf = new StringBuilder();
+        if(primitiveType==Integer.TYPE) {
+            for (int v : (int[])list) {
+                if(buf.length()>0)  buf.append(' ');
+                buf.append(v);
+            }
+        } else
+        if(primitiveType==Long.TYPE) {
+            for (long v : (long[])list) {
+                if(buf.length()>0)  buf.append(' ');
+                buf.append(v);
+            }
+        } else {
+            for (double v : (double[])list) {
+                if(buf.length()>0)  buf.append(' ');
+                buf.append(DatatypeConverterImpl._printDouble(v));
+            }
+        }
+        return buf.toString();
+    }
+
     private void processValue(BeanT bean, CharSequence s) throws AccessorException, SAXException {
         PackT pack = lister.startPacking(bean,acc);
 
@@ -108,7 +157,7 @@ public final class ListTransducedAccessorImpl<BeanT,ListT,ItemT,PackT> extends D
 
             CharSequence token = s.subSequence(idx,p);
             if (!token.equals(""))
-                lister.addToPack(pack,xducer.parse(token));
+                addToPack(pack,token);
 
             if(p==len)      break;  // done
 
@@ -122,6 +171,20 @@ public final class ListTransducedAccessorImpl<BeanT,ListT,ItemT,PackT> extends D
         lister.endPacking(pack,bean,acc);
     }
 
+    @SuppressWarnings({"deprecation"})
+    private void addToPack(PackT pack, CharSequence token) throws AccessorException, SAXException {
+        if(primitiveType==Integer.TYPE)
+            ((IntConsumer)pack).accept(DatatypeConverterImpl._parseInt(token));
+        else
+        if(primitiveType==Long.TYPE)
+            ((LongConsumer)pack).accept(DatatypeConverterImpl._parseLong(token));
+        else
+        if(primitiveType==Double.TYPE)
+            ((DoubleConsumer)pack).accept(DatatypeConverterImpl._parseDouble(token));
+        else
+            lister.addToPack(pack,xducer.parse(token));
+    }
+
     @Override
     public void parse(BeanT bean, CharSequence lexical) throws AccessorException, SAXException {
         processValue(bean,lexical);
@@ -13,6 +13,8 @@ package org.glassfish.jaxb.runtime.v2.runtime.reflect;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
 
+import java.util.function.DoubleConsumer;
+
 /**
  * {@link Lister} for primitive type arrays.
  * <p><b>
@@ -69,19 +71,27 @@ final class PrimitiveArrayListerDouble<BeanT> extends Lister<BeanT,double[],Doub
         acc.set(o,new double[0]);
     }
 
-    static final class DoubleArrayPack {
+    /**
+     * Also takes unboxed items, see {@link ListTransducedAccessorImpl}.
+     */
+    static final class DoubleArrayPack implements DoubleConsumer {
         double[] buf = new double[16];
         int size;
 
         void add(Double b) {
+            if(b!=null)
+                accept(b);
+        }
+
+        @Override
+        public void accept(double b) {
             if(buf.length==size) {
                 // realloc
                 double[] nb = new double[buf.length*2];
                 System.arraycopy(buf,0,nb,0,buf.length);
                 buf = nb;
             }
-            if(b!=null)
-                buf[size++] = b;
+            buf[size++] = b;
         }
 
         double[] build() {
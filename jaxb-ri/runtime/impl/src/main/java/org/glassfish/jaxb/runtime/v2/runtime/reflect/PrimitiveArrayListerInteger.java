@@ -13,6 +13,8 @@ package org.glassfish.jaxb.runtime.v2.runtime.reflect;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
 
+import java.util.function.IntConsumer;
+
 /**
  * {@link Lister} for primitive type arrays.
  * <p><b>
@@ -69,19 +71,27 @@ final class PrimitiveArrayListerInteger<BeanT> extends Lister<BeanT,int[],Intege
         acc.set(o,new int[0]);
     }
 
-    static final class IntegerArrayPack {
+    /**
+     * Also takes unboxed items, see {@link ListTransducedAccessorImpl}.
+     */
+    static final class IntegerArrayPack implements IntConsumer {
         int[] buf = new int[16];
         int size;
 
         void add(Integer b) {
+            if(b!=null)
+                accept(b);
+        }
+
+        @Override
+        public void accept(int b) {
             if(buf.length==size) {
                 // realloc
                 int[] nb = new int[buf.length*2];
                 System.arraycopy(buf,0,nb,0,buf.length);
                 buf = nb;
             }
-            if(b!=null)
-                buf[size++] = b;
+            buf[size++] = b;
         }
 
         int[] build() {
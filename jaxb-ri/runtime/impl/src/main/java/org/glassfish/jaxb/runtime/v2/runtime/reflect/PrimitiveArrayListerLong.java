@@ -13,6 +13,8 @@ package org.glassfish.jaxb.runtime.v2.runtime.reflect;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
 
+import java.util.function.LongConsumer;
+
 /**
  * {@link Lister} for primitive type arrays.
  * <p><b>
@@ -69,19 +71,27 @@ final class PrimitiveArrayListerLong<BeanT> extends Lister<BeanT,long[],Long,Pri
         acc.set(o,new long[0]);
     }
 
-    static final class LongArrayPack {
+    /**
+     * Also takes unboxed items, see {@link ListTransducedAccessorImpl}.
+     */
+    static final class LongArrayPack implements LongConsumer {
         long[] buf = new long[16];
         int size;
 
         void add(Long b) {
+            if(b!=null)
+                accept(b);
+        }
+
+        @Override
+        public void accept(long b) {
             if(buf.length==size) {
                 // realloc
                 long[] nb = new long[buf.length*2];
                 System.arraycopy(buf,0,nb,0,buf.length);
                 buf = nb;
             }
-            if(b!=null)
-                buf[size++] = b;
+            buf[size++] = b;
         }
 
         long[] build() {
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link Accessor} for boolean properties backed by functions created by {@link OptimizedAccessorFactory}.
+ *
+ * <p>
+ * {@link #getBoolean(Object)} and {@link #setBoolean(Object, boolean)} access the property
+ * without allocating; the setter only ever sees the two canonical {@link Boolean} instances.
+ *
+ */
+public final class FunctionAccessor_Boolean<B> extends Accessor<B,Boolean> {
+    private final Predicate<Object> getter;
+    private final BiConsumer<Object,Boolean> setter;
+
+    FunctionAccessor_Boolean(Predicate<Object> getter, BiConsumer<Object,Boolean> setter) {
+        super(Boolean.TYPE);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public boolean getBoolean(B bean) {
+        return getter.test(bean);
+    }
+
+    public void setBoolean(B bean, boolean value) {
+        setter.accept(bean, value);
+    }
+
+    @Override
+    public Boolean get(B bean) {
+        return getter.test(bean);
+    }
+
+    @Override
+    public void set(B bean, Boolean value) {
+        setter.accept(bean, value==null ? Const.default_value_boolean : value);
+    }
+}
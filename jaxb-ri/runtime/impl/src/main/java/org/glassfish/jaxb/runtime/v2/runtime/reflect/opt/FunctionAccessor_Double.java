@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link Accessor} for double properties backed by functions created by {@link OptimizedAccessorFactory}.
+ *
+ * <p>
+ * {@link #getDouble(Object)} and {@link #setDouble(Object, double)} access the property
+ * without boxing the value.
+ *
+ */
+public final class FunctionAccessor_Double<B> extends Accessor<B,Double> {
+    private final ToDoubleFunction<Object> getter;
+    private final ObjDoubleConsumer<Object> setter;
+
+    FunctionAccessor_Double(ToDoubleFunction<Object> getter, ObjDoubleConsumer<Object> setter) {
+        super(Double.TYPE);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public double getDouble(B bean) {
+        return getter.applyAsDouble(bean);
+    }
+
+    public void setDouble(B bean, double value) {
+        setter.accept(bean, value);
+    }
+
+    @Override
+    public Double get(B bean) {
+        return getter.applyAsDouble(bean);
+    }
+
+    @Override
+    public void set(B bean, Double value) {
+        setter.accept(bean, value==null ? Const.default_value_double : value);
+    }
+}
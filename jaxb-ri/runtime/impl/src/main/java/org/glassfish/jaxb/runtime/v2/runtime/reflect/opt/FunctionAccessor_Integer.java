@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link Accessor} for int properties backed by functions created by {@link OptimizedAccessorFactory}.
+ *
+ * <p>
+ * {@link #getInt(Object)} and {@link #setInt(Object, int)} access the property
+ * without boxing the value.
+ *
+ */
+public final class FunctionAccessor_Integer<B> extends Accessor<B,Integer> {
+    private final ToIntFunction<Object> getter;
+    private final ObjIntConsumer<Object> setter;
+
+    FunctionAccessor_Integer(ToIntFunction<Object> getter, ObjIntConsumer<Object> setter) {
+        super(Integer.TYPE);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public int getInt(B bean) {
+        return getter.applyAsInt(bean);
+    }
+
+    public void setInt(B bean, int value) {
+        setter.accept(bean, value);
+    }
+
+    @Override
+    public Integer get(B bean) {
+        return getter.applyAsInt(bean);
+    }
+
+    @Override
+    public void set(B bean, Integer value) {
+        setter.accept(bean, value==null ? Const.default_value_int : value);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link Accessor} for long properties backed by functions created by {@link OptimizedAccessorFactory}.
+ *
+ * <p>
+ * {@link #getLong(Object)} and {@link #setLong(Object, long)} access the property
+ * without boxing the value.
+ *
+ */
+public final class FunctionAccessor_Long<B> extends Accessor<B,Long> {
+    private final ToLongFunction<Object> getter;
+    private final ObjLongConsumer<Object> setter;
+
+    FunctionAccessor_Long(ToLongFunction<Object> getter, ObjLongConsumer<Object> setter) {
+        super(Long.TYPE);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public long getLong(B bean) {
+        return getter.applyAsLong(bean);
+    }
+
+    public void setLong(B bean, long value) {
+        setter.accept(bean, value);
+    }
+
+    @Override
+    public Long get(B bean) {
+        return getter.applyAsLong(bean);
+    }
+
+    @Override
+    public void set(B bean, Long value) {
+        setter.accept(bean, value==null ? Const.default_value_long : value);
+    }
+}
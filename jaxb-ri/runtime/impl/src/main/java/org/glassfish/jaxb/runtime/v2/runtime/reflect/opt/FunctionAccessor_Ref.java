@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * {@link Accessor} backed by functions created by {@link OptimizedAccessorFactory}.
+ *
+ * <p>
+ * Used for reference properties as well as for the primitive types
+ * that don't have a specialized accessor, in which case the functions
+ * box and unbox the value.
+ *
+ */
+final class FunctionAccessor_Ref<B,V> extends Accessor<B,V> {
+    private final Function<Object,Object> getter;
+    private final BiConsumer<Object,Object> setter;
+    /**
+     * Value set when {@code null} is given, which is non-null for primitive types.
+     */
+    private final Object defaultValue;
+
+    FunctionAccessor_Ref(Class<V> valueType, Function<Object,Object> getter, BiConsumer<Object,Object> setter, Object defaultValue) {
+        super(valueType);
+        this.getter = getter;
+        this.setter = setter;
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(B bean) {
+        return (V) getter.apply(bean);
+    }
+
+    @Override
+    public void set(B bean, V value) {
+        setter.accept(bean, value==null ? defaultValue : value);
+    }
+}
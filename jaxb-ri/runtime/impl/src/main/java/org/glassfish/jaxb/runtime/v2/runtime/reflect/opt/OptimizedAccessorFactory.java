@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.core.Utils;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates optimized {@link Accessor}s that don't go through
+ * {@link Field#get(Object)} or {@link Method#invoke(Object, Object...)}.
+ *
+ * <p>
+ * Getters and setters are bound with {@link LambdaMetafactory}, which spins a class
+ * in the bean's own class loader that calls the method directly. Fields, which
+ * {@link LambdaMetafactory} can't target, are accessed through {@link MethodHandle}s.
+ * {@code int}, {@code long}, {@code double} and {@code boolean} properties get
+ * specialized accessors ({@link FunctionAccessor_Integer} and its siblings) that
+ * can read and write the value without boxing.
+ *
+ * <p>
+ * Both require the bean's package to be open to this module, which is already
+ * the case for any class JAXB can access reflectively. If anything goes wrong,
+ * the factory returns null and the caller keeps using reflection.
+ */
+public final class OptimizedAccessorFactory {
+    private OptimizedAccessorFactory() {} // no instantiation please
+
+    private static final Logger logger = Logger.getLogger(OptimizedAccessorFactory.class.getName());
+
+    /**
+     * Set to true to always use reflection.
+     */
+    private static final boolean noOptimize =
+            Boolean.parseBoolean(Utils.getSystemProperty(OptimizedAccessorFactory.class.getName()+".noOptimize"));
+
+    static {
+        if (noOptimize)
+            logger.info("The optimized code generation is disabled");
+    }
+
+    /**
+     * Gets the optimized {@link Accessor} that accesses the given getter/setter.
+     *
+     * @return null
+     *      if for some reason it fails to create an optimized version.
+     */
+    public static <B,V> Accessor<B,V> get(Method getter, Method setter) {
+        if (noOptimize)
+            return null;
+
+        // make sure the method signatures are what we expect
+        if (getter.getParameterCount()!=0 || setter.getParameterCount()!=1)
+            return null;
+        Class<?> t = getter.getReturnType();
+        if (setter.getParameterTypes()[0]!=t || setter.getReturnType()!=void.class)
+            return null;
+        if (Modifier.isStatic(getter.getModifiers()) || Modifier.isStatic(setter.getModifiers()))
+            return null;
+        // checked exceptions would escape Accessor.get/set unwrapped
+        if (getter.getExceptionTypes().length>0 || setter.getExceptionTypes().length>0)
+            return null;
+
+        try {
+            MethodHandles.Lookup gl = lookup(getter.getDeclaringClass());
+            MethodHandles.Lookup sl = lookup(setter.getDeclaringClass());
+            MethodHandle g = gl.unreflect(getter);
+            MethodHandle s = sl.unreflect(setter);
+            try {
+                return bind(t, gl, g, getter.getDeclaringClass(), sl, s, setter.getDeclaringClass());
+            } catch (LambdaConversionException e) {
+                // the lookup lacks full privilege access, which happens across module boundaries.
+                // method handles still work in that case.
+                return create(t, g, s);
+            }
+        } catch (Throwable e) {
+            logger.log(Level.FINE, "Unable to create an optimized accessor for "+getter+" and "+setter, e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the optimized {@link Accessor} that accesses the given field.
+     *
+     * @return null
+     *      if for some reason it fails to create an optimized version.
+     */
+    public static <B,V> Accessor<B,V> get(Field field) {
+        if (noOptimize)
+            return null;
+
+        int mods = field.getModifiers();
+        if (Modifier.isStatic(mods))
+            return null;    // static fields are read-only and handled by ReadOnlyFieldReflection
+
+        try {
+            MethodHandles.Lookup lookup = lookup(field.getDeclaringClass());
+            MethodHandle g = lookup.unreflectGetter(field);
+            // final fields can only be written if the Field has been made accessible beforehand
+            MethodHandle s = lookup.unreflectSetter(field);
+            return create(field.getType(), g, s);
+        } catch (Throwable e) {
+            logger.log(Level.FINE, "Unable to create an optimized accessor for "+field, e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates an {@link Accessor} that invokes the given getter and setter {@link MethodHandle}s.
+     */
+    private static <B,V> Accessor<B,V> create(Class<?> t, MethodHandle g, MethodHandle s) {
+        if (t==int.class) {
+            MethodHandle get = g.asType(MethodType.methodType(int.class, Object.class));
+            MethodHandle set = s.asType(MethodType.methodType(void.class, Object.class, int.class));
+            return cast(new FunctionAccessor_Integer<>(
+                bean -> {
+                    try {
+                        return (int) get.invokeExact(bean);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                },
+                (bean, v) -> {
+                    try {
+                        set.invokeExact(bean, v);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                }));
+        }
+        if (t==long.class) {
+            MethodHandle get = g.asType(MethodType.methodType(long.class, Object.class));
+            MethodHandle set = s.asType(MethodType.methodType(void.class, Object.class, long.class));
+            return cast(new FunctionAccessor_Long<>(
+                bean -> {
+                    try {
+                        return (long) get.invokeExact(bean);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                },
+                (bean, v) -> {
+                    try {
+                        set.invokeExact(bean, v);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                }));
+        }
+        if (t==double.class) {
+            MethodHandle get = g.asType(MethodType.methodType(double.class, Object.class));
+            MethodHandle set = s.asType(MethodType.methodType(void.class, Object.class, double.class));
+            return cast(new FunctionAccessor_Double<>(
+                bean -> {
+                    try {
+                        return (double) get.invokeExact(bean);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                },
+                (bean, v) -> {
+                    try {
+                        set.invokeExact(bean, v);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                }));
+        }
+        if (t==boolean.class) {
+            MethodHandle get = g.asType(MethodType.methodType(boolean.class, Object.class));
+            MethodHandle set = s.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+            return cast(new FunctionAccessor_Boolean<>(
+                bean -> {
+                    try {
+                        return (boolean) get.invokeExact(bean);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                },
+                (bean, v) -> {
+                    try {
+                        set.invokeExact(bean, (boolean) v);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                }));
+        }
+
+        MethodHandle get = g.asType(MethodType.methodType(Object.class, Object.class));
+        MethodHandle set = s.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return cast(new FunctionAccessor_Ref<>(t,
+            bean -> {
+                try {
+                    return (Object) get.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            },
+            (bean, v) -> {
+                try {
+                    set.invokeExact(bean, v);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            },
+            defaultValue(t)));
+    }
+
+    /**
+     * Creates an {@link Accessor} whose getter and setter are bound with {@link LambdaMetafactory}.
+     */
+    private static <B,V> Accessor<B,V> bind(Class<?> t,
+                                           MethodHandles.Lookup gl, MethodHandle g, Class<?> gb,
+                                           MethodHandles.Lookup sl, MethodHandle s, Class<?> sb) throws Throwable {
+        if (t==int.class)
+            return cast(new FunctionAccessor_Integer<>(
+                    getter(gl, ToIntFunction.class, "applyAsInt", g, MethodType.methodType(int.class, gb)),
+                    setter(sl, ObjIntConsumer.class, s, MethodType.methodType(void.class, sb, int.class))));
+        if (t==long.class)
+            return cast(new FunctionAccessor_Long<>(
+                    getter(gl, ToLongFunction.class, "applyAsLong", g, MethodType.methodType(long.class, gb)),
+                    setter(sl, ObjLongConsumer.class, s, MethodType.methodType(void.class, sb, long.class))));
+        if (t==double.class)
+            return cast(new FunctionAccessor_Double<>(
+                    getter(gl, ToDoubleFunction.class, "applyAsDouble", g, MethodType.methodType(double.class, gb)),
+                    setter(sl, ObjDoubleConsumer.class, s, MethodType.methodType(void.class, sb, double.class))));
+        if (t==boolean.class)
+            return cast(new FunctionAccessor_Boolean<>(
+                    getter(gl, Predicate.class, "test", g, MethodType.methodType(boolean.class, gb)),
+                    setter(sl, BiConsumer.class, s, MethodType.methodType(void.class, sb, Boolean.class))));
+
+        // everything else, including the remaining primitives which the functions box/unbox
+        Class<?> boxed = MethodType.methodType(t).wrap().returnType();
+        return cast(new FunctionAccessor_Ref<>(t,
+                getter(gl, Function.class, "apply", g, MethodType.methodType(boxed, gb)),
+                setter(sl, BiConsumer.class, s, MethodType.methodType(void.class, sb, boxed)),
+                defaultValue(t)));
+    }
+
+    /**
+     * Obtains a {@link MethodHandles.Lookup} with private access to the given bean class.
+     */
+    private static MethodHandles.Lookup lookup(Class<?> beanClass) throws IllegalAccessException {
+        // reflection doesn't need readability, method handles do
+        OptimizedAccessorFactory.class.getModule().addReads(beanClass.getModule());
+        return MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+    }
+
+    /**
+     * Binds the given getter to a single-argument functional interface.
+     */
+    private static <F> F getter(MethodHandles.Lookup lookup, Class<F> type, String name, MethodHandle impl, MethodType instantiated) throws Throwable {
+        MethodType sam = instantiated.changeParameterType(0, Object.class);
+        if (!sam.returnType().isPrimitive())
+            sam = sam.changeReturnType(Object.class);
+        return type.cast(LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(type),
+                sam, impl, instantiated).getTarget().invoke());
+    }
+
+    /**
+     * Binds the given setter to a two-argument consumer.
+     */
+    private static <F> F setter(MethodHandles.Lookup lookup, Class<F> type, MethodHandle impl, MethodType instantiated) throws Throwable {
+        MethodType sam = instantiated.changeParameterType(0, Object.class);
+        if (!sam.parameterType(1).isPrimitive())
+            sam = sam.changeParameterType(1, Object.class);
+        return type.cast(LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(type),
+                sam, impl, instantiated).getTarget().invoke());
+    }
+
+    /**
+     * Value used when a property is reset to {@code null}.
+     */
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static RuntimeException propagate(Throwable t) {
+        if (t instanceof RuntimeException)
+            return (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+        // field access can't throw checked exceptions
+        return new IllegalStateException(t);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <B,V> Accessor<B,V> cast(Accessor<?,?> acc) {
+        return (Accessor<B,V>) acc;
+    }
+}
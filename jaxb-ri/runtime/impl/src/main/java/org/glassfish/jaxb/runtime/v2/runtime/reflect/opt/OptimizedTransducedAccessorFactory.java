@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.v2.model.impl.RuntimeBuiltinLeafInfoImpl;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeNonElementRef;
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.Transducer;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.TransducedAccessor;
+
+/**
+ * Creates {@link TransducedAccessor}s specialized for primitive leaf properties.
+ *
+ * <p>
+ * A specialized accessor is only used when the property is bound with the plain
+ * built-in transducer of its type (no adapter, ID, MIME type or schema type
+ * customization) and its {@link Accessor} was optimized into one of the
+ * primitive {@code FunctionAccessor}s. In every other case the caller falls
+ * back to the generic composite implementation.
+ *
+ * @see TransducedAccessor#get
+ */
+public final class OptimizedTransducedAccessorFactory {
+
+    private OptimizedTransducedAccessorFactory() {}
+
+    /**
+     * Gets the optimized {@link TransducedAccessor} if possible.
+     *
+     * @param xducer
+     *      the transducer computed for the property reference.
+     * @param acc
+     *      the accessor of the property, already {@link Accessor#optimize(JAXBContextImpl) optimized}.
+     * @return null
+     *      if the optimization is not possible.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> TransducedAccessor<T> get(RuntimeNonElementRef ref, Transducer xducer, Accessor acc) {
+        // anything wrapped around the built-in transducer changes the lexical handling
+        if (xducer != ref.getTarget().getTransducer())
+            return null;
+
+        if (acc instanceof FunctionAccessor_Integer && xducer == RuntimeBuiltinLeafInfoImpl.LEAVES.get(Integer.class))
+            return new TransducedAccessor_function_Integer<>((FunctionAccessor_Integer<T>) acc);
+        if (acc instanceof FunctionAccessor_Long && xducer == RuntimeBuiltinLeafInfoImpl.LEAVES.get(Long.class))
+            return new TransducedAccessor_function_Long<>((FunctionAccessor_Long<T>) acc);
+        if (acc instanceof FunctionAccessor_Double && xducer == RuntimeBuiltinLeafInfoImpl.LEAVES.get(Double.class))
+            return new TransducedAccessor_function_Double<>((FunctionAccessor_Double<T>) acc);
+        if (acc instanceof FunctionAccessor_Boolean && xducer == RuntimeBuiltinLeafInfoImpl.LEAVES.get(Boolean.class))
+            return new TransducedAccessor_function_Boolean<>((FunctionAccessor_Boolean<T>) acc);
+
+        return null;
+    }
+}
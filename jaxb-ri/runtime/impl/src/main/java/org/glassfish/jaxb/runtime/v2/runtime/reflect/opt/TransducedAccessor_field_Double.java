@@ -11,8 +11,15 @@
 package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
 
 import org.glassfish.jaxb.runtime.DatatypeConverterImpl;
+import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.v2.runtime.Name;
+import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
 import org.glassfish.jaxb.runtime.v2.runtime.reflect.DefaultTransducedAccessor;
 import org.glassfish.jaxb.runtime.v2.runtime.reflect.TransducedAccessor;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
 
 /**
  * Template {@link TransducedAccessor} for a double field.
@@ -42,4 +49,9 @@ public final class TransducedAccessor_field_Double<T> extends DefaultTransducedA
     public boolean hasValue(T o) {
         return true;
     }
+
+    @Override
+    public void writeLeafElement(XMLSerializer w, Name tagName, T o, String fieldName) throws SAXException, AccessorException, IOException, XMLStreamException {
+        w.leafElement(tagName, ((Bean)o).f_double, fieldName );
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.DatatypeConverterImpl;
+import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.v2.runtime.Name;
+import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.DefaultTransducedAccessor;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.TransducedAccessor;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+
+/**
+ * {@link TransducedAccessor} for long properties accessed through a {@link FunctionAccessor_Long}.
+ *
+ * <p>
+ * The value is parsed into and printed from a {@code long} directly, so neither direction boxes.
+ *
+ * @see OptimizedTransducedAccessorFactory
+ */
+@SuppressWarnings({"deprecation"})
+final class TransducedAccessor_function_Long<T> extends DefaultTransducedAccessor<T> {
+    private final FunctionAccessor_Long<T> acc;
+
+    TransducedAccessor_function_Long(FunctionAccessor_Long<T> acc) {
+        this.acc = acc;
+    }
+
+    @Override
+    public String print(T o) {
+        return DatatypeConverterImpl._printLong(acc.getLong(o));
+    }
+
+    @Override
+    public void parse(T o, CharSequence lexical) {
+        acc.setLong(o, DatatypeConverterImpl._parseLong(lexical));
+    }
+
+    @Override
+    public boolean hasValue(T o) {
+        return true;
+    }
+
+    @Override
+    public void writeLeafElement(XMLSerializer w, Name tagName, T o, String fieldName) throws SAXException, AccessorException, IOException, XMLStreamException {
+        w.leafElement(tagName, acc.getLong(o), fieldName);
+    }
+}
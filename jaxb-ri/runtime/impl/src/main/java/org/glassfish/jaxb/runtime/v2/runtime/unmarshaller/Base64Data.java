@@ -169,8 +169,15 @@ public final class Base64Data extends Pcdata {
     public byte[] get() {
         if (data == null) {
             try {
+                DataSource ds = dataHandler.getDataSource();
+                if (ds instanceof Base64Decoder.SpilledDataSource) {
+                    // the size is known, so read it without growing a buffer
+                    data = ((Base64Decoder.SpilledDataSource) ds).toByteArray();
+                    dataLen = data.length;
+                    return data;
+                }
                 ByteArrayOutputStreamEx baos = new ByteArrayOutputStreamEx(1024);
-                InputStream is = dataHandler.getDataSource().getInputStream();
+                InputStream is = ds.getInputStream();
                 baos.readFrom(is);
                 is.close();
                 data = baos.getBuffer();
@@ -294,8 +301,13 @@ public final class Base64Data extends Pcdata {
 
     @Override
     public void writeTo(UTF8XmlOutput output) throws IOException {
-        // TODO: this is inefficient if the data source is note byte[] but DataHandler
-        get();
+        if (data == null) {
+            // stream it rather than reading all of it into memory
+            try (InputStream is = dataHandler.getDataSource().getInputStream()) {
+                output.text(is);
+            }
+            return;
+        }
         output.text(data, dataLen);
     }
 
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.glassfish.jaxb.core.Utils;
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Decodes base64 text as the parser reports it, chunk by chunk, so that
+ * a large {@code xs:base64Binary} value never has to be held as characters.
+ *
+ * <p>
+ * The bytes go into a buffer that grows as needed and is then handed over to
+ * a {@link Base64Data}. If the system property
+ * {@code org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Base64Decoder.spillThreshold}
+ * is set to a number of bytes, data beyond that size is written to a temporary
+ * file instead, and the {@link Base64Data} reads it from there through its
+ * {@link DataHandler}. The file is deleted once that {@link DataHandler}
+ * is garbage collected, or with the decoder if the value is never finished,
+ * for example because the unmarshalling is aborted.
+ *
+ * <p>
+ * Characters that are not part of the base64 alphabet, such as the whitespace
+ * of indented text, are skipped, just like
+ * {@link org.glassfish.jaxb.runtime.DatatypeConverterImpl#_parseBase64Binary(String)} does.
+ *
+ * @see TextBuffer
+ */
+final class Base64Decoder {
+    /**
+     * Number of decoded bytes above which the data goes to a temporary file,
+     * or -1 to always keep it in memory.
+     */
+    private static final long SPILL_THRESHOLD = getSpillThreshold();
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Size of the write buffer once the data goes to a file.
+     */
+    private static final int SPILL_BUFFER_SIZE = 64*1024;
+
+    private static final byte PADDING = 127;
+    private static final byte[] decodeMap = initDecodeMap();
+
+    /**
+     * The decoded bytes, or null when no decoding is in progress.
+     */
+    private byte[] buf;
+    private int len;
+
+    /**
+     * Sextets of the incomplete quadruplet carried over from the previous chunk.
+     */
+    private final byte[] quadruplet = new byte[4];
+    private int q;
+
+    private String mimeType;
+
+    private final long spillThreshold;
+
+    /**
+     * Non-null once the data goes to a temporary file.
+     */
+    private TempFile spill;
+
+    /**
+     * Deletes {@link #spill} if this decoder is garbage collected before
+     * it could hand the file over to a {@link SpilledDataSource}.
+     */
+    private Cleaner.Cleanable discard;
+
+    Base64Decoder() {
+        this(SPILL_THRESHOLD);
+    }
+
+    /**
+     * @param spillThreshold
+     *      number of decoded bytes above which the data goes to a temporary file,
+     *      or -1 to always keep it in memory.
+     */
+    Base64Decoder(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * Starts decoding a new value.
+     *
+     * @param mimeType
+     *      the MIME type of the data, if known.
+     */
+    void start(String mimeType) {
+        reset();    // in case the previous value was never finished
+        this.mimeType = mimeType;
+        buf = new byte[INITIAL_CAPACITY];
+        len = 0;
+        q = 0;
+    }
+
+    /**
+     * True between {@link #start(String)} and {@link #finish()} or {@link #reset()}.
+     */
+    boolean isActive() {
+        return buf!=null;
+    }
+
+    /**
+     * True if nothing but whitespace or other characters outside of
+     * the base64 alphabet has been seen so far.
+     */
+    boolean isEmpty() {
+        return len==0 && q==0 && spill==null;
+    }
+
+    void decode(char[] ch, int start, int length) throws SAXException {
+        ensureCapacity(length);
+        for( int i=start, end=start+length; i<end; i++ )
+            decode(ch[i]);
+    }
+
+    void decode(CharSequence text) throws SAXException {
+        int length = text.length();
+        ensureCapacity(length);
+        for( int i=0; i<length; i++ )
+            decode(text.charAt(i));
+    }
+
+    private void decode(char ch) {
+        byte v = ch<128 ? decodeMap[ch] : -1;
+        if(v==-1)
+            return;
+        quadruplet[q++] = v;
+        if(q==4) {
+            byte[] quadruplet = this.quadruplet;
+            buf[len++] = (byte) ((quadruplet[0] << 2) | (quadruplet[1] >> 4));
+            if (quadruplet[2] != PADDING) {
+                buf[len++] = (byte) ((quadruplet[1] << 4) | (quadruplet[2] >> 2));
+            }
+            if (quadruplet[3] != PADDING) {
+                buf[len++] = (byte) ((quadruplet[2] << 6) | (quadruplet[3]));
+            }
+            q = 0;
+        }
+    }
+
+    /**
+     * Makes room for the bytes that the given number of characters can decode into.
+     */
+    private void ensureCapacity(int chars) throws SAXException {
+        int needed = (q+chars)/4*3;
+        if(len+needed<=buf.length)
+            return;
+
+        try {
+            if(spill==null && spillThreshold>=0 && (long)len+needed>spillThreshold) {
+                spill = new TempFile();
+                discard = CleanerHolder.CLEANER.register(this,spill::discard);
+            }
+            if(spill!=null) {
+                spill.write(buf,len);
+                len = 0;
+                if(needed<=buf.length && buf.length>=SPILL_BUFFER_SIZE)
+                    return;
+            }
+        } catch (IOException e) {
+            throw new SAXException(e);
+        }
+
+        int size = buf.length;
+        while(size<len+needed)
+            size = Math.max(size*2, len+needed);
+        byte[] nb = new byte[spill!=null ? Math.max(size,SPILL_BUFFER_SIZE) : size];
+        System.arraycopy(buf,0,nb,0,len);
+        buf = nb;
+    }
+
+    /**
+     * Completes the decoding.
+     *
+     * @return
+     *      a new {@link Base64Data} that owns the decoded bytes.
+     */
+    Base64Data finish() throws SAXException {
+        Base64Data data = new Base64Data();
+        if(spill!=null) {
+            try {
+                spill.write(buf,len);
+                spill.close();
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+            data.set(new DataHandler(new SpilledDataSource(spill,mimeType)));
+            spill.owned = true;
+            discard.clean();
+        } else {
+            data.set(buf,len,mimeType);
+        }
+        buf = null;
+        spill = null;
+        discard = null;
+        return data;
+    }
+
+    /**
+     * Discards the value being decoded.
+     */
+    void reset() {
+        buf = null;
+        if(spill!=null) {
+            discard.clean();
+            spill = null;
+            discard = null;
+        }
+    }
+
+    private static long getSpillThreshold() {
+        String value = Utils.getSystemProperty(Base64Decoder.class.getName()+".spillThreshold");
+        if(value==null)
+            return -1;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] initDecodeMap() {
+        byte[] map = new byte[128];
+        for( int i=0; i<128; i++ )
+            map[i] = -1;
+        for( int i='A'; i<='Z'; i++ )
+            map[i] = (byte) (i-'A');
+        for( int i='a'; i<='z'; i++ )
+            map[i] = (byte) (i-'a'+26);
+        for( int i='0'; i<='9'; i++ )
+            map[i] = (byte) (i-'0'+52);
+        map['+'] = 62;
+        map['/'] = 63;
+        map['='] = PADDING;
+        return map;
+    }
+
+    /**
+     * The temporary file of a value that outgrew {@link #SPILL_THRESHOLD}.
+     *
+     * <p>
+     * Also the cleanup action that deletes the file, so it must not refer
+     * to the {@link SpilledDataSource} that it cleans up after.
+     */
+    private static final class TempFile implements Runnable {
+        private final Path path;
+        private OutputStream out;
+
+        /**
+         * Set once a {@link SpilledDataSource} owns the file.
+         */
+        private volatile boolean owned;
+
+        TempFile() throws IOException {
+            path = Files.createTempFile("jaxb",".bin");
+            out = Files.newOutputStream(path);
+        }
+
+        void write(byte[] b, int len) throws IOException {
+            out.write(b,0,len);
+        }
+
+        void close() throws IOException {
+            out.close();
+            out = null;
+        }
+
+        /**
+         * Deletes the file, unless a {@link SpilledDataSource} owns it by now.
+         */
+        void discard() {
+            if(!owned)
+                run();
+        }
+
+        @Override
+        public void run() {
+            try {
+                if(out!=null)
+                    out.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // the file stays in the temporary directory
+            }
+        }
+    }
+
+    /**
+     * Reads the decoded data back from its {@link TempFile}.
+     */
+    static final class SpilledDataSource implements DataSource {
+        private final TempFile file;
+        private final String mimeType;
+
+        private SpilledDataSource(TempFile file, String mimeType) {
+            this.file = file;
+            this.mimeType = mimeType;
+            CleanerHolder.CLEANER.register(this,file);
+        }
+
+        /**
+         * Reads the whole data into an array of the exact size.
+         */
+        byte[] toByteArray() throws IOException {
+            return Files.readAllBytes(file.path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file.path);
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getContentType() {
+            return mimeType!=null ? mimeType : "application/octet-stream";
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        /**
+         * The temporary file, for tests.
+         */
+        File getFile() {
+            return file.path.toFile();
+        }
+    }
+
+    private static final class CleanerHolder {
+        static final Cleaner CLEANER = Cleaner.create();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * {@link InputStream} that reads the remaining bytes of one or more {@link ByteBuffer}s
+ * in order, without copying them anywhere but into the reader's own buffer.
+ *
+ * <p>
+ * The buffers are read through {@link ByteBuffer#duplicate() duplicates},
+ * so their positions are left untouched. Since a single buffer can't be
+ * larger than 2GB, a bigger file can be read by passing the consecutive
+ * regions of it, each {@link java.nio.channels.FileChannel#map mapped}
+ * as a {@link MappedByteBuffer}.
+ *
+ * @see UnmarshallerImpl#unmarshal(ByteBuffer)
+ */
+public final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer[] buffers;
+
+    /**
+     * Index of the buffer currently read from.
+     */
+    private int current;
+
+    public ByteBufferInputStream(ByteBuffer... buffers) {
+        this.buffers = new ByteBuffer[buffers.length];
+        for( int i=0; i<buffers.length; i++ )
+            this.buffers[i] = buffers[i].duplicate();
+    }
+
+    /**
+     * Gets the buffer to read from next, or null at the end of the stream.
+     */
+    private ByteBuffer buffer() {
+        while(current<buffers.length) {
+            ByteBuffer bb = buffers[current];
+            if(bb.hasRemaining())
+                return bb;
+            buffers[current++] = null;  // let the GC unmap it
+        }
+        return null;
+    }
+
+    @Override
+    public int read() {
+        ByteBuffer bb = buffer();
+        if(bb==null)
+            return -1;
+        return bb.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if(len==0)
+            return 0;
+        ByteBuffer bb = buffer();
+        if(bb==null)
+            return -1;
+        int n = Math.min(len, bb.remaining());
+        bb.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = 0;
+        ByteBuffer bb;
+        while(skipped<n && (bb=buffer())!=null) {
+            int s = (int)Math.min(n-skipped, bb.remaining());
+            bb.position(bb.position()+s);
+            skipped += s;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        ByteBuffer bb = buffer();
+        return bb==null ? 0 : bb.remaining();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.LocatorImpl;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One element of an {@link XMLStreamReader}, recorded so that it can be
+ * replayed as SAX events later, possibly on another thread.
+ *
+ * @see ParallelFragmentIterator
+ */
+final class FragmentBuffer {
+    private static final byte START_PREFIX = 0;
+    private static final byte END_PREFIX = 1;
+    private static final byte START_ELEMENT = 2;
+    private static final byte END_ELEMENT = 3;
+    private static final byte CHARACTERS = 4;
+
+    private byte[] ops = new byte[64];
+    private int size;
+
+    /**
+     * Arguments of {@link #ops}, in order.
+     */
+    private final List<Object> args = new ArrayList<>();
+
+    /**
+     * Where the element starts in the original document.
+     */
+    final LocatorImpl locator = new LocatorImpl();
+
+    /**
+     * Records the element the reader is positioned at, and moves the
+     * reader right after its end tag.
+     *
+     * @param inscopeNamespaces
+     *      prefix/namespace URI pairs declared by the ancestors of the element,
+     *      which are declared again on the recorded element.
+     */
+    FragmentBuffer(XMLStreamReader reader, List<String> inscopeNamespaces) throws XMLStreamException {
+        Location loc = reader.getLocation();
+        if(loc!=null) {
+            locator.setSystemId(loc.getSystemId());
+            locator.setPublicId(loc.getPublicId());
+            locator.setLineNumber(loc.getLineNumber());
+            locator.setColumnNumber(loc.getColumnNumber());
+        }
+
+        for( int i=0; i<inscopeNamespaces.size(); i+=2 )
+            add(START_PREFIX, inscopeNamespaces.get(i), inscopeNamespaces.get(i+1));
+
+        int depth = 0;
+        int event = reader.getEventType();
+        while(true) {
+            switch(event) {
+            case XMLStreamConstants.START_ELEMENT:
+                depth++;
+                startElement(reader);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                depth--;
+                add(END_ELEMENT, fixNull(reader.getNamespaceURI()), reader.getLocalName(), getQName(reader));
+                for( int i=reader.getNamespaceCount()-1; i>=0; i-- )
+                    add(END_PREFIX, fixNull(reader.getNamespacePrefix(i)));
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                int start = reader.getTextStart();
+                add(CHARACTERS, Arrays.copyOfRange(reader.getTextCharacters(), start, start+reader.getTextLength()));
+                break;
+            // otherwise simply ignore
+            }
+            if(depth==0)
+                break;
+            event = reader.next();
+        }
+        reader.next();  // move beyond the end tag
+
+        for( int i=inscopeNamespaces.size()-2; i>=0; i-=2 )
+            add(END_PREFIX, inscopeNamespaces.get(i));
+    }
+
+    private void startElement(XMLStreamReader reader) {
+        for( int i=0; i<reader.getNamespaceCount(); i++ )
+            add(START_PREFIX, fixNull(reader.getNamespacePrefix(i)), fixNull(reader.getNamespaceURI(i)));
+
+        AttributesImpl atts = new AttributesImpl();
+        for( int i=0; i<reader.getAttributeCount(); i++ ) {
+            String prefix = reader.getAttributePrefix(i);
+            String local = reader.getAttributeLocalName(i);
+            atts.addAttribute(fixNull(reader.getAttributeNamespace(i)), local,
+                    prefix==null || prefix.length()==0 ? local : prefix+':'+local,
+                    reader.getAttributeType(i), reader.getAttributeValue(i));
+        }
+        add(START_ELEMENT, fixNull(reader.getNamespaceURI()), reader.getLocalName(), getQName(reader), atts);
+    }
+
+    private void add(byte op, Object... a) {
+        if(size==ops.length)
+            ops = Arrays.copyOf(ops, size*2);
+        ops[size++] = op;
+        args.addAll(Arrays.asList(a));
+    }
+
+    /**
+     * Sends the recorded events to the given handler, as a complete document.
+     */
+    void replay(ContentHandler handler) throws SAXException {
+        handler.setDocumentLocator(locator);
+        handler.startDocument();
+        int a = 0;
+        for( int i=0; i<size; i++ ) {
+            switch(ops[i]) {
+            case START_PREFIX:
+                handler.startPrefixMapping((String)args.get(a), (String)args.get(a+1));
+                a += 2;
+                break;
+            case END_PREFIX:
+                handler.endPrefixMapping((String)args.get(a));
+                a += 1;
+                break;
+            case START_ELEMENT:
+                handler.startElement((String)args.get(a), (String)args.get(a+1), (String)args.get(a+2), (AttributesImpl)args.get(a+3));
+                a += 4;
+                break;
+            case END_ELEMENT:
+                handler.endElement((String)args.get(a), (String)args.get(a+1), (String)args.get(a+2));
+                a += 3;
+                break;
+            case CHARACTERS:
+                char[] ch = (char[])args.get(a);
+                handler.characters(ch, 0, ch.length);
+                a += 1;
+                break;
+            default:
+                throw new AssertionError();
+            }
+        }
+        handler.endDocument();
+    }
+
+    private static String getQName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        String local = reader.getLocalName();
+        return prefix==null || prefix.length()==0 ? local : prefix+':'+local;
+    }
+
+    private static String fixNull(String s) {
+        return s==null ? "" : s;
+    }
+}
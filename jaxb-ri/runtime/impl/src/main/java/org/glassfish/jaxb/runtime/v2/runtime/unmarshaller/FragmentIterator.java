@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import jakarta.xml.bind.DataBindingException;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import org.glassfish.jaxb.runtime.v2.runtime.JaxBeanInfo;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link Iterator} that unmarshals every element of a given name
+ * found in an {@link XMLStreamReader}, one at a time.
+ *
+ * <p>
+ * Everything between those elements is skipped without being unmarshalled,
+ * and each fragment is unmarshalled with the same {@link UnmarshallingContext},
+ * so memory use doesn't depend on the size of the document.
+ *
+ * <p>
+ * Errors are reported as {@link DataBindingException}s wrapping the
+ * {@link JAXBException}.
+ *
+ * @see UnmarshallerImpl#unmarshalFragments(XMLStreamReader, QName, Class)
+ */
+final class FragmentIterator<T> implements Iterator<T> {
+    private final UnmarshallerImpl unmarshaller;
+    private final XMLStreamReader reader;
+    private final String nsUri;
+    private final String localName;
+    private final JaxBeanInfo<T> beanInfo;
+
+    /**
+     * True if the reader is known to be positioned at the next fragment.
+     */
+    private boolean ready;
+
+    FragmentIterator(UnmarshallerImpl unmarshaller, XMLStreamReader reader, QName name, JaxBeanInfo<T> beanInfo) {
+        this.unmarshaller = unmarshaller;
+        this.reader = reader;
+        this.nsUri = name.getNamespaceURI();
+        this.localName = name.getLocalPart();
+        this.beanInfo = beanInfo;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(ready)
+            return true;
+        try {
+            while(true) {
+                if(reader.isStartElement()
+                && localName.equals(reader.getLocalName())
+                && nsUri.equals(fixNull(reader.getNamespaceURI())))
+                    return ready = true;
+                if(!reader.hasNext())
+                    return false;
+                reader.next();
+            }
+        } catch (XMLStreamException e) {
+            throw new DataBindingException(new JAXBException(e));
+        }
+    }
+
+    @Override
+    public T next() {
+        if(!hasNext())
+            throw new NoSuchElementException();
+        ready = false;
+        try {
+            // this leaves the reader right after the end tag
+            JAXBElement<T> e = (JAXBElement<T>)unmarshaller.unmarshal0(reader, beanInfo);
+            return e.getValue();
+        } catch (JAXBException e) {
+            throw new DataBindingException(e);
+        }
+    }
+
+    private static String fixNull(String s) {
+        return s==null ? "" : s;
+    }
+}
@@ -22,7 +22,7 @@ import javax.xml.namespace.NamespaceContext;
  * @author Kohsuke Kawaguchi
  */
 public final class InterningXmlVisitor implements XmlVisitor {
-    private final XmlVisitor next;
+    /*package*/ final XmlVisitor next;
 
     private final AttributesImpl attributes = new AttributesImpl();
 
@@ -23,10 +23,25 @@ import org.xml.sax.SAXException;
 public class LeafPropertyLoader extends Loader {
 
     private final TransducedAccessor xacc;
+    private final boolean binary;
 
     public LeafPropertyLoader(TransducedAccessor xacc) {
+        this(xacc,false);
+    }
+
+    /**
+     * @param binary
+     *      true if {@code xacc} parses {@code xs:base64Binary} and takes {@link Base64Data}.
+     */
+    public LeafPropertyLoader(TransducedAccessor xacc, boolean binary) {
         super(true);
         this.xacc = xacc;
+        this.binary = binary;
+    }
+
+    @Override
+    public boolean expectBinary() {
+        return binary;
     }
 
     @Override
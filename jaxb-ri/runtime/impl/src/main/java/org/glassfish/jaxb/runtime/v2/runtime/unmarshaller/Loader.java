@@ -70,18 +70,21 @@ public abstract class Loader {
      */
     public void childElement(UnmarshallingContext.State state, TagName ea) throws SAXException {
         // notify the error, then recover by ignoring the whole element.
-        reportUnexpectedChildElement(ea, true);
+        reportUnexpectedChildElement(state.getContext(), ea, true);
         state.setLoader(Discarder.INSTANCE);
         state.setReceiver(null);
     }
 
-    @SuppressWarnings({"StringEquality"})
     protected final void reportUnexpectedChildElement(TagName ea, boolean canRecover) throws SAXException {
+        reportUnexpectedChildElement(UnmarshallingContext.getInstance(), ea, canRecover);
+    }
+
+    @SuppressWarnings({"StringEquality"})
+    protected final void reportUnexpectedChildElement(UnmarshallingContext context, TagName ea, boolean canRecover) throws SAXException {
         if (canRecover) {
             // this error happens particurly often (when input documents contain a lot of unexpected elements to be ignored),
             // so don't bother computing all the messages and etc if we know that
             // there's no event handler to receive the error in the end. See #286
-            UnmarshallingContext context = UnmarshallingContext.getInstance();
             if (!context.parent.hasEventHandler() // is somebody listening?
                     || !context.shouldErrorBeReported()) // should we report error?
                 return;
@@ -127,6 +130,16 @@ public abstract class Loader {
         return expectText;
     }
 
+    /**
+     * True if the text this loader expects is {@code xs:base64Binary} and
+     * {@link #text(UnmarshallingContext.State, CharSequence)} takes it as {@link Base64Data}.
+     *
+     * @see XmlVisitor.TextPredictor#expectBinary()
+     */
+    public boolean expectBinary() {
+        return false;
+    }
+
 
     /**
      * Called when this loaderis an active loaderand we see an end tag.
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.glassfish.jaxb.runtime.v2.runtime.Name;
+import org.glassfish.jaxb.runtime.v2.runtime.NameList;
+
+/**
+ * Remembers the {@link Name#qNameIndex} of the names recently seen
+ * by one unmarshaller.
+ *
+ * <p>
+ * Parsers hand out the same interned strings over and over, so a small
+ * direct-mapped cache compared by identity resolves almost every name
+ * without going to the {@link NameList}.
+ * Not thread-safe; each {@link UnmarshallingContext} has its own.
+ */
+final class NameIndexCache {
+    private static final int SIZE = 256;
+
+    private final NameList nameList;
+    private final boolean attribute;
+
+    private final String[] uris = new String[SIZE];
+    private final String[] locals = new String[SIZE];
+    private final int[] indices = new int[SIZE];
+
+    NameIndexCache(NameList nameList, boolean attribute) {
+        this.nameList = nameList;
+        this.attribute = attribute;
+    }
+
+    /**
+     * @return
+     *      -1 if the name is not known to the context.
+     */
+    @SuppressWarnings({"StringEquality"})
+    int get(String uri, String local) {
+        int i = (local.hashCode()*31 + uri.hashCode()) & (SIZE-1);
+        if(locals[i]==local && uris[i]==uri)
+            return indices[i];
+
+        int index = attribute ? nameList.getAttributeNameIndex(uri,local) : nameList.getElementNameIndex(uri,local);
+        uris[i] = uri;
+        locals[i] = local;
+        indices[i] = index;
+        return index;
+    }
+}
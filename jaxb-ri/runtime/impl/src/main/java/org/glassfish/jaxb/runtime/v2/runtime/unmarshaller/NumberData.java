@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.glassfish.jaxb.runtime.NumberConverter;
+import org.glassfish.jaxb.runtime.v2.runtime.output.Pcdata;
+import org.glassfish.jaxb.runtime.v2.runtime.output.UTF8XmlOutput;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link Pcdata} that represents a single {@code long}, {@code float} or {@code double}.
+ *
+ * <p>
+ * Like {@link IntData}, this is meant to be reused. The UTF-8 output prints the
+ * value straight into its buffer; the other outputs get the ASCII text from
+ * a buffer of this object, so neither creates a {@link String}.
+ *
+ * @since 4.0.4
+ */
+public final class NumberData extends Pcdata {
+    private static final int LONG = 0;
+    private static final int FLOAT = 1;
+    private static final int DOUBLE = 2;
+
+    private int kind;
+    private long longValue;
+    private double doubleValue;
+
+    private final byte[] buf = new byte[NumberConverter.MAX_LENGTH];
+
+    /**
+     * Length of the text in {@link #buf}, or -1 if it's not been printed yet.
+     */
+    private int length;
+
+    public NumberData() {}
+
+    public void reset(long v) {
+        kind = LONG;
+        longValue = v;
+        length = -1;
+    }
+
+    public void reset(float v) {
+        kind = FLOAT;
+        doubleValue = v;
+        length = -1;
+    }
+
+    public void reset(double v) {
+        kind = DOUBLE;
+        doubleValue = v;
+        length = -1;
+    }
+
+    private int print() {
+        if(length<0) {
+            switch(kind) {
+            case LONG:
+                length = NumberConverter.printLong(longValue,buf,0);
+                break;
+            case FLOAT:
+                length = NumberConverter.printFloat((float)doubleValue,buf,0);
+                break;
+            default:
+                length = NumberConverter.printDouble(doubleValue,buf,0);
+                break;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public void writeTo(UTF8XmlOutput output) throws IOException {
+        switch(kind) {
+        case LONG:
+            output.text(longValue);
+            break;
+        case FLOAT:
+            output.text((float)doubleValue);
+            break;
+        default:
+            output.text(doubleValue);
+            break;
+        }
+    }
+
+    @Override
+    public void writeTo(char[] b, int start) {
+        int len = print();
+        for( int i=0; i<len; i++ )
+            b[start+i] = (char)buf[i];
+    }
+
+    @Override
+    public int length() {
+        return print();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if(index>=print())
+            throw new IndexOutOfBoundsException();
+        return (char)buf[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start,end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf,0,print(),StandardCharsets.ISO_8859_1);
+    }
+}
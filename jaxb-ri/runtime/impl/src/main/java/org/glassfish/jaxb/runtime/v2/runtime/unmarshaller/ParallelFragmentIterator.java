@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import jakarta.xml.bind.DataBindingException;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.JaxBeanInfo;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link Iterator} that unmarshals every element of a given name
+ * found in an {@link XMLStreamReader} on an {@link Executor}.
+ *
+ * <p>
+ * The reader is only ever touched by the thread calling this iterator.
+ * It cuts the document into {@link FragmentBuffer}s, and up to
+ * {@code window} of them are unmarshalled ahead by the executor,
+ * each with an {@link UnmarshallerImpl} borrowed from
+ * {@link JAXBContextImpl#unmarshallerPool}. Results are returned
+ * in document order.
+ *
+ * @see UnmarshallerImpl#unmarshalFragments(XMLStreamReader, QName, Class, Executor, int)
+ */
+final class ParallelFragmentIterator<T> implements Iterator<T> {
+    private final JAXBContextImpl context;
+    private final XMLStreamReader reader;
+    private final String nsUri;
+    private final String localName;
+    private final JaxBeanInfo<T> beanInfo;
+    private final Executor executor;
+    private final int window;
+
+    /**
+     * Fragments being unmarshalled, in document order.
+     */
+    private final ArrayDeque<CompletableFuture<T>> pending;
+
+    /**
+     * prefix/namespace URI pairs declared by the ancestors of the current position.
+     */
+    private final List<String> namespaces = new ArrayList<>();
+
+    /**
+     * Size of {@link #namespaces} before each open element was started.
+     */
+    private int[] scopes = new int[16];
+    private int depth;
+
+    /**
+     * True once the reader is exhausted.
+     */
+    private boolean eof;
+
+    ParallelFragmentIterator(JAXBContextImpl context, XMLStreamReader reader, QName name, JaxBeanInfo<T> beanInfo,
+                             Executor executor, int window) {
+        this.context = context;
+        this.reader = reader;
+        this.nsUri = name.getNamespaceURI();
+        this.localName = name.getLocalPart();
+        this.beanInfo = beanInfo;
+        this.executor = executor;
+        this.window = window;
+        this.pending = new ArrayDeque<>(window);
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if(!hasNext())
+            throw new NoSuchElementException();
+        CompletableFuture<T> f = pending.poll();
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            cancel();
+            Throwable cause = e.getCause();
+            if(cause instanceof DataBindingException)
+                throw (DataBindingException)cause;
+            if(cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if(cause instanceof Error)
+                throw (Error)cause;
+            throw new DataBindingException(cause);
+        }
+    }
+
+    /**
+     * Submits fragments until the window is full or the reader is exhausted.
+     */
+    private void fill() {
+        try {
+            while(!eof && pending.size()<window) {
+                FragmentBuffer fragment = nextFragment();
+                if(fragment==null) {
+                    eof = true;
+                    break;
+                }
+                pending.add(CompletableFuture.supplyAsync(() -> unmarshal(fragment), executor));
+            }
+        } catch (XMLStreamException e) {
+            cancel();
+            throw new DataBindingException(new JAXBException(e));
+        }
+    }
+
+    /**
+     * Moves the reader to the next matching element and records it,
+     * or returns null at the end of the document.
+     */
+    private FragmentBuffer nextFragment() throws XMLStreamException {
+        while(true) {
+            switch(reader.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                if(localName.equals(reader.getLocalName())
+                && nsUri.equals(fixNull(reader.getNamespaceURI())))
+                    // this leaves the reader right after the end tag
+                    return new FragmentBuffer(reader, namespaces);
+                if(depth==scopes.length)
+                    scopes = Arrays.copyOf(scopes, depth*2);
+                scopes[depth++] = namespaces.size();
+                for( int i=0; i<reader.getNamespaceCount(); i++ ) {
+                    namespaces.add(fixNull(reader.getNamespacePrefix(i)));
+                    namespaces.add(fixNull(reader.getNamespaceURI(i)));
+                }
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                // the reader may have started in the middle of a document
+                if(depth>0) {
+                    int size = scopes[--depth];
+                    namespaces.subList(size, namespaces.size()).clear();
+                }
+                break;
+            }
+            if(!reader.hasNext())
+                return null;
+            reader.next();
+        }
+    }
+
+    /**
+     * Unmarshals one fragment. Called from the executor.
+     */
+    private T unmarshal(FragmentBuffer fragment) {
+        UnmarshallerImpl u = (UnmarshallerImpl)context.unmarshallerPool.take();
+        try {
+            JAXBElement<T> e = (JAXBElement<T>)u.unmarshal0(fragment, beanInfo);
+            return e.getValue();
+        } catch (JAXBException e) {
+            throw new DataBindingException(e);
+        } finally {
+            context.unmarshallerPool.recycle(u);
+        }
+    }
+
+    /**
+     * Abandons the fragments still in flight after a failure.
+     */
+    private void cancel() {
+        for (CompletableFuture<T> f : pending)
+            f.cancel(false);
+        pending.clear();
+        eof = true;
+    }
+
+    private static String fixNull(String s) {
+        return s==null ? "" : s;
+    }
+}
@@ -11,7 +11,6 @@
 package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
 
 import org.glassfish.jaxb.core.Utils;
-import org.glassfish.jaxb.core.WhiteSpaceProcessor;
 import org.glassfish.jaxb.core.v2.runtime.unmarshaller.LocatorEx;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.UnmarshallerHandler;
@@ -37,7 +36,7 @@ public final class SAXConnector implements UnmarshallerHandler {
      * SAX may fire consecutive characters event, but we don't allow it.
      * so use this buffer to perform buffering.
      */
-    private final StringBuilder buffer = new StringBuilder();
+    private final TextBuffer buffer = new TextBuffer();
 
     private final XmlVisitor next;
     private final UnmarshallingContext context;
@@ -151,16 +150,19 @@ public final class SAXConnector implements UnmarshallerHandler {
 
 
     @Override
-    public void characters(char[] buf, int start, int len ) {
+    public void characters(char[] buf, int start, int len ) throws SAXException {
         if (logger.isLoggable(Level.FINEST)) {
             logger.log(Level.FINEST, "SAXConnector.characters: {0}", buf);
         }
-        if( predictor.expectText() )
+        if( predictor.expectText() ) {
+            if( buffer.isEmpty() && predictor.expectBinary() )
+                buffer.startBinary(context.getXMIMEContentType());
             buffer.append(buf,start,len);
+        }
     }
 
     @Override
-    public void ignorableWhitespace(char[] buf, int start, int len ) {
+    public void ignorableWhitespace(char[] buf, int start, int len ) throws SAXException {
         if (logger.isLoggable(Level.FINEST)) {
             logger.log(Level.FINEST, "SAXConnector.ignorableWhitespace: {0}", buf);
         }
@@ -178,9 +180,9 @@ public final class SAXConnector implements UnmarshallerHandler {
     }
 
     private void processText( boolean ignorable ) throws SAXException {
-        if (predictor.expectText() && (!ignorable || !WhiteSpaceProcessor.isWhiteSpace(buffer)))
-            next.text(buffer);
-        buffer.setLength(0);
+        if (predictor.expectText() && (!ignorable || !buffer.isWhiteSpace()))
+            next.text(buffer.get());
+        buffer.clear();
     }
 
 }
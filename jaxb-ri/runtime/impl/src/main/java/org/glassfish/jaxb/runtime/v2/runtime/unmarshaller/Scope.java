@@ -96,6 +96,30 @@ public final class Scope<BeanT,PropT,ItemT,PackT> {
         }
     }
 
+    /**
+     * Gets the pack of the packing in progress, starting it for the given bean if necessary,
+     * so that the caller can add items to it directly.
+     *
+     * @return null
+     *      if the packing couldn't be started.
+     */
+    public PackT getPack( BeanT bean, Accessor<BeanT,PropT> acc, Lister<BeanT,PropT,ItemT,PackT> lister) throws SAXException{
+        try {
+            if(!hasStarted()) {
+                this.bean = bean;
+                this.acc = acc;
+                this.lister = lister;
+                this.pack = lister.startPacking(bean,acc);
+            }
+        } catch (AccessorException e) {
+            Loader.handleGenericException(e,true);
+            // recover from this error by ignoring future items.
+            this.lister = Lister.getErrorInstance();
+            this.acc = Accessor.getErrorInstance();
+        }
+        return pack;
+    }
+
     /**
      * Starts the packing scope, without adding any item.
      *
@@ -10,7 +10,6 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
 
-import org.glassfish.jaxb.core.WhiteSpaceProcessor;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -105,7 +104,7 @@ class StAXStreamConnector extends StAXConnector {
      * SAX may fire consecutive characters event, but we don't allow it.
      * so use this buffer to perform buffering.
      */
-    protected final StringBuilder buffer = new StringBuilder();
+    protected final TextBuffer buffer = new TextBuffer();
 
     /**
      * Set to true if the text() event is reported, and therefore
@@ -139,6 +138,12 @@ class StAXStreamConnector extends StAXConnector {
 
             handleStartDocument(staxStreamReader.getNamespaceContext());
 
+            // the loaders may read the content of an element by themselves,
+            // unless something between them and us (a validator, say) needs its events
+            XmlVisitor next = visitor instanceof InterningXmlVisitor ? ((InterningXmlVisitor) visitor).next : visitor;
+            if(next==context && context.getJAXBContext().streamingBeans)
+                context.setStreamReader(staxStreamReader);
+
             OUTER:
             while(true) {
                 // These are all of the events listed in the javadoc for
@@ -148,6 +153,11 @@ class StAXStreamConnector extends StAXConnector {
                     case XMLStreamConstants.START_ELEMENT :
                         handleStartElement();
                         depth++;
+                        if(staxStreamReader.getEventType()==XMLStreamConstants.END_ELEMENT) {
+                            // a loader read the content of the element
+                            event = XMLStreamConstants.END_ELEMENT;
+                            continue;
+                        }
                         break;
                     case XMLStreamConstants.END_ELEMENT :
                         depth--;
@@ -170,6 +180,8 @@ class StAXStreamConnector extends StAXConnector {
             handleEndDocument();
         } catch (SAXException e) {
             throw new XMLStreamException(e);
+        } finally {
+            context.setStreamReader(null);
         }
     }
 
@@ -306,22 +318,25 @@ class StAXStreamConnector extends StAXConnector {
     };
 
     protected void handleCharacters() throws XMLStreamException, SAXException {
-        if( predictor.expectText() )
+        if( predictor.expectText() ) {
+            if( buffer.isEmpty() && predictor.expectBinary() )
+                buffer.startBinary(context.getXMIMEContentType());
             buffer.append(
                 staxStreamReader.getTextCharacters(),
                 staxStreamReader.getTextStart(),
                 staxStreamReader.getTextLength() );
+        }
     }
 
     private void processText( boolean ignorable ) throws SAXException {
-        if( predictor.expectText() && (!ignorable || !WhiteSpaceProcessor.isWhiteSpace(buffer) || context.getCurrentState().isMixed())) {
+        if( predictor.expectText() && (!ignorable || !buffer.isWhiteSpace() || context.getCurrentState().isMixed())) {
             if(textReported) {
                 textReported = false;
             } else {
-                visitor.text(buffer);
+                visitor.text(buffer.get());
             }
         }
-        buffer.setLength(0);
+        buffer.clear();
     }
 
 
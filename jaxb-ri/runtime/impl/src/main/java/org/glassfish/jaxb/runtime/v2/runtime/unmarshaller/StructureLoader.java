@@ -11,11 +11,14 @@
 package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
 
 import org.glassfish.jaxb.core.Utils;
+import org.glassfish.jaxb.runtime.StreamingBean;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.runtime.api.JAXBRIContext;
 import org.glassfish.jaxb.runtime.v2.runtime.ClassBeanInfoImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.JaxBeanInfo;
+import org.glassfish.jaxb.runtime.v2.runtime.Name;
+import org.glassfish.jaxb.runtime.v2.runtime.NameList;
 import org.glassfish.jaxb.runtime.v2.runtime.property.AttributeProperty;
 import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
 import org.glassfish.jaxb.runtime.v2.runtime.property.StructureLoaderBuilder;
@@ -28,10 +31,13 @@ import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 /**
  * Loads children of an element.
@@ -74,13 +80,38 @@ public final class StructureLoader extends Loader {
      */
     private /*final*/ Accessor<Object,Map<QName,String>> attCatchAll;
 
-    private final JaxBeanInfo beanInfo;
+    private final ClassBeanInfoImpl beanInfo;
 
     /**
      * The number of scopes this dispatcher needs to keep active.
      */
     private /*final*/ int frameSize;
 
+    /**
+     * {@link #childUnmarshallers} indexed by {@link TagName#nameIndex} minus {@link #childBase},
+     * so that the dispatch doesn't need to hash the name.
+     * Null if the table is not built (yet), in which case {@link #childUnmarshallers} is used.
+     */
+    private ChildLoader[] childTable;
+    private int childBase;
+    /**
+     * False if some of {@link #childUnmarshallers} are not in {@link #childTable},
+     * so that a miss in the table needs to be confirmed by the map.
+     */
+    private boolean childTableComplete;
+
+    /**
+     * {@link #attUnmarshallers} indexed in the same way as {@link #childTable}.
+     */
+    private TransducedAccessor[] attTable;
+    private int attBase;
+    private boolean attTableComplete;
+
+    /**
+     * Set during {@link #init} until the tables are built by {@link #wrapUp()}.
+     */
+    private JAXBContextImpl grammar;
+
     // this class is potentially useful for general audience, not just for ClassBeanInfoImpl,
     // but since right now that is the only user, we make the construction code very specific
     // to ClassBeanInfoImpl. See rev.1.5 of this file for the original general purpose definition.
@@ -97,6 +128,7 @@ public final class StructureLoader extends Loader {
      * after a  is set to {@link ClassBeanInfoImpl#loader}.
      */
     public void init( JAXBContextImpl context, ClassBeanInfoImpl beanInfo, Accessor<?,Map<QName,String>> attWildcard) {
+        this.grammar = context;
         UnmarshallerChain chain = new UnmarshallerChain(context);
         for (ClassBeanInfoImpl bi = beanInfo; bi != null; bi = bi.superClazz) {
             for (int i = bi.properties.length - 1; i >= 0; i--) {
@@ -135,8 +167,89 @@ public final class StructureLoader extends Loader {
         }
     }
 
+    /**
+     * Builds the tables indexed by {@link Name#qNameIndex}.
+     *
+     * <p>
+     * This needs to be called once the {@link JAXBContextImpl#nameList} is available,
+     * which is after all the loaders are initialized.
+     */
+    public void wrapUp() {
+        if(grammar==null)
+            return;
+        NameList nameList = grammar.nameList;
+        grammar = null;
+
+        int[] r = new int[3];
+        ChildLoader[] children = buildTable(childUnmarshallers, nameList, false, ChildLoader[]::new, r);
+        if(children!=null) {
+            childBase = r[0];
+            childTableComplete = r[1]!=0;
+            childTable = children;
+        }
+        if(attUnmarshallers!=null) {
+            TransducedAccessor[] atts = buildTable(attUnmarshallers, nameList, true, TransducedAccessor[]::new, r);
+            if(atts!=null) {
+                attBase = r[0];
+                attTableComplete = r[1]!=0;
+                attTable = atts;
+            }
+        }
+    }
+
+    /**
+     * Lays out the values of the map by the index of their names.
+     *
+     * @param r
+     *      receives the base index, and whether every name was indexed (0 or 1).
+     * @return
+     *      null if the indices are too sparse for a table.
+     */
+    private static <T> T[] buildTable(QNameMap<T> map, NameList nameList, boolean attribute, IntFunction<T[]> newArray, int[] r) {
+        int min = Integer.MAX_VALUE;
+        int max = -1;
+        int size = 0;
+        boolean complete = true;
+        for (QNameMap.Entry<T> e : map.entrySet()) {
+            if(isMagic(e))
+                continue;   // never matches a real name
+            int i = attribute ? nameList.getAttributeNameIndex(e.nsUri,e.localName) : nameList.getElementNameIndex(e.nsUri,e.localName);
+            if(i<0) {
+                complete = false;
+                continue;
+            }
+            min = Math.min(min,i);
+            max = Math.max(max,i);
+            size++;
+        }
+        if(size==0)
+            min = max = 0;
+        else if(max-min+1 > size*4+16)
+            return null;
+
+        T[] table = newArray.apply(size==0 ? 0 : max-min+1);
+        for (QNameMap.Entry<T> e : map.entrySet()) {
+            if(isMagic(e))
+                continue;
+            int i = attribute ? nameList.getAttributeNameIndex(e.nsUri,e.localName) : nameList.getElementNameIndex(e.nsUri,e.localName);
+            if(i>=0)
+                table[i-min] = e.getValue();
+        }
+        r[0] = min;
+        r[1] = complete ? 1 : 0;
+        return table;
+    }
+
+    private static boolean isMagic(QNameMap.Entry<?> e) {
+        // both TEXT_HANDLER and CATCH_ALL
+        return e.nsUri.equals(StructureLoaderBuilder.TEXT_HANDLER.getNamespaceURI());
+    }
+
     @Override
     public void startElement(UnmarshallingContext.State state, TagName ea) throws SAXException {
+        // the first element of a class may be what initializes this loader
+        beanInfo.ensureLinked();
+
         UnmarshallingContext context = state.getContext();
 
         // create the object to unmarshal
@@ -164,6 +277,17 @@ public final class StructureLoader extends Loader {
 
         context.startScope(frameSize);
 
+        XMLStreamReader in = context.getStreamReader();
+        if(in!=null && beanInfo.getStreamingNames(child,context.getJAXBContext())!=null) {
+            // the object reads its attributes and content by itself
+            try {
+                ((StreamingBean)child).readFrom(in);
+            } catch (XMLStreamException e) {
+                handleGenericException(e);
+            }
+            return;
+        }
+
         if(attUnmarshallers!=null) {
             Attributes atts = ea.atts;
             for (int i = 0; i < atts.getLength(); i ++){
@@ -174,7 +298,16 @@ public final class StructureLoader extends Loader {
                     alocal = atts.getQName(i);
                 }
                 String avalue = atts.getValue(i);                
-                TransducedAccessor xacc = attUnmarshallers.get(auri, alocal);
+                TransducedAccessor xacc;
+                TransducedAccessor[] table = attTable;
+                if(table!=null) {
+                    int idx = context.getAttributeNameIndex(auri, alocal) - attBase;
+                    xacc = idx>=0 && idx<table.length ? table[idx] : null;
+                    if(xacc==null && !attTableComplete)
+                        xacc = attUnmarshallers.get(auri, alocal);
+                } else {
+                    xacc = attUnmarshallers.get(auri, alocal);
+                }
                 try {
                     if(xacc!=null) {
                         xacc.parse(child,avalue);
@@ -215,7 +348,16 @@ public final class StructureLoader extends Loader {
 
     @Override
     public void childElement(UnmarshallingContext.State state, TagName arg) throws SAXException {
-        ChildLoader child = childUnmarshallers.get(arg.uri,arg.local);
+        ChildLoader child;
+        ChildLoader[] table = childTable;
+        if(table!=null) {
+            int idx = arg.nameIndex - childBase;
+            child = idx>=0 && idx<table.length ? table[idx] : null;
+            if(child==null && !childTableComplete)
+                child = childUnmarshallers.get(arg.uri,arg.local);
+        } else {
+            child = childUnmarshallers.get(arg.uri,arg.local);
+        }
         if(child == null) {
             Boolean backupWithParentNamespace = state.getContext().getJAXBContext().backupWithParentNamespace;
 			backupWithParentNamespace = backupWithParentNamespace != null
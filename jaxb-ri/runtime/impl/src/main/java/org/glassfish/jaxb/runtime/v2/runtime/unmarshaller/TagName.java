@@ -59,6 +59,14 @@ public abstract class TagName {
      */
     public Attributes atts;
 
+    /**
+     * {@link Name#qNameIndex} of this element name in the current
+     * {@link org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl}, or -1 if it has none.
+     *
+     * Set by {@link UnmarshallingContext} before the element is dispatched to loaders.
+     */
+    public int nameIndex = -1;
+
     public TagName() {
     }
 
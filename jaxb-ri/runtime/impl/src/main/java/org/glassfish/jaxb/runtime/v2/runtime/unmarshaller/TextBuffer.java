@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.glassfish.jaxb.core.WhiteSpaceProcessor;
+import org.xml.sax.SAXException;
+
+/**
+ * Collects the character events of a parser between two tags,
+ * so that they can be reported as one {@link XmlVisitor#text(CharSequence)}.
+ *
+ * <p>
+ * Parsers only guarantee the characters they hand out until the next event,
+ * so the text has to be copied once. When it comes in a single chunk, which is
+ * the common case for leaf values, it is copied straight into a {@link String},
+ * which loaders can then use without copying it again. Only text split into
+ * several chunks, and whitespace which is usually ignored, goes through
+ * a {@link StringBuilder} that is reused for the whole document.
+ *
+ * <p>
+ * Text that the unmarshaller takes as base64 binary (see
+ * {@link XmlVisitor.TextPredictor#expectBinary()}) is not collected at all.
+ * It is decoded as it comes in, and reported as {@link Base64Data}.
+ */
+final class TextBuffer {
+    /**
+     * Don't hold on to more than this after a large text.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64*1024;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * The text when it came in one chunk that is not all whitespace.
+     * Otherwise null, and the text is in {@link #buffer}.
+     */
+    private String chunk;
+
+    private final Base64Decoder decoder = new Base64Decoder();
+
+    /**
+     * Decodes the text from now on, instead of collecting it.
+     * Only valid when nothing has been collected yet.
+     *
+     * @param mimeType
+     *      the MIME type of the binary data, if known.
+     */
+    void startBinary(String mimeType) {
+        assert isEmpty();
+        decoder.start(mimeType);
+    }
+
+    /**
+     * True if no text has been collected or decoded since the last {@link #clear()}.
+     */
+    boolean isEmpty() {
+        return chunk==null && buffer.length()==0 && !decoder.isActive();
+    }
+
+    void append(char[] ch, int start, int len) throws SAXException {
+        if(decoder.isActive()) {
+            decoder.decode(ch,start,len);
+        } else if(chunk==null && buffer.length()==0 && !isWhiteSpace(ch,start,len)) {
+            chunk = new String(ch,start,len);
+        } else {
+            spill();
+            buffer.append(ch,start,len);
+        }
+    }
+
+    void append(CharSequence text) throws SAXException {
+        if(decoder.isActive()) {
+            decoder.decode(text);
+        } else if(chunk==null && buffer.length()==0 && text instanceof String && !WhiteSpaceProcessor.isWhiteSpace(text)) {
+            chunk = (String)text;
+        } else {
+            spill();
+            buffer.append(text);
+        }
+    }
+
+    private void spill() {
+        if(chunk!=null) {
+            buffer.append(chunk);
+            chunk = null;
+        }
+    }
+
+    /**
+     * Gets the text collected so far. Only valid until the next call to this object.
+     */
+    CharSequence get() throws SAXException {
+        if(decoder.isActive())
+            return decoder.finish();
+        return chunk!=null ? chunk : buffer;
+    }
+
+    /**
+     * True if the text collected so far is empty or all whitespace.
+     */
+    boolean isWhiteSpace() {
+        if(decoder.isActive())
+            return decoder.isEmpty();
+        return chunk==null && WhiteSpaceProcessor.isWhiteSpace(buffer);
+    }
+
+    void clear() {
+        decoder.reset();
+        chunk = null;
+        buffer.setLength(0);
+        if(buffer.capacity()>MAX_RETAINED_CAPACITY)
+            buffer.trimToSize();
+    }
+
+    private static boolean isWhiteSpace(char[] ch, int start, int len) {
+        for( int i=start+len-1; i>=start; i-- )
+            if(!WhiteSpaceProcessor.isWhiteSpace(ch[i]))
+                return false;
+        return true;
+    }
+}
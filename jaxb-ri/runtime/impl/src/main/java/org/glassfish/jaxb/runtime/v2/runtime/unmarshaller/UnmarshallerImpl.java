@@ -14,7 +14,6 @@ import org.glassfish.jaxb.runtime.IDResolver;
 import org.glassfish.jaxb.runtime.api.ClassResolver;
 import org.glassfish.jaxb.core.unmarshaller.DOMScanner;
 import org.glassfish.jaxb.core.unmarshaller.InfosetScanner;
-import org.glassfish.jaxb.core.v2.ClassFactory;
 import org.glassfish.jaxb.runtime.v2.runtime.AssociationMap;
 import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.JaxBeanInfo;
@@ -32,6 +31,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
 
+import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.stream.XMLEventReader;
@@ -47,6 +47,13 @@ import javax.xml.validation.Schema;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Default Unmarshaller implementation.
@@ -338,6 +345,7 @@ import java.io.InputStream;
             handler.getContext().clearResult();
             return retVal;
         } catch( SAXException e ) {
+            coordinator.clearStates();
             throw createUnmarshalException(e);
         }
     }
@@ -375,6 +383,7 @@ import java.io.InputStream;
         try {
             connector.bridge();
         } catch (XMLStreamException e) {
+            coordinator.clearStates();
             throw handleStreamException(e);
         }
 
@@ -383,6 +392,106 @@ import java.io.InputStream;
         return retVal;
     }
 
+    /**
+     * Lazily unmarshals every element named {@code name} in the given reader
+     * as {@code expectedType}, skipping everything else.
+     *
+     * <p>
+     * Each call to {@link Iterator#next()} unmarshals one element and leaves the
+     * reader right after its end tag. Only one element is in memory at a time,
+     * so this can process documents of any size. The reader may be positioned
+     * anywhere; it is moved forward to the next matching start tag.
+     * This unmarshaller must not be used for anything else until the
+     * iteration is over.
+     *
+     * <p>
+     * Errors are thrown as {@link jakarta.xml.bind.DataBindingException}.
+     */
+    public <T> Iterator<T> unmarshalFragments(XMLStreamReader reader, QName name, Class<T> expectedType) throws JAXBException {
+        if (reader == null) {
+            throw new IllegalArgumentException(
+                Messages.format(Messages.NULL_READER));
+        }
+        if (name == null || expectedType == null) {
+            throw new IllegalArgumentException();
+        }
+        return new FragmentIterator<>(this, reader, name, getBeanInfo(expectedType));
+    }
+
+    /**
+     * {@link Stream} version of {@link #unmarshalFragments(XMLStreamReader, QName, Class)}.
+     * The stream is sequential and ordered.
+     */
+    public <T> Stream<T> streamFragments(XMLStreamReader reader, QName name, Class<T> expectedType) throws JAXBException {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(unmarshalFragments(reader, name, expectedType),
+                        Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Unmarshals every element named {@code name} in the given reader
+     * as {@code expectedType} on the given executor, returning them in
+     * document order.
+     *
+     * <p>
+     * The reader is only read by the thread iterating. It records each matching
+     * element and hands it to the executor, keeping up to {@code window} elements
+     * in flight, so elements further down the document are unmarshalled while the
+     * caller consumes the earlier ones. The reader is left as in
+     * {@link #unmarshalFragments(XMLStreamReader, QName, Class)}.
+     *
+     * <p>
+     * Elements are unmarshalled by unmarshallers from the context's pool, not by
+     * this one, so the properties, event handler, listener, schema and adapters
+     * set on this unmarshaller are not used.
+     *
+     * <p>
+     * Errors are thrown as {@link jakarta.xml.bind.DataBindingException}.
+     *
+     * @param executor
+     *      runs the unmarshalling, for example {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     * @param window
+     *      the maximum number of elements recorded ahead of the caller. Must be positive.
+     */
+    public <T> Iterator<T> unmarshalFragments(XMLStreamReader reader, QName name, Class<T> expectedType,
+                                              Executor executor, int window) throws JAXBException {
+        if (reader == null) {
+            throw new IllegalArgumentException(
+                Messages.format(Messages.NULL_READER));
+        }
+        if (name == null || expectedType == null || executor == null || window <= 0) {
+            throw new IllegalArgumentException();
+        }
+        return new ParallelFragmentIterator<>(context, reader, name, getBeanInfo(expectedType), executor, window);
+    }
+
+    /**
+     * {@link Stream} version of {@link #unmarshalFragments(XMLStreamReader, QName, Class, Executor, int)}.
+     * The stream is sequential and ordered; the parallelism comes from the executor.
+     */
+    public <T> Stream<T> streamFragments(XMLStreamReader reader, QName name, Class<T> expectedType,
+                                         Executor executor, int window) throws JAXBException {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(unmarshalFragments(reader, name, expectedType, executor, window),
+                        Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Unmarshals an element recorded by {@link ParallelFragmentIterator}.
+     */
+    Object unmarshal0(FragmentBuffer fragment, JaxBeanInfo expectedType) throws JAXBException {
+        SAXConnector connector = getUnmarshallerHandler(true,expectedType);
+        try {
+            fragment.replay(connector);
+        } catch( SAXException e ) {
+            coordinator.clearStates();
+            throw createUnmarshalException(e);
+        }
+        return connector.getResult();
+    }
+
     @Override
     public <T> JAXBElement<T> unmarshal(XMLEventReader reader, Class<T> expectedType) throws JAXBException {
         if(expectedType==null) {
@@ -421,6 +530,7 @@ import java.io.InputStream;
             new StAXEventConnector(reader,h).bridge();
             return h.getContext().getResult();
         } catch (XMLStreamException e) {
+            coordinator.clearStates();
             throw handleStreamException(e);
         }
     }
@@ -429,6 +539,33 @@ import java.io.InputStream;
         return unmarshal0(getXMLReader(),new InputSource(input),expectedType);
     }
 
+    /**
+     * Unmarshals XML from the remaining bytes of the given {@link ByteBuffer},
+     * such as a {@link java.nio.MappedByteBuffer} of a file.
+     *
+     * <p>
+     * The parser reads straight from the buffer, without an intermediate
+     * copy of the document. The position of the buffer isn't changed.
+     *
+     * @see ByteBufferInputStream
+     */
+    public Object unmarshal( ByteBuffer buffer ) throws JAXBException {
+        return unmarshal0(new ByteBufferInputStream(buffer),null);
+    }
+
+    /**
+     * Unmarshals XML from the remaining bytes of the given {@link ByteBuffer}
+     * into the given type.
+     *
+     * @see #unmarshal(ByteBuffer)
+     */
+    public <T> JAXBElement<T> unmarshal( ByteBuffer buffer, Class<T> expectedType ) throws JAXBException {
+        if(expectedType==null) {
+            throw new IllegalArgumentException();
+        }
+        return (JAXBElement)unmarshal0(new ByteBufferInputStream(buffer),getBeanInfo(expectedType));
+    }
+
     private static JAXBException handleStreamException(XMLStreamException e) {
         // StAXStreamConnector wraps SAXException to XMLStreamException.
         // XMLStreamException doesn't print its nested stack trace when it prints
@@ -575,22 +712,11 @@ import java.io.InputStream;
         return coordinator;
     }
     
-    @Override
-    @SuppressWarnings("FinalizeDeclaration")
-    protected void finalize() throws Throwable {
-        try {
-            ClassFactory.cleanCache();
-        } finally {
-            super.finalize();
-        }
-    }
-
     /**
-     *  Must be called from same thread which created the UnmarshallerImpl instance.
+     * Nothing to release; kept for compatibility.
      */
     @Override
     public void close() throws IOException {
-        ClassFactory.cleanCache();
     }
     
 }
@@ -33,6 +33,7 @@ import org.xml.sax.helpers.LocatorImpl;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.Callable;
@@ -114,6 +115,12 @@ public final class UnmarshallingContext extends Coordinator
      */
     private final AssociationMap assoc;
 
+    /**
+     * Resolve the incoming names into the indices of the names of {@link #getJAXBContext()}.
+     */
+    private final NameIndexCache elementNames;
+    private final NameIndexCache attributeNames;
+
     /**
      * Indicates whether we are doing in-place unmarshalling
      * or not.
@@ -137,6 +144,14 @@ public final class UnmarshallingContext extends Coordinator
 
     private Object currentElement;
 
+    /**
+     * The reader that the events come from, if the loaders may read
+     * the content of an element from it by themselves.
+     *
+     * @see StructureLoader#startElement(State, TagName)
+     */
+    private XMLStreamReader streamReader;
+
     /**
      * @see XmlVisitor#startDocument(LocatorEx, NamespaceContext)
      */
@@ -383,6 +398,8 @@ public final class UnmarshallingContext extends Coordinator
         this.assoc = assoc;
         this.root = this.current = new State(null);
         errorsCounter = _parent.context.maxErrorsCount;
+        this.elementNames = new NameIndexCache(_parent.context.nameList,false);
+        this.attributeNames = new NameIndexCache(_parent.context.nameList,true);
     }
 
     public void reset(InfosetScanner scanner,boolean isInplaceMode, JaxBeanInfo expectedType, IDResolver idResolver) {
@@ -390,12 +407,25 @@ public final class UnmarshallingContext extends Coordinator
         this.isInplaceMode = isInplaceMode;
         this.expectedType = expectedType;
         this.idResolver = idResolver;
+        endEpisode();
     }
 
     public JAXBContextImpl getJAXBContext() {
         return parent.context;
     }
 
+    /**
+     * Gets the reader that the loaders may read the content of the current element from,
+     * leaving it at its end tag, or null if they have to wait for its events.
+     */
+    public XMLStreamReader getStreamReader() {
+        return streamReader;
+    }
+
+    /*package*/ void setStreamReader(XMLStreamReader streamReader) {
+        this.streamReader = streamReader;
+    }
+
     public State getCurrentState() {
         return current;
     }
@@ -430,6 +460,7 @@ public final class UnmarshallingContext extends Coordinator
     }
 
     public void clearStates() {
+        endEpisode();
         State last = current;
         while (last.next != null) last = last.next;
         while (last.prev != null) {
@@ -500,6 +531,22 @@ public final class UnmarshallingContext extends Coordinator
             root.loader = DEFAULT_ROOT_LOADER;
 
         idResolver.startDocument(this);
+        startEpisode();
+    }
+
+    /**
+     * Gets the {@link org.glassfish.jaxb.runtime.v2.runtime.Name#qNameIndex}
+     * of an attribute name in {@link #getJAXBContext()}.
+     *
+     * @param uri
+     *      interned namespace URI.
+     * @param local
+     *      interned local name.
+     * @return
+     *      -1 if the name is not known to the context.
+     */
+    public int getAttributeNameIndex(String uri, String local) {
+        return attributeNames.get(uri,local);
     }
 
     @Override
@@ -507,6 +554,9 @@ public final class UnmarshallingContext extends Coordinator
         pushCoordinator();
         try {
             _startElement(tagName);
+        } catch (SAXException | RuntimeException | Error e) {
+            endEpisode();   // the parse is aborted
+            throw e;
         } finally {
             popCoordinator();
         }
@@ -520,6 +570,9 @@ public final class UnmarshallingContext extends Coordinator
         if( assoc!=null )
             currentElement = scanner.getCurrentElement();
 
+        // resolve the name once, so that loaders can dispatch on the index
+        tagName.nameIndex = elementNames.get(tagName.uri,tagName.local);
+
         Loader h = current.loader;
         current.push();
 
@@ -541,6 +594,9 @@ public final class UnmarshallingContext extends Coordinator
                 }
             }
             current.loader.text(current, pcdata);
+        } catch (SAXException | RuntimeException | Error e) {
+            endEpisode();   // the parse is aborted
+            throw e;
         } finally {
             popCoordinator();
         }
@@ -566,6 +622,9 @@ public final class UnmarshallingContext extends Coordinator
                 target = intercepter.intercept(current,target);
             if(recv!=null)
                 recv.receive(current,target);
+        } catch (SAXException | RuntimeException | Error e) {
+            endEpisode();   // the parse is aborted
+            throw e;
         } finally {
             popCoordinator();
         }
@@ -573,8 +632,12 @@ public final class UnmarshallingContext extends Coordinator
 
     @Override
     public void endDocument() throws SAXException {
-        runPatchers();
-        idResolver.endDocument();
+        try {
+            runPatchers();
+            idResolver.endDocument();
+        } finally {
+            endEpisode();
+        }
 
         isUnmarshalInProgress = false;
         currentElement = null;
@@ -594,6 +657,15 @@ public final class UnmarshallingContext extends Coordinator
         return current.loader.expectText;
     }
 
+    /**
+     * You should be always calling this through {@link TextPredictor}.
+     */
+    @Deprecated
+    @Override
+    public boolean expectBinary() {
+        return current.loader.expectBinary();
+    }
+
     /**
      * You should be always getting {@link TextPredictor} from {@link XmlVisitor}.
      */
@@ -135,5 +135,19 @@ public interface XmlVisitor {
          * an empty {@link XmlVisitor#text} event.
          */
         boolean expectText();
+
+        /**
+         * Returns true if the text expected as the next event is {@code xs:base64Binary}
+         * that the visitor also takes as {@link Base64Data}.
+         *
+         * <p>
+         * Connectors can then decode the characters as they come in,
+         * instead of buffering all of them.
+         *
+         * @since 4.0.4
+         */
+        default boolean expectBinary() {
+            return false;
+        }
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+
+public class DateTimeConverterTest {
+
+    @Test
+    public void testDate() {
+        Assert.assertEquals(LocalDate.of(2023, 2, 28), DateTimeConverter.parseLocalDate(" 2023-02-28 "));
+        Assert.assertEquals(LocalDate.of(2023, 2, 28), DateTimeConverter.parseLocalDate("2023-02-28+05:00"));
+        Assert.assertEquals(LocalDate.of(-44, 3, 15), DateTimeConverter.parseLocalDate("-0044-03-15"));
+        Assert.assertEquals(LocalDate.of(12345, 1, 1), DateTimeConverter.parseLocalDate("12345-01-01"));
+        Assert.assertEquals("2023-02-28", DateTimeConverter.printLocalDate(LocalDate.of(2023, 2, 28)));
+        Assert.assertEquals("-0044-03-15", DateTimeConverter.printLocalDate(LocalDate.of(-44, 3, 15)));
+        Assert.assertEquals("12345-01-01", DateTimeConverter.printLocalDate(LocalDate.of(12345, 1, 1)));
+
+        for (String invalid : new String[] {"", "2023-2-28", "23-02-28", "02023-02-28", "2023-02-30", "2023-02-28T", "2023-02-28+5:00"})
+            invalid(() -> DateTimeConverter.parseLocalDate(invalid));
+    }
+
+    @Test
+    public void testTime() {
+        Assert.assertEquals(LocalTime.of(13, 20, 0), DateTimeConverter.parseLocalTime("13:20:00Z"));
+        Assert.assertEquals(LocalTime.of(13, 20, 1, 500_000_000), DateTimeConverter.parseLocalTime("13:20:01.5"));
+        Assert.assertEquals(LocalTime.of(13, 20, 1, 123456789), DateTimeConverter.parseLocalTime("13:20:01.1234567891"));
+        Assert.assertEquals(LocalTime.MIDNIGHT, DateTimeConverter.parseLocalTime("24:00:00"));
+        Assert.assertEquals(OffsetTime.of(13, 20, 0, 0, ZoneOffset.ofHours(-5)), DateTimeConverter.parseOffsetTime("13:20:00-05:00"));
+        Assert.assertEquals(OffsetTime.of(13, 20, 0, 0, ZoneOffset.UTC), DateTimeConverter.parseOffsetTime("13:20:00"));
+        Assert.assertEquals("13:20:01.005", DateTimeConverter.printLocalTime(LocalTime.of(13, 20, 1, 5_000_000)));
+        Assert.assertEquals("13:20:00+05:30", DateTimeConverter.printOffsetTime(OffsetTime.of(13, 20, 0, 0, ZoneOffset.ofHoursMinutes(5, 30))));
+
+        for (String invalid : new String[] {"13:20", "13:20:00.", "24:00:01", "13:60:00", "13:20:00+15:00"})
+            invalid(() -> DateTimeConverter.parseOffsetTime(invalid));
+    }
+
+    @Test
+    public void testDateTime() {
+        Assert.assertEquals(LocalDateTime.of(2023, 3, 1, 0, 0), DateTimeConverter.parseLocalDateTime("2023-02-28T24:00:00"));
+        Assert.assertEquals(OffsetDateTime.of(2023, 2, 28, 13, 20, 0, 0, ZoneOffset.ofHours(1)),
+                DateTimeConverter.parseOffsetDateTime("2023-02-28T13:20:00+01:00"));
+        Assert.assertEquals(Instant.parse("2023-02-28T12:20:00Z"), DateTimeConverter.parseInstant("2023-02-28T13:20:00+01:00"));
+        Assert.assertEquals(Instant.parse("2023-02-28T13:20:00Z"), DateTimeConverter.parseInstant("2023-02-28T13:20:00"));
+
+        Assert.assertEquals("2023-02-28T13:20:00.25Z",
+                DateTimeConverter.printOffsetDateTime(OffsetDateTime.of(2023, 2, 28, 13, 20, 0, 250_000_000, ZoneOffset.UTC)));
+        Assert.assertEquals("2023-02-28T13:20:00-08:00",
+                DateTimeConverter.printOffsetDateTime(OffsetDateTime.of(2023, 2, 28, 13, 20, 0, 0, ZoneOffset.ofHours(-8))));
+        Assert.assertEquals("2023-02-28T12:20:00Z", DateTimeConverter.printInstant(Instant.parse("2023-02-28T12:20:00Z")));
+        Assert.assertEquals("1969-12-31T23:59:59.999Z", DateTimeConverter.printInstant(Instant.ofEpochMilli(-1)));
+
+        for (String invalid : new String[] {"2023-02-28", "2023-02-28 13:20:00", "2023-02-28T13:20:00ZZ"})
+            invalid(() -> DateTimeConverter.parseOffsetDateTime(invalid));
+    }
+
+    @Test
+    public void testDuration() {
+        Assert.assertEquals(Duration.ofDays(1).plusHours(2).plusMinutes(3).plusMillis(4500),
+                DateTimeConverter.parseDuration("P1DT2H3M4.5S"));
+        Assert.assertEquals(Duration.ofMinutes(-90), DateTimeConverter.parseDuration("-PT90M"));
+        Assert.assertEquals(Duration.ofDays(3), DateTimeConverter.parseDuration("P0Y0M3D"));
+        Assert.assertEquals("P1DT2H3M4.5S", DateTimeConverter.printDuration(Duration.ofDays(1).plusHours(2).plusMinutes(3).plusMillis(4500)));
+        Assert.assertEquals("-PT1H30M", DateTimeConverter.printDuration(Duration.ofMinutes(-90)));
+        Assert.assertEquals("P3D", DateTimeConverter.printDuration(Duration.ofDays(3)));
+        Assert.assertEquals("PT0S", DateTimeConverter.printDuration(Duration.ZERO));
+
+        for (String invalid : new String[] {"P", "PT", "P1H", "PT1D", "P1M", "P1D1D", "PT1M1H", "P1.5D", "1D"})
+            invalid(() -> DateTimeConverter.parseDuration(invalid));
+    }
+
+    @Test
+    public void testXMLGregorianCalendar() throws Exception {
+        DatatypeFactory df = DatatypeFactory.newInstance();
+        // must give the same as the lexical parsing of JAXP
+        for (String lexical : new String[] {
+                "2023-02-28T13:20:00", "2023-02-28T13:20:00.250Z", "2023-02-28T24:00:00-05:30",
+                "-0044-03-15T12:00:00+14:00", "123456789-01-01T00:00:00.123456789012345678901",
+                "2023-02-28", "2023-02-28Z", "2023-02-28-05:00", "13:20:00", "13:20:00.5+01:00",
+                "2023-02", "2023-02-05:00", "2023", "2023-05:00", "-2023Z",
+                "--02-28", "--02-28+01:00", "--02", "--02-05:00", "---28", "---28Z"}) {
+            XMLGregorianCalendar expected = df.newXMLGregorianCalendar(lexical);
+            XMLGregorianCalendar c = DateTimeConverter.parseXMLGregorianCalendar(" " + lexical + "\n", df);
+            Assert.assertEquals(lexical, expected, c);
+            Assert.assertEquals(lexical, expected.getXMLSchemaType(), c.getXMLSchemaType());
+            Assert.assertEquals(lexical, expected.getFractionalSecond(), c.getFractionalSecond());
+            Assert.assertEquals(lexical, expected.toXMLFormat(), DateTimeConverter.printXMLGregorianCalendar(c));
+        }
+        Assert.assertEquals("--02", DateTimeConverter.printXMLGregorianCalendar(
+                DateTimeConverter.parseXMLGregorianCalendar("--02--", df)));
+
+        for (String invalid : new String[] {"", "2023-02-30", "2023-13-01", "023-01-01", "02023-01-01",
+                "2023-02-28T13:20", "2023-02-28T13:20:00.", "2023-02-28T13:20:00+15:00", "2023-02-28T13:20:00+01:60",
+                "13:20:00T", "--2-28", "----28", "2023-02-28 13:20:00"})
+            invalid(() -> DateTimeConverter.parseXMLGregorianCalendar(invalid, df));
+    }
+
+    @Test
+    public void testXMLDuration() throws Exception {
+        DatatypeFactory df = DatatypeFactory.newInstance();
+        for (String lexical : new String[] {
+                "P1Y2M3DT4H5M6.7S", "-P1Y", "P0Y0M3D", "PT1.250S", "PT0S", "-PT90M", "P1DT2H",
+                "P123456789012345678901234567890D", "PT1.1234567890123456789012345S"}) {
+            javax.xml.datatype.Duration expected = df.newDuration(lexical);
+            javax.xml.datatype.Duration d = DateTimeConverter.parseXMLDuration(lexical, df);
+            // equals() doesn't support large values
+            Assert.assertEquals(lexical, expected.getSign(), d.getSign());
+            for (DatatypeConstants.Field f : new DatatypeConstants.Field[] {DatatypeConstants.YEARS, DatatypeConstants.MONTHS,
+                    DatatypeConstants.DAYS, DatatypeConstants.HOURS, DatatypeConstants.MINUTES, DatatypeConstants.SECONDS})
+                Assert.assertEquals(lexical, expected.getField(f), d.getField(f));
+            Assert.assertEquals(lexical, expected.toString(), DateTimeConverter.printXMLDuration(d));
+            Assert.assertEquals(lexical, lexical, DateTimeConverter.printXMLDuration(d));
+        }
+
+        for (String invalid : new String[] {"P", "PT", "P1H", "PT1D", "P1D1D", "PT1M1H", "P1.5D", "1D", "P-1D"})
+            invalid(() -> DateTimeConverter.parseXMLDuration(invalid, df));
+    }
+
+    private static void invalid(Runnable r) {
+        try {
+            r.run();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // expected
+        }
+    }
+}
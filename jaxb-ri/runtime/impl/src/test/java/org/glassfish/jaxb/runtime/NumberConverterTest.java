@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+public class NumberConverterTest {
+
+    @Test
+    public void testPrintDouble() {
+        Assert.assertEquals("0.0", NumberConverter.printDouble(0.0));
+        Assert.assertEquals("-0.0", NumberConverter.printDouble(-0.0));
+        Assert.assertEquals("NaN", NumberConverter.printDouble(Double.NaN));
+        Assert.assertEquals("INF", NumberConverter.printDouble(Double.POSITIVE_INFINITY));
+        Assert.assertEquals("-INF", NumberConverter.printDouble(Double.NEGATIVE_INFINITY));
+        Assert.assertEquals("100.0", NumberConverter.printDouble(100));
+        Assert.assertEquals("1234567.0", NumberConverter.printDouble(1234567));
+        Assert.assertEquals("1.0E7", NumberConverter.printDouble(1e7));
+        Assert.assertEquals("1.2345678E7", NumberConverter.printDouble(12345678));
+        Assert.assertEquals("123.45", NumberConverter.printDouble(123.45));
+        Assert.assertEquals("-0.1", NumberConverter.printDouble(-0.1));
+        Assert.assertEquals("0.001", NumberConverter.printDouble(0.001));
+        Assert.assertEquals("1.0E-4", NumberConverter.printDouble(0.0001));
+        Assert.assertEquals("4.9E-324", NumberConverter.printDouble(Double.MIN_VALUE));
+        Assert.assertEquals("2.2250738585072014E-308", NumberConverter.printDouble(Double.MIN_NORMAL));
+        Assert.assertEquals("1.7976931348623157E308", NumberConverter.printDouble(Double.MAX_VALUE));
+        // Double.toString prints 9.999999999999999E22 and 1.9999999999999998E23 before Java 19
+        Assert.assertEquals("1.0E23", NumberConverter.printDouble(1e23));
+        Assert.assertEquals("2.0E23", NumberConverter.printDouble(2e23));
+
+        Random r = new Random(0);
+        for (int i = 0; i < 200000; i++) {
+            double v = Double.longBitsToDouble(r.nextLong());
+            if (Double.isNaN(v) || Double.isInfinite(v))
+                continue;
+            String s = NumberConverter.printDouble(v);
+            Assert.assertEquals(s, v, Double.parseDouble(s), 0);
+            // never longer than Double.toString, which isn't always the shortest before Java 19
+            Assert.assertTrue(s, s.length() <= Double.toString(v).length());
+        }
+    }
+
+    @Test
+    public void testPrintFloat() {
+        Assert.assertEquals("0.0", NumberConverter.printFloat(0f));
+        Assert.assertEquals("1.0", NumberConverter.printFloat(1f));
+        Assert.assertEquals("0.1", NumberConverter.printFloat(0.1f));
+        Assert.assertEquals("3.4028235E38", NumberConverter.printFloat(Float.MAX_VALUE));
+        Assert.assertEquals("1.4E-45", NumberConverter.printFloat(Float.MIN_VALUE));
+        Assert.assertEquals("-INF", NumberConverter.printFloat(Float.NEGATIVE_INFINITY));
+
+        Random r = new Random(0);
+        for (int i = 0; i < 200000; i++) {
+            float v = Float.intBitsToFloat(r.nextInt());
+            if (Float.isNaN(v) || Float.isInfinite(v))
+                continue;
+            String s = NumberConverter.printFloat(v);
+            Assert.assertEquals(s, v, Float.parseFloat(s), 0);
+            Assert.assertTrue(s, s.length() <= Float.toString(v).length());
+        }
+    }
+
+    @Test
+    public void testPrintLong() {
+        byte[] buf = new byte[NumberConverter.MAX_LENGTH];
+        for (long v : new long[] {0, 7, -7, 10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            int len = NumberConverter.printLong(v, buf, 0);
+            Assert.assertEquals(Long.toString(v), new String(buf, 0, len));
+        }
+    }
+
+    @Test
+    public void testParseDouble() {
+        Assert.assertEquals(123.45, NumberConverter.parseDouble(" 123.45 "), 0);
+        Assert.assertEquals(-1.5e-7, NumberConverter.parseDouble("-1.5E-7"), 0);
+        Assert.assertEquals(150, NumberConverter.parseDouble("+.15e3"), 0);
+        Assert.assertEquals(5, NumberConverter.parseDouble("5."), 0);
+        Assert.assertEquals(0x1.0p-1074, NumberConverter.parseDouble("4.9E-324"), 0);
+        Assert.assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(NumberConverter.parseDouble("-0")));
+        Assert.assertTrue(Double.isNaN(NumberConverter.parseDouble("NaN")));
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, NumberConverter.parseDouble("-INF"), 0);
+        Assert.assertEquals(0.1f, NumberConverter.parseFloat("0.1"), 0);
+        Assert.assertEquals(16777217f, NumberConverter.parseFloat("16777217"), 0);
+
+        Random r = new Random(0);
+        for (int i = 0; i < 100000; i++) {
+            String s = (r.nextInt(1000000) - 500000) + "." + r.nextInt(1000) + (i % 3 == 0 ? "E" + (r.nextInt(60) - 30) : "");
+            Assert.assertEquals(s, Double.parseDouble(s), NumberConverter.parseDouble(s), 0);
+            Assert.assertEquals(s, Float.parseFloat(s), NumberConverter.parseFloat(s), 0);
+        }
+
+        for (String invalid : new String[] {"", " ", "1.0f", "Infinity", "-Infinity", "1e", "abc", "1..0", "1e5.0"}) {
+            try {
+                NumberConverter.parseDouble(invalid);
+                Assert.fail(invalid);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testParseLong() {
+        Assert.assertEquals(Long.MAX_VALUE, NumberConverter.parseLong("+9223372036854775807"));
+        Assert.assertEquals(Long.MIN_VALUE, NumberConverter.parseLong(" -9223372036854775808\n"));
+        Assert.assertEquals(0, NumberConverter.parseLong("-0"));
+        for (String invalid : new String[] {"", "-", "+", "1-", "9223372036854775808", "-9223372036854775809", "1 2", "0x1"}) {
+            try {
+                NumberConverter.parseLong(invalid);
+                Assert.fail(invalid);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testParseDecimal() {
+        for (String s : new String[] {"1.50", "-.5", "5.", "+0.000", "123456789012345678901.5", "1e3", "-12345678.90123"}) {
+            BigDecimal d = NumberConverter.parseDecimal(" " + s + " ");
+            Assert.assertEquals(s, new BigDecimal(s), d);
+            Assert.assertEquals(s, new BigDecimal(s).scale(), d.scale());
+        }
+        Assert.assertNull(NumberConverter.parseDecimal("  "));
+        try {
+            NumberConverter.parseDecimal("1.2.3");
+            Assert.fail();
+        } catch (NumberFormatException e) {
+            // expected
+        }
+    }
+}
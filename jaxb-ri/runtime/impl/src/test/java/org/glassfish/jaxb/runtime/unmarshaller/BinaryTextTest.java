@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import com.sun.istack.ByteArrayDataSource;
+import jakarta.activation.DataHandler;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlList;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.transform.sax.SAXSource;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+public class BinaryTextTest {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Doc {
+        @XmlAttribute
+        public byte[] key;
+        public byte[] small;
+        public byte[] large;
+        public byte[] empty;
+        @XmlElement(defaultValue = "AQI=")
+        public byte[] defaulted;
+        public DataHandler attachment;
+        public List<byte[]> parts;
+        @XmlList
+        public List<byte[]> list;
+    }
+
+    @Test
+    public void testBinary() throws Exception {
+        byte[] large = new byte[300000];
+        new Random(0).nextBytes(large);
+        // line wrapped, so the text comes in several chunks
+        String wrapped = Base64.getMimeEncoder().encodeToString(large);
+        String xml = "<doc key=\"AAE=\">"
+                + "<small>aGVsbG8=</small>"
+                + "<large>\n" + wrapped + "\n</large>"
+                + "<empty/>"
+                + "<defaulted></defaulted>"
+                + "<attachment>" + wrapped + "</attachment>"
+                + "<parts>AQ==</parts><parts> Ag== </parts>"
+                + "<list>AQ== Ag==</list>"
+                + "</doc>";
+
+        Unmarshaller u = JAXBContext.newInstance(Doc.class).createUnmarshaller();
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        spf.setNamespaceAware(true);
+        Doc[] docs = {
+                (Doc) u.unmarshal(XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(xml))),
+                (Doc) u.unmarshal(new SAXSource(spf.newSAXParser().getXMLReader(), new InputSource(new StringReader(xml)))),
+        };
+        for (Doc d : docs) {
+            Assert.assertArrayEquals(new byte[] {0, 1}, d.key);
+            Assert.assertArrayEquals("hello".getBytes(), d.small);
+            Assert.assertArrayEquals(large, d.large);
+            Assert.assertArrayEquals(new byte[0], d.empty);
+            Assert.assertArrayEquals(new byte[] {1, 2}, d.defaulted);
+            // decoded as it came in, not from the buffered text
+            Assert.assertFalse(d.attachment.getDataSource() instanceof ByteArrayDataSource);
+            try (InputStream is = d.attachment.getInputStream()) {
+                Assert.assertArrayEquals(large, is.readAllBytes());
+            }
+            Assert.assertEquals(2, d.parts.size());
+            Assert.assertArrayEquals(new byte[] {1}, d.parts.get(0));
+            Assert.assertArrayEquals(new byte[] {2}, d.parts.get(1));
+            Assert.assertEquals(2, d.list.size());
+            Assert.assertArrayEquals(new byte[] {2}, d.list.get(1));
+        }
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Blob {
+        public byte[] data;
+        public DataHandler handler;
+    }
+
+    @Test
+    public void testMarshal() throws Exception {
+        Marshaller m = JAXBContext.newInstance(Blob.class).createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        Random r = new Random(0);
+        // around the size where the encoding switches to java.util.Base64
+        for (int length : new int[] {0, 1, 2, 3, 1022, 1023, 1024, 1025, 100000}) {
+            byte[] data = new byte[length];
+            r.nextBytes(data);
+            Blob b = new Blob();
+            b.data = data;
+            b.handler = new DataHandler(new ByteArrayDataSource(data, "application/octet-stream"));
+            String encoded = Base64.getEncoder().encodeToString(data);
+            String expected = "<blob><data>" + encoded + "</data><handler>" + encoded + "</handler></blob>";
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            m.marshal(b, out);
+            Assert.assertEquals(expected, out.toString(StandardCharsets.US_ASCII));
+            StringWriter w = new StringWriter();
+            m.marshal(b, w);
+            Assert.assertEquals(expected, w.toString());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.ByteBufferInputStream;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ByteBufferUnmarshalTest {
+
+    @XmlRootElement
+    public static class Doc {
+        public List<String> item = new ArrayList<>();
+    }
+
+    private static byte[] xml(int n) {
+        StringBuilder sb = new StringBuilder("<?xml version='1.0' encoding='UTF-8'?><doc>");
+        for (int i = 0; i < n; i++)
+            sb.append("<item>item ").append(i).append(" \u00e9</item>");
+        return sb.append("</doc>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testHeapBuffer() throws Exception {
+        UnmarshallerImpl u = (UnmarshallerImpl) JAXBContext.newInstance(Doc.class).createUnmarshaller();
+        ByteBuffer bb = ByteBuffer.wrap(xml(100));
+        Doc d = (Doc) u.unmarshal(bb);
+        Assert.assertEquals(100, d.item.size());
+        Assert.assertEquals("item 99 \u00e9", d.item.get(99));
+        Assert.assertEquals(0, bb.position());
+
+        JAXBElement<Doc> e = u.unmarshal(bb, Doc.class);
+        Assert.assertEquals(100, e.getValue().item.size());
+    }
+
+    @Test
+    public void testMappedFile() throws Exception {
+        Path tmp = Files.createTempFile("jaxb", ".xml");
+        try {
+            Files.write(tmp, xml(10000));
+            UnmarshallerImpl u = (UnmarshallerImpl) JAXBContext.newInstance(Doc.class).createUnmarshaller();
+            try (FileChannel fc = FileChannel.open(tmp)) {
+                MappedByteBuffer mbb = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+                Doc d = (Doc) u.unmarshal(mbb);
+                Assert.assertEquals(10000, d.item.size());
+
+                // the same file as two consecutive regions
+                long half = fc.size() / 2;
+                ByteBuffer first = fc.map(FileChannel.MapMode.READ_ONLY, 0, half);
+                ByteBuffer second = fc.map(FileChannel.MapMode.READ_ONLY, half, fc.size() - half);
+                d = (Doc) u.unmarshal(new ByteBufferInputStream(first, second));
+                Assert.assertEquals(10000, d.item.size());
+                Assert.assertEquals("item 9999 \u00e9", d.item.get(9999));
+            }
+        } finally {
+            Files.delete(tmp);
+        }
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        ByteBuffer a = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        ByteBuffer b = ByteBuffer.allocateDirect(2).put((byte) 4).put((byte) 5).flip();
+        InputStream in = new ByteBufferInputStream(a, ByteBuffer.allocate(0), b);
+        Assert.assertEquals(1, in.read());
+        byte[] buf = new byte[10];
+        Assert.assertEquals(2, in.read(buf, 0, 10));
+        Assert.assertEquals(1, in.skip(1));
+        Assert.assertEquals(5, in.read());
+        Assert.assertEquals(-1, in.read());
+        Assert.assertEquals(-1, in.read(buf, 0, 10));
+    }
+}
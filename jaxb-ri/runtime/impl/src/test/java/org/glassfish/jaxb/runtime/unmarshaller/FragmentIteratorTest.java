@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.DataBindingException;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FragmentIteratorTest {
+
+    private static final String NS = "urn:test";
+
+    @XmlType(namespace = NS)
+    public static class Item {
+        @XmlAttribute
+        public int id;
+        @XmlElement(namespace = NS)
+        public String name;
+    }
+
+    private static XMLStreamReader reader(String xml) throws Exception {
+        return XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(xml));
+    }
+
+    @Test
+    public void testIterate() throws Exception {
+        UnmarshallerImpl u = (UnmarshallerImpl) JAXBContext.newInstance(Item.class).createUnmarshaller();
+        XMLStreamReader r = reader("<feed xmlns='urn:test'><title>skipped</title>"
+                + "<item id='1'><name>a</name></item>"
+                + "<group><item id='2'><name>b</name></item><other/></group>"
+                + "<item id='3'><name>c</name></item><item id='4'/></feed>");
+
+        Iterator<Item> it = u.unmarshalFragments(r, new QName(NS, "item"), Item.class);
+        Assert.assertTrue(it.hasNext());
+        Assert.assertTrue(it.hasNext());
+        Item first = it.next();
+        Assert.assertEquals(1, first.id);
+        Assert.assertEquals("a", first.name);
+        Assert.assertEquals(2, it.next().id);
+        Assert.assertEquals(3, it.next().id);
+        Item last = it.next();
+        Assert.assertEquals(4, last.id);
+        Assert.assertNull(last.name);
+        Assert.assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        StringBuilder sb = new StringBuilder("<feed xmlns='urn:test'>");
+        for (int i = 0; i < 1000; i++)
+            sb.append("<item id='").append(i).append("'><name>n").append(i).append("</name></item>");
+        sb.append("</feed>");
+
+        UnmarshallerImpl u = (UnmarshallerImpl) JAXBContext.newInstance(Item.class).createUnmarshaller();
+        List<String> names = u.streamFragments(reader(sb.toString()), new QName(NS, "item"), Item.class)
+                .map(i -> i.name)
+                .collect(Collectors.toList());
+        Assert.assertEquals(1000, names.size());
+        Assert.assertEquals("n999", names.get(999));
+
+        // wrong namespace matches nothing
+        Assert.assertEquals(0, u.streamFragments(reader(sb.toString()), new QName("item"), Item.class).count());
+    }
+
+    @Test(expected = DataBindingException.class)
+    public void testMalformed() throws Exception {
+        UnmarshallerImpl u = (UnmarshallerImpl) JAXBContext.newInstance(Item.class).createUnmarshaller();
+        Iterator<Item> it = u.unmarshalFragments(reader("<feed xmlns='urn:test'><item id='1'></feed>"),
+                new QName(NS, "item"), Item.class);
+        it.next();
+    }
+}
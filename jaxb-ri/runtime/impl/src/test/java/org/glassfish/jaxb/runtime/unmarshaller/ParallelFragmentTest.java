@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.DataBindingException;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlSchemaType;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+public class ParallelFragmentTest {
+
+    private static final String NS = "urn:test";
+
+    public static class Item {
+        @XmlAttribute
+        public int id;
+        @XmlElement(namespace = NS)
+        public String name;
+        @XmlElement(namespace = NS)
+        @XmlSchemaType(name = "QName")
+        public QName ref;
+    }
+
+    private static String xml(int n) {
+        // the namespace of the items and of the QName values is declared on an ancestor
+        StringBuilder sb = new StringBuilder("<t:feed xmlns:t='" + NS + "' xmlns:x='urn:x'><t:head>skip</t:head><t:entries>");
+        for (int i = 0; i < n; i++)
+            sb.append("<t:item id='").append(i).append("'><t:name>item &lt;").append(i)
+                    .append("&gt;</t:name><t:ref>x:r").append(i).append("</t:ref></t:item>");
+        return sb.append("</t:entries><t:item id='-1'/></t:feed>").toString();
+    }
+
+    private static XMLStreamReader reader(String xml) throws Exception {
+        return XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(xml));
+    }
+
+    @Test
+    public void testOrder() throws Exception {
+        UnmarshallerImpl u = (UnmarshallerImpl) JAXBContext.newInstance(Item.class).createUnmarshaller();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            String xml = xml(1000);
+            List<Item> items = u.streamFragments(reader(xml), new QName(NS, "item"), Item.class, executor, 16)
+                    .collect(Collectors.toList());
+            Assert.assertEquals(1001, items.size());
+            for (int i = 0; i < 1000; i++) {
+                Item item = items.get(i);
+                Assert.assertEquals(i, item.id);
+                Assert.assertEquals("item <" + i + ">", item.name);
+                Assert.assertEquals(new QName("urn:x", "r" + i), item.ref);
+            }
+            Assert.assertEquals(-1, items.get(1000).id);
+            Assert.assertNull(items.get(1000).name);
+
+            // same as the sequential version
+            List<Item> sequential = u.streamFragments(reader(xml), new QName(NS, "item"), Item.class)
+                    .collect(Collectors.toList());
+            Assert.assertEquals(sequential.size(), items.size());
+            for (int i = 0; i < items.size(); i++) {
+                Assert.assertEquals(sequential.get(i).id, items.get(i).id);
+                Assert.assertEquals(sequential.get(i).name, items.get(i).name);
+                Assert.assertEquals(sequential.get(i).ref, items.get(i).ref);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testError() throws Exception {
+        UnmarshallerImpl u = (UnmarshallerImpl) JAXBContext.newInstance(Item.class).createUnmarshaller();
+        Iterator<Item> it = u.unmarshalFragments(reader("<feed><item id='0'/><item id='1'>"),
+                new QName("", "item"), Item.class, Runnable::run, 1);
+        Assert.assertEquals(0, it.next().id);
+        try {
+            it.hasNext();
+            Assert.fail();
+        } catch (DataBindingException e) {
+            // expected, the document is truncated
+        }
+    }
+}
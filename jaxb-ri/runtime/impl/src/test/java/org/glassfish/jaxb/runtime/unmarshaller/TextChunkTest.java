@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlMixed;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.transform.sax.SAXSource;
+import java.io.StringReader;
+import java.util.List;
+
+public class TextChunkTest {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Doc {
+        public String single;
+        public String split;
+        public String blank;
+        public int number;
+        public String large;
+        @XmlElement(name = "p")
+        public Para para;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Para {
+        @XmlMixed
+        public List<String> text;
+    }
+
+    private static String xml(String large) {
+        return "<doc>"
+                + "<single>value</single>"
+                + "<split>a &amp; b<![CDATA[ <c> ]]>&#x41;</split>"
+                + "<blank>  </blank>"
+                + "<number> 42 </number>"
+                + "<large>" + large + "</large>"
+                + "<p>one <x/> two</p>"
+                + "</doc>";
+    }
+
+    @Test
+    public void testText() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++)
+            sb.append((char) ('a' + i % 26));
+        String large = sb.toString();
+        String xml = xml(large);
+
+        Unmarshaller u = JAXBContext.newInstance(Doc.class).createUnmarshaller();
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        spf.setNamespaceAware(true);
+        Doc[] docs = {
+                (Doc) u.unmarshal(XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(xml))),
+                (Doc) u.unmarshal(new SAXSource(spf.newSAXParser().getXMLReader(), new InputSource(new StringReader(xml)))),
+        };
+        for (Doc d : docs) {
+            Assert.assertEquals("value", d.single);
+            Assert.assertEquals("a & b <c> A", d.split);
+            Assert.assertEquals("  ", d.blank);
+            Assert.assertEquals(42, d.number);
+            Assert.assertEquals(large, d.large);
+            Assert.assertEquals("one ", d.para.text.get(0));
+            Assert.assertEquals(" two", d.para.text.get(d.para.text.size() - 1));
+        }
+    }
+}
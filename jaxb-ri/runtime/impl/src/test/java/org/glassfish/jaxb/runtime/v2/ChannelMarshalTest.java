@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.MarshalException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.v2.runtime.MarshallerImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChannelMarshalTest {
+
+    @XmlRootElement
+    public static class Doc {
+        public List<String> item = new ArrayList<>();
+    }
+
+    private static Doc createDoc(int n) {
+        Doc d = new Doc();
+        for (int i = 0; i < n; i++)
+            d.item.add("item <" + i + "> \u00e9");
+        return d;
+    }
+
+    @Test
+    public void testPlainChannel() throws Exception {
+        Marshaller m = JAXBContext.newInstance(Doc.class).createMarshaller();
+        for (int n : new int[]{0, 10, 20000}) {
+            Doc d = createDoc(n);
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            m.marshal(d, expected);
+
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            ((MarshallerImpl) m).marshal(d, Channels.newChannel(actual));
+            Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        }
+    }
+
+    @Test
+    public void testGatheringChannel() throws Exception {
+        Marshaller m = JAXBContext.newInstance(Doc.class).createMarshaller();
+        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        m.setProperty(Marshaller.JAXB_ENCODING, "ISO-8859-1");
+        Doc d = createDoc(20000);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        m.marshal(d, expected);
+
+        Path tmp = Files.createTempFile("jaxb", ".xml");
+        try {
+            try (FileChannel fc = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ((MarshallerImpl) m).marshal(d, fc);
+            }
+            Assert.assertArrayEquals(expected.toByteArray(), Files.readAllBytes(tmp));
+        } finally {
+            Files.delete(tmp);
+        }
+    }
+
+    @Test
+    public void testFailingChannel() throws Exception {
+        Marshaller m = JAXBContext.newInstance(Doc.class).createMarshaller();
+        Doc d = createDoc(20000);
+        WritableByteChannel failing = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // the error of the channel comes out, every time
+        for (int i = 0; i < 2; i++) {
+            MarshalException e = Assert.assertThrows(MarshalException.class, () -> ((MarshallerImpl) m).marshal(d, failing));
+            Throwable cause = e.getCause();
+            while (cause != null && !(cause instanceof IOException))
+                cause = cause.getCause();
+            Assert.assertNotNull(e.toString(), cause);
+            Assert.assertEquals("disk full", cause.getMessage());
+        }
+
+        // and the marshaller still works afterwards
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        m.marshal(d, expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        ((MarshallerImpl) m).marshal(d, Channels.newChannel(actual));
+        Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test
+    public void testNonBlockingChannel() throws Exception {
+        Marshaller m = JAXBContext.newInstance(Doc.class).createMarshaller();
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.sink().configureBlocking(false);
+            Assert.assertThrows(IllegalArgumentException.class, () -> ((MarshallerImpl) m).marshal(createDoc(10), pipe.sink()));
+        } finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.PropertyException;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OctetBufferSizeTest {
+
+    @XmlRootElement
+    public static class Doc {
+        public List<String> item = new ArrayList<>();
+    }
+
+    private static Doc createDoc() {
+        Doc d = new Doc();
+        for (int i = 0; i < 1000; i++)
+            d.item.add("item <" + i + "> & \u00e9\u4e2d");
+        return d;
+    }
+
+    @Test
+    public void testSizes() throws Exception {
+        Doc d = createDoc();
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        Marshaller m = ctx.createMarshaller();
+        Assert.assertEquals(8192, m.getProperty(JAXBRIContext.OCTET_BUFFER_SIZE));
+
+        CountingStream expected = new CountingStream();
+        m.marshal(d, expected);
+
+        m.setProperty(JAXBRIContext.OCTET_BUFFER_SIZE, 1);
+        CountingStream small = new CountingStream();
+        m.marshal(d, small);
+        Assert.assertArrayEquals(expected.toByteArray(), small.toByteArray());
+
+        m.setProperty(JAXBRIContext.OCTET_BUFFER_SIZE, 1 << 20);
+        CountingStream large = new CountingStream();
+        m.marshal(d, large);
+        Assert.assertArrayEquals(expected.toByteArray(), large.toByteArray());
+
+        Assert.assertTrue(small.writes > expected.writes);
+        Assert.assertEquals(1, large.writes);
+
+        // the buffer is reused by the next document
+        CountingStream again = new CountingStream();
+        m.marshal(d, again);
+        Assert.assertArrayEquals(expected.toByteArray(), again.toByteArray());
+    }
+
+    @Test
+    public void testContextProperty() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(new Class[]{Doc.class},
+                Collections.singletonMap(JAXBRIContext.OCTET_BUFFER_SIZE, 256));
+        Marshaller m = ctx.createMarshaller();
+        Assert.assertEquals(256, m.getProperty(JAXBRIContext.OCTET_BUFFER_SIZE));
+
+        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        CountingStream out = new CountingStream();
+        m.marshal(createDoc(), out);
+        Assert.assertTrue(out.writes > 1);
+    }
+
+    @Test(expected = PropertyException.class)
+    public void testInvalidValue() throws Exception {
+        JAXBContext.newInstance(Doc.class).createMarshaller().setProperty(JAXBRIContext.OCTET_BUFFER_SIZE, "1024");
+    }
+
+    private static final class CountingStream extends ByteArrayOutputStream {
+        int writes;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes++;
+            super.write(b, off, len);
+        }
+    }
+}
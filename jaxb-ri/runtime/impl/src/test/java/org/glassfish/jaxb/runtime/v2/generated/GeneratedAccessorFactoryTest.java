@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.generated;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
+import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.runtime.ClassBeanInfoImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uses the {@link JAXBAccessorFactory} that {@code com.sun.tools.jxc.ap.AccessorGenerator}
+ * generated for the classes of this test.
+ *
+ * <p>
+ * The runtime looks for it in the package of each class, so the test
+ * and the generated sources are kept in a package of their own.
+ */
+public class GeneratedAccessorFactoryTest {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Ticket {
+        @XmlAttribute
+        public String id;
+        int seats;
+        private String secret;
+        public List<String> tags = new ArrayList<>();
+        public Venue venue;
+
+        @XmlTransient
+        final String createdBy = getCaller();
+
+        private static String getCaller() {
+            // skip this method and the constructor
+            return new Throwable().getStackTrace()[2].getClassName();
+        }
+    }
+
+    @XmlAccessorType(XmlAccessType.PROPERTY)
+    public static class Venue {
+        private String name;
+        private boolean open;
+        private final List<String> rooms = new ArrayList<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        public void setOpen(boolean open) {
+            this.open = open;
+        }
+
+        @XmlElement
+        public List<String> getRooms() {
+            return rooms;
+        }
+    }
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<ticket id=\"t1\"><seats>2</seats><secret>s</secret><tags>a</tags><tags>b</tags>"
+            + "<venue><name>Hall</name><open>true</open><rooms>r1</rooms></venue></ticket>";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(new Class<?>[] {Ticket.class},
+                Map.of(JAXBRIContext.GENERATED_ACCESSORS, true));
+        Ticket ticket = (Ticket) context.createUnmarshaller().unmarshal(new StringReader(XML));
+        Assert.assertEquals("s", ticket.secret);
+        Assert.assertEquals(GeneratedAccessorFactoryTest_Ticket_JAXBAccessors.class.getName(), ticket.createdBy);
+        Assert.assertEquals(XML, marshal(context, ticket));
+
+        // the private field is left to reflection
+        Assert.assertTrue(isGenerated(getAccessor(context, Ticket.class, "seats")));
+        Assert.assertTrue(isGenerated(getAccessor(context, Ticket.class, "venue")));
+        Assert.assertFalse(isGenerated(getAccessor(context, Ticket.class, "secret")));
+        Assert.assertTrue(isGenerated(getAccessor(context, Venue.class, "open")));
+        Assert.assertTrue(isGenerated(getAccessor(context, Venue.class, "name")));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Ticket.class);
+        Ticket ticket = (Ticket) context.createUnmarshaller().unmarshal(new StringReader(XML));
+        Assert.assertEquals(XML, marshal(context, ticket));
+        Assert.assertNotEquals(GeneratedAccessorFactoryTest_Ticket_JAXBAccessors.class.getName(), ticket.createdBy);
+        Assert.assertFalse(isGenerated(getAccessor(context, Ticket.class, "seats")));
+        Assert.assertFalse(isGenerated(getAccessor(context, Venue.class, "open")));
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        JAXBAccessorFactory factory = new JAXBAccessorFactory();
+        Assert.assertTrue(factory.createFieldAccessor(Ticket.class, Ticket.class.getDeclaredField("secret"), false)
+                instanceof Accessor.FieldReflection);
+        Assert.assertTrue(factory.createPropertyAccessor(Venue.class, Object.class.getMethod("toString"), null)
+                instanceof Accessor.GetterOnlyReflection);
+        Assert.assertNull(factory.getFactory(String.class));
+
+        Accessor rooms = factory.createPropertyAccessor(Venue.class, Venue.class.getMethod("getRooms"), null);
+        Assert.assertTrue(isGenerated(rooms));
+        Assert.assertEquals(List.class, rooms.valueType);
+        Assert.assertThrows(AccessorException.class, () -> rooms.set(new Venue(), new ArrayList<>()));
+
+        Accessor seats = factory.createFieldAccessor(Ticket.class, Ticket.class.getDeclaredField("seats"), false);
+        Assert.assertEquals(int.class, seats.valueType);
+        Ticket ticket = new Ticket();
+        seats.set(ticket, 3);
+        Assert.assertEquals(3, seats.get(ticket));
+        seats.set(ticket, null);
+        Assert.assertEquals(0, ticket.seats);
+    }
+
+    private static Accessor getAccessor(JAXBContext context, Class<?> c, String name) throws JAXBException {
+        ClassBeanInfoImpl<?> bi = (ClassBeanInfoImpl<?>) ((JAXBContextImpl) context).getBeanInfo(c, true);
+        for (Property<?> p : bi.properties) {
+            Accessor acc = p.getElementPropertyAccessor("", name);
+            if (acc != null)
+                return acc;
+        }
+        throw new AssertionError(name);
+    }
+
+    private static boolean isGenerated(Object accessor) {
+        Class<?> c = accessor.getClass().getEnclosingClass();
+        return c != null && c.getSimpleName().endsWith("_JAXBAccessors");
+    }
+
+    private static String marshal(JAXBContext context, Object o) throws JAXBException {
+        StringWriter w = new StringWriter();
+        context.createMarshaller().marshal(o, w);
+        return w.toString();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+// Generated by com.sun.tools.jxc.ap.AccessorGenerator. Do not edit.
+
+package org.glassfish.jaxb.runtime.v2.generated;
+
+/**
+ * Accessors of {@link org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket}.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class GeneratedAccessorFactoryTest_Ticket_JAXBAccessors {
+
+    private GeneratedAccessorFactoryTest_Ticket_JAXBAccessors() {
+    }
+
+    static Object newInstance() {
+        return new org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket();
+    }
+
+    static org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor getFieldAccessor(String field) {
+        switch (field) {
+        case "id":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(java.lang.String.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).id;
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).id = (java.lang.String) value;
+                }
+            };
+        case "seats":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(int.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).seats;
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).seats = value == null ? 0 : (java.lang.Integer) value;
+                }
+            };
+        case "tags":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(java.util.List.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).tags;
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).tags = (java.util.List) value;
+                }
+            };
+        case "venue":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).venue;
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket) bean).venue = (org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) value;
+                }
+            };
+        default:
+            return null;
+        }
+    }
+
+    static org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor getPropertyAccessor(String getter, String setter) {
+        switch (getter + "," + setter) {
+        default:
+            return null;
+        }
+    }
+}
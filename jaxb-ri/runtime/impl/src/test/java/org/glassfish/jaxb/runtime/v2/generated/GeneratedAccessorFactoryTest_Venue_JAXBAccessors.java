@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+// Generated by com.sun.tools.jxc.ap.AccessorGenerator. Do not edit.
+
+package org.glassfish.jaxb.runtime.v2.generated;
+
+/**
+ * Accessors of {@link org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue}.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class GeneratedAccessorFactoryTest_Venue_JAXBAccessors {
+
+    private GeneratedAccessorFactoryTest_Venue_JAXBAccessors() {
+    }
+
+    static Object newInstance() {
+        return new org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue();
+    }
+
+    static org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor getFieldAccessor(String field) {
+        switch (field) {
+        default:
+            return null;
+        }
+    }
+
+    static org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor getPropertyAccessor(String getter, String setter) {
+        switch (getter + "," + setter) {
+        case "getName,null":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(java.lang.String.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).getName();
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    throw org.glassfish.jaxb.runtime.GeneratedAccessorFactory.noSetter("org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.getName()");
+                }
+            };
+        case "getName,setName":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(java.lang.String.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).getName();
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).setName((java.lang.String) value);
+                }
+            };
+        case "isOpen,null":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(boolean.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).isOpen();
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    throw org.glassfish.jaxb.runtime.GeneratedAccessorFactory.noSetter("org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.isOpen()");
+                }
+            };
+        case "isOpen,setOpen":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(boolean.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).isOpen();
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).setOpen(value == null ? false : (java.lang.Boolean) value);
+                }
+            };
+        case "getRooms,null":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(java.util.List.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    return ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).getRooms();
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    throw org.glassfish.jaxb.runtime.GeneratedAccessorFactory.noSetter("org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.getRooms()");
+                }
+            };
+        case "null,setName":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(java.lang.String.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    throw org.glassfish.jaxb.runtime.GeneratedAccessorFactory.noGetter("org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.setName(java.lang.String)");
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).setName((java.lang.String) value);
+                }
+            };
+        case "null,setOpen":
+            return new org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor(boolean.class) {
+                @Override
+                public Object get(Object bean) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    throw org.glassfish.jaxb.runtime.GeneratedAccessorFactory.noGetter("org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.setOpen(boolean)");
+                }
+
+                @Override
+                public void set(Object bean, Object value) throws org.glassfish.jaxb.runtime.api.AccessorException {
+                    ((org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue) bean).setOpen(value == null ? false : (java.lang.Boolean) value);
+                }
+            };
+        default:
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+// Generated by com.sun.tools.jxc.ap.AccessorGenerator. Do not edit.
+
+package org.glassfish.jaxb.runtime.v2.generated;
+
+/**
+ * Accessors and factories of the classes of this package.
+ */
+public final class JAXBAccessorFactory extends org.glassfish.jaxb.runtime.GeneratedAccessorFactory {
+
+    public JAXBAccessorFactory() {
+    }
+
+    @Override
+    protected org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor getFieldAccessor(Class<?> bean, String field) {
+        if (bean == org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket.class)
+            return GeneratedAccessorFactoryTest_Ticket_JAXBAccessors.getFieldAccessor(field);
+        if (bean == org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.class)
+            return GeneratedAccessorFactoryTest_Venue_JAXBAccessors.getFieldAccessor(field);
+        return null;
+    }
+
+    @Override
+    protected org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor getPropertyAccessor(Class<?> bean, String getter, String setter) {
+        if (bean == org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket.class)
+            return GeneratedAccessorFactoryTest_Ticket_JAXBAccessors.getPropertyAccessor(getter, setter);
+        if (bean == org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.class)
+            return GeneratedAccessorFactoryTest_Venue_JAXBAccessors.getPropertyAccessor(getter, setter);
+        return null;
+    }
+
+    @Override
+    public java.util.function.Supplier<?> getFactory(Class<?> bean) {
+        if (bean == org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Ticket.class)
+            return GeneratedAccessorFactoryTest_Ticket_JAXBAccessors::newInstance;
+        if (bean == org.glassfish.jaxb.runtime.v2.generated.GeneratedAccessorFactoryTest.Venue.class)
+            return GeneratedAccessorFactoryTest_Venue_JAXBAccessors::newInstance;
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.model.impl;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import jakarta.xml.bind.annotation.XmlTransient;
+import org.glassfish.jaxb.runtime.v2.model.annotation.RuntimeInlineAnnotationReader;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeClassInfo;
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public class ClassScanTest {
+
+    @XmlTransient
+    public static abstract class Base {
+        public String createdBy;
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlSeeAlso(Invoice.class)
+    public static class Order extends Base {
+        @XmlAttribute
+        public String customer;
+        @XmlElementWrapper
+        public List<Item> items = new ArrayList<>();
+        public Map<String,Address> addresses = new TreeMap<>();
+        public static Cache shared;
+        public transient Cache cache;
+    }
+
+    @XmlAccessorType(XmlAccessType.PROPERTY)
+    public static class Item {
+        private String name;
+        private int quantity;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @XmlAttribute
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public void setQuantity(String quantity) {
+            this.quantity = Integer.parseInt(quantity);
+        }
+
+        public Helper toHelper() {
+            return null;
+        }
+
+        public void apply(Helper helper) {
+        }
+
+        public static Item of(String name) {
+            return null;
+        }
+    }
+
+    /**
+     * Only referred to by what can't be a property.
+     */
+    public static class Cache {
+        public String value;
+    }
+
+    public static class Helper {
+        public String value;
+    }
+
+    public static class Address {
+        public String street;
+        public String[] lines;
+    }
+
+    @XmlRootElement
+    public static class Invoice extends Order {
+        public Address billing;
+    }
+
+    @Test
+    public void testScan() throws Exception {
+        RuntimeModelBuilder builder = createBuilder();
+        builder.scan(List.of(Order.class));
+        // the super class, the classes of @XmlSeeAlso and the types of the properties
+        for (Class<?> c : new Class<?>[] {Order.class, Base.class, Invoice.class, Item.class, Address.class})
+            Assert.assertNotNull(c.getName(), builder.getScan(c));
+        // but not those of static or transient fields, nor of other methods
+        Assert.assertNull(builder.getScan(Cache.class));
+        Assert.assertNull(builder.getScan(Helper.class));
+
+        // the model is built from the fields that were scanned
+        RuntimeClassInfo ci = (RuntimeClassInfo) builder.getTypeInfo(Order.class, null);
+        Field customer = ((Accessor.FieldReflection<?,?>) ci.getProperty("customer").getAccessor()).f;
+        Assert.assertTrue(builder.getScan(Order.class).fields.stream().anyMatch(f -> f == customer));
+    }
+
+    @Test
+    public void testAccessors() throws Exception {
+        RuntimeModelBuilder builder = createBuilder();
+        builder.scan(List.of(Item.class));
+        DeclaredAccessors<?,?,?,Method> accessors = builder.getScan(Item.class).accessors;
+
+        Assert.assertEquals(Item.class.getMethod("getName"), accessors.getters.get("Name"));
+        Assert.assertEquals(Item.class.getMethod("getQuantity"), accessors.getters.get("Quantity"));
+        Assert.assertEquals(2, accessors.getters.size());
+        Assert.assertEquals(List.of(Item.class.getMethod("setName", String.class)), accessors.setters.get("Name"));
+        Assert.assertEquals(2, accessors.setters.get("Quantity").size());
+        Assert.assertEquals(List.of("apply", "of", "toHelper"),
+                accessors.others.stream().map(Method::getName).sorted().collect(Collectors.toList()));
+
+        // the setter that matches the getter is the one the model uses
+        RuntimeClassInfo ci = (RuntimeClassInfo) builder.getTypeInfo(Item.class, null);
+        Assert.assertEquals(List.of("name", "quantity"),
+                ci.getProperties().stream().map(p -> p.getName()).sorted().collect(Collectors.toList()));
+        Assert.assertEquals(int.class, ci.getProperty("quantity").getIndividualType());
+    }
+
+    private static RuntimeModelBuilder createBuilder() {
+        return new RuntimeModelBuilder(null, new RuntimeInlineAnnotationReader(), Collections.emptyMap(), null);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+public class BeanInfoLookupTest {
+
+    @Test
+    public void testLookup() throws Exception {
+        JAXBContextImpl ctx = (JAXBContextImpl) JAXBContext.newInstance(ParentDTO.class);
+        JaxBeanInfo parent = ctx.getBeanInfo(ParentDTO.class);
+        Assert.assertNotNull(parent);
+
+        // unbound subclasses resolve to the nearest bound base class, repeatedly
+        Assert.assertSame(parent, ctx.getBeanInfo(new Unbound()));
+        Assert.assertSame(parent, ctx.getBeanInfo(new Unbound()));
+
+        // negative results stay negative
+        Assert.assertNull(ctx.getBeanInfo(new StringBuilder()));
+        Assert.assertNull(ctx.getBeanInfo(new StringBuilder()));
+
+        // DOM elements are handled as xs:anyType
+        Object e = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument().createElement("e");
+        Assert.assertSame(ctx.getBeanInfo(Object.class), ctx.getBeanInfo(e));
+    }
+
+    @Test(expected = JAXBException.class)
+    public void testUnknownFatal() throws Exception {
+        JAXBContextImpl ctx = (JAXBContextImpl) JAXBContext.newInstance(ParentDTO.class);
+        ctx.getBeanInfo(new StringBuilder(), true);
+    }
+
+    private static final class Unbound extends ChildDTO {
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.SchemaOutputResolver;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyAttribute;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElementDecl;
+import jakarta.xml.bind.annotation.XmlElementRef;
+import jakarta.xml.bind.annotation.XmlRegistry;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
+import jakarta.xml.bind.annotation.XmlValue;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.Result;
+import javax.xml.transform.stream.StreamResult;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BootSnapshotTest {
+
+    private static final String NS = "urn:snapshot";
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Envelope {
+        @XmlAttribute
+        public Code code;
+        @XmlElementRef(name = "note", namespace = NS)
+        public JAXBElement<String> note;
+        public Price price;
+        public LazyInitTest.Order order;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Code {
+        @XmlValue
+        public String value;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Price {
+        @XmlValue
+        public BigDecimal amount;
+        @XmlAnyAttribute
+        public Map<QName,String> other = new HashMap<>();
+    }
+
+    @XmlRegistry
+    public static class Registry {
+        @XmlElementDecl(namespace = NS, name = "note")
+        public JAXBElement<String> createNote(String s) {
+            return new JAXBElement<>(new QName(NS, "note"), String.class, s);
+        }
+
+        @XmlElementDecl(namespace = NS, name = "shortNote", substitutionHeadNamespace = NS, substitutionHeadName = "note")
+        public JAXBElement<String> createShortNote(String s) {
+            return new JAXBElement<>(new QName(NS, "shortNote"), String.class, s);
+        }
+    }
+
+    private static final Class<?>[] ROOTS = {Envelope.class, Registry.class};
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("jaxb");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(p);
+        }
+    }
+
+    @Test
+    public void testCachedBoot() throws Exception {
+        JAXBContext eager = JAXBContext.newInstance(ROOTS);
+        String expected = marshal(eager, createEnvelope());
+
+        // the first context writes the snapshot
+        Assert.assertEquals(expected, marshal(createContext(), createEnvelope()));
+        Path file = getSnapshot();
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        // and the next one boots from it, so it doesn't write it again
+        JAXBContext context = createContext();
+        Assert.assertEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(file));
+        // only the bean infos that aren't linked yet keep the model builder
+        Assert.assertNull(((JAXBContextImpl) context).bootLinker);
+        Assert.assertEquals(expected, marshal(context, createEnvelope()));
+        Assert.assertEquals(expected, marshal(context, unmarshal(context, expected)));
+        Assert.assertNull(((ClassBeanInfoImpl<?>) ((JAXBContextImpl) context).getBeanInfo(LazyInitTest.Unused.class)).properties);
+
+        // the reference property only learns about the substitution group once it is linked
+        String xml = expected.replace("<ns2:note>", "<ns2:shortNote>").replace("</ns2:note>", "</ns2:shortNote>");
+        Assert.assertNotEquals(expected, xml);
+        Assert.assertEquals(marshal(eager, unmarshal(eager, xml)), marshal(context, unmarshal(context, xml)));
+
+        // the model for the tools is still complete
+        Assert.assertEquals(generateSchema(eager), generateSchema(context));
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws Exception {
+        createContext();
+        Path file = getSnapshot();
+        String buildId = String.valueOf(((JAXBContextImpl) createContext()).getBuildId());
+        BootSnapshot snapshot = BootSnapshot.read(file, buildId, ROOTS, "");
+        Assert.assertNotNull(snapshot);
+        Assert.assertTrue(snapshot.isCurrent(snapshot.getTypes(ROOTS), snapshot.getRegistries(ROOTS)));
+        Assert.assertFalse(snapshot.isCurrent(snapshot.getTypes(ROOTS), List.of()));
+        Assert.assertNull(BootSnapshot.read(file, buildId + "-other", ROOTS, ""));
+        Assert.assertNull(BootSnapshot.read(file, buildId, ROOTS, NS));
+        Assert.assertNull(BootSnapshot.read(file, buildId, new Class<?>[] {Envelope.class}, ""));
+
+        // a broken snapshot is replaced
+        Files.write(file, new byte[] {0, 0, 0, 1, 0});
+        Assert.assertNull(BootSnapshot.read(file, buildId, ROOTS, ""));
+        JAXBContext context = createContext();
+        Assert.assertNotNull(BootSnapshot.read(file, buildId, ROOTS, ""));
+        Assert.assertEquals(marshal(JAXBContext.newInstance(ROOTS), createEnvelope()), marshal(context, createEnvelope()));
+    }
+
+    @Test
+    public void testConcurrentFirstUse() throws Exception {
+        String expected = marshal(createContext(), createEnvelope());
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 10; round++) {
+                JAXBContext context = createContext();
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    boolean unmarshalFirst = i % 2 == 0;
+                    results.add(executor.submit((Callable<String>) () -> {
+                        barrier.await();
+                        if (unmarshalFirst)
+                            return marshal(context, unmarshal(context, expected));
+                        return marshal(context, createEnvelope());
+                    }));
+                }
+                for (Future<String> result : results)
+                    Assert.assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTransientSuperClassChanged() throws Exception {
+        Path classes = dir.resolve("classes");
+        String doc = "package snapshot;\n"
+                + "@jakarta.xml.bind.annotation.XmlRootElement\n"
+                + "public class Doc extends Base {}\n";
+        compile(classes, Map.of("Base", createBase("first"), "Doc", doc));
+
+        // the properties of the transient class are those of Doc
+        Class<?> c = loadDoc(classes);
+        Assert.assertTrue(marshal(createContext(c), c.getConstructor().newInstance()).contains("<first>x</first>"));
+        Path file = getSnapshot();
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        // Doc.class is the same as before, but the snapshot isn't
+        compile(classes, Map.of("Base", createBase("second")));
+        c = loadDoc(classes);
+        Assert.assertTrue(marshal(createContext(c), c.getConstructor().newInstance()).contains("<second>x</second>"));
+        Assert.assertNotEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(file));
+
+        // and the new one is used again
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        JAXBContext context = createContext(c);
+        Assert.assertEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(file));
+        Assert.assertTrue(marshal(context, c.getConstructor().newInstance()).contains("<second>x</second>"));
+    }
+
+    private static String createBase(String field) {
+        return "package snapshot;\n"
+                + "@jakarta.xml.bind.annotation.XmlTransient\n"
+                + "@jakarta.xml.bind.annotation.XmlAccessorType(jakarta.xml.bind.annotation.XmlAccessType.FIELD)\n"
+                + "public class Base { public String " + field + " = \"x\"; }\n";
+    }
+
+    /**
+     * Compiles classes of the {@code snapshot} package into the given directory.
+     */
+    private static void compile(Path classes, Map<String, String> sources) throws IOException {
+        Path src = Files.createDirectories(classes.resolveSibling("src").resolve("snapshot"));
+        List<String> args = new ArrayList<>(List.of("-d", classes.toString(), "-classpath",
+                Path.of(URI.create(XmlTransient.class.getProtectionDomain().getCodeSource().getLocation().toString())).toString()));
+        for (Map.Entry<String, String> e : sources.entrySet()) {
+            Path file = src.resolve(e.getKey() + ".java");
+            Files.writeString(file, e.getValue());
+            args.add(file.toString());
+        }
+        Assert.assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])));
+    }
+
+    /**
+     * Loads the {@code Doc} class from the given directory with a new class loader.
+     */
+    private Class<?> loadDoc(Path classes) throws Exception {
+        return new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader()).loadClass("snapshot.Doc");
+    }
+
+    private JAXBContext createContext(Class<?>... classes) throws JAXBException {
+        return JAXBContext.newInstance(classes, Map.of(JAXBRIContext.BOOT_SNAPSHOT_DIR, dir.toString()));
+    }
+
+    private JAXBContext createContext() throws JAXBException {
+        return createContext(ROOTS);
+    }
+
+    private Path getSnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> snapshots = files.filter(p -> p.toString().endsWith(".boot")).collect(Collectors.toList());
+            Assert.assertEquals(1, snapshots.size());
+            return snapshots.get(0);
+        }
+    }
+
+    private static Envelope createEnvelope() {
+        Envelope envelope = new Envelope();
+        envelope.code = new Code();
+        envelope.code.value = "X1";
+        envelope.note = new Registry().createNote("fragile");
+        envelope.price = new Price();
+        envelope.price.amount = new BigDecimal("12.50");
+        envelope.price.other.put(new QName("currency"), "EUR");
+        envelope.order = new LazyInitTest.Order();
+        envelope.order.customer = "ACME";
+        LazyInitTest.Special item = new LazyInitTest.Special();
+        item.id = "i1";
+        item.name = "item";
+        item.discount = 5;
+        envelope.order.items.add(item);
+        envelope.order.favorite = item;
+        envelope.order.totals.put("net", 3);
+        envelope.order.tags.add("urgent");
+        return envelope;
+    }
+
+    /**
+     * Generates the schema of each namespace, which aren't written in any particular order.
+     */
+    private static Map<String, String> generateSchema(JAXBContext context) throws IOException {
+        Map<String, StringWriter> schemas = new TreeMap<>();
+        context.generateSchema(new SchemaOutputResolver() {
+            @Override
+            public Result createOutput(String namespaceUri, String suggestedFileName) {
+                StreamResult r = new StreamResult(schemas.computeIfAbsent(namespaceUri, ns -> new StringWriter()));
+                r.setSystemId(suggestedFileName);
+                return r;
+            }
+        });
+        Map<String, String> r = new TreeMap<>();
+        schemas.forEach((ns, w) -> r.put(ns, w.toString()));
+        return r;
+    }
+
+    private static String marshal(JAXBContext context, Object o) throws JAXBException {
+        StringWriter w = new StringWriter();
+        context.createMarshaller().marshal(o, w);
+        return w.toString();
+    }
+
+    private static Object unmarshal(JAXBContext context, String xml) throws JAXBException {
+        return context.createUnmarshaller().unmarshal(new StringReader(xml));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs with the {@link ThreadLocal} by default, and again in an execution of its own
+ * with the {@code org.glassfish.jaxb.runtime.v2.runtime.Coordinator.noThreadLocal} system property.
+ */
+public class CoordinatorTest {
+
+    @XmlRootElement
+    public static class Doc {
+        @XmlJavaTypeAdapter(RecordingAdapter.class)
+        public List<String> value = new ArrayList<>();
+    }
+
+    @XmlRootElement
+    public static class Other {
+        public String name = "other";
+    }
+
+    /**
+     * Records the active {@link Coordinator} each time it's called while unmarshalling.
+     */
+    public static class RecordingAdapter extends XmlAdapter<String,String> {
+        static final List<Coordinator> seen = new ArrayList<>();
+        static final List<Integer> depths = new ArrayList<>();
+        static JAXBContext nested;
+
+        @Override
+        public String unmarshal(String v) throws Exception {
+            if (v.equals("fail"))
+                throw new IllegalStateException(v);
+            if (v.equals("nested")) {
+                // another episode on the same thread, within this one
+                StringWriter w = new StringWriter();
+                nested.createMarshaller().marshal(new Other(), w);
+            }
+            Coordinator c = Coordinator._getInstance();
+            seen.add(c);
+            depths.add(getDepth(c));
+            return v;
+        }
+
+        @Override
+        public String marshal(String v) {
+            return v;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        RecordingAdapter.seen.clear();
+        RecordingAdapter.depths.clear();
+    }
+
+    @Test
+    public void testUnmarshal() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Doc.class, Other.class);
+        RecordingAdapter.nested = context;
+        Unmarshaller u = context.createUnmarshaller();
+        String xml = "<doc><value>a</value><value>nested</value><value>b</value></doc>";
+
+        Doc doc = (Doc) u.unmarshal(new StringReader(xml));
+        Assert.assertEquals(List.of("a", "nested", "b"), doc.value);
+        assertSeen(u, 3);
+        assertReleased();
+
+        tearDown();
+        doc = (Doc) u.unmarshal(createReader(xml));
+        Assert.assertEquals(3, doc.value.size());
+        assertSeen(u, 3);
+        assertReleased();
+    }
+
+    @Test
+    public void testAbortedEpisodes() throws Exception {
+        Unmarshaller u = JAXBContext.newInstance(Doc.class).createUnmarshaller();
+
+        // an error that the event handler doesn't recover from
+        u.setEventHandler(event -> false);
+        Assert.assertThrows(JAXBException.class,
+                () -> u.unmarshal(new StringReader("<doc><value>a</value><value>fail</value></doc>")));
+        assertReleased();
+        Assert.assertThrows(JAXBException.class,
+                () -> u.unmarshal(createReader("<doc><value>fail</value></doc>")));
+        assertReleased();
+        u.setEventHandler(null);
+
+        // an exception out of the user's code
+        u.setListener(new Unmarshaller.Listener() {
+            @Override
+            public void afterUnmarshal(Object target, Object parent) {
+                if (target instanceof Doc)
+                    throw new IllegalStateException("listener");
+            }
+        });
+        Assert.assertThrows(IllegalStateException.class,
+                () -> u.unmarshal(new StringReader("<doc><value>a</value></doc>")));
+        assertReleased();
+        Assert.assertThrows(IllegalStateException.class,
+                () -> u.unmarshal(createReader("<doc><value>a</value></doc>")));
+        assertReleased();
+        u.setListener(null);
+
+        // an error of the parser between two events
+        Assert.assertThrows(JAXBException.class,
+                () -> u.unmarshal(new StringReader("<doc><value>a</value><value>b</valu></doc>")));
+        assertReleased();
+        Assert.assertThrows(JAXBException.class,
+                () -> u.unmarshal(createReader("<doc><value>a</value><value>b</valu></doc>")));
+        assertReleased();
+
+        // and the unmarshaller still works afterwards
+        tearDown();
+        Assert.assertEquals(List.of("c"), ((Doc) u.unmarshal(new StringReader("<doc><value>c</value></doc>"))).value);
+        assertSeen(u, 1);
+        assertReleased();
+    }
+
+    private static void assertSeen(Unmarshaller u, int count) throws Exception {
+        UnmarshallingContext context = getContext(u);
+        Assert.assertEquals(count, RecordingAdapter.seen.size());
+        for (Coordinator c : RecordingAdapter.seen)
+            Assert.assertSame(context, c);
+        for (int depth : RecordingAdapter.depths) {
+            // without a ThreadLocal, the document is pushed once and each event only counts
+            Assert.assertEquals(isNoThreadLocal() ? 2 : 0, depth);
+        }
+    }
+
+    private static void assertReleased() throws Exception {
+        Assert.assertNull(Coordinator._getInstance());
+        Map<?,?> map = getActiveMap();
+        if (map != null)
+            Assert.assertTrue(map.toString(), map.isEmpty());
+    }
+
+    private static UnmarshallingContext getContext(Unmarshaller u) throws Exception {
+        return (UnmarshallingContext) u.getClass().getField("coordinator").get(u);
+    }
+
+    private static boolean isNoThreadLocal() throws Exception {
+        return getActiveMap() != null;
+    }
+
+    private static Map<?,?> getActiveMap() throws Exception {
+        Field f = Coordinator.class.getDeclaredField("activeMap");
+        f.setAccessible(true);
+        return (Map<?,?>) f.get(null);
+    }
+
+    private static int getDepth(Coordinator c) throws Exception {
+        Field f = Coordinator.class.getDeclaredField("depth");
+        f.setAccessible(true);
+        return f.getInt(c);
+    }
+
+    private static XMLStreamReader createReader(String xml) throws Exception {
+        return XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+    }
+}
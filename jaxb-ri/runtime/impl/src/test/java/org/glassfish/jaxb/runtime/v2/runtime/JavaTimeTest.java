@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.SchemaOutputResolver;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlList;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+public class JavaTimeTest {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Trade {
+        @XmlAttribute
+        public LocalDate tradeDate;
+        public LocalTime cutOff;
+        public LocalDateTime booked;
+        public OffsetDateTime executed;
+        public OffsetTime window;
+        public Instant settled;
+        public Duration tenor;
+        @XmlList
+        public List<LocalDate> fixings;
+    }
+
+    private static final String XML = "<trade tradeDate=\"2023-02-28\">"
+            + "<cutOff>16:30:00</cutOff>"
+            + "<booked>2023-02-28T09:15:30.125</booked>"
+            + "<executed>2023-02-28T09:15:30+01:00</executed>"
+            + "<window>08:00:00Z</window>"
+            + "<settled>2023-03-02T00:00:00Z</settled>"
+            + "<tenor>P90D</tenor>"
+            + "<fixings>2023-03-31 2023-06-30</fixings>"
+            + "</trade>";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Trade.class);
+        Trade t = (Trade) context.createUnmarshaller().unmarshal(new StringReader(XML));
+        Assert.assertEquals(LocalDate.of(2023, 2, 28), t.tradeDate);
+        Assert.assertEquals(LocalTime.of(16, 30), t.cutOff);
+        Assert.assertEquals(LocalDateTime.of(2023, 2, 28, 9, 15, 30, 125_000_000), t.booked);
+        Assert.assertEquals(OffsetDateTime.of(2023, 2, 28, 9, 15, 30, 0, ZoneOffset.ofHours(1)), t.executed);
+        Assert.assertEquals(OffsetTime.of(8, 0, 0, 0, ZoneOffset.UTC), t.window);
+        Assert.assertEquals(Instant.parse("2023-03-02T00:00:00Z"), t.settled);
+        Assert.assertEquals(Duration.ofDays(90), t.tenor);
+        Assert.assertEquals(Arrays.asList(LocalDate.of(2023, 3, 31), LocalDate.of(2023, 6, 30)), t.fixings);
+
+        Marshaller m = context.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        // both the UTF-8 output and the others
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.marshal(t, out);
+        Assert.assertEquals(XML, out.toString(StandardCharsets.UTF_8));
+        StringWriter w = new StringWriter();
+        m.marshal(t, w);
+        Assert.assertEquals(XML, w.toString());
+    }
+
+    @Test
+    public void testSchema() throws Exception {
+        StringWriter w = new StringWriter();
+        JAXBContext.newInstance(Trade.class).generateSchema(new SchemaOutputResolver() {
+            @Override
+            public Result createOutput(String namespaceUri, String suggestedFileName) {
+                StreamResult r = new StreamResult(w);
+                r.setSystemId(suggestedFileName);
+                return r;
+            }
+        });
+        String schema = w.toString();
+        Assert.assertTrue(schema, schema.contains("name=\"tradeDate\" type=\"xs:date\""));
+        Assert.assertTrue(schema, schema.contains("name=\"cutOff\" type=\"xs:time\""));
+        Assert.assertTrue(schema, schema.contains("name=\"settled\" type=\"xs:dateTime\""));
+        Assert.assertTrue(schema, schema.contains("name=\"tenor\" type=\"xs:duration\""));
+    }
+}
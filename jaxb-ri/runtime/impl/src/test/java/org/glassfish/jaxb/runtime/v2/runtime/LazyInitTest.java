@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlID;
+import jakarta.xml.bind.annotation.XmlIDREF;
+import jakarta.xml.bind.annotation.XmlList;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LazyInitTest {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlSeeAlso({Special.class, Unused.class})
+    public static class Order {
+        @XmlAttribute
+        public String customer;
+        @XmlElementWrapper
+        public List<Item> items = new ArrayList<>();
+        @XmlIDREF
+        public Item favorite;
+        public Map<String,Integer> totals = new TreeMap<>();
+        @XmlList
+        public List<String> tags = new ArrayList<>();
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Item {
+        @XmlAttribute
+        @XmlID
+        public String id;
+        public String name;
+        public BigDecimal price;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Special extends Item {
+        public int discount;
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Unused {
+        public String never;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        String expected = marshal(JAXBContext.newInstance(Order.class), createOrder());
+
+        JAXBContext context = createLazyContext(Order.class);
+        Assert.assertEquals(expected, marshal(context, createOrder()));
+        Assert.assertEquals(expected, marshal(context, unmarshal(context, expected)));
+
+        // only the classes in use have been initialized
+        JAXBContextImpl impl = (JAXBContextImpl) context;
+        Assert.assertNotNull(((ClassBeanInfoImpl<?>) impl.getBeanInfo(Special.class)).properties);
+        Assert.assertNull(((ClassBeanInfoImpl<?>) impl.getBeanInfo(Unused.class)).properties);
+
+        Unused unused = new Unused();
+        unused.never = "now";
+        String xml = marshal(context, unused);
+        Assert.assertTrue(xml, xml.contains("<never>now</never>"));
+        Assert.assertEquals("now", ((Unused) unmarshal(context, xml)).never);
+    }
+
+    @Test
+    public void testOverride() throws Exception {
+        JAXBContext context = createLazyContext(ChildDTO.class);
+        ParentDTO parent = new ParentDTO();
+        parent.setName("aaa");
+        Assert.assertTrue(marshal(context, parent).contains("<parentName>aaa</parentName>"));
+
+        // the parent is already in use, but still has to hide the property that the child overrides
+        ChildDTO child = new ChildDTO();
+        child.setName("aaa");
+        String xml = marshal(context, child);
+        Assert.assertTrue(xml, xml.contains("<childName>aaa</childName>"));
+        Assert.assertFalse(xml, xml.contains("parentName"));
+    }
+
+    @Test
+    public void testConcurrentFirstUse() throws Exception {
+        String expected = marshal(JAXBContext.newInstance(Order.class), createOrder());
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 20; round++) {
+                JAXBContext context = createLazyContext(Order.class);
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    boolean unmarshalFirst = i % 2 == 0;
+                    results.add(executor.submit((Callable<String>) () -> {
+                        barrier.await();
+                        if (unmarshalFirst)
+                            return marshal(context, unmarshal(context, expected));
+                        return marshal(context, createOrder());
+                    }));
+                }
+                for (Future<String> result : results)
+                    Assert.assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentOverride() throws Exception {
+        // the bean info of the child links that of the parent and hides its property,
+        // while other threads start with the parent itself
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 50; round++) {
+                JAXBContext context = createLazyContext(ChildDTO.class);
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    ParentDTO dto = i % 2 == 0 ? new ParentDTO() : new ChildDTO();
+                    dto.setName("aaa");
+                    results.add(executor.submit((Callable<String>) () -> {
+                        barrier.await();
+                        return marshal(context, dto);
+                    }));
+                }
+                for (int i = 0; i < threads; i++) {
+                    String xml = results.get(i).get();
+                    if (i % 2 == 0) {
+                        Assert.assertTrue(xml, xml.contains("<parentName>aaa</parentName>"));
+                    } else {
+                        Assert.assertTrue(xml, xml.contains("<childName>aaa</childName>"));
+                        Assert.assertFalse(xml, xml.contains("parentName"));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static JAXBContext createLazyContext(Class<?> c) throws JAXBException {
+        return JAXBContext.newInstance(new Class<?>[] {c}, Map.of(JAXBRIContext.LAZY_INIT, true));
+    }
+
+    private static Order createOrder() {
+        Order order = new Order();
+        order.customer = "ACME";
+        for (int i = 0; i < 3; i++) {
+            Item item = i == 2 ? new Special() : new Item();
+            item.id = "i" + i;
+            item.name = "item " + i;
+            item.price = new BigDecimal("1.5").multiply(BigDecimal.valueOf(i));
+            order.items.add(item);
+        }
+        ((Special) order.items.get(2)).discount = 10;
+        order.favorite = order.items.get(1);
+        order.totals.put("net", 3);
+        order.totals.put("gross", 4);
+        order.tags.add("urgent");
+        order.tags.add("export");
+        return order;
+    }
+
+    private static String marshal(JAXBContext context, Object o) throws JAXBException {
+        StringWriter w = new StringWriter();
+        context.createMarshaller().marshal(o, w);
+        return w.toString();
+    }
+
+    private static Object unmarshal(JAXBContext context, String xml) throws JAXBException {
+        return context.createUnmarshaller().unmarshal(new StringReader(xml));
+    }
+}
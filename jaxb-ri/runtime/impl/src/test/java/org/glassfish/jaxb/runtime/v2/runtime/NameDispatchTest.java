@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyAttribute;
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import javax.xml.namespace.QName;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class NameDispatchTest {
+
+    private static final String NS = "urn:test";
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Root {
+        @XmlAttribute
+        public String a;
+        @XmlAttribute(namespace = NS)
+        public String b;
+        public String x;
+        @XmlElement(namespace = NS)
+        public String y;
+        public Inner inner;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Inner {
+        @XmlAttribute
+        public String a;
+        public String x;
+        @XmlAnyAttribute
+        public Map<QName,String> others;
+        @XmlAnyElement
+        public List<Element> any;
+    }
+
+    @XmlRootElement
+    public static class Other {
+        @XmlElement(name = "q")
+        public String z;
+    }
+
+    private static final String XML =
+            "<root a='1' t:b='2' c='unknown' xmlns:t='" + NS + "'>"
+            + "<x>x</x><t:y>y</t:y><y>wrong namespace</y><unknown/>"
+            + "<inner a='3' t:b='4' z='5'><x>inner</x><t:x>any</t:x><q/></inner>"
+            + "</root>";
+
+    @Test
+    public void testDispatch() throws Exception {
+        // the same names have different indices in these contexts
+        check(JAXBContext.newInstance(Root.class));
+        check(JAXBContext.newInstance(Other.class, Root.class));
+    }
+
+    private void check(JAXBContext context) throws Exception {
+        Unmarshaller u = context.createUnmarshaller();
+        List<String> events = new ArrayList<>();
+        u.setEventHandler(e -> events.add(e.getMessage()));
+
+        // twice, so that the names are resolved from the cache the second time
+        for (int i = 0; i < 2; i++) {
+            events.clear();
+            Root r = (Root) u.unmarshal(new StringReader(XML));
+            Assert.assertEquals("1", r.a);
+            Assert.assertEquals("2", r.b);
+            Assert.assertEquals("x", r.x);
+            Assert.assertEquals("y", r.y);
+
+            Inner inner = r.inner;
+            Assert.assertEquals("3", inner.a);
+            Assert.assertEquals("inner", inner.x);
+            Assert.assertEquals(2, inner.others.size());
+            Assert.assertEquals("4", inner.others.get(new QName(NS, "b")));
+            Assert.assertEquals("5", inner.others.get(new QName("z")));
+            Assert.assertEquals(2, inner.any.size());
+            Assert.assertEquals(NS, inner.any.get(0).getNamespaceURI());
+            Assert.assertEquals("q", inner.any.get(1).getLocalName());
+
+            // <y> and <unknown/> are unexpected
+            Assert.assertEquals(events.toString(), 2, events.size());
+        }
+    }
+}
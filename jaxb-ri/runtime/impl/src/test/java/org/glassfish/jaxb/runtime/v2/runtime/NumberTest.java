@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+public class NumberTest {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Quote {
+        @XmlAttribute
+        public double bid;
+        public double price;
+        public float ratio;
+        public long volume;
+        public Double change;
+        public Float weight;
+        public Long id;
+        public BigDecimal notional;
+        public long[] lots;
+        public double[] fixings;
+
+        private double yield;
+
+        public double getYield() {
+            return yield;
+        }
+
+        public void setYield(double yield) {
+            this.yield = yield;
+        }
+    }
+
+    @XmlRootElement
+    public static class Reading {
+        private double value;
+        private float scale;
+        private long time;
+
+        public double getValue() {
+            return value;
+        }
+
+        public void setValue(double value) {
+            this.value = value;
+        }
+
+        public float getScale() {
+            return scale;
+        }
+
+        public void setScale(float scale) {
+            this.scale = scale;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public void setTime(long time) {
+            this.time = time;
+        }
+    }
+
+    private static final String QUOTE = "<quote bid=\"99.5\">"
+            + "<price>1.0E23</price>"
+            + "<ratio>0.1</ratio>"
+            + "<volume>-9223372036854775808</volume>"
+            + "<change>-INF</change>"
+            + "<weight>NaN</weight>"
+            + "<id>42</id>"
+            + "<notional>1000000.50</notional>"
+            + "<lots>1</lots><lots>-2</lots>"
+            + "<fixings>0.001</fixings><fixings>2.0E23</fixings>"
+            + "</quote>";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Quote.class, Reading.class);
+        Quote q = (Quote) context.createUnmarshaller().unmarshal(new StringReader(QUOTE));
+        Assert.assertEquals(99.5, q.bid, 0);
+        Assert.assertEquals(1e23, q.price, 0);
+        Assert.assertEquals(0.1f, q.ratio, 0);
+        Assert.assertEquals(Long.MIN_VALUE, q.volume);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, q.change, 0);
+        Assert.assertTrue(q.weight.isNaN());
+        Assert.assertEquals(Long.valueOf(42), q.id);
+        Assert.assertEquals(new BigDecimal("1000000.50"), q.notional);
+        Assert.assertArrayEquals(new long[] {1, -2}, q.lots);
+        Assert.assertArrayEquals(new double[] {0.001, 2e23}, q.fixings, 0);
+
+        Marshaller m = context.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        String expected = QUOTE.replace("</quote>", "<yield>0.0</yield></quote>");
+        Assert.assertEquals(expected, marshal(m, q));
+
+        Reading r = new Reading();
+        r.setValue(-1.25e-5);
+        r.setScale(3.4028235E38f);
+        r.setTime(1234567890123L);
+        Assert.assertEquals("<reading><scale>3.4028235E38</scale><time>1234567890123</time><value>-1.25E-5</value></reading>",
+                marshal(m, r));
+    }
+
+    /**
+     * Marshals to the UTF-8 output and to a {@link java.io.Writer}, which must agree.
+     */
+    private static String marshal(Marshaller m, Object o) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.marshal(o, out);
+        StringWriter w = new StringWriter();
+        m.marshal(o, w);
+        Assert.assertEquals(w.toString(), out.toString(StandardCharsets.UTF_8));
+        return w.toString();
+    }
+}
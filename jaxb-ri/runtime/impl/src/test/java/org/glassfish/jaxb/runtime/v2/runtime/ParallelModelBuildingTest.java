@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.SchemaOutputResolver;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import jakarta.xml.bind.annotation.XmlTransient;
+import jakarta.xml.bind.annotation.XmlValue;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeClassInfo;
+import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimePropertyInfo;
+import org.glassfish.jaxb.runtime.v2.schemagen.xmlschema.JaxbEnvironmentModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ParallelModelBuildingTest {
+
+    @XmlTransient
+    public static abstract class Base {
+        public String createdBy;
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlSeeAlso(Invoice.class)
+    public static class Order extends Base {
+        @XmlAttribute
+        public String customer;
+        @XmlElementWrapper
+        public List<Item> items = new ArrayList<>();
+        public Map<String,Address> addresses = new TreeMap<>();
+        public static Cache shared;
+        public transient Cache cache;
+    }
+
+    @XmlAccessorType(XmlAccessType.PROPERTY)
+    public static class Item {
+        private String name;
+        private int quantity;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @XmlAttribute
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public Helper toHelper() {
+            return null;
+        }
+
+        public void apply(Helper helper) {
+        }
+    }
+
+    /**
+     * Only referred to by what can't be a property.
+     */
+    public static class Cache {
+        public String value;
+    }
+
+    public static class Helper {
+        public String value;
+    }
+
+    public static class Address {
+        public String street;
+        public String[] lines;
+    }
+
+    @XmlRootElement
+    public static class Invoice extends Order {
+        public Address billing;
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Broken {
+        @XmlValue
+        public String value;
+        @XmlElement
+        public String element;
+    }
+
+    @Test
+    public void testSameModel() throws Exception {
+        assertSameModel(Order.class);
+        assertSameModel(JaxbEnvironmentModel.class);
+    }
+
+    @Test
+    public void testSameErrors() throws Exception {
+        Assert.assertEquals(getErrors(false, Broken.class, Order.class), getErrors(true, Broken.class, Order.class));
+    }
+
+    private static void assertSameModel(Class<?>... classes) throws Exception {
+        JAXBContextImpl serial = (JAXBContextImpl) createContext(false, classes);
+        JAXBContextImpl parallel = (JAXBContextImpl) createContext(true, classes);
+        Assert.assertEquals(describe(serial), describe(parallel));
+        Assert.assertEquals(generateSchema(serial), generateSchema(parallel));
+    }
+
+    private static JAXBContext createContext(boolean parallel, Class<?>... classes) throws JAXBException {
+        return JAXBContext.newInstance(classes, Map.of(JAXBRIContext.PARALLEL_MODEL_BUILDING, parallel));
+    }
+
+    /**
+     * Lists the classes and their properties in the order of the model.
+     */
+    private static String describe(JAXBContextImpl context) throws JAXBException {
+        StringBuilder b = new StringBuilder();
+        for (RuntimeClassInfo ci : context.getTypeInfoSet().beans().values()) {
+            b.append(ci.getClazz().getName()).append(':');
+            for (RuntimePropertyInfo p : ci.getProperties())
+                b.append(' ').append(p.getName()).append('/').append(p.kind());
+            b.append('\n');
+        }
+        return b.toString();
+    }
+
+    private static String getErrors(boolean parallel, Class<?>... classes) {
+        JAXBException e = Assert.assertThrows(JAXBException.class, () -> createContext(parallel, classes));
+        Assert.assertTrue(e instanceof IllegalAnnotationsException);
+        return e.toString();
+    }
+
+    private static String generateSchema(JAXBContext context) throws Exception {
+        Map<String,StringWriter> schemas = new TreeMap<>();
+        context.generateSchema(new SchemaOutputResolver() {
+            @Override
+            public Result createOutput(String namespaceUri, String suggestedFileName) {
+                StringWriter w = new StringWriter();
+                schemas.put(suggestedFileName, w);
+                StreamResult r = new StreamResult(w);
+                r.setSystemId(suggestedFileName);
+                return r;
+            }
+        });
+        return schemas.toString();
+    }
+}
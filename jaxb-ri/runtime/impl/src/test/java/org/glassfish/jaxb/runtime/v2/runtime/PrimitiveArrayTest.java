@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.ValidationEvent;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
+import jakarta.xml.bind.annotation.XmlList;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PrimitiveArrayTest {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Payload {
+        @XmlList
+        public int[] ints;
+        @XmlList
+        public long[] longs;
+        @XmlList
+        public double[] doubles;
+
+        public int[] i;
+        @XmlElementWrapper
+        public long[] l;
+        public double[] d;
+        public boolean[] b;
+    }
+
+    private static final String XML =
+            "<payload>"
+            + "<ints>1 -2 2147483647</ints>"
+            + "<longs>9223372036854775807 0</longs>"
+            + "<doubles>1.5 NaN INF -0.0</doubles>"
+            + "<i>3</i><i>-4</i>"
+            + "<l><l>5</l><l>-6</l></l>"
+            + "<d>7.25</d><d>-INF</d>"
+            + "<b>true</b><b>false</b>"
+            + "</payload>";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Payload.class);
+        Payload p = (Payload) ctx.createUnmarshaller().unmarshal(new StringReader(XML));
+        Assert.assertArrayEquals(new int[]{1, -2, Integer.MAX_VALUE}, p.ints);
+        Assert.assertArrayEquals(new long[]{Long.MAX_VALUE, 0}, p.longs);
+        Assert.assertArrayEquals(new double[]{1.5, Double.NaN, Double.POSITIVE_INFINITY, -0.0}, p.doubles, 0);
+        Assert.assertArrayEquals(new int[]{3, -4}, p.i);
+        Assert.assertArrayEquals(new long[]{5, -6}, p.l);
+        Assert.assertArrayEquals(new double[]{7.25, Double.NEGATIVE_INFINITY}, p.d, 0);
+        Assert.assertArrayEquals(new boolean[]{true, false}, p.b);
+
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        StringWriter sw = new StringWriter();
+        m.marshal(p, sw);
+        Assert.assertEquals(XML, sw.toString());
+    }
+
+    @Test
+    public void testLarge() throws Exception {
+        Payload p = new Payload();
+        p.ints = new int[100000];
+        p.d = new double[100000];
+        for (int n = 0; n < p.ints.length; n++) {
+            p.ints[n] = n * 31;
+            p.d[n] = n / 8.0;
+        }
+        JAXBContext ctx = JAXBContext.newInstance(Payload.class);
+        StringWriter sw = new StringWriter();
+        ctx.createMarshaller().marshal(p, sw);
+        Payload q = (Payload) ctx.createUnmarshaller().unmarshal(new StringReader(sw.toString()));
+        Assert.assertArrayEquals(p.ints, q.ints);
+        Assert.assertArrayEquals(p.d, q.d, 0);
+    }
+
+    @Test
+    public void testInvalidItem() throws Exception {
+        Unmarshaller u = JAXBContext.newInstance(Payload.class).createUnmarshaller();
+        List<ValidationEvent> events = new ArrayList<>();
+        u.setEventHandler(e -> events.add(e));
+        Payload p = (Payload) u.unmarshal(new StringReader("<payload><i>1</i><i>x</i><i>2</i></payload>"));
+        Assert.assertArrayEquals(new int[]{1, 2}, p.i);
+        Assert.assertEquals(1, events.size());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.output;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class UTF8XmlOutputTest {
+
+    private static final String SAMPLE = "plain ascii text, <tag> & \"quoted\"\t\r\n"
+            + "caf\u00e9 \u4e2d\u6587 \ud83d\ude00 end";
+
+    @Test
+    public void testText() throws Exception {
+        Assert.assertEquals(
+                "plain ascii text, &lt;tag&gt; &amp; \"quoted\"\t&#xD;\n"
+                + "caf\u00e9 \u4e2d\u6587 \ud83d\ude00 end",
+                new String(text(SAMPLE, 64), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSameAsEncoded() throws Exception {
+        Random r = new Random(42);
+        char[] alphabet = ("abcXYZ09 <>&\"\t\r\n\u00e9\u07ff\u0800\u4e2d\uffee").toCharArray();
+        for (int n = 0; n < 200; n++) {
+            StringBuilder sb = new StringBuilder();
+            int len = r.nextInt(500);
+            for (int i = 0; i < len; i++) {
+                if (r.nextInt(20) == 0)
+                    sb.append("\ud83d\ude00");
+                else
+                    sb.append(alphabet[r.nextInt(alphabet.length)]);
+            }
+            String s = sb.toString();
+
+            Encoded e = new Encoded();
+            e.setEscape(s, false);
+            byte[] expected = Arrays.copyOf(e.buf, e.len);
+
+            for (int size : new int[]{64, 65, 70, 1024}) {
+                Assert.assertArrayEquals(s, expected, text(s, size));
+            }
+        }
+    }
+
+    private static byte[] text(String value, int bufferSize) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        UTF8XmlOutput out = new UTF8XmlOutput(baos, new Encoded[0], null, new byte[bufferSize]);
+        // start somewhere in the middle of the buffer, as it would be mid-document
+        for (int i = 0; i < 10; i++)
+            out.write('x');
+        out.text(value, false);
+        out.flushBuffer();
+        byte[] b = baos.toByteArray();
+        return Arrays.copyOfRange(b, 10, b.length);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OptimizedAccessorFactoryTest {
+
+    @Test
+    public void testPrimitiveField() throws Exception {
+        Accessor<Point, Integer> acc = OptimizedAccessorFactory.get(Point.class.getDeclaredField("x"));
+        Assert.assertTrue(acc instanceof FunctionAccessor_Integer);
+        Assert.assertEquals(int.class, acc.getValueType());
+
+        Point b = new Point();
+        ((FunctionAccessor_Integer<Point>) acc).setInt(b, 42);
+        Assert.assertEquals(42, b.x);
+        Assert.assertEquals(Integer.valueOf(42), acc.get(b));
+
+        acc.set(b, null);
+        Assert.assertEquals(0, b.x);
+    }
+
+    @Test
+    public void testReferenceField() throws Exception {
+        Accessor<Point, String> acc = OptimizedAccessorFactory.get(Point.class.getDeclaredField("label"));
+        Assert.assertTrue(acc instanceof FunctionAccessor_Ref);
+
+        Point b = new Point();
+        String r = "origin";
+        acc.set(b, r);
+        Assert.assertSame(r, b.label);
+        Assert.assertSame(r, acc.get(b));
+    }
+
+    @Test
+    public void testGetterSetter() throws Exception {
+        Accessor<Point, Boolean> acc = OptimizedAccessorFactory.get(
+                Point.class.getDeclaredMethod("isVisible"),
+                Point.class.getDeclaredMethod("setVisible", boolean.class));
+        Assert.assertTrue(acc instanceof FunctionAccessor_Boolean);
+
+        Point b = new Point();
+        acc.set(b, true);
+        Assert.assertTrue(b.visible);
+        Assert.assertTrue(((FunctionAccessor_Boolean<Point>) acc).getBoolean(b));
+        acc.set(b, null);
+        Assert.assertFalse(b.visible);
+    }
+
+    @Test
+    public void testBoxedPrimitiveGetterSetter() throws Exception {
+        Accessor<Point, Short> acc = OptimizedAccessorFactory.get(
+                Point.class.getDeclaredMethod("getZ"),
+                Point.class.getDeclaredMethod("setZ", short.class));
+        Assert.assertTrue(acc instanceof FunctionAccessor_Ref);
+        Assert.assertEquals(short.class, acc.getValueType());
+
+        Point b = new Point();
+        acc.set(b, (short) 7);
+        Assert.assertEquals(Short.valueOf((short) 7), acc.get(b));
+        acc.set(b, null);
+        Assert.assertEquals(0, b.z);
+    }
+
+    private static final class Point {
+        private int x;
+        private String label;
+        private boolean visible;
+        private short z;
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public void setVisible(boolean visible) {
+            this.visible = visible;
+        }
+
+        short getZ() {
+            return z;
+        }
+
+        void setZ(short z) {
+            this.z = z;
+        }
+    }
+}
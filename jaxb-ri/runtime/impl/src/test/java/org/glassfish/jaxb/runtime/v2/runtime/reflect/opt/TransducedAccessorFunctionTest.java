@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.reflect.opt;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class TransducedAccessorFunctionTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Sample.class);
+
+        Sample s = new Sample();
+        s.i = 12345;
+        s.min = Integer.MIN_VALUE;
+        s.l = -9876543210L;
+        s.d = 0.5;
+        s.b = true;
+        s.a = 20230;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ctx.createMarshaller().marshal(s, out);
+        String xml = out.toString(StandardCharsets.UTF_8);
+        Assert.assertTrue(xml, xml.contains("<i>12345</i>"));
+        Assert.assertTrue(xml, xml.contains("<min>-2147483648</min>"));
+        Assert.assertTrue(xml, xml.contains("<l>-9876543210</l>"));
+        Assert.assertTrue(xml, xml.contains("<b>true</b>"));
+        Assert.assertTrue(xml, xml.contains("a=\"20230\""));
+
+        Sample r = (Sample) ctx.createUnmarshaller().unmarshal(new ByteArrayInputStream(out.toByteArray()));
+        Assert.assertEquals(s.i, r.i);
+        Assert.assertEquals(s.min, r.min);
+        Assert.assertEquals(s.l, r.l);
+        Assert.assertEquals(s.d, r.d, 0);
+        Assert.assertEquals(s.b, r.b);
+        Assert.assertEquals(s.a, r.a);
+    }
+
+    @Test
+    public void testInvalidBoolean() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Flag.class);
+        Flag r = (Flag) ctx.createUnmarshaller().unmarshal(new ByteArrayInputStream(
+                "<flag><b>yes</b></flag>".getBytes(StandardCharsets.UTF_8)));
+        // left as it was
+        Assert.assertTrue(r.b);
+
+        r = (Flag) ctx.createUnmarshaller().unmarshal(new ByteArrayInputStream(
+                "<flag><b>0</b></flag>".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertFalse(r.b);
+    }
+
+    @XmlRootElement
+    public static class Sample {
+        public int i;
+        public int min;
+        public long l;
+        public double d;
+        public boolean b;
+        @XmlAttribute
+        public int a;
+    }
+
+    @XmlRootElement
+    public static class Flag {
+        public boolean b = true;
+    }
+}
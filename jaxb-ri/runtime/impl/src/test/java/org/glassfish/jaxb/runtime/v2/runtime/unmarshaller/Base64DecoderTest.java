@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.glassfish.jaxb.runtime.DatatypeConverterImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+public class Base64DecoderTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDecode() throws Exception {
+        Random r = new Random(0);
+        Base64Decoder decoder = new Base64Decoder(-1);
+        for (String text : new String[] {"", "  ", "AQ==", "AQI=", "AQID", " A Q\nI D\t", "AQ", "A===", "AQ==AQ==", "#AQ-I*D!"}) {
+            Assert.assertArrayEquals(text, DatatypeConverterImpl._parseBase64Binary(text), decode(decoder, text, r).getExact());
+        }
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, decode(decoder, "AQ\u00e9ID", r).getExact());
+        for (int i = 0; i < 100; i++) {
+            byte[] data = new byte[r.nextInt(5000)];
+            r.nextBytes(data);
+            String text = Base64.getMimeEncoder().encodeToString(data);
+            Assert.assertArrayEquals(data, decode(decoder, text, r).getExact());
+        }
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        Random r = new Random(0);
+        byte[] data = new byte[200000];
+        r.nextBytes(data);
+        String text = Base64.getMimeEncoder().encodeToString(data);
+
+        Base64Data small = decode(new Base64Decoder(data.length), text, r);
+        Assert.assertTrue(small.hasData());
+
+        Base64Decoder decoder = new Base64Decoder(1000);
+        Base64Data spilled = decode(decoder, text, r);
+        Assert.assertFalse(spilled.hasData());
+        Base64Decoder.SpilledDataSource ds = (Base64Decoder.SpilledDataSource) spilled.getDataHandler().getDataSource();
+        File file = ds.getFile();
+        Assert.assertEquals(data.length, file.length());
+        try (InputStream is = spilled.getInputStream()) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+        }
+        Assert.assertArrayEquals(data, spilled.getExact());
+        Assert.assertTrue(file.delete());
+
+        // a value that is abandoned halfway doesn't leave its file behind
+        decoder.start(null);
+        decoder.decode(text);
+        file = getSpillFile(decoder);
+        Assert.assertTrue(file.exists());
+        decoder.reset();
+        Assert.assertFalse(decoder.isActive());
+        Assert.assertFalse(file.exists());
+
+        // nor when the next value starts without the decoder having been reset
+        decoder.start(null);
+        decoder.decode(text);
+        file = getSpillFile(decoder);
+        Assert.assertArrayEquals(new byte[] {1}, decode(decoder, "AQ==", r).getExact());
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testAbandonedSpill() throws Exception {
+        byte[] data = new byte[10000];
+        String text = Base64.getEncoder().encodeToString(data);
+
+        Base64Decoder decoder = new Base64Decoder(1000);
+        decoder.start(null);
+        decoder.decode(text);
+        File file = getSpillFile(decoder);
+        Assert.assertTrue(file.exists());
+
+        // like an unmarshalling that is aborted halfway through the value
+        decoder = null;
+        for (int i = 0; i < 50 && file.exists(); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(file.exists());
+    }
+
+    private static File getSpillFile(Base64Decoder decoder) throws Exception {
+        Field spill = Base64Decoder.class.getDeclaredField("spill");
+        spill.setAccessible(true);
+        Object tempFile = spill.get(decoder);
+        Field path = tempFile.getClass().getDeclaredField("path");
+        path.setAccessible(true);
+        return ((Path) path.get(tempFile)).toFile();
+    }
+
+    private static Base64Data decode(Base64Decoder decoder, String text, Random r) throws Exception {
+        decoder.start("application/octet-stream");
+        char[] ch = text.toCharArray();
+        // in chunks of random size, like a parser would report them
+        for (int i = 0; i < ch.length; ) {
+            int len = Math.min(ch.length - i, r.nextInt(100));
+            decoder.decode(ch, i, len);
+            i += len;
+        }
+        return decoder.finish();
+    }
+}
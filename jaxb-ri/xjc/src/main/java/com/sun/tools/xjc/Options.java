@@ -101,6 +101,12 @@ public class Options {
      */
     public boolean contentForWildcard;
 
+    /**
+     * When on, binds xs:date, xs:time, xs:dateTime and xs:duration to {@code java.time} types
+     * instead of {@link javax.xml.datatype.XMLGregorianCalendar} and {@link javax.xml.datatype.Duration}.
+     */
+    public boolean javaTime;
+
     /**
      * Encoding to be used by generated java sources, null for platform default.
      */
@@ -572,6 +578,10 @@ public class Options {
             contentForWildcard = true;
             return 1;
         }
+        if (args[i].equals("-javaTime")) {
+            javaTime = true;
+            return 1;
+        }
         if (args[i].equals("-XautoNameResolution")) {
             automaticNameConflictResolution = true;
             return 1;
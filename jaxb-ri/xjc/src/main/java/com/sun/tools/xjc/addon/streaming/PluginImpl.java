@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.xjc.addon.streaming;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.sun.codemodel.JArray;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCatchBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JVar;
+import com.sun.tools.xjc.BadCommandLineException;
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.Plugin;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CPropertyInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.outline.ClassOutline;
+import com.sun.tools.xjc.outline.Outline;
+import org.glassfish.jaxb.core.v2.model.core.ID;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Generates JAXB objects that marshal and unmarshal themselves
+ * as {@code org.glassfish.jaxb.runtime.StreamingBean}s.
+ *
+ * <p>
+ * Only the classes whose properties are all attributes or elements
+ * of the built-in types that the runtime has converters for,
+ * without adapters, IDs, default values or nil, are generated this way.
+ * The others are left to the runtime to go through their properties.
+ *
+ * <p>
+ * The generated code uses internal classes of the JAXB RI,
+ * so it only works with the JAXB RI of the same version as this XJC.
+ *
+ * @since 4.0.4
+ */
+public class PluginImpl extends Plugin {
+
+    private static final String RUNTIME = "org.glassfish.jaxb.runtime.";
+
+    /**
+     * The suffixes of the {@code DatatypeConverterImpl} methods
+     * that print and parse the values of each supported type, empty for {@link String}.
+     */
+    private static final Map<CBuiltinLeafInfo,String> CONVERTERS = new HashMap<>();
+
+    static {
+        CONVERTERS.put(CBuiltinLeafInfo.STRING, "");
+        CONVERTERS.put(CBuiltinLeafInfo.BOOLEAN, "Boolean");
+        CONVERTERS.put(CBuiltinLeafInfo.INT, "Int");
+        CONVERTERS.put(CBuiltinLeafInfo.LONG, "Long");
+        CONVERTERS.put(CBuiltinLeafInfo.BYTE, "Byte");
+        CONVERTERS.put(CBuiltinLeafInfo.SHORT, "Short");
+        CONVERTERS.put(CBuiltinLeafInfo.FLOAT, "Float");
+        CONVERTERS.put(CBuiltinLeafInfo.DOUBLE, "Double");
+        CONVERTERS.put(CBuiltinLeafInfo.BIG_INTEGER, "Integer");
+        CONVERTERS.put(CBuiltinLeafInfo.BIG_DECIMAL, "Decimal");
+    }
+
+    @Override
+    public String getOptionName() {
+        return "Xstreaming";
+    }
+
+    @Override
+    public String getUsage() {
+        return "  -Xstreaming         :  generate code that marshals and unmarshals simple classes without reflection";
+    }
+
+    @Override
+    public int parseArgument(Options opt, String[] args, int i) throws BadCommandLineException, IOException {
+        return 0;   // no option recognized
+    }
+
+    @Override
+    public boolean run(Outline outline, Options opt, ErrorHandler errorHandler) {
+        for( ClassOutline co : outline.getClasses() ) {
+            List<Property> attributes = new ArrayList<>();
+            List<Property> elements = new ArrayList<>();
+            if (collect(co, attributes, elements))
+                generate(co, attributes, elements);
+        }
+        return true;
+    }
+
+    /**
+     * A property that the generated code reads and writes.
+     */
+    private static final class Property {
+        final CPropertyInfo prop;
+        final JFieldVar field;
+        final QName name;
+        final String converter;
+        /**
+         * The type of the items if the field is a list, or null.
+         */
+        final JClass itemType;
+
+        Property(CPropertyInfo prop, JFieldVar field, QName name, String converter, JClass itemType) {
+            this.prop = prop;
+            this.field = field;
+            this.name = name;
+            this.converter = converter;
+            this.itemType = itemType;
+        }
+    }
+
+    /**
+     * Collects the properties of the class, if the generated code can handle all of them.
+     */
+    private static boolean collect(ClassOutline co, List<Property> attributes, List<Property> elements) {
+        JCodeModel cm = co.parent().getCodeModel();
+        // the super class would have properties that the class can't see
+        if (co.getSuperClass() != null || co.implClass._extends() != cm.ref(Object.class))
+            return false;
+        if (co.target.hasAttributeWildcard())
+            return false;
+
+        for (CPropertyInfo prop : co.target.getProperties()) {
+            if (prop.getAdapter() != null || prop.inlineBinaryData())
+                return false;
+            JFieldVar field = co.implClass.fields().get(prop.getName(false));
+            if (field == null || (field.mods().getValue() & JMod.STATIC) != 0)
+                return false;
+
+            QName name;
+            CBuiltinLeafInfo type;
+            if (prop instanceof CAttributePropertyInfo) {
+                CAttributePropertyInfo ap = (CAttributePropertyInfo) prop;
+                if (ap.isCollection() || ap.id() != ID.NONE || ap.getExpectedMimeType() != null)
+                    return false;
+                name = ap.getXmlName();
+                type = ap.getTarget() instanceof CBuiltinLeafInfo ? (CBuiltinLeafInfo) ap.getTarget() : null;
+            } else if (prop instanceof CElementPropertyInfo) {
+                CElementPropertyInfo ep = (CElementPropertyInfo) prop;
+                if (ep.getTypes().size() != 1 || ep.isValueList() || ep.id() != ID.NONE || ep.getExpectedMimeType() != null)
+                    return false;
+                CTypeRef ref = ep.getTypes().get(0);
+                if (ref.isNillable() || ref.getDefaultValue() != null)
+                    return false;
+                name = ref.getTagName();
+                type = ref.getTarget() instanceof CBuiltinLeafInfo ? (CBuiltinLeafInfo) ref.getTarget() : null;
+            } else {
+                return false;
+            }
+
+            String converter = CONVERTERS.get(type);
+            if (converter == null)
+                return false;
+            JClass boxed = cm.ref(type.getType().fullName());
+            JClass itemType = null;
+            if (prop.isCollection()) {
+                if (!field.type().equals(cm.ref(List.class).narrow(boxed)))
+                    return false;
+                itemType = boxed;
+            } else if (!field.type().boxify().equals(boxed)) {
+                return false;
+            }
+            (prop instanceof CAttributePropertyInfo ? attributes : elements)
+                    .add(new Property(prop, field, name, converter, itemType));
+        }
+        return true;
+    }
+
+    private static void generate(ClassOutline co, List<Property> attributes, List<Property> elements) {
+        JCodeModel cm = co.parent().getCodeModel();
+        JDefinedClass impl = co.implClass;
+        JClass streamingBean = cm.ref(RUNTIME + "StreamingBean");
+        JClass serializer = cm.ref(RUNTIME + "v2.runtime.XMLSerializer");
+        JClass name = cm.ref(RUNTIME + "v2.runtime.Name");
+        JClass converter = cm.ref(RUNTIME + "DatatypeConverterImpl");
+        impl._implements(streamingBean);
+
+        JFieldVar $attributeNames = names(impl, "JAXB_ATTRIBUTE_NAMES", attributes);
+        JFieldVar $elementNames = names(impl, "JAXB_ELEMENT_NAMES", elements);
+        getter(impl, "attributeNames", $attributeNames);
+        getter(impl, "elementNames", $elementNames);
+
+        // marshalling
+        JMethod writeAttributes = writer(impl, "writeAttributes", serializer, name);
+        JVar $out = writeAttributes.params().get(0);
+        JVar $names = writeAttributes.params().get(1);
+        for (int i = 0; i < attributes.size(); i++) {
+            Property p = attributes.get(i);
+            JBlock block = ifPresent(writeAttributes.body(), p.field);
+            block.invoke($out, "attribute").arg($names.component(JExpr.lit(i))).arg(print(converter, p, JExpr._this().ref(p.field)));
+        }
+
+        JMethod writeTo = writer(impl, "writeTo", serializer, name);
+        $out = writeTo.params().get(0);
+        $names = writeTo.params().get(1);
+        for (int i = 0; i < elements.size(); i++) {
+            Property p = elements.get(i);
+            JBlock block = ifPresent(writeTo.body(), p.field);
+            JExpression value = JExpr._this().ref(p.field);
+            if (p.itemType != null) {
+                JForEach each = block.forEach(p.itemType, "item", value);
+                block = each.body()._if(each.var().ne(JExpr._null()))._then();
+                value = each.var();
+            }
+            JExpression data = p.converter.equals("Int") || p.converter.equals("Long") ? value : print(converter, p, value);
+            block.invoke($out, "leafElement").arg($names.component(JExpr.lit(i))).arg(data).arg(p.prop.getName(false));
+        }
+
+        // unmarshalling
+        JMethod readFrom = impl.method(JMod.PUBLIC, cm.VOID, "readFrom");
+        readFrom.annotate(Override.class);
+        suppressDeprecation(readFrom);
+        readFrom._throws(SAXException.class)._throws(XMLStreamException.class);
+        JVar $in = readFrom.param(XMLStreamReader.class, "in");
+
+        if (!attributes.isEmpty()) {
+            JForLoop loop = readFrom.body()._for();
+            JVar $i = loop.init(cm.INT, "i", JExpr.lit(0));
+            loop.test($i.lt($in.invoke("getAttributeCount")));
+            loop.update($i.incr());
+            JBlock body = loop.body();
+            JVar $uri = body.decl(cm.ref(String.class), "uri", $in.invoke("getAttributeNamespace").arg($i));
+            JVar $local = body.decl(cm.ref(String.class), "local", $in.invoke("getAttributeLocalName").arg($i));
+            JVar $value = body.decl(cm.ref(String.class), "value", $in.invoke("getAttributeValue").arg($i));
+            JConditional cond = null;
+            JTryBlock tryBlock = body._try();
+            for (Property p : attributes) {
+                JExpression test = matches(p.name, $uri, $local);
+                cond = cond == null ? tryBlock.body()._if(test) : cond._elseif(test);
+                cond._then().assign(JExpr._this().ref(p.field), parse(converter, p, $value));
+            }
+            handleError(cm, tryBlock, streamingBean);
+        }
+
+        JForLoop loop = readFrom.body()._for();
+        JVar $event = loop.init(cm.INT, "event", $in.invoke("next"));
+        JExpression endElement = cm.ref(XMLStreamConstants.class).staticRef("END_ELEMENT");
+        JExpression startElement = cm.ref(XMLStreamConstants.class).staticRef("START_ELEMENT");
+        loop.test($event.ne(endElement));
+        loop.update($event.assign($in.invoke("next")));
+        // text between the elements is ignored
+        JBlock body = loop.body()._if($event.eq(startElement))._then();
+        JVar $uri = body.decl(cm.ref(String.class), "uri", $in.invoke("getNamespaceURI"));
+        JVar $local = body.decl(cm.ref(String.class), "local", $in.invoke("getLocalName"));
+        JTryBlock tryBlock = body._try();
+        JConditional cond = null;
+        for (Property p : elements) {
+            JExpression test = matches(p.name, $uri, $local);
+            cond = cond == null ? tryBlock.body()._if(test) : cond._elseif(test);
+            JExpression value = parse(converter, p, $in.invoke("getElementText"));
+            if (p.itemType != null) {
+                JFieldRef $list = JExpr._this().ref(p.field);
+                cond._then()._if($list.eq(JExpr._null()))._then()
+                        .assign($list, JExpr._new(cm.ref(ArrayList.class).narrow(p.itemType)));
+                cond._then().add($list.invoke("add").arg(value));
+            } else {
+                cond._then().assign(JExpr._this().ref(p.field), value);
+            }
+        }
+        JBlock unexpected = cond == null ? tryBlock.body() : cond._else();
+        unexpected.add(streamingBean.staticInvoke("skipElement").arg($in).arg($elementNames));
+        handleError(cm, tryBlock, streamingBean);
+    }
+
+    private static JFieldVar names(JDefinedClass impl, String fieldName, List<Property> properties) {
+        JClass qname = impl.owner().ref(QName.class);
+        JArray array = JExpr.newArray(qname);
+        for (Property p : properties)
+            array.add(JExpr._new(qname).arg(p.name.getNamespaceURI()).arg(p.name.getLocalPart()));
+        return impl.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, qname.array(), fieldName, array);
+    }
+
+    private static void getter(JDefinedClass impl, String methodName, JFieldVar field) {
+        JMethod m = impl.method(JMod.PUBLIC, field.type(), methodName);
+        m.annotate(Override.class);
+        m.body()._return(field);
+    }
+
+    private static JMethod writer(JDefinedClass impl, String methodName, JClass serializer, JClass name) {
+        JMethod m = impl.method(JMod.PUBLIC, impl.owner().VOID, methodName);
+        m.annotate(Override.class);
+        suppressDeprecation(m);
+        m._throws(SAXException.class)._throws(IOException.class)._throws(XMLStreamException.class);
+        m.param(serializer, "out");
+        m.param(name.array(), "names");
+        return m;
+    }
+
+    /**
+     * {@code DatatypeConverterImpl} is deprecated for the applications,
+     * not for the code generated against the runtime.
+     */
+    private static void suppressDeprecation(JMethod m) {
+        m.annotate(SuppressWarnings.class).param("value", "deprecation");
+    }
+
+    /**
+     * Skips the fields that are null, like the runtime does for the properties
+     * that aren't nillable.
+     */
+    private static JBlock ifPresent(JBlock block, JFieldVar field) {
+        if (field.type().isPrimitive())
+            return block;
+        return block._if(JExpr._this().ref(field).ne(JExpr._null()))._then();
+    }
+
+    private static JExpression print(JClass converter, Property p, JExpression value) {
+        if (p.converter.isEmpty())
+            return value;
+        return converter.staticInvoke("_print" + p.converter).arg(value);
+    }
+
+    private static JExpression parse(JClass converter, Property p, JExpression text) {
+        if (p.converter.isEmpty())
+            return text;
+        return converter.staticInvoke("_parse" + p.converter).arg(text);
+    }
+
+    /**
+     * Matches a name, whose namespace URI the reader may report as null if it's empty.
+     */
+    private static JExpression matches(QName name, JVar $uri, JVar $local) {
+        JExpression local = JExpr.lit(name.getLocalPart()).invoke("equals").arg($local);
+        if (name.getNamespaceURI().isEmpty())
+            return local.cand($uri.eq(JExpr._null()).cor($uri.invoke("isEmpty")));
+        return local.cand(JExpr.lit(name.getNamespaceURI()).invoke("equals").arg($uri));
+    }
+
+    /**
+     * Reports the values that can't be parsed, which leaves their properties unset.
+     */
+    private static void handleError(JCodeModel cm, JTryBlock tryBlock, JClass streamingBean) {
+        JCatchBlock c = tryBlock._catch(cm.ref(RuntimeException.class));
+        c.body().add(streamingBean.staticInvoke("handleError").arg(c.param("e")));
+    }
+}
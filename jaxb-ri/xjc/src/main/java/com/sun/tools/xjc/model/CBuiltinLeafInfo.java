@@ -31,6 +31,9 @@ import javax.xml.datatype.Duration;
 import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.namespace.QName;
 import javax.xml.transform.Source;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
 
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
@@ -365,6 +368,12 @@ public abstract class CBuiltinLeafInfo implements CNonElement, BuiltinLeafInfo<N
 	public static final CBuiltinLeafInfo CALENDAR = new NoConstantBuiltin(XMLGregorianCalendar.class,"\u0000");
     public static final CBuiltinLeafInfo DURATION = new NoConstantBuiltin(Duration.class,"duration");
 
+    // java.time types, used instead of the above with the -javaTime option.
+    public static final CBuiltinLeafInfo LOCAL_DATE = new NoConstantBuiltin(LocalDate.class,"date");
+    public static final CBuiltinLeafInfo LOCAL_TIME = new NoConstantBuiltin(LocalTime.class,"time");
+    public static final CBuiltinLeafInfo OFFSET_DATE_TIME = new NoConstantBuiltin(OffsetDateTime.class,"dateTime");
+    public static final CBuiltinLeafInfo JAVA_TIME_DURATION = new NoConstantBuiltin(java.time.Duration.class,"duration");
+
     public static final CBuiltinLeafInfo BIG_INTEGER = new Builtin(BigInteger.class,"integer") {
         @Override
         public JExpression createConstant(Outline outline, XmlString lexical) {
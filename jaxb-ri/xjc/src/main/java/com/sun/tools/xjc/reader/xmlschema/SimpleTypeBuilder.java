@@ -128,6 +128,12 @@ public final class SimpleTypeBuilder extends BindingComponent {
     /** {@link TypeUse}s for the built-in types. Read-only. */
     public static final Map<String,TypeUse> builtinConversions;
 
+    /**
+     * Datatypes that bind to {@code java.time} types with {@link com.sun.tools.xjc.Options#javaTime},
+     * instead of the ones in {@link #builtinConversions}.
+     */
+    public static final Map<String,TypeUse> javaTimeConversions;
+
     /**
      * Default constructor.
      */
@@ -765,6 +771,11 @@ public final class SimpleTypeBuilder extends BindingComponent {
             else
                 return CBuiltinLeafInfo.ANYTYPE;
         }
+        if(builder.model.options.javaTime) {
+            TypeUse t = javaTimeConversions.get(typeLocalName);
+            if(t!=null)
+                return t;
+        }
         return builtinConversions.get(typeLocalName);
     }
 
@@ -906,6 +917,13 @@ public final class SimpleTypeBuilder extends BindingComponent {
         m.put("IDREF",          CBuiltinLeafInfo.IDREF);
 
         builtinConversions = Collections.unmodifiableMap(m);
+
+        m = new HashMap<>();
+        m.put("dateTime",       CBuiltinLeafInfo.OFFSET_DATE_TIME);
+        m.put("date",           CBuiltinLeafInfo.LOCAL_DATE);
+        m.put("time",           CBuiltinLeafInfo.LOCAL_TIME);
+        m.put("duration",       CBuiltinLeafInfo.JAVA_TIME_DURATION);
+        javaTimeConversions = Collections.unmodifiableMap(m);
         // TODO: handling dateTime, time, and date type
 //        String[] names = {
 //            "date", "dateTime", "time", "hexBinary" };
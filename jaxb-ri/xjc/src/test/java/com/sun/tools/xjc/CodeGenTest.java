@@ -121,6 +121,24 @@ public class CodeGenTest extends TestCase {
         }
     }
 
+    @SuppressWarnings({"deprecation"})
+    public void testJavaTime() throws Throwable {
+        SchemaCompiler sc = XJC.createSchemaCompiler();
+        sc.getOptions().javaTime = true;
+        sc.forcePackageName("javatime");
+        sc.parseSchema(getInputSource("/schemas/javatime.xsd"));
+        S2JJAXBModel model = sc.bind();
+        JCodeModel code = model.generateCode(null, null);
+        JDefinedClass trade = code._getClass("javatime.Trade");
+
+        assertEquals("java.time.OffsetDateTime", trade.fields().get("executed").type().fullName());
+        assertEquals("java.time.LocalTime", trade.fields().get("cutOff").type().fullName());
+        assertEquals("java.time.Duration", trade.fields().get("tenor").type().fullName());
+        assertEquals("java.time.LocalDate", trade.fields().get("tradeDate").type().fullName());
+        // no java.time equivalent
+        assertEquals("javax.xml.datatype.XMLGregorianCalendar", trade.fields().get("month").type().fullName());
+    }
+
     private InputSource getInputSource(String systemId) throws FileNotFoundException, URISyntaxException {
         URL url = CodeGenTest.class.getResource(systemId);
         File f = new File(url.toURI());
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.xjc.addon.streaming;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.writer.FileCodeWriter;
+import com.sun.tools.xjc.ConsoleErrorReporter;
+import com.sun.tools.xjc.api.S2JJAXBModel;
+import com.sun.tools.xjc.api.SchemaCompiler;
+import com.sun.tools.xjc.api.XJC;
+import jakarta.activation.DataHandler;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.ValidationEvent;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import junit.framework.TestCase;
+import org.glassfish.jaxb.core.v2.model.core.ID;
+import org.glassfish.jaxb.runtime.StreamingBean;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.runtime.ClassBeanInfoImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+import org.xml.sax.InputSource;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@code -Xstreaming} over a schema, compiles what it generated
+ * and sends documents through the runtime with it.
+ */
+public class StreamingPluginTest extends TestCase {
+
+    private static final String DOCUMENT = "<order xmlns=\"urn:streaming\">"
+            + "<item id=\"i1\" qty=\"2\" code=\"9000000000\">"
+            + "<name>apple &amp; pear</name><count>3</count><price>1.25</price><weight>0.5</weight>"
+            + "<tag>fruit</tag><tag>red</tag><active>true</active>"
+            + "</item>"
+            + "<item code=\"7\"><name>pear</name><count>1</count><weight>2.0</weight></item>"
+            + "<item xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"special\" code=\"8\">"
+            + "<name>plum</name><count>4</count><weight>1.0</weight><remark>ripe</remark></item>"
+            + "<note lang=\"en\"><text xmlns=\"\">handle with care</text><size xmlns=\"\">16</size></note>"
+            + "<event><name>shipped</name><at>2023-05-01T10:00:00Z</at></event>"
+            + "</order>";
+
+    private Path dir;
+    private URLClassLoader loader;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = Files.createTempDirectory("xjc-streaming");
+        Path classes = compile(generate());
+        loader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        loader.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(p);
+        }
+        super.tearDown();
+    }
+
+    public void testRoundTrip() throws Exception {
+        Class<?> order = loader.loadClass("streaming.Order");
+        assertTrue(StreamingBean.class.isAssignableFrom(loader.loadClass("streaming.Item")));
+        assertTrue(StreamingBean.class.isAssignableFrom(loader.loadClass("streaming.Note")));
+        // properties of other classes, and a type without a converter
+        assertFalse(StreamingBean.class.isAssignableFrom(order));
+        assertFalse(StreamingBean.class.isAssignableFrom(loader.loadClass("streaming.Event")));
+
+        JAXBContext context = JAXBContext.newInstance(order);
+        Unmarshaller u = context.createUnmarshaller();
+        List<Object> unmarshalled = new ArrayList<>();
+        u.setListener(new Unmarshaller.Listener() {
+            @Override
+            public void afterUnmarshal(Object target, Object parent) {
+                unmarshalled.add(target);
+            }
+        });
+        CountingReader in = new CountingReader(DOCUMENT);
+        Object o = u.unmarshal(in);
+        assertOrder(o);
+        assertStreaming(context, o, true);
+        // name, count, price, weight, tag, tag, active, then name, count, weight, then text, size
+        assertEquals(12, in.texts);
+        // the listeners are still called for the objects that read themselves
+        assertTrue(unmarshalled.containsAll(getObjects(o)));
+
+        Marshaller m = context.createMarshaller();
+        List<Object> marshalled = new ArrayList<>();
+        m.setListener(new Marshaller.Listener() {
+            @Override
+            public void beforeMarshal(Object source) {
+                marshalled.add(source);
+            }
+        });
+        StringWriter w = new StringWriter();
+        m.marshal(o, w);
+        assertTrue(marshalled.containsAll(getObjects(o)));
+        String xml = w.toString();
+        assertTrue(xml, xml.contains("id=\"i1\" qty=\"2\" code=\"9000000000\""));
+        assertTrue(xml, xml.contains(">apple &amp; pear<"));
+        assertTrue(xml, xml.contains("<text>handle with care</text>"));
+        assertTrue(xml, xml.contains(">ripe<"));
+        assertOrder(context.createUnmarshaller().unmarshal(new StringReader(xml)));
+
+        // the other sources go through the properties
+        assertOrder(context.createUnmarshaller().unmarshal(new StringReader(DOCUMENT)));
+    }
+
+    public void testDisabled() throws Exception {
+        Class<?> order = loader.loadClass("streaming.Order");
+        JAXBContext context = JAXBContext.newInstance(order);
+        // the classes can't know about the remapped namespace
+        JAXBContext remapped = JAXBContext.newInstance(new Class<?>[] {order},
+                Map.of(JAXBRIContext.DEFAULT_NAMESPACE_REMAP, "urn:other"));
+
+        CountingReader in = new CountingReader(DOCUMENT);
+        Object o = remapped.createUnmarshaller().unmarshal(in);
+        assertOrder(o);
+        assertStreaming(remapped, o, false);
+        assertEquals(0, in.texts);
+        assertEquals(marshal(context, o), marshal(remapped, o));
+    }
+
+    public void testErrors() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(loader.loadClass("streaming.Order"));
+        Unmarshaller u = context.createUnmarshaller();
+        List<ValidationEvent> events = new ArrayList<>();
+        u.setEventHandler(e -> events.add(e));
+        String xml = "<order xmlns='urn:streaming'><item code='x'><name>n</name><count>many</count>"
+                + "<unknown><name>deep</name></unknown><weight>1</weight></item></order>";
+        Object o = u.unmarshal(new CountingReader(xml));
+        assertEquals(3, events.size());
+        assertTrue(events.get(2).getMessage(), events.get(2).getMessage().contains("unknown"));
+
+        Object item = ((List<?>) get(o, "getItem")).get(0);
+        assertEquals(0L, get(item, "getCode"));
+        assertEquals("n", get(item, "getName"));
+        assertEquals(0, get(item, "getCount"));
+        assertEquals(1.0, get(item, "getWeight"));
+    }
+
+    private static void assertOrder(Object order) throws Exception {
+        List<?> items = (List<?>) get(order, "getItem");
+        assertEquals(3, items.size());
+
+        Object apple = items.get(0);
+        assertEquals("i1", get(apple, "getId"));
+        assertEquals(2, get(apple, "getQty"));
+        assertEquals(9000000000L, get(apple, "getCode"));
+        assertEquals("apple & pear", get(apple, "getName"));
+        assertEquals(3, get(apple, "getCount"));
+        assertEquals(new BigDecimal("1.25"), get(apple, "getPrice"));
+        assertEquals(0.5, get(apple, "getWeight"));
+        assertEquals(List.of("fruit", "red"), get(apple, "getTag"));
+        assertEquals(Boolean.TRUE, get(apple, "isActive"));
+
+        Object pear = items.get(1);
+        assertNull(get(pear, "getId"));
+        assertNull(get(pear, "getQty"));
+        assertEquals(7L, get(pear, "getCode"));
+        assertNull(get(pear, "getPrice"));
+        assertEquals(2.0, get(pear, "getWeight"));
+        assertEquals(List.of(), get(pear, "getTag"));
+        assertNull(get(pear, "isActive"));
+
+        Object plum = items.get(2);
+        assertEquals("streaming.Special", plum.getClass().getName());
+        assertEquals("plum", get(plum, "getName"));
+        assertEquals(8L, get(plum, "getCode"));
+        assertEquals("ripe", get(plum, "getRemark"));
+
+        Object note = get(order, "getNote");
+        assertEquals("en", get(note, "getLang"));
+        assertEquals("handle with care", get(note, "getText"));
+        assertEquals((short) 16, get(note, "getSize"));
+
+        Object event = get(order, "getEvent");
+        assertEquals("shipped", get(event, "getName"));
+        assertEquals("2023-05-01T10:00:00Z", get(event, "getAt").toString());
+    }
+
+    /**
+     * Gets all the objects of the document.
+     */
+    private static List<Object> getObjects(Object order) throws Exception {
+        List<Object> objects = new ArrayList<>();
+        objects.add(order);
+        objects.addAll((List<?>) get(order, "getItem"));
+        objects.add(get(order, "getNote"));
+        objects.add(get(order, "getEvent"));
+        return objects;
+    }
+
+    /**
+     * Checks which of the objects of the document marshal and unmarshal themselves.
+     */
+    private static void assertStreaming(JAXBContext context, Object order, boolean enabled) throws Exception {
+        List<?> items = (List<?>) get(order, "getItem");
+        assertEquals(enabled, isStreaming(context, items.get(0)));
+        assertEquals(enabled, isStreaming(context, items.get(1)));
+        assertEquals(enabled, isStreaming(context, get(order, "getNote")));
+        // the subclass inherits the interface, but not the properties that it writes
+        assertFalse(isStreaming(context, items.get(2)));
+        assertFalse(isStreaming(context, order));
+        assertFalse(isStreaming(context, get(order, "getEvent")));
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private static boolean isStreaming(JAXBContext context, Object bean) {
+        JAXBContextImpl grammar = (JAXBContextImpl) context;
+        ClassBeanInfoImpl<Object> bi = (ClassBeanInfoImpl<Object>) grammar.getBeanInfo(bean.getClass());
+        return bi.getStreamingNames(bean, grammar) != null;
+    }
+
+    private static String marshal(JAXBContext context, Object o) throws JAXBException {
+        StringWriter w = new StringWriter();
+        context.createMarshaller().marshal(o, w);
+        return w.toString();
+    }
+
+    private static Object get(Object bean, String getter) throws Exception {
+        return bean.getClass().getMethod(getter).invoke(bean);
+    }
+
+    /**
+     * Counts the text-only elements read as a whole, which only
+     * the generated {@link StreamingBean#readFrom(XMLStreamReader)} does.
+     */
+    private static final class CountingReader extends StreamReaderDelegate {
+        int texts;
+
+        CountingReader(String xml) throws XMLStreamException {
+            super(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)));
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            texts++;
+            return super.getElementText();
+        }
+    }
+
+    /**
+     * Binds the schema of the test with {@code -Xstreaming}.
+     *
+     * @return the directory of the sources.
+     */
+    @SuppressWarnings({"deprecation"})
+    private Path generate() throws Exception {
+        SchemaCompiler sc = XJC.createSchemaCompiler();
+        sc.setErrorListener(new ConsoleErrorReporter());
+        assertEquals(1, sc.getOptions().parseArgument(new String[] {"-Xstreaming"}, 0));
+        sc.forcePackageName("streaming");
+        URL url = StreamingPluginTest.class.getResource("/schemas/streaming.xsd");
+        sc.parseSchema(new InputSource(url.toExternalForm()));
+        S2JJAXBModel model = sc.bind();
+        assertNotNull(model);
+        JCodeModel code = model.generateCode(null, null);
+        Path src = Files.createDirectories(dir.resolve("src"));
+        code.build(new FileCodeWriter(src.toFile()));
+        return src;
+    }
+
+    /**
+     * Compiles the generated sources against the runtime.
+     *
+     * @return the directory of the class files.
+     */
+    private Path compile(Path src) throws Exception {
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        List<File> sources;
+        try (Stream<Path> files = Files.walk(src)) {
+            sources = files.filter(p -> p.toString().endsWith(".java")).map(Path::toFile).collect(Collectors.toList());
+        }
+
+        List<String> options = new ArrayList<>();
+        options.add("-Xlint:deprecation");
+        options.add("-d");
+        options.add(classes.toString());
+        options.add("-classpath");
+        options.add(getClassPath(XmlRootElement.class, DataHandler.class, ID.class, StreamingBean.class));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fm = compiler.getStandardFileManager(diagnostics, null, null)) {
+            boolean success = compiler.getTask(null, fm, diagnostics, options, null, fm.getJavaFileObjectsFromFiles(sources)).call();
+            for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+                if (d.getKind() == Diagnostic.Kind.ERROR || d.getKind() == Diagnostic.Kind.WARNING
+                        || d.getKind() == Diagnostic.Kind.MANDATORY_WARNING)
+                    fail(d.toString());
+            }
+            assertTrue(success);
+        }
+        return classes;
+    }
+
+    /**
+     * The jars or directories that the given classes were loaded from.
+     */
+    private static String getClassPath(Class<?>... classes) throws URISyntaxException {
+        List<String> path = new ArrayList<>();
+        for (Class<?> c : classes)
+            path.add(Paths.get(c.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+        return String.join(File.pathSeparator, path);
+    }
+}